@@ -32,18 +32,25 @@ import com.osgifx.console.agent.dto.DmtDataType;
 import com.osgifx.console.agent.dto.RuntimeDTO;
 import com.osgifx.console.agent.dto.XBundleDTO;
 import com.osgifx.console.agent.dto.XBundleLoggerContextDTO;
+import com.osgifx.console.agent.dto.XClassloaderLeakDTO;
 import com.osgifx.console.agent.dto.XComponentDTO;
 import com.osgifx.console.agent.dto.XConfigurationDTO;
 import com.osgifx.console.agent.dto.XDmtNodeDTO;
 import com.osgifx.console.agent.dto.XHealthCheckDTO;
+import com.osgifx.console.agent.dto.XHealthCheckHistoryDTO;
 import com.osgifx.console.agent.dto.XHealthCheckResultDTO;
 import com.osgifx.console.agent.dto.XHeapUsageDTO;
 import com.osgifx.console.agent.dto.XHttpComponentDTO;
+import com.osgifx.console.agent.dto.XLogEntryDTO;
+import com.osgifx.console.agent.dto.XLogFilterDTO;
 import com.osgifx.console.agent.dto.XMemoryInfoDTO;
 import com.osgifx.console.agent.dto.XPropertyDTO;
 import com.osgifx.console.agent.dto.XResultDTO;
 import com.osgifx.console.agent.dto.XRoleDTO;
+import com.osgifx.console.agent.dto.XRpcPoolStatsDTO;
+import com.osgifx.console.agent.dto.XRuntimeSummaryDTO;
 import com.osgifx.console.agent.dto.XServiceDTO;
+import com.osgifx.console.agent.dto.XStartupProfileDTO;
 import com.osgifx.console.agent.dto.XThreadDTO;
 import com.osgifx.console.agent.extension.AgentExtension;
 import com.osgifx.console.agent.extension.AgentExtensionName;
@@ -117,6 +124,48 @@ public interface Agent {
      */
     String AGENT_RPC_TRACE_LOG_KEY = "osgi.fx.agent.rpc.logs.enabled";
 
+    /**
+     * The property key to specify the health checks to be executed periodically
+     * by the agent
+     * <p>
+     * The value is a comma-separated list of {@code <tag>:<interval-in-seconds>}
+     * entries, for example, {@code system:30,db:60}
+     */
+    String AGENT_HC_SCHEDULE_KEY = "osgi.fx.agent.hc.schedule";
+
+    /**
+     * The property key to specify the number of executions to be recorded per
+     * scheduled health check
+     */
+    String AGENT_HC_HISTORY_SIZE_KEY = "osgi.fx.agent.hc.history.size";
+
+    /**
+     * The property key to specify the maximum number of log entries to be retained
+     * in the agent's log journal
+     */
+    String AGENT_LOG_JOURNAL_SIZE_KEY = "osgi.fx.agent.log.journal.size";
+
+    /**
+     * The property key to specify the maximum number of RPC requests to be queued
+     * per connection before additional threads are started
+     */
+    String AGENT_RPC_POOL_QUEUE_CAPACITY_KEY = "osgi.fx.agent.rpc.pool.queue.capacity";
+
+    /**
+     * The property key to specify the policy to apply if an RPC request can neither
+     * be queued nor executed, either {@code busy} (default) to reply with a busy
+     * result, {@code caller_runs} to stop reading requests until the request has
+     * been executed or {@code overflow} to execute the request in a single
+     * overflow thread with a queue of the same capacity
+     */
+    String AGENT_RPC_POOL_REJECTION_POLICY_KEY = "osgi.fx.agent.rpc.pool.rejection.policy";
+
+    /**
+     * The property key to execute the RPC requests in virtual threads if the
+     * running JVM supports them
+     */
+    String AGENT_RPC_POOL_VIRTUAL_THREADS_KEY = "osgi.fx.agent.rpc.pool.virtual.threads";
+
     /**
      * The port for attaching to a remote Gogo CommandSession
      */
@@ -255,6 +304,21 @@ public interface Agent {
      */
     void disableReceivingLog();
 
+    /**
+     * Returns the historical log entries matching the specified filter. The log
+     * entries are retained in a bounded journal on the agent which is initially
+     * populated from the {@code LogReaderService} history.
+     * <p>
+     * Note that, this is only possible if the remote runtime has Log bundle
+     * installed.
+     *
+     * @param filter the filter to apply (if {@code null}, all the retained entries
+     *            are returned)
+     * @return the matching log entries ordered from the oldest to the most recent
+     *         one (can be empty)
+     */
+    List<XLogEntryDTO> getLogs(XLogFilterDTO filter);
+
     /**
      * Checks if the receiving of events is enabled
      *
@@ -374,6 +438,25 @@ public interface Agent {
      */
     XResultDTO updateBundleLoggerContext(String bsn, Map<String, String> logLevels);
 
+    /**
+     * Updates the logger contexts of all the bundles matching the specified
+     * symbolic names in a single call
+     * <p>
+     * Every entry can either be an exact bundle symbolic name or a pattern
+     * containing {@code *} wildcards, for example, {@code com.acme.db.*}
+     *
+     * @param bsns the bundle symbolic names or patterns denoting the names of the
+     *            logger contexts
+     * @param logLevels the log levels to update
+     * @param isPersistent {@code true} to persist the log levels in ConfigAdmin
+     *            (if available), otherwise, {@code false}
+     * @return the detailed information about the operations whether it succeeded
+     *         or failed (key=bundle symbolic name)
+     */
+    Map<String, XResultDTO> updateBundleLoggerContexts(Collection<String> bsns,
+                                                       Map<String, String> logLevels,
+                                                       boolean isPersistent);
+
     /**
      * Enables the component description by name
      *
@@ -492,6 +575,18 @@ public interface Agent {
      */
     XMemoryInfoDTO getMemoryInfo();
 
+    /**
+     * Returns the aggregated counters of the remote runtime, i.e. the number of
+     * bundles per state, services, components and threads as well as the memory,
+     * CPU and uptime information
+     * <p>
+     * This is meant to be polled periodically as it is considerably cheaper than
+     * retrieving the complete lists
+     *
+     * @return the runtime summary
+     */
+    XRuntimeSummaryDTO getRuntimeSummary();
+
     /**
      * Returns the set of registered Gogo commands
      * <p>
@@ -559,6 +654,14 @@ public interface Agent {
      */
     List<XHealthCheckResultDTO> executeHealthChecks(List<String> tags, List<String> names);
 
+    /**
+     * Returns the execution history of the health checks that are periodically
+     * executed by the agent as configured in {@link #AGENT_HC_SCHEDULE_KEY}
+     *
+     * @return the list of health check histories (can be empty)
+     */
+    List<XHealthCheckHistoryDTO> getHealthCheckHistory();
+
     /**
      * Returns the result from the specified agent extension.
      * <p>
@@ -583,6 +686,34 @@ public interface Agent {
      */
     Set<XBundleDTO> getClassloaderLeaks();
 
+    /**
+     * Returns the summary of the leaked classloaders per bundle which is maintained
+     * incrementally on the agent after every garbage collection. In contrast to
+     * {@link #getClassloaderLeaks()}, the summary does not contain the complete
+     * bundle information and is therefore cheap to retrieve periodically.
+     *
+     * @return the list of leak summaries (can be empty)
+     */
+    List<XClassloaderLeakDTO> getClassloaderLeakSummary();
+
+    /**
+     * Returns the startup profile of the remote framework which comprises the
+     * resolution, activation and DS component registration timestamps of every
+     * bundle and the critical path of the framework startup
+     *
+     * @return the startup profile
+     */
+    XStartupProfileDTO getStartupProfile();
+
+    /**
+     * Returns the statistics of the thread pool which executes the RPC requests
+     * of the current connection, i.e. the pool and queue utilization as well as
+     * the histograms of the time the requests spent waiting and running
+     *
+     * @return the pool statistics or {@code null} if not available
+     */
+    XRpcPoolStatsDTO getRpcPoolStats();
+
     /**
      * Returns the HTTP runtime information that includes list of all servlets,
      * resources, listeners, filters and error pages
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.agent.dto;
+
+import org.osgi.dto.DTO;
+
+/**
+ * Represents a lightweight summary of the classloaders of a bundle that are
+ * still reachable although they should have been garbage collected. This class
+ * extends the {@link DTO} class to provide a standardized data transfer object
+ * for classloader leak information.
+ * <p>
+ * The summary is maintained incrementally on the remote agent after every
+ * garbage collection and does not require the full bundle information to be
+ * computed.
+ * </p>
+ */
+public class XClassloaderLeakDTO extends DTO {
+
+    /** The ID of the bundle whose classloaders are leaked. */
+    public long bundleId;
+
+    /** The symbolic name of the bundle whose classloaders are leaked. */
+    public String symbolicName;
+
+    /** The version of the bundle whose classloaders are leaked. */
+    public String version;
+
+    /** The number of leaked classloaders of the bundle. */
+    public int leakedClassloaderCount;
+
+    /** The timestamp in milliseconds when the leak has been seen for the first time. */
+    public long firstSeenAt;
+
+    /** The timestamp in milliseconds when the number of leaked classloaders has changed last. */
+    public long lastChangedAt;
+
+    /** Indicates whether the bundle has already been uninstalled. */
+    public boolean isUninstalled;
+
+}
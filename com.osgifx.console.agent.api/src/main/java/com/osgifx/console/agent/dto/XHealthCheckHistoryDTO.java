@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.agent.dto;
+
+import java.util.List;
+
+import org.osgi.dto.DTO;
+
+/**
+ * Represents the execution history of a periodically scheduled health check
+ * within the OSGi framework. This class extends the {@link DTO} class to provide
+ * a standardized data transfer object for health check trend information.
+ * <p>
+ * The {@code XHealthCheckHistoryDTO} class includes the name and tags of the
+ * health check, the percentiles of the recorded execution times and the status
+ * timeline of the most recent executions kept by the remote agent.
+ * </p>
+ */
+public class XHealthCheckHistoryDTO extends DTO {
+
+    /**
+     * Represents a single recorded execution of a scheduled health check.
+     */
+    public static class EntryDTO extends DTO {
+
+        /** The timestamp in milliseconds when the health check execution finished. */
+        public long finishedAt;
+
+        /** The elapsed time in milliseconds for the health check execution. */
+        public long elapsedTime;
+
+        /** The overall (worst) status of the execution (e.g., "OK", "WARN", "CRITICAL"). */
+        public String status;
+
+        /** Indicates whether the health check execution timed out. */
+        public boolean isTimedOut;
+    }
+
+    /** The service ID of the health check. */
+    public long healthCheckServiceId;
+
+    /** The name of the health check. */
+    public String healthCheckName;
+
+    /** A list of tags associated with the health check. */
+    public List<String> healthCheckTags;
+
+    /** The total number of executions since the scheduler has been started. */
+    public long executionCount;
+
+    /** The median (50th percentile) of the recorded execution times in milliseconds. */
+    public long p50ElapsedTime;
+
+    /** The 90th percentile of the recorded execution times in milliseconds. */
+    public long p90ElapsedTime;
+
+    /** The 99th percentile of the recorded execution times in milliseconds. */
+    public long p99ElapsedTime;
+
+    /** The maximum of the recorded execution times in milliseconds. */
+    public long maxElapsedTime;
+
+    /** The recorded executions ordered from the oldest to the most recent one. */
+    public List<EntryDTO> timeline;
+
+}
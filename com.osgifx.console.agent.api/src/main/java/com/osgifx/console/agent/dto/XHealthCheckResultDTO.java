@@ -53,12 +53,18 @@ public class XHealthCheckResultDTO extends DTO {
         public String exception;
     }
 
+    /** The service ID of the health check that was executed. */
+    public long healthCheckServiceId;
+
     /** The name of the health check that was executed. */
     public String healthCheckName;
 
     /** A list of tags associated with the health check. */
     public List<String> healthCheckTags;
 
+    /** The overall status of the health check execution (e.g., "OK", "WARN", "CRITICAL"). */
+    public String status;
+
     /** A list of individual results from the health check execution. */
     public List<ResultDTO> results;
 
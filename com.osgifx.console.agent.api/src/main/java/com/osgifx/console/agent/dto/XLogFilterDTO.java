@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.agent.dto;
+
+import java.util.List;
+
+import org.osgi.dto.DTO;
+
+/**
+ * Represents the criteria to query the historical log entries of the remote
+ * runtime. This class extends the {@link DTO} class to provide a standardized
+ * data transfer object for log query information.
+ * <p>
+ * All criteria are optional and combined with a logical AND. The filters are
+ * evaluated on the remote agent such that only the matching entries are
+ * transferred.
+ * </p>
+ */
+public class XLogFilterDTO extends DTO {
+
+    /** The log levels to match (e.g., "ERROR", "WARN"), {@code null} or empty to match all. */
+    public List<String> levels;
+
+    /** The symbolic names of the bundles to match, {@code null} or empty to match all. */
+    public List<String> bundleSymbolicNames;
+
+    /** The (case-insensitive) substring of the logger name to match, {@code null} to match all. */
+    public String loggerName;
+
+    /** The (case-insensitive) substring of the message or exception to match, {@code null} to match all. */
+    public String text;
+
+    /** The lower bound (inclusive) of the logged timestamp in milliseconds, {@code 0} for no bound. */
+    public long fromTime;
+
+    /** The upper bound (inclusive) of the logged timestamp in milliseconds, {@code 0} for no bound. */
+    public long toTime;
+
+    /** The maximum number of the most recent matching entries to return, {@code 0} or less for no limit. */
+    public int limit;
+
+}
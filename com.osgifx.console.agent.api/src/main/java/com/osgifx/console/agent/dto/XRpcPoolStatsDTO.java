@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * COPYRIGHT 2021-2024 AMIT KUMAR MONDAL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.agent.dto;
+
+import org.osgi.dto.DTO;
+
+/**
+ * Data Transfer Object (DTO) representing the statistics of the thread pool
+ * which executes the incoming RPC requests.
+ */
+public class XRpcPoolStatsDTO extends DTO {
+
+    /** Current number of threads in the pool. */
+    public int poolSize;
+
+    /** Largest number of threads that have ever simultaneously been in the pool. */
+    public int largestPoolSize;
+
+    /** Number of threads that are actively executing requests. */
+    public int activeThreads;
+
+    /** Number of threads to keep while the queue is not full. */
+    public int coreThreads;
+
+    /** Maximum number of threads. */
+    public int maxThreads;
+
+    /** Number of requests waiting in the queue. */
+    public int queueDepth;
+
+    /** Maximum number of requests the queue can hold. */
+    public int queueCapacity;
+
+    /** Number of completed requests. */
+    public long completedTasks;
+
+    /** Number of requests that could neither be queued nor executed by a pool thread. */
+    public long rejectedTasks;
+
+    /** Number of rejected requests waiting in the queue of the overflow thread. */
+    public int overflowQueueDepth;
+
+    /** Number of rejected requests that have been dropped as the overflow queue was full. */
+    public long droppedTasks;
+
+    /** Policy applied to the rejected requests. */
+    public String rejectionPolicy;
+
+    /** Whether the pool is backed by virtual threads. */
+    public boolean virtualThreads;
+
+    /** Exclusive upper bounds of the histogram buckets in milliseconds. */
+    public long[] histogramBoundsInMillis;
+
+    /** Number of requests per bucket by the time they spent waiting in the queue. */
+    public long[] waitTimeHistogram;
+
+    /** Number of requests per bucket by the time they took to execute. */
+    public long[] runTimeHistogram;
+
+}
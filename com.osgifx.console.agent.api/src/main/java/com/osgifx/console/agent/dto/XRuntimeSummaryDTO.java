@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * COPYRIGHT 2021-2024 AMIT KUMAR MONDAL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.agent.dto;
+
+import org.osgi.dto.DTO;
+
+/**
+ * Data Transfer Object (DTO) representing the aggregated counters of a remote
+ * runtime which can be retrieved in a single call as opposed to transferring
+ * the complete bundle, service, component and thread lists.
+ */
+public class XRuntimeSummaryDTO extends DTO {
+
+    /** Number of installed bundles. */
+    public int bundles;
+
+    /** Number of bundles in the ACTIVE state. */
+    public int activeBundles;
+
+    /** Number of bundles in the RESOLVED state. */
+    public int resolvedBundles;
+
+    /** Number of bundles in the INSTALLED state. */
+    public int installedBundles;
+
+    /** Number of bundles in the STARTING or STOPPING state. */
+    public int transitioningBundles;
+
+    /** Number of registered services. */
+    public int services;
+
+    /** Number of components, i.e. one per component configuration or per description without any configuration. */
+    public int components;
+
+    /** Number of live threads. */
+    public int threads;
+
+    /** The uptime of the runtime in milliseconds. */
+    public long uptime;
+
+    /** The maximum amount of memory that the JVM will attempt to use. */
+    public long maxMemory;
+
+    /** The amount of free memory in the JVM. */
+    public long freeMemory;
+
+    /** The total amount of memory in the JVM. */
+    public long totalMemory;
+
+    /** Number of processors available to the JVM. */
+    public int availableProcessors;
+
+    /** The system load average for the last minute or a negative value if not available. */
+    public double systemLoadAverage;
+
+    /** The recent CPU usage of the JVM process between 0 and 1 or a negative value if not available. */
+    public double processCpuLoad;
+
+}
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.agent.dto;
+
+import java.util.List;
+
+import org.osgi.dto.DTO;
+
+/**
+ * Represents the startup profile of the remote OSGi framework as recorded by
+ * the agent. This class extends the {@link DTO} class to provide a standardized
+ * data transfer object for startup timing information.
+ * <p>
+ * All timestamps of the profile are expressed in microseconds relative to
+ * {@link #profilingStartedAt} and are {@code -1} if the corresponding event has
+ * not been observed. Only the events that occurred after the agent has been
+ * started can be observed, hence the agent should be started as early as
+ * possible (e.g. with a low start level).
+ * </p>
+ */
+public class XStartupProfileDTO extends DTO {
+
+    /**
+     * Represents the startup timeline of a single bundle.
+     */
+    public static class BundleTimelineDTO extends DTO {
+
+        /** The ID of the bundle. */
+        public long bundleId;
+
+        /** The symbolic name of the bundle. */
+        public String symbolicName;
+
+        /** The timestamp when the bundle has been resolved. */
+        public long resolvedAt;
+
+        /** The timestamp when the activation of the bundle has been started. */
+        public long startingAt;
+
+        /** The timestamp when the activation (including the bundle activator) has been finished. */
+        public long startedAt;
+
+        /** The timestamp when the first service of a DS component of the bundle has been registered. */
+        public long firstComponentAt;
+
+        /** The timestamp when the last service of a DS component of the bundle has been registered. */
+        public long lastComponentAt;
+
+        /** The number of DS component services registered by the bundle during the profiling. */
+        public int registeredComponentCount;
+
+        /** The number of DS components declared by the bundle. */
+        public int componentCount;
+
+        /** The number of DS components of the bundle which are currently active. */
+        public int activeComponentCount;
+
+        /** The ID of the bundle whose completion gated the activation of this bundle, {@code -1} if none. */
+        public long gatingBundleId;
+
+        /** Indicates whether the bundle is located on the critical path of the framework startup. */
+        public boolean isOnCriticalPath;
+    }
+
+    /** The timestamp in milliseconds when the agent started profiling. */
+    public long profilingStartedAt;
+
+    /** Indicates whether the profiling started before the framework has been completely started. */
+    public boolean isFrameworkStartupObserved;
+
+    /** The timestamp when the framework has been completely started. */
+    public long frameworkStartedAt;
+
+    /** Indicates whether events have been dropped as the capacity of the profiler has been exhausted. */
+    public boolean isTruncated;
+
+    /** The timelines of the bundles ordered by their activation. */
+    public List<BundleTimelineDTO> timelines;
+
+    /** The IDs of the bundles on the critical path ordered from the first to the last one. */
+    public List<Long> criticalPath;
+
+    /** The duration of the critical path in microseconds. */
+    public long criticalPathDuration;
+
+}
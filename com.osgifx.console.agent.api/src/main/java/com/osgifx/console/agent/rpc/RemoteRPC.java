@@ -16,6 +16,7 @@
 package com.osgifx.console.agent.rpc;
 
 import java.io.IOException;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Defines a remote RPC mechanism over an underlying connection, such as a socket or MQTT.
@@ -51,4 +52,18 @@ public interface RemoteRPC<L, R> {
      */
     boolean isOpen();
 
+    /**
+     * Retrieves the round-trip time and transfer statistics of the communication link.
+     *
+     * @return the statistics
+     */
+    RpcStatistics statistics();
+
+    /**
+     * Retrieves the executor which executes the incoming requests.
+     *
+     * @return the executor
+     */
+    ExecutorService executor();
+
 }
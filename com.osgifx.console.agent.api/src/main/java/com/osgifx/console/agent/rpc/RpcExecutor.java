@@ -0,0 +1,385 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.agent.rpc;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.lang.reflect.Method;
+import java.util.Locale;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Predicate;
+
+import com.osgifx.console.agent.dto.XRpcPoolStatsDTO;
+
+/**
+ * Bounded thread pool which executes the incoming RPC requests.
+ * <p>
+ * In contrast to a pool backed by an unbounded queue, the pool starts
+ * additional threads up to its maximum size as soon as the queue is full and
+ * applies the configured {@link RejectionPolicy} once both are exhausted.
+ * The time every task spends waiting in the queue and running is recorded in
+ * histograms with exponentially growing buckets.
+ */
+public final class RpcExecutor extends ThreadPoolExecutor {
+
+    /**
+     * The exception message which is replied to the caller whenever a request
+     * cannot be accepted
+     */
+    public static final String BUSY_RESULT = "RPC pool is busy, retry later";
+
+    /**
+     * The number of histogram buckets whereas the bucket {@code i} counts the
+     * tasks taking less than {@code 2^i} milliseconds and the last bucket counts
+     * all remaining tasks
+     */
+    public static final int HISTOGRAM_BUCKETS = 16;
+
+    private static final long KEEP_ALIVE_TIME_IN_SECONDS = 60L;
+
+    /**
+     * The policy to apply if neither the queue nor the pool can accept any
+     * further task
+     */
+    public enum RejectionPolicy {
+        /**
+         * Rejects the task such that the request gets answered with
+         * {@link RpcExecutor#BUSY_RESULT}
+         */
+        BUSY,
+        /**
+         * Executes the task in the thread which receives the requests and
+         * thereby stops reading further requests from the connection until the
+         * task has been completed
+         */
+        CALLER_RUNS,
+        /**
+         * Executes the task in a single overflow thread such that the thread
+         * which receives the requests keeps reading and the task can in turn
+         * wait for the result of a request it issues. The overflow queue has the
+         * same capacity as the queue of the pool. Once it is full, the droppable
+         * requests are rejected and the thread which receives the requests
+         * waits for the overflow thread to accept any other request.
+         */
+        OVERFLOW;
+
+        /**
+         * Parses the specified policy name in a case-insensitive manner
+         *
+         * @param name the name of the policy (can be {@code null})
+         * @param defaultPolicy the policy to return if the name is unknown
+         * @return the policy
+         */
+        public static RejectionPolicy parse(final String name, final RejectionPolicy defaultPolicy) {
+            if (name == null) {
+                return defaultPolicy;
+            }
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (final IllegalArgumentException e) {
+                return defaultPolicy;
+            }
+        }
+    }
+
+    private final int               queueCapacity;
+    private final boolean           isVirtual;
+    private final RejectionPolicy   rejectionPolicy;
+    private final Predicate<String> isDroppable;
+    private final AtomicLong        rejected = new AtomicLong();
+    private final AtomicLong        dropped  = new AtomicLong();
+    private final LatencyHistogram  waitTime = new LatencyHistogram();
+    private final LatencyHistogram  runTime  = new LatencyHistogram();
+    private ThreadPoolExecutor      overflowExecutor;
+
+    private RpcExecutor(final int coreSize,
+                        final int maxSize,
+                        final int queueCapacity,
+                        final RejectionPolicy rejectionPolicy,
+                        final Predicate<String> isDroppable,
+                        final ThreadFactory threadFactory,
+                        final boolean isVirtual) {
+        super(coreSize, maxSize, KEEP_ALIVE_TIME_IN_SECONDS, SECONDS, new ArrayBlockingQueue<>(queueCapacity),
+              threadFactory);
+        this.queueCapacity   = queueCapacity;
+        this.isVirtual       = isVirtual;
+        this.rejectionPolicy = rejectionPolicy;
+        this.isDroppable     = isDroppable;
+        allowCoreThreadTimeOut(true);
+        setRejectedExecutionHandler((task, executor) -> reject(task));
+    }
+
+    /**
+     * Creates a new bounded pool
+     *
+     * @param coreSize the number of threads to keep while the queue is not full
+     * @param maxSize the maximum number of threads
+     * @param queueCapacity the maximum number of queued tasks
+     * @param rejectionPolicy the policy to apply if the pool is exhausted
+     * @param threadFactory the factory of the platform threads which is only
+     *            used if no virtual threads are used
+     * @param preferVirtualThreads {@code true} to use unnamed virtual threads
+     *            instead of the platform threads of the factory if the running
+     *            JVM supports them, otherwise {@code false}
+     * @return the pool
+     */
+    public static RpcExecutor newBoundedPool(final int coreSize,
+                                             final int maxSize,
+                                             final int queueCapacity,
+                                             final RejectionPolicy rejectionPolicy,
+                                             final ThreadFactory threadFactory,
+                                             final boolean preferVirtualThreads) {
+        return newBoundedPool(coreSize, maxSize, queueCapacity, rejectionPolicy, method -> false, threadFactory,
+                preferVirtualThreads);
+    }
+
+    /**
+     * Creates a new bounded pool which drops the specified requests once the
+     * {@link RejectionPolicy#OVERFLOW overflow} queue is full
+     *
+     * @param coreSize the number of threads to keep while the queue is not full
+     * @param maxSize the maximum number of threads
+     * @param queueCapacity the maximum number of queued tasks
+     * @param rejectionPolicy the policy to apply if the pool is exhausted
+     * @param isDroppable tests whether the request of the specified method
+     *            can be dropped
+     * @param threadFactory the factory of the platform threads which is only
+     *            used if no virtual threads are used
+     * @param preferVirtualThreads {@code true} to use unnamed virtual threads
+     *            instead of the platform threads of the factory if the running
+     *            JVM supports them, otherwise {@code false}
+     * @return the pool
+     */
+    public static RpcExecutor newBoundedPool(final int coreSize,
+                                             final int maxSize,
+                                             final int queueCapacity,
+                                             final RejectionPolicy rejectionPolicy,
+                                             final Predicate<String> isDroppable,
+                                             final ThreadFactory threadFactory,
+                                             final boolean preferVirtualThreads) {
+        final ThreadFactory virtualThreadFactory = preferVirtualThreads ? virtualThreadFactory() : null;
+        if (virtualThreadFactory != null) {
+            return new RpcExecutor(coreSize, maxSize, queueCapacity, rejectionPolicy, isDroppable,
+                                   virtualThreadFactory, true);
+        }
+        return new RpcExecutor(coreSize, maxSize, queueCapacity, rejectionPolicy, isDroppable, threadFactory,
+                               false);
+    }
+
+    /**
+     * Associates the specified task with the remote method it invokes such that
+     * the pool can tell whether it can be dropped
+     *
+     * @param method the name of the invoked method
+     * @param task the task executing the request
+     * @return the task to execute
+     */
+    public static Runnable request(final String method, final Runnable task) {
+        return new Request(method, task);
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        super.execute(new TimedTask(command));
+    }
+
+    /**
+     * Returns a snapshot of the pool statistics
+     *
+     * @return the statistics
+     */
+    public XRpcPoolStatsDTO stats() {
+        final XRpcPoolStatsDTO dto = new XRpcPoolStatsDTO();
+
+        dto.poolSize                = getPoolSize();
+        dto.largestPoolSize         = getLargestPoolSize();
+        dto.activeThreads           = getActiveCount();
+        dto.coreThreads             = getCorePoolSize();
+        dto.maxThreads              = getMaximumPoolSize();
+        dto.queueDepth              = getQueue().size();
+        dto.queueCapacity           = queueCapacity;
+        dto.completedTasks          = getCompletedTaskCount();
+        dto.rejectedTasks           = rejected.get();
+        dto.overflowQueueDepth      = overflowQueueDepth();
+        dto.droppedTasks            = dropped.get();
+        dto.rejectionPolicy         = rejectionPolicy.name();
+        dto.virtualThreads          = isVirtual;
+        dto.histogramBoundsInMillis = LatencyHistogram.bounds();
+        dto.waitTimeHistogram       = waitTime.snapshot();
+        dto.runTimeHistogram        = runTime.snapshot();
+
+        return dto;
+    }
+
+    @Override
+    public void shutdown() {
+        super.shutdown();
+        synchronized (this) {
+            if (overflowExecutor != null) {
+                overflowExecutor.shutdown();
+            }
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        final List<Runnable> tasks = super.shutdownNow();
+        synchronized (this) {
+            if (overflowExecutor != null) {
+                tasks.addAll(overflowExecutor.shutdownNow());
+            }
+        }
+        return tasks;
+    }
+
+    private void reject(final Runnable task) {
+        rejected.incrementAndGet();
+        if (!isShutdown()) {
+            switch (rejectionPolicy) {
+                case CALLER_RUNS:
+                    task.run();
+                    return;
+                case OVERFLOW:
+                    overflowExecutor().execute(task);
+                    return;
+                default:
+                    break;
+            }
+        }
+        throw new RejectedExecutionException(BUSY_RESULT);
+    }
+
+    private void rejectOverflow(final Runnable task, final ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException(BUSY_RESULT);
+        }
+        final Runnable delegate = ((TimedTask) task).delegate;
+        if (delegate instanceof Request && isDroppable.test(((Request) delegate).method)) {
+            dropped.incrementAndGet();
+            throw new RejectedExecutionException(BUSY_RESULT);
+        }
+        // blocks the reading thread at most as long as the overflow thread waits for a result
+        try {
+            executor.getQueue().put(task);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException(BUSY_RESULT);
+        }
+    }
+
+    private synchronized ThreadPoolExecutor overflowExecutor() {
+        if (overflowExecutor == null) {
+            overflowExecutor = new ThreadPoolExecutor(1, 1, 0L, SECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                                                      getThreadFactory(), this::rejectOverflow);
+        }
+        return overflowExecutor;
+    }
+
+    private synchronized int overflowQueueDepth() {
+        return overflowExecutor == null ? 0 : overflowExecutor.getQueue().size();
+    }
+
+    /**
+     * Looks up {@code Thread.ofVirtual().factory()} reflectively as the API is
+     * compiled against Java 8
+     */
+    private static ThreadFactory virtualThreadFactory() {
+        try {
+            final Method   ofVirtual    = Thread.class.getMethod("ofVirtual");
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            final Object   builder      = ofVirtual.invoke(null);
+            final Object   named        = builderClass.getMethod("name", String.class, long.class).invoke(builder,
+                    "osgifx-rpc-", 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(named);
+        } catch (final Exception e) {
+            return null;
+        }
+    }
+
+    private static final class Request implements Runnable {
+
+        private final String   method;
+        private final Runnable delegate;
+
+        Request(final String method, final Runnable delegate) {
+            this.method   = method;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void run() {
+            delegate.run();
+        }
+    }
+
+    private final class TimedTask implements Runnable {
+
+        private final Runnable delegate;
+        private final long     enqueuedAt = System.nanoTime();
+
+        TimedTask(final Runnable delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void run() {
+            final long startedAt = System.nanoTime();
+            waitTime.record(startedAt - enqueuedAt);
+            try {
+                delegate.run();
+            } finally {
+                runTime.record(System.nanoTime() - startedAt);
+            }
+        }
+    }
+
+    private static final class LatencyHistogram {
+
+        private final AtomicLongArray buckets = new AtomicLongArray(HISTOGRAM_BUCKETS);
+
+        void record(final long durationInNanos) {
+            final long durationInMillis = NANOSECONDS.toMillis(Math.max(0L, durationInNanos));
+            // bucket i holds the durations in [2^(i-1), 2^i) milliseconds
+            final int bucket = durationInMillis == 0 ? 0 : 64 - Long.numberOfLeadingZeros(durationInMillis);
+            buckets.incrementAndGet(Math.min(bucket, HISTOGRAM_BUCKETS - 1));
+        }
+
+        long[] snapshot() {
+            final long[] counts = new long[HISTOGRAM_BUCKETS];
+            for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+                counts[i] = buckets.get(i);
+            }
+            return counts;
+        }
+
+        static long[] bounds() {
+            final long[] bounds = new long[HISTOGRAM_BUCKETS];
+            for (int i = 0; i < HISTOGRAM_BUCKETS - 1; i++) {
+                bounds[i] = 1L << i;
+            }
+            bounds[HISTOGRAM_BUCKETS - 1] = Long.MAX_VALUE;
+            return bounds;
+        }
+    }
+
+}
@@ -0,0 +1,264 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.agent.rpc;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Records the round-trip times and the transferred bytes of a remote RPC
+ * connection.
+ * <p>
+ * The round-trip time of every method is smoothed by an exponentially weighted
+ * moving average and its jitter by the mean deviation, the same way TCP
+ * estimates its retransmission timeout (RFC 6298).
+ * <p>
+ * Only the timeout of the {@link #LINK_PROBE_METHOD link probe} is derived
+ * from these estimates as its round-trip time solely consists of the link
+ * latency. The round-trip time of any other method includes its execution
+ * time on the remote side which can legitimately vary by orders of magnitude,
+ * e.g. for heap dumps or command executions. Hence, these calls always wait
+ * up to the configured maximum timeout unless the calling thread imposes an
+ * earlier deadline using {@link #callWithin(long, Supplier)}.
+ * <p>
+ * All methods are thread-safe.
+ */
+public final class RpcStatistics {
+
+    private static final double ALPHA                 = 0.125;
+    private static final double BETA                  = 0.25;
+    private static final int    TIMEOUT_MULTIPLIER    = 10;
+    private static final long   MIN_TIMEOUT_IN_MILLIS = 5_000L;
+
+    /** The method whose round-trip time measures the link latency */
+    public static final String LINK_PROBE_METHOD = "ping";
+
+    private static final ThreadLocal<CallContext> CALL_CONTEXT = new ThreadLocal<>();
+
+    private final long                   maxTimeoutInMillis;
+    private final Map<String, Estimator> estimators    = new ConcurrentHashMap<>();
+    private final AtomicInteger          inFlight      = new AtomicInteger();
+    private final AtomicLong             completed     = new AtomicLong();
+    private final AtomicLong             timedOut      = new AtomicLong();
+    private final AtomicLong             bytesSent     = new AtomicLong();
+    private final AtomicLong             bytesReceived = new AtomicLong();
+
+    public RpcStatistics(final long maxTimeoutInMillis) {
+        this.maxTimeoutInMillis = maxTimeoutInMillis;
+    }
+
+    /**
+     * Executes the specified call such that every remote invocation made by the
+     * calling thread during the call times out no later than the specified
+     * timeout. Nested calls can only shorten the deadline.
+     *
+     * @param timeoutInMillis the timeout of the whole call in milliseconds
+     * @param call the call to execute
+     * @return the result of the call
+     */
+    public static <T> T callWithin(final long timeoutInMillis, final Supplier<T> call) {
+        final CallContext parent          = CALL_CONTEXT.get();
+        final long        deadline        = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutInMillis);
+        final boolean     isParentEarlier = parent != null && parent.deadlineInNanos - deadline < 0;
+        CALL_CONTEXT.set(new CallContext(parent, isParentEarlier ? parent.deadlineInNanos : deadline));
+        try {
+            return call.get();
+        } finally {
+            if (parent == null) {
+                CALL_CONTEXT.remove();
+            } else {
+                CALL_CONTEXT.set(parent);
+            }
+        }
+    }
+
+    /**
+     * Checks whether a remote invocation made by the calling thread has timed
+     * out during the current {@link #callWithin(long, Supplier) call}. As a
+     * timed out invocation returns {@code null} instead of failing, the result
+     * of such a call cannot be trusted.
+     *
+     * @return {@code true} if an invocation has timed out, otherwise
+     *         {@code false} and always {@code false} outside of a call
+     */
+    public static boolean isCallTimedOut() {
+        final CallContext context = CALL_CONTEXT.get();
+        return context != null && context.isTimedOut;
+    }
+
+    /**
+     * Returns the timeout of the next call of the specified method which is
+     * only adapted to the link latency for the {@link #LINK_PROBE_METHOD} and
+     * capped by the deadline of the calling thread, if any
+     *
+     * @param method the name of the method
+     * @return the timeout in milliseconds
+     */
+    public long timeoutInMillis(final String method) {
+        final CallContext context = CALL_CONTEXT.get();
+        final long        timeout = methodTimeoutInMillis(method);
+        if (context == null) {
+            return timeout;
+        }
+        final long remaining = TimeUnit.NANOSECONDS.toMillis(context.deadlineInNanos - System.nanoTime());
+        return Math.max(0, Math.min(timeout, remaining));
+    }
+
+    private long methodTimeoutInMillis(final String method) {
+        if (!LINK_PROBE_METHOD.equals(method)) {
+            return maxTimeoutInMillis;
+        }
+        final Estimator estimator = estimators.get(method);
+        if (estimator == null) {
+            return maxTimeoutInMillis;
+        }
+        final long timeout = TIMEOUT_MULTIPLIER * estimator.retransmissionTimeoutInMillis();
+        return Math.min(maxTimeoutInMillis, Math.max(MIN_TIMEOUT_IN_MILLIS, timeout));
+    }
+
+    public void started() {
+        inFlight.incrementAndGet();
+    }
+
+    public void finished() {
+        inFlight.decrementAndGet();
+    }
+
+    public void completed(final String method, final long roundTripTimeInNanos) {
+        completed.incrementAndGet();
+        estimators.computeIfAbsent(method, m -> new Estimator()).update(roundTripTimeInNanos);
+    }
+
+    public void timedOut(final String method) {
+        timedOut.incrementAndGet();
+        for (CallContext context = CALL_CONTEXT.get(); context != null; context = context.parent) {
+            context.isTimedOut = true;
+        }
+        final Estimator estimator = estimators.get(method);
+        if (estimator != null) {
+            estimator.backOff();
+        }
+    }
+
+    public void sent(final long bytes) {
+        bytesSent.addAndGet(bytes);
+    }
+
+    public void received(final long bytes) {
+        bytesReceived.addAndGet(bytes);
+    }
+
+    /**
+     * Returns the smoothed round-trip time of the specified method
+     *
+     * @param method the name of the method
+     * @return the round-trip time in milliseconds or {@code -1} if not observed
+     *         yet
+     */
+    public double roundTripTimeInMillis(final String method) {
+        final Estimator estimator = estimators.get(method);
+        return estimator == null ? -1 : estimator.smoothedInMillis();
+    }
+
+    /**
+     * Returns the jitter, i.e. the mean deviation of the round-trip time of the
+     * specified method
+     *
+     * @param method the name of the method
+     * @return the jitter in milliseconds or {@code -1} if not observed yet
+     */
+    public double jitterInMillis(final String method) {
+        final Estimator estimator = estimators.get(method);
+        return estimator == null ? -1 : estimator.deviationInMillis();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public long completed() {
+        return completed.get();
+    }
+
+    public long timedOut() {
+        return timedOut.get();
+    }
+
+    public long bytesSent() {
+        return bytesSent.get();
+    }
+
+    public long bytesReceived() {
+        return bytesReceived.get();
+    }
+
+    private static final class Estimator {
+
+        private double smoothed;
+        private double deviation;
+        private long   samples;
+
+        synchronized void update(final long roundTripTimeInNanos) {
+            final double sample = roundTripTimeInNanos;
+            if (samples++ == 0) {
+                smoothed  = sample;
+                deviation = sample / 2;
+            } else {
+                deviation = (1 - BETA) * deviation + BETA * Math.abs(smoothed - sample);
+                smoothed  = (1 - ALPHA) * smoothed + ALPHA * sample;
+            }
+        }
+
+        synchronized void backOff() {
+            // a timed out call indicates a much slower link than estimated
+            smoothed  *= 2;
+            deviation *= 2;
+        }
+
+        synchronized long retransmissionTimeoutInMillis() {
+            return TimeUnit.NANOSECONDS.toMillis((long) (smoothed + 4 * deviation));
+        }
+
+        synchronized double smoothedInMillis() {
+            return smoothed / TimeUnit.MILLISECONDS.toNanos(1);
+        }
+
+        synchronized double deviationInMillis() {
+            return deviation / TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+
+    /**
+     * The deadline of a {@link #callWithin(long, Supplier) call} which is only
+     * accessed by the calling thread
+     */
+    private static final class CallContext {
+
+        private final CallContext parent;
+        private final long        deadlineInNanos;
+        private boolean           isTimedOut;
+
+        CallContext(final CallContext parent, final long deadlineInNanos) {
+            this.parent          = parent;
+            this.deadlineInNanos = deadlineInNanos;
+        }
+    }
+
+}
@@ -30,6 +30,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -40,6 +41,8 @@ import com.j256.simplelogging.FluentLogger;
 import com.j256.simplelogging.LoggerFactory;
 import com.osgifx.console.agent.Agent;
 import com.osgifx.console.agent.rpc.RemoteRPC;
+import com.osgifx.console.agent.rpc.RpcExecutor;
+import com.osgifx.console.agent.rpc.RpcStatistics;
 import com.osgifx.console.agent.rpc.mqtt.api.Mqtt5Message;
 import com.osgifx.console.agent.rpc.mqtt.api.Mqtt5Publisher;
 
@@ -48,16 +51,19 @@ import aQute.lib.json.JSONCodec;
 
 public class MqttRPC<L, R> implements Closeable, RemoteRPC<L, R> {
 
+    private static final long MAX_TIMEOUT_IN_MILLIS = 10_000L;
+
     private MqttClient                    mqttClient;
     private final String                  pubTopic;
     private final String                  subTopic;
     private final BundleContext           bundleContext;
-    private final AtomicInteger           id       = new AtomicInteger(10_000);
-    private final Map<Integer, RpcResult> promises = new ConcurrentHashMap<>();
-    private final AtomicBoolean           started  = new AtomicBoolean();
-    private final AtomicBoolean           stopped  = new AtomicBoolean();
-    private final ThreadLocal<Integer>    msgId    = new ThreadLocal<>();
-    private final FluentLogger            logger   = LoggerFactory.getFluentLogger(getClass());
+    private final AtomicInteger           id         = new AtomicInteger(10_000);
+    private final Map<Integer, RpcResult> promises   = new ConcurrentHashMap<>();
+    private final AtomicBoolean           started    = new AtomicBoolean();
+    private final AtomicBoolean           stopped    = new AtomicBoolean();
+    private final ThreadLocal<Integer>    msgId      = new ThreadLocal<>();
+    private final FluentLogger            logger     = LoggerFactory.getFluentLogger(getClass());
+    private final RpcStatistics           statistics = new RpcStatistics(MAX_TIMEOUT_IN_MILLIS);
 
     private final L        local;
     private R              remote;
@@ -106,6 +112,7 @@ public class MqttRPC<L, R> implements Closeable, RemoteRPC<L, R> {
             subscriber.subscribe(subTopic).forEach(msg -> {
                 try {
                     final ByteBuffer   payload    = msg.payload;
+                    statistics.received(payload.remaining());
                     final RpcMessage   message    = decodeMessage(payload);
                     final List<byte[]> methodArgs = new ArrayList<>();
                     if (message.methodArgs != null) {
@@ -113,6 +120,11 @@ public class MqttRPC<L, R> implements Closeable, RemoteRPC<L, R> {
                             methodArgs.add(Base64.getDecoder().decode(arg));
                         }
                     }
+                    if (message.methodName.isEmpty()) {
+                        // responses are cheap and must never be rejected by a busy pool
+                        response(message.id, methodArgs.get(0));
+                        return;
+                    }
                     final Runnable r = () -> {
                         try {
                             msgId.set(message.id);
@@ -122,7 +134,11 @@ public class MqttRPC<L, R> implements Closeable, RemoteRPC<L, R> {
                         }
                         msgId.remove();
                     };
-                    executor.execute(r);
+                    try {
+                        executor.execute(RpcExecutor.request(message.methodName, r));
+                    } catch (final RejectedExecutionException e) {
+                        replyBusy(message.id);
+                    }
                 } catch (final Exception e) {
                     return;
                 }
@@ -176,7 +192,7 @@ public class MqttRPC<L, R> implements Closeable, RemoteRPC<L, R> {
                                 terminate();
                                 return null;
                             }
-                            return waitForResult(msgId, method.getGenericReturnType());
+                            return waitForResult(msgId, method.getName(), method.getGenericReturnType());
                         } catch (final InvocationTargetException ite) {
                             throw Exceptions.unrollCause(ite, InvocationTargetException.class);
                         } catch (final Exception e) {
@@ -192,6 +208,25 @@ public class MqttRPC<L, R> implements Closeable, RemoteRPC<L, R> {
         return !stopped.get();
     }
 
+    @Override
+    public RpcStatistics statistics() {
+        return statistics;
+    }
+
+    @Override
+    public ExecutorService executor() {
+        return executor;
+    }
+
+    private void replyBusy(final int id) {
+        trace("Rejected MQTT RPC " + id);
+        try {
+            send(msg(-id, null, new Object[] { RpcExecutor.BUSY_RESULT }));
+        } catch (final Exception e) {
+            terminate();
+        }
+    }
+
     protected void terminate() {
         try {
             close();
@@ -231,6 +266,7 @@ public class MqttRPC<L, R> implements Closeable, RemoteRPC<L, R> {
                     message.payload = data;
 
                     publisher.publish(message);
+                    statistics.sent(bout.size());
                     trace("Sent MQTT RPC: " + msg);
                 } catch (final Exception e) {
                     throw new RuntimeException("Message cannot be encoded");
@@ -259,20 +295,25 @@ public class MqttRPC<L, R> implements Closeable, RemoteRPC<L, R> {
     }
 
     @SuppressWarnings("unchecked")
-    private <T> T waitForResult(final int id, final Type type) throws Exception {
-        final long      deadlineInMillis = 10_000L;
+    private <T> T waitForResult(final int id, final String method, final Type type) throws Exception {
+        final long      deadlineInMillis = statistics.timeoutInMillis(method);
         final long      startInNanos     = System.nanoTime();
         final RpcResult result           = promises.get(id);
+        statistics.started();
         try {
             do {
                 synchronized (result) {
                     if (result.resolved) {
+                        statistics.completed(method, System.nanoTime() - startInNanos);
                         if (result.value == null) {
                             return null;
                         }
                         if (result.exception) {
                             final String msg = new JSONCodec().dec().inflate().from(result.value).get(String.class);
                             trace("Exception during agent communication: " + msg);
+                            if (RpcExecutor.BUSY_RESULT.equals(msg)) {
+                                throw new RejectedExecutionException(msg);
+                            }
                             throw new RuntimeException(msg);
                         }
                         if (type == byte[].class) {
@@ -283,6 +324,7 @@ public class MqttRPC<L, R> implements Closeable, RemoteRPC<L, R> {
                     long elapsedInNanos = System.nanoTime() - startInNanos;
                     long delayInMillis  = deadlineInMillis - TimeUnit.NANOSECONDS.toMillis(elapsedInNanos);
                     if (delayInMillis <= 0L) {
+                        statistics.timedOut(method);
                         return null;
                     }
                     trace("Start Delay (MQTT RPC)" + delayInMillis);
@@ -290,12 +332,14 @@ public class MqttRPC<L, R> implements Closeable, RemoteRPC<L, R> {
                     elapsedInNanos = System.nanoTime() - startInNanos;
                     delayInMillis  = deadlineInMillis - TimeUnit.NANOSECONDS.toMillis(elapsedInNanos);
                     if (delayInMillis <= 0L) {
+                        statistics.timedOut(method);
                         return null;
                     }
                     trace("End Delay (MQTT RPC)" + delayInMillis);
                 }
             } while (true);
         } finally {
+            statistics.finished();
             promises.remove(id);
         }
     }
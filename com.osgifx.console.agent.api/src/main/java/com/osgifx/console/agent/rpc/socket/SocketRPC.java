@@ -33,6 +33,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -41,19 +42,24 @@ import com.j256.simplelogging.FluentLogger;
 import com.j256.simplelogging.LoggerFactory;
 import com.osgifx.console.agent.Agent;
 import com.osgifx.console.agent.rpc.RemoteRPC;
+import com.osgifx.console.agent.rpc.RpcExecutor;
+import com.osgifx.console.agent.rpc.RpcStatistics;
 
 import aQute.bnd.exceptions.Exceptions;
 import aQute.lib.json.JSONCodec;
 
 public class SocketRPC<L, R> extends Thread implements Closeable, RemoteRPC<L, R> {
 
+    private static final long MAX_TIMEOUT_IN_MILLIS = 300_000L;
+
     private final DataInputStream         in;
     private final DataOutputStream        out;
-    private final AtomicInteger           id       = new AtomicInteger(10_000);
-    private final Map<Integer, RpcResult> promises = new ConcurrentHashMap<>();
-    private final AtomicBoolean           stopped  = new AtomicBoolean();
-    private final ThreadLocal<Integer>    msgId    = new ThreadLocal<>();
-    private final FluentLogger            logger   = LoggerFactory.getFluentLogger(getClass());
+    private final AtomicInteger           id         = new AtomicInteger(10_000);
+    private final Map<Integer, RpcResult> promises   = new ConcurrentHashMap<>();
+    private final AtomicBoolean           stopped    = new AtomicBoolean();
+    private final ThreadLocal<Integer>    msgId      = new ThreadLocal<>();
+    private final FluentLogger            logger     = LoggerFactory.getFluentLogger(getClass());
+    private final RpcStatistics           statistics = new RpcStatistics(MAX_TIMEOUT_IN_MILLIS);
 
     private L              local;
     private R              remote;
@@ -162,7 +168,7 @@ public class SocketRPC<L, R> extends Thread implements Closeable, RemoteRPC<L, R
                                 terminate();
                                 return null;
                             }
-                            return waitForResult(msgId, method.getGenericReturnType());
+                            return waitForResult(msgId, method.getName(), method.getGenericReturnType());
                         } catch (final InvocationTargetException e2) {
                             throw Exceptions.unrollCause(e2, InvocationTargetException.class);
                         } catch (final InterruptedException e3) {
@@ -181,6 +187,16 @@ public class SocketRPC<L, R> extends Thread implements Closeable, RemoteRPC<L, R
         return !stopped.get();
     }
 
+    @Override
+    public RpcStatistics statistics() {
+        return statistics;
+    }
+
+    @Override
+    public ExecutorService executor() {
+        return executor;
+    }
+
     @Override
     public void run() {
         while (!isInterrupted() && !stopped.get()) {
@@ -194,6 +210,12 @@ public class SocketRPC<L, R> extends Thread implements Closeable, RemoteRPC<L, R
                     final byte[] data   = new byte[length];
                     in.readFully(data);
                     args.add(data);
+                    statistics.received(length);
+                }
+                if (cmd.isEmpty()) {
+                    // responses are cheap and must never be rejected by a busy pool
+                    response(id, args.get(0));
+                    continue;
                 }
                 final Runnable r = () -> {
                     try {
@@ -204,7 +226,11 @@ public class SocketRPC<L, R> extends Thread implements Closeable, RemoteRPC<L, R
                     }
                     msgId.remove();
                 };
-                executor.execute(r);
+                try {
+                    executor.execute(RpcExecutor.request(cmd, r));
+                } catch (final RejectedExecutionException e) {
+                    replyBusy(id);
+                }
             } catch (final SocketTimeoutException ee) {
                 // Ignore, just to allow polling the actors again
             } catch (final Exception ee) {
@@ -214,6 +240,15 @@ public class SocketRPC<L, R> extends Thread implements Closeable, RemoteRPC<L, R
         }
     }
 
+    private void replyBusy(final int id) {
+        trace("Rejected Socket RPC " + id);
+        try {
+            send(-id, null, new Object[] { RpcExecutor.BUSY_RESULT });
+        } catch (final Exception e) {
+            terminate();
+        }
+    }
+
     protected void terminate() {
         try {
             close();
@@ -251,12 +286,14 @@ public class SocketRPC<L, R> extends Thread implements Closeable, RemoteRPC<L, R
                     final byte[] data = (byte[]) value;
                     out.writeInt(data.length);
                     out.write(data);
+                    statistics.sent(data.length);
                 } else {
                     final ByteArrayOutputStream bout = new ByteArrayOutputStream();
                     new JSONCodec().enc().deflate().to(bout).put(value);
                     final byte[] data = bout.toByteArray();
                     out.writeInt(data.length);
                     out.write(data);
+                    statistics.sent(data.length);
                 }
             }
             out.flush();
@@ -284,20 +321,25 @@ public class SocketRPC<L, R> extends Thread implements Closeable, RemoteRPC<L, R
     }
 
     @SuppressWarnings("unchecked")
-    private <T> T waitForResult(final int id, final Type type) throws Exception {
-        final long      deadlineInMillis = 300_000L;
+    private <T> T waitForResult(final int id, final String method, final Type type) throws Exception {
+        final long      deadlineInMillis = statistics.timeoutInMillis(method);
         final long      startInNanos     = System.nanoTime();
         final RpcResult result           = promises.get(id);
+        statistics.started();
         try {
             do {
                 synchronized (result) {
                     if (result.resolved) {
+                        statistics.completed(method, System.nanoTime() - startInNanos);
                         if (result.value == null) {
                             return null;
                         }
                         if (result.exception) {
                             final String msg = new JSONCodec().dec().inflate().from(result.value).get(String.class);
                             trace("Exception during agent communication: " + msg);
+                            if (RpcExecutor.BUSY_RESULT.equals(msg)) {
+                                throw new RejectedExecutionException(msg);
+                            }
                             throw new RuntimeException(msg);
                         }
                         if (type == byte[].class) {
@@ -308,6 +350,7 @@ public class SocketRPC<L, R> extends Thread implements Closeable, RemoteRPC<L, R
                     long elapsedInNanos = System.nanoTime() - startInNanos;
                     long delayInMillis  = deadlineInMillis - TimeUnit.NANOSECONDS.toMillis(elapsedInNanos);
                     if (delayInMillis <= 0L) {
+                        statistics.timedOut(method);
                         return null;
                     }
                     trace("Start Delay (Socket RPC)" + delayInMillis);
@@ -318,6 +361,7 @@ public class SocketRPC<L, R> extends Thread implements Closeable, RemoteRPC<L, R
                 }
             } while (true);
         } finally {
+            statistics.finished();
             promises.remove(id);
         }
     }
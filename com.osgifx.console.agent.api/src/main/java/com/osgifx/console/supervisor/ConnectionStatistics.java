@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.supervisor;
+
+import org.osgi.dto.DTO;
+
+/**
+ * Data Transfer Object (DTO) representing the health of the connection to the
+ * remote runtime agent.
+ *
+ * @see Supervisor#getConnectionStatistics()
+ */
+public class ConnectionStatistics extends DTO {
+
+    /** Smoothed round-trip time of the heartbeat or {@code -1} if not measured yet. */
+    public double roundTripTimeInMillis;
+
+    /** Mean deviation of the heartbeat round-trip time or {@code -1} if not measured yet. */
+    public double jitterInMillis;
+
+    /** Number of requests awaiting their response. */
+    public int inFlightRequests;
+
+    /** Number of requests which have received their response. */
+    public long completedRequests;
+
+    /** Number of requests which have not received their response in time. */
+    public long timedOutRequests;
+
+    /** Number of payload bytes sent to the agent. */
+    public long bytesSent;
+
+    /** Number of payload bytes received from the agent. */
+    public long bytesReceived;
+
+}
@@ -33,6 +33,9 @@ public interface EventListener {
      * By default, all events from all the topics will be intercepted by this
      * listener. However, you can also specify which event you are interested to
      * intercept.
+     * <p>
+     * The topics are compiled on every change, hence implementations should
+     * return the same collection as long as the topics do not change.
      *
      * @return the collection of event topics
      */
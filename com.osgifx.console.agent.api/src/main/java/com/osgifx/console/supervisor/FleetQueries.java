@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.supervisor;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.osgi.framework.Version;
+
+import com.osgifx.console.agent.Agent;
+import com.osgifx.console.agent.dto.XBundleDTO;
+
+/**
+ * Commonly used queries to be run across a fleet
+ *
+ * @see FleetSupervisor#query(Function, long)
+ */
+public final class FleetQueries {
+
+    private FleetQueries() {
+        throw new IllegalAccessError("Cannot be instantiated");
+    }
+
+    /**
+     * Returns the query which retrieves the version of the specified bundle
+     *
+     * @param symbolicName the symbolic name of the bundle
+     * @return the query which returns the version or {@code null} if the bundle
+     *         is not installed
+     */
+    public static Function<Agent, String> bundleVersion(final String symbolicName) {
+        return agent -> {
+            final List<XBundleDTO> bundles = agent.getAllBundles();
+            // a timed out invocation returns null
+            if (bundles == null) {
+                return null;
+            }
+            for (final XBundleDTO bundle : bundles) {
+                if (symbolicName.equals(bundle.symbolicName)) {
+                    return bundle.version;
+                }
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Returns the query which checks whether the specified bundle is installed
+     * in a version lower than the specified one, e.g. to find the gateways
+     * running an outdated bundle
+     *
+     * @param symbolicName the symbolic name of the bundle
+     * @param version the (exclusive) upper bound of the version
+     * @return the query which returns {@code true} if the bundle is installed in
+     *         a lower version
+     */
+    public static Function<Agent, Boolean> bundleVersionBelow(final String symbolicName, final String version) {
+        final Version upperBound = Version.parseVersion(version);
+        return bundleVersion(symbolicName)
+                .andThen(installed -> installed != null && Version.parseVersion(installed).compareTo(upperBound) < 0);
+    }
+
+}
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.supervisor;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The result of a fleet query for a single member
+ *
+ * @param <R> the type of the result
+ * @see FleetSupervisor#query(java.util.function.Function, long)
+ */
+public final class FleetResult<R> {
+
+    public enum Status {
+        SUCCEEDED,
+        FAILED,
+        TIMED_OUT
+    }
+
+    private final Status status;
+    private final R      value;
+    private final String error;
+    private final long   durationInMillis;
+
+    private FleetResult(final Status status, final R value, final String error, final long durationInMillis) {
+        this.status           = requireNonNull(status, "'status' cannot be null");
+        this.value            = value;
+        this.error            = error;
+        this.durationInMillis = durationInMillis;
+    }
+
+    public static <R> FleetResult<R> succeeded(final R value, final long durationInMillis) {
+        return new FleetResult<>(Status.SUCCEEDED, value, null, durationInMillis);
+    }
+
+    public static <R> FleetResult<R> failed(final String error, final long durationInMillis) {
+        return new FleetResult<>(Status.FAILED, null, error, durationInMillis);
+    }
+
+    public static <R> FleetResult<R> timedOut(final long durationInMillis) {
+        return new FleetResult<>(Status.TIMED_OUT, null, null, durationInMillis);
+    }
+
+    public Status status() {
+        return status;
+    }
+
+    public boolean isSucceeded() {
+        return status == Status.SUCCEEDED;
+    }
+
+    /**
+     * Returns the value of a succeeded query, {@code null} otherwise
+     */
+    public R value() {
+        return value;
+    }
+
+    /**
+     * Returns the error message of a failed query, {@code null} otherwise
+     */
+    public String error() {
+        return error;
+    }
+
+    public long durationInMillis() {
+        return durationInMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "FleetResult [status=" + status + ", value=" + value + ", error=" + error + ", durationInMillis="
+                + durationInMillis + "]";
+    }
+
+}
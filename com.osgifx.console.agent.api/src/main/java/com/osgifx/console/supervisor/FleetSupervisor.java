@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.supervisor;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.osgi.annotation.versioning.ProviderType;
+
+import com.osgifx.console.agent.Agent;
+
+/**
+ * Maintains socket connections to a fleet of remote runtime agents and runs
+ * queries across all of them concurrently.
+ * <p>
+ * In contrast to {@link Supervisor} which is bound to a single agent, every
+ * member of the fleet is identified by a unique name, e.g. the name of the
+ * gateway.
+ */
+@ProviderType
+public interface FleetSupervisor {
+
+    /**
+     * Connects to the agent and adds it to the fleet. An existing connection
+     * with the same name gets closed first.
+     *
+     * @param name the unique name of the member
+     * @param connection the socket connection configuration
+     * @throws Exception if the connection cannot be established
+     */
+    void connect(String name, SocketConnection connection) throws Exception;
+
+    /**
+     * Disconnects the agent and removes it from the fleet
+     *
+     * @param name the name of the member
+     */
+    void disconnect(String name);
+
+    /**
+     * Disconnects all the agents of the fleet
+     */
+    void disconnectAll();
+
+    /**
+     * Returns the names of the connected members
+     *
+     * @return the names of the members (never {@code null})
+     */
+    Set<String> members();
+
+    /**
+     * Runs the specified query against every member of the fleet with bounded
+     * parallelism. A member which does not answer within the specified deadline
+     * is reported as timed out without delaying the results of the others.
+     *
+     * @param <R> the type of the result
+     * @param query the query to run against every agent
+     * @param deadlineInMillis the deadline per member in milliseconds
+     * @return the future which gets completed as soon as all members have
+     *         answered or exceeded their deadlines (key: member name)
+     */
+    <R> CompletableFuture<Map<String, FleetResult<R>>> query(Function<Agent, R> query, long deadlineInMillis);
+
+}
@@ -18,6 +18,7 @@ package com.osgifx.console.supervisor;
 import org.osgi.annotation.versioning.ProviderType;
 
 import com.osgifx.console.agent.Agent;
+import com.osgifx.console.agent.dto.XClassloaderLeakDTO;
 import com.osgifx.console.agent.dto.XEventDTO;
 import com.osgifx.console.agent.dto.XLogEntryDTO;
 
@@ -53,6 +54,9 @@ public interface Supervisor {
     /** The topic where an event will be sent when the event listener is removed */
     String EVENT_LISTENER_REMOVED_EVENT_TOPIC = "fx/console/supervisor/event/listener/removed";
 
+    /** The topic where an event will be sent when the agent detects a new classloader leak */
+    String CLASSLOADER_LEAK_DETECTED_EVENT_TOPIC = "fx/console/agent/leak/detected";
+
     /**
      * Returns the type of the RPC communication
      */
@@ -105,6 +109,11 @@ public interface Supervisor {
      */
     void logged(XLogEntryDTO event);
 
+    /**
+     * Callback method for newly detected classloader leaks
+     */
+    void onClassloaderLeak(XClassloaderLeakDTO leak);
+
     /**
      * Registers the specified listener to listen to the OSGi events from the remote
      * machine
@@ -141,4 +150,12 @@ public interface Supervisor {
      * @return the agent
      */
     Agent getAgent();
+
+    /**
+     * Returns the round-trip time, throughput and request statistics of the
+     * connection to the agent
+     *
+     * @return the statistics or {@code null} if no remote agent is connected
+     */
+    ConnectionStatistics getConnectionStatistics();
 }
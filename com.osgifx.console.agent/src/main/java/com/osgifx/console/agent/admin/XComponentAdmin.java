@@ -96,6 +96,24 @@ public final class XComponentAdmin {
         return dtos;
     }
 
+    public int countComponents() {
+        if (scr == null) {
+            logger.atWarn().msg(serviceUnavailable(SCR)).log();
+            return 0;
+        }
+        try {
+            int count = 0;
+            for (final ComponentDescriptionDTO compDescDTO : scr.getComponentDescriptionDTOs()) {
+                // a component without any configuration is counted once as in getComponents()
+                count += Math.max(1, scr.getComponentConfigurationDTOs(compDescDTO).size());
+            }
+            return count;
+        } catch (final Exception e) {
+            logger.atError().msg("Error occurred while counting components").throwable(e).log();
+            return 0;
+        }
+    }
+
     public XResultDTO enableComponent(final long id) {
         if (scr == null) {
             logger.atWarn().msg(serviceUnavailable(SCR)).log();
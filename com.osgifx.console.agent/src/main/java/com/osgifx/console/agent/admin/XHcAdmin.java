@@ -155,12 +155,14 @@ public final class XHcAdmin {
     private XHealthCheckResultDTO toResultDTO(final HealthCheckExecutionResult result) {
         final XHealthCheckResultDTO dto = new XHealthCheckResultDTO();
 
-        dto.healthCheckName = result.getHealthCheckMetadata().getName();
-        dto.healthCheckTags = result.getHealthCheckMetadata().getTags();
-        dto.elapsedTime     = result.getElapsedTimeInMs();
-        dto.finishedAt      = result.getFinishedAt().getTime();
-        dto.isTimedOut      = result.hasTimedOut();
-        dto.results         = initResults(result.getHealthCheckResult());
+        dto.healthCheckServiceId = result.getHealthCheckMetadata().getServiceId();
+        dto.healthCheckName      = result.getHealthCheckMetadata().getName();
+        dto.healthCheckTags      = result.getHealthCheckMetadata().getTags();
+        dto.status               = result.getHealthCheckResult().getStatus().name();
+        dto.elapsedTime          = result.getElapsedTimeInMs();
+        dto.finishedAt           = result.getFinishedAt().getTime();
+        dto.isTimedOut           = result.hasTimedOut();
+        dto.results              = initResults(result.getHealthCheckResult());
 
         return dto;
     }
@@ -21,6 +21,7 @@ import java.lang.management.ManagementFactory;
 import java.lang.management.MemoryMXBean;
 import java.lang.management.MemoryPoolMXBean;
 import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
 import java.lang.management.RuntimeMXBean;
 import java.lang.reflect.Method;
 import java.nio.file.Files;
@@ -29,6 +30,7 @@ import java.util.Collection;
 import java.util.List;
 
 import javax.management.MBeanServer;
+import javax.management.ObjectName;
 
 import com.j256.simplelogging.FluentLogger;
 import com.j256.simplelogging.LoggerFactory;
@@ -36,12 +38,14 @@ import com.osgifx.console.agent.dto.XHeapUsageDTO;
 import com.osgifx.console.agent.dto.XHeapUsageDTO.XGarbageCollectorMXBean;
 import com.osgifx.console.agent.dto.XHeapUsageDTO.XMemoryPoolMXBean;
 import com.osgifx.console.agent.dto.XHeapUsageDTO.XMemoryUsage;
+import com.osgifx.console.agent.dto.XRuntimeSummaryDTO;
 
 public final class XJmxAdmin {
 
-    private static final String    HOTSPOT_BEAN_NAME = "com.sun.management:type=HotSpotDiagnostic";
+    private static final String    HOTSPOT_BEAN_NAME     = "com.sun.management:type=HotSpotDiagnostic";
+    private static final String    PROCESS_CPU_LOAD_ATTR = "ProcessCpuLoad";
     private static volatile Object hotspotMBean;
-    private final FluentLogger     logger            = LoggerFactory.getFluentLogger(getClass());
+    private final FluentLogger     logger                = LoggerFactory.getFluentLogger(getClass());
 
     public XHeapUsageDTO init() {
         final XHeapUsageDTO heapUsage = new XHeapUsageDTO();
@@ -61,6 +65,35 @@ public final class XJmxAdmin {
         return heapUsage;
     }
 
+    public void initRuntimeSummary(final XRuntimeSummaryDTO summary) {
+        try {
+            final OperatingSystemMXBean osMBean = ManagementFactory.getOperatingSystemMXBean();
+
+            summary.threads           = ManagementFactory.getThreadMXBean().getThreadCount();
+            summary.uptime            = ManagementFactory.getRuntimeMXBean().getUptime();
+            summary.systemLoadAverage = osMBean.getSystemLoadAverage();
+            summary.processCpuLoad    = getProcessCpuLoad();
+        } catch (final Exception e) {
+            logger.atError().msg("Error occurred while retrieving runtime summary").throwable(e).log();
+        }
+    }
+
+    /**
+     * The process CPU load is only exposed by the com.sun.management extension
+     * of the operating system MBean, hence it is read as an MBean attribute
+     */
+    private double getProcessCpuLoad() {
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName  name   = new ObjectName(ManagementFactory.OPERATING_SYSTEM_MXBEAN_NAME);
+            final Object      load   = server.getAttribute(name, PROCESS_CPU_LOAD_ATTR);
+            return load instanceof Double ? (Double) load : -1;
+        } catch (final Exception e) {
+            logger.atDebug().msg("Process CPU load is not available").throwable(e).log();
+            return -1;
+        }
+    }
+
     private static XMemoryUsage initMemoryUsageMBean(final MemoryUsage memoryUsage) {
         final XMemoryUsage memUsage = new XMemoryUsage();
 
@@ -17,13 +17,16 @@ package com.osgifx.console.agent.admin;
 
 import static java.util.Objects.requireNonNull;
 
-import org.osgi.service.log.LogReaderService;
+import java.util.Collections;
+import java.util.List;
 
-import com.osgifx.console.agent.handler.OSGiLogListener;
+import org.osgi.service.log.LogEntry;
+import org.osgi.service.log.LogListener;
+import org.osgi.service.log.LogReaderService;
 
 public final class XLogReaderAdmin {
 
-    public void register(final Object service, final OSGiLogListener logListener) {
+    public void register(final Object service, final LogListener logListener) {
         requireNonNull(service);
         requireNonNull(logListener);
 
@@ -32,7 +35,7 @@ public final class XLogReaderAdmin {
         }
     }
 
-    public void unregister(final Object service, final OSGiLogListener logListener) {
+    public void unregister(final Object service, final LogListener logListener) {
         requireNonNull(service);
         requireNonNull(logListener);
 
@@ -41,4 +44,17 @@ public final class XLogReaderAdmin {
         }
     }
 
+    @SuppressWarnings("deprecation")
+    public void replay(final Object service, final LogListener logListener) {
+        requireNonNull(service);
+        requireNonNull(logListener);
+
+        if (service instanceof LogReaderService) {
+            // the history is ordered from the most recent to the oldest entry
+            final List<LogEntry> entries = Collections.list(((LogReaderService) service).getLog());
+            Collections.reverse(entries);
+            entries.forEach(logListener::logged);
+        }
+    }
+
 }
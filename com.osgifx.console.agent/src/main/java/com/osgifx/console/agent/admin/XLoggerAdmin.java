@@ -25,12 +25,17 @@ import static java.util.stream.Collectors.toMap;
 import static org.osgi.service.log.Logger.ROOT_LOGGER_NAME;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Hashtable;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
 
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
@@ -45,22 +50,28 @@ import com.j256.simplelogging.FluentLogger;
 import com.j256.simplelogging.LoggerFactory;
 import com.osgifx.console.agent.dto.XBundleLoggerContextDTO;
 import com.osgifx.console.agent.dto.XResultDTO;
+import com.osgifx.console.agent.provider.LoggerContextCache;
 import com.osgifx.console.agent.provider.PackageWirings;
 
 import jakarta.inject.Inject;
 
 public final class XLoggerAdmin {
 
-    private final BundleContext context;
-    private final LoggerAdmin   loggerAdmin;
-    private final boolean       isConfigAdminWired;
-    private final FluentLogger  logger = LoggerFactory.getFluentLogger(getClass());
+    private final BundleContext      context;
+    private final LoggerAdmin        loggerAdmin;
+    private final boolean            isConfigAdminWired;
+    private final LoggerContextCache loggerContextCache;
+    private final FluentLogger       logger = LoggerFactory.getFluentLogger(getClass());
 
     @Inject
-    public XLoggerAdmin(final Object loggerAdmin, final PackageWirings packageWirings, final BundleContext context) {
-        this.context       = context;
-        this.loggerAdmin   = (LoggerAdmin) loggerAdmin;
-        isConfigAdminWired = packageWirings.isConfigAdminWired();
+    public XLoggerAdmin(final Object loggerAdmin,
+                        final PackageWirings packageWirings,
+                        final BundleContext context,
+                        final LoggerContextCache loggerContextCache) {
+        this.context            = context;
+        this.loggerAdmin        = (LoggerAdmin) loggerAdmin;
+        this.loggerContextCache = loggerContextCache;
+        isConfigAdminWired      = packageWirings.isConfigAdminWired();
     }
 
     public List<XBundleLoggerContextDTO> getLoggerContexts() {
@@ -68,7 +79,13 @@ public final class XLoggerAdmin {
             logger.atWarn().msg(serviceUnavailable(LOGGER_ADMIN)).log();
             return Collections.emptyList();
         }
+        return loggerContextCache.get(this::findLoggerContexts);
+    }
+
+    private List<XBundleLoggerContextDTO> findLoggerContexts() {
         final List<XBundleLoggerContextDTO> loggerContexts = new ArrayList<>();
+        final LogLevel                      rootLogLevel   = loggerAdmin.getLoggerContext(null).getLogLevels()
+                .get(ROOT_LOGGER_NAME);
         for (final Bundle bundle : context.getBundles()) {
             final String        bsn           = bundle.getSymbolicName();
             final LoggerContext loggerContext = loggerAdmin.getLoggerContext(bsn);
@@ -76,7 +93,7 @@ public final class XLoggerAdmin {
             final XBundleLoggerContextDTO bundleLoggerContext = new XBundleLoggerContextDTO();
 
             bundleLoggerContext.name         = bsn;
-            bundleLoggerContext.rootLogLevel = loggerAdmin.getLoggerContext(null).getLogLevels().get(ROOT_LOGGER_NAME);
+            bundleLoggerContext.rootLogLevel = rootLogLevel;
             bundleLoggerContext.logLevels    = loggerContext.getLogLevels();
 
             loggerContexts.add(bundleLoggerContext);
@@ -84,6 +101,51 @@ public final class XLoggerAdmin {
         return loggerContexts;
     }
 
+    public Map<String, XResultDTO> updateLoggerContexts(final Collection<String> bsns,
+                                                        final Map<String, String> logLevels,
+                                                        final boolean isPersistent) {
+        final Map<String, XResultDTO> results = new TreeMap<>();
+        if (loggerAdmin == null) {
+            logger.atWarn().msg(serviceUnavailable(LOGGER_ADMIN)).log();
+            return results;
+        }
+        final boolean persist = isPersistent && isConfigAdminWired;
+        if (isPersistent && !isConfigAdminWired) {
+            logger.atWarn().msg("Config Admin is not available to update logger contexts persistently").log();
+        }
+        try {
+            for (final String bsn : findMatchingBundles(bsns)) {
+                try {
+                    // the non-persistent update makes the new levels immediately visible even if
+                    // the persistent one gets applied asynchronously by the LoggerAdmin
+                    final XResultDTO result = updateLoggerContextNonPersistently(bsn, logLevels);
+                    results.put(bsn, persist ? updateLoggerContextPersistently(bsn, logLevels) : result);
+                } catch (final Exception e) {
+                    logger.atError().msg("The logger context of '%s' could not be updated").arg(bsn).log();
+                    results.put(bsn, createResult(ERROR, "The logger context of '" + bsn + "' could not be updated"));
+                }
+            }
+        } finally {
+            loggerContextCache.invalidate();
+        }
+        return results;
+    }
+
+    private Set<String> findMatchingBundles(final Collection<String> bsns) {
+        final List<Pattern> patterns = new ArrayList<>();
+        for (final String bsn : bsns) {
+            patterns.add(Pattern.compile(Pattern.quote(bsn).replace("*", "\\E.*\\Q")));
+        }
+        final Set<String> matches = new LinkedHashSet<>();
+        for (final Bundle bundle : context.getBundles()) {
+            final String bsn = bundle.getSymbolicName();
+            if (bsn != null && patterns.stream().anyMatch(p -> p.matcher(bsn).matches())) {
+                matches.add(bsn);
+            }
+        }
+        return matches;
+    }
+
     public XResultDTO updateLoggerContext(final String bsn, final Map<String, String> logLevels) {
         if (loggerAdmin == null) {
             logger.atWarn().msg(serviceUnavailable(LOGGER_ADMIN)).log();
@@ -99,6 +161,8 @@ public final class XLoggerAdmin {
         } catch (final Exception e) {
             logger.atError().msg("The logger context of '%s' could not be updated").arg(bsn).log();
             return createResult(ERROR, "The logger context of '" + bsn + "' could not be updated");
+        } finally {
+            loggerContextCache.invalidate();
         }
     }
 
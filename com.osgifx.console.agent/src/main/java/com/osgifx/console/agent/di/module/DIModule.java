@@ -40,6 +40,7 @@ import com.osgifx.console.agent.admin.XMetaTypeAdmin;
 import com.osgifx.console.agent.admin.XUserAdmin;
 import com.osgifx.console.agent.di.DI;
 import com.osgifx.console.agent.extension.AgentExtension;
+import com.osgifx.console.agent.provider.LoggerContextCache;
 import com.osgifx.console.agent.provider.PackageWirings;
 
 @SuppressWarnings("rawtypes")
@@ -95,7 +96,8 @@ public final class DIModule {
                 () -> new XMetaTypeAdmin(context, configAdminTracker.getService(), metatypeTracker.getService()));
         di.bindProvider(XUserAdmin.class, () -> new XUserAdmin(userAdminTracker.getService()));
         di.bindProvider(XLoggerAdmin.class,
-                () -> new XLoggerAdmin(loggerAdminTracker.getService(), di.getInstance(PackageWirings.class), context));
+                () -> new XLoggerAdmin(loggerAdminTracker.getService(), di.getInstance(PackageWirings.class), context,
+                                       di.getInstance(LoggerContextCache.class)));
         di.bindInstance(Set.class, gogoCommands);
         di.bindInstance(Map.class, agentExtensions);
     }
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.agent.handler;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+import com.j256.simplelogging.FluentLogger;
+import com.j256.simplelogging.LoggerFactory;
+
+/**
+ * Invokes the specified callback whenever the JVM reports the completion of a
+ * garbage collection and counts the major collections, i.e. the collections of
+ * the old generation. This class must only be used if {@code javax.management}
+ * is wired.
+ */
+public final class GcNotificationHandler implements NotificationListener {
+
+    // avoids the dependency to com.sun.management.GarbageCollectionNotificationInfo
+    private static final String GC_NOTIFICATION_TYPE = "com.sun.management.gc.notification";
+    private static final String GC_ACTION_KEY        = "gcAction";
+    private static final String MAJOR_GC_ACTION      = "end of major GC";
+
+    private final Runnable                  callback;
+    private final List<NotificationEmitter> emitters             = new ArrayList<>();
+    private final AtomicLong                majorCollectionCount = new AtomicLong();
+    private final FluentLogger              logger               = LoggerFactory.getFluentLogger(getClass());
+
+    public GcNotificationHandler(final Runnable callback) {
+        this.callback = callback;
+    }
+
+    /**
+     * Registers the handler to all garbage collectors that emit notifications
+     *
+     * @return {@code true} if at least one garbage collector emits notifications,
+     *         otherwise {@code false}
+     */
+    public synchronized boolean register() {
+        for (final GarbageCollectorMXBean gcBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gcBean instanceof NotificationEmitter) {
+                final NotificationEmitter emitter = (NotificationEmitter) gcBean;
+                emitter.addNotificationListener(this, null, null);
+                emitters.add(emitter);
+            }
+        }
+        return !emitters.isEmpty();
+    }
+
+    public synchronized void unregister() {
+        for (final NotificationEmitter emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(this);
+            } catch (final ListenerNotFoundException e) {
+                logger.atDebug().msg("GC notification listener has already been removed").log();
+            }
+        }
+        emitters.clear();
+    }
+
+    /**
+     * Returns the number of major collections that have been reported since the
+     * handler has been registered
+     *
+     * @return the number of major collections
+     */
+    public long getMajorCollectionCount() {
+        return majorCollectionCount.get();
+    }
+
+    /**
+     * Returns the total number of classes that have been unloaded since the JVM
+     * has been started. Classes are only unloaded by the collections that also
+     * collect the classloaders.
+     *
+     * @return the total number of unloaded classes
+     */
+    public static long getUnloadedClassCount() {
+        return ManagementFactory.getClassLoadingMXBean().getUnloadedClassCount();
+    }
+
+    @Override
+    public void handleNotification(final Notification notification, final Object handback) {
+        if (GC_NOTIFICATION_TYPE.equals(notification.getType())) {
+            if (isMajorCollection(notification)) {
+                majorCollectionCount.incrementAndGet();
+            }
+            callback.run();
+        }
+    }
+
+    private static boolean isMajorCollection(final Notification notification) {
+        final Object userData = notification.getUserData();
+        if (userData instanceof CompositeData && ((CompositeData) userData).containsKey(GC_ACTION_KEY)) {
+            return MAJOR_GC_ACTION.equals(((CompositeData) userData).get(GC_ACTION_KEY));
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.agent.handler;
+
+import static com.osgifx.console.agent.handler.OSGiLogListener.executeR7method;
+import static com.osgifx.console.agent.handler.OSGiLogListener.getLevel;
+
+import java.util.Optional;
+
+import org.osgi.framework.Bundle;
+import org.osgi.service.log.LogEntry;
+import org.osgi.service.log.LogListener;
+
+import com.osgifx.console.agent.dto.XResultDTO;
+import com.osgifx.console.agent.helper.Reflect;
+import com.osgifx.console.agent.provider.LogJournal;
+import com.osgifx.console.agent.provider.LogJournal.Record;
+
+import aQute.bnd.exceptions.Exceptions;
+import jakarta.inject.Inject;
+
+public final class LogJournalListener implements LogListener {
+
+    private final LogJournal logJournal;
+
+    @Inject
+    public LogJournalListener(final LogJournal logJournal) {
+        this.logJournal = logJournal;
+    }
+
+    @Override
+    public void logged(final LogEntry entry) {
+        logJournal.append(toRecord(entry));
+    }
+
+    /**
+     * Returns the listener which appends the entries of the replayed history
+     */
+    public LogListener replayListener() {
+        return entry -> logJournal.appendReplayed(toRecord(entry));
+    }
+
+    @SuppressWarnings("deprecation")
+    private Record toRecord(final LogEntry entry) {
+        final Bundle bundle = entry.getBundle();
+
+        final XResultDTO threadInfoResult = executeR7method(entry, "getThreadInfo");
+        final XResultDTO loggerNameResult = executeR7method(entry, "getLoggerName");
+
+        // @formatter:off
+        return new Record(
+                    sequence(entry),
+                    entry.getTime(),
+                    bundle == null ? -1 : bundle.getBundleId(),
+                    bundle == null ? null : bundle.getSymbolicName(),
+                    getLevel(entry.getLevel()),
+                    loggerNameResult.result == XResultDTO.SUCCESS ? loggerNameResult.response : null,
+                    entry.getMessage(),
+                    Optional.ofNullable(entry.getException()).map(Exceptions::toString).orElse(null),
+                    threadInfoResult.result == XResultDTO.SUCCESS ? threadInfoResult.response : null);
+        // @formatter:on
+    }
+
+    private static long sequence(final LogEntry entry) {
+        try {
+            final Object sequence = Reflect.on(entry).call("getSequence").get();
+            return sequence instanceof Long ? (Long) sequence : -1;
+        } catch (final Exception e) {
+            // the sequence number has been introduced in OSGi R7
+            return -1;
+        }
+    }
+
+}
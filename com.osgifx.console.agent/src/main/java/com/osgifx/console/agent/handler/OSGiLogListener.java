@@ -76,13 +76,13 @@ public final class OSGiLogListener implements LogListener {
         final int        resultLoggerName = loggerNameResult.result;
 
         if (resultLoggerName == XResultDTO.SUCCESS) {
-            dto.logger = threadInfoResult.response;
+            dto.logger = loggerNameResult.response;
         }
 
         return dto;
     }
 
-    private String getLevel(final int level) {
+    static String getLevel(final int level) {
         switch (level) {
             case 0:
                 return "AUDIT";
@@ -101,7 +101,7 @@ public final class OSGiLogListener implements LogListener {
         }
     }
 
-    private XResultDTO executeR7method(final Object object, final String methodName) {
+    static XResultDTO executeR7method(final Object object, final String methodName) {
         final XResultDTO dto = new XResultDTO();
         try {
             dto.response = Reflect.on(object).call(methodName).get();
@@ -58,6 +58,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.jar.Attributes;
 import java.util.jar.JarInputStream;
@@ -116,19 +117,26 @@ import com.osgifx.console.agent.dto.DmtDataType;
 import com.osgifx.console.agent.dto.RuntimeDTO;
 import com.osgifx.console.agent.dto.XBundleDTO;
 import com.osgifx.console.agent.dto.XBundleLoggerContextDTO;
+import com.osgifx.console.agent.dto.XClassloaderLeakDTO;
 import com.osgifx.console.agent.dto.XComponentDTO;
 import com.osgifx.console.agent.dto.XConfigurationDTO;
 import com.osgifx.console.agent.dto.XDmtNodeDTO;
 import com.osgifx.console.agent.dto.XHealthCheckDTO;
+import com.osgifx.console.agent.dto.XHealthCheckHistoryDTO;
 import com.osgifx.console.agent.dto.XHealthCheckResultDTO;
 import com.osgifx.console.agent.dto.XHeapUsageDTO;
 import com.osgifx.console.agent.dto.XHttpComponentDTO;
+import com.osgifx.console.agent.dto.XLogEntryDTO;
+import com.osgifx.console.agent.dto.XLogFilterDTO;
 import com.osgifx.console.agent.dto.XMemoryInfoDTO;
 import com.osgifx.console.agent.dto.XPropertyDTO;
 import com.osgifx.console.agent.dto.XResultDTO;
 import com.osgifx.console.agent.dto.XRoleDTO;
 import com.osgifx.console.agent.dto.XRoleDTO.Type;
+import com.osgifx.console.agent.dto.XRpcPoolStatsDTO;
+import com.osgifx.console.agent.dto.XRuntimeSummaryDTO;
 import com.osgifx.console.agent.dto.XServiceDTO;
+import com.osgifx.console.agent.dto.XStartupProfileDTO;
 import com.osgifx.console.agent.dto.XThreadDTO;
 import com.osgifx.console.agent.extension.AgentExtension;
 import com.osgifx.console.agent.handler.OSGiEventHandler;
@@ -141,6 +149,7 @@ import com.osgifx.console.agent.redirector.RedirectOutput;
 import com.osgifx.console.agent.redirector.Redirector;
 import com.osgifx.console.agent.redirector.SocketRedirector;
 import com.osgifx.console.agent.rpc.RemoteRPC;
+import com.osgifx.console.agent.rpc.RpcExecutor;
 import com.osgifx.console.supervisor.Supervisor;
 
 import aQute.bnd.exceptions.Exceptions;
@@ -175,8 +184,10 @@ public final class AgentServer implements Agent, Closeable {
     private Closeable              osgiLogListenerCloser;
     private ServiceRegistration<?> osgiEventListenerServiceReg;
 
-    private final DI           di;
-    private final FluentLogger logger = LoggerFactory.getFluentLogger(getClass());
+    private final DI            di;
+    private final FluentLogger  logger                = LoggerFactory.getFluentLogger(getClass());
+    // the runtime summary is polled periodically, hence its missing JMX wiring is only reported once
+    private final AtomicBoolean isJmxNotWiredReported = new AtomicBoolean();
 
     public AgentServer(final DI di, final RpcType rpcType) {
         this.di      = di;
@@ -375,6 +386,16 @@ public final class AgentServer implements Agent, Closeable {
         System.setProperty(PROPERTY_ENABLE_LOGGING, String.valueOf(false));
     }
 
+    @Override
+    public List<XLogEntryDTO> getLogs(final XLogFilterDTO filter) {
+        final boolean isLogAvailable = di.getInstance(PackageWirings.class).isLogWired();
+        if (isLogAvailable) {
+            return di.getInstance(LogJournal.class).query(filter);
+        }
+        logger.atWarn().msg(packageNotWired(LOG)).log();
+        return Collections.emptyList();
+    }
+
     @Override
     public boolean isReceivingEventEnabled() {
         return Boolean.getBoolean(PROPERTY_ENABLE_EVENTING);
@@ -705,6 +726,21 @@ public final class AgentServer implements Agent, Closeable {
         return createResult(SKIPPED, packageNotWired(R7_LOGGER));
     }
 
+    @Override
+    public Map<String, XResultDTO> updateBundleLoggerContexts(final Collection<String> bsns,
+                                                              final Map<String, String> logLevels,
+                                                              final boolean isPersistent) {
+        requireNonNull(bsns, "Bundle symbolic names cannot be null");
+        requireNonNull(logLevels, "Log levels cannot be null");
+
+        final boolean isR7LogAvailable = di.getInstance(PackageWirings.class).isR7LoggerAdminWired();
+        if (isR7LogAvailable) {
+            return di.getInstance(XLoggerAdmin.class).updateLoggerContexts(bsns, logLevels, isPersistent);
+        }
+        logger.atWarn().msg(packageNotWired(R7_LOGGER)).log();
+        return Collections.emptyMap();
+    }
+
     @Override
     public XResultDTO enableComponentById(final long id) {
         final boolean isScrAvailable = di.getInstance(PackageWirings.class).isScrWired();
@@ -852,6 +888,58 @@ public final class AgentServer implements Agent, Closeable {
         return dto;
     }
 
+    @Override
+    public XRuntimeSummaryDTO getRuntimeSummary() {
+        final XRuntimeSummaryDTO dto     = new XRuntimeSummaryDTO();
+        final BundleContext      context = di.getInstance(BundleContext.class);
+
+        for (final Bundle bundle : context.getBundles()) {
+            dto.bundles++;
+            switch (bundle.getState()) {
+                case Bundle.ACTIVE:
+                    dto.activeBundles++;
+                    break;
+                case Bundle.RESOLVED:
+                    dto.resolvedBundles++;
+                    break;
+                case Bundle.INSTALLED:
+                    dto.installedBundles++;
+                    break;
+                case Bundle.STARTING:
+                case Bundle.STOPPING:
+                    dto.transitioningBundles++;
+                    break;
+                default:
+                    break;
+            }
+        }
+        try {
+            final ServiceReference<?>[] refs = context.getAllServiceReferences(null, null);
+            dto.services = refs == null ? 0 : refs.length;
+        } catch (final Exception e) {
+            logger.atError().msg("Error occurred while counting services").throwable(e).log();
+        }
+        if (di.getInstance(PackageWirings.class).isScrWired()) {
+            dto.components = di.getInstance(XComponentAdmin.class).countComponents();
+        }
+        dto.maxMemory           = Runtime.getRuntime().maxMemory();
+        dto.freeMemory          = Runtime.getRuntime().freeMemory();
+        dto.totalMemory         = Runtime.getRuntime().totalMemory();
+        dto.availableProcessors = Runtime.getRuntime().availableProcessors();
+
+        if (di.getInstance(PackageWirings.class).isJmxWired()) {
+            di.getInstance(XJmxAdmin.class).initRuntimeSummary(dto);
+        } else {
+            dto.threads           = Thread.activeCount();
+            dto.systemLoadAverage = -1;
+            dto.processCpuLoad    = -1;
+            if (isJmxNotWiredReported.compareAndSet(false, true)) {
+                logger.atWarn().msg(packageNotWired(JMX)).log();
+            }
+        }
+        return dto;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public Set<String> getGogoCommands() {
@@ -948,6 +1036,16 @@ public final class AgentServer implements Agent, Closeable {
         return Collections.emptyList();
     }
 
+    @Override
+    public List<XHealthCheckHistoryDTO> getHealthCheckHistory() {
+        final boolean isFelixHcAvailable = di.getInstance(PackageWirings.class).isFelixHcWired();
+        if (isFelixHcAvailable) {
+            return di.getInstance(HealthCheckScheduler.class).getHistory();
+        }
+        logger.atWarn().msg(packageNotWired(HC)).log();
+        return Collections.emptyList();
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public Map<String, Object> executeExtension(final String name, final Map<String, Object> context) {
@@ -978,6 +1076,25 @@ public final class AgentServer implements Agent, Closeable {
         return di.getInstance(ClassloaderLeakDetector.class).getSuspiciousBundles();
     }
 
+    @Override
+    public List<XClassloaderLeakDTO> getClassloaderLeakSummary() {
+        return di.getInstance(ClassloaderLeakDetector.class).getLeakSummary();
+    }
+
+    @Override
+    public XStartupProfileDTO getStartupProfile() {
+        return di.getInstance(StartupProfiler.class).getProfile();
+    }
+
+    @Override
+    public XRpcPoolStatsDTO getRpcPoolStats() {
+        final RemoteRPC<Agent, Supervisor> endpoint = remoteRPC;
+        if (endpoint == null || !(endpoint.executor() instanceof RpcExecutor)) {
+            return null;
+        }
+        return ((RpcExecutor) endpoint.executor()).stats();
+    }
+
     @Override
     public List<XHttpComponentDTO> getHttpComponents() {
         final boolean isHttpServiceRuntimeWired = di.getInstance(PackageWirings.class).isHttpServiceRuntimeWired();
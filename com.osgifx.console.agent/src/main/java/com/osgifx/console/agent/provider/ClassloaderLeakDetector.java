@@ -15,8 +15,11 @@
  ******************************************************************************/
 package com.osgifx.console.agent.provider;
 
+import static com.osgifx.console.agent.helper.AgentHelper.packageNotWired;
+import static com.osgifx.console.agent.provider.PackageWirings.Type.JMX;
 import static java.lang.Long.toHexString;
 import static java.util.Objects.hash;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static java.util.stream.Collectors.toSet;
 import static org.osgi.framework.Bundle.ACTIVE;
 
@@ -32,6 +35,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import org.osgi.framework.Bundle;
@@ -41,8 +46,12 @@ import org.osgi.framework.Version;
 import org.osgi.framework.wiring.BundleWiring;
 import org.osgi.util.tracker.BundleTracker;
 
+import com.j256.simplelogging.FluentLogger;
+import com.j256.simplelogging.LoggerFactory;
 import com.osgifx.console.agent.admin.XBundleAdmin;
 import com.osgifx.console.agent.dto.XBundleDTO;
+import com.osgifx.console.agent.dto.XClassloaderLeakDTO;
+import com.osgifx.console.agent.handler.GcNotificationHandler;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
@@ -84,23 +93,50 @@ import jakarta.inject.Singleton;
  * {@link PhantomReference}s garbage collector will finish the finalization of
  * referent and then enqueue the reference, but it will not nullify the
  * referent.
+ *
+ * <p>
+ * Besides the on-demand computation of the suspicious bundles, the detector
+ * maintains a compact summary of the leaked classloaders per bundle. The
+ * {@link ReferenceQueue} is polled after every garbage collection reported by
+ * the JVM (or periodically if {@code javax.management} is not available) such
+ * that the summary always reflects the state after the most recent collection.
+ * As the phantom references are enqueued asynchronously after a collection, the
+ * leaked classloaders are counted using weak references which are cleared
+ * atomically by the collector. As a young collection does not collect the
+ * long-lived classloaders, a leak is only reported once at least one major
+ * collection has finished, or classes have been unloaded, after it has been
+ * first seen and the weak references still hold the leaked classloaders.
  */
 @Singleton
 public final class ClassloaderLeakDetector implements Runnable {
 
+    private static final long FALLBACK_SCAN_INTERVAL_IN_SECONDS = 30;
+
     private final Set<Reference<?>>           refs        = ConcurrentHashMap.newKeySet();
     private final ReferenceQueue<ClassLoader> queue       = new ReferenceQueue<>();
     private final Map<Long, BundleInfo>       bundleInfos = new ConcurrentHashMap<>();
-
-    private final BundleContext             context;
-    private Thread                          referencePoller;
-    private BundleTracker<Bundle>           bundleTracker;
-    private final BundleStartTimeCalculator bundleStartTimeCalculator;
+    private final Map<Long, LeakRecord>       leaks       = new ConcurrentHashMap<>();
+    private final Semaphore                   gcSignal    = new Semaphore(0);
+
+    private final BundleContext                    context;
+    private final PackageWirings                   packageWirings;
+    private final BundleStartTimeCalculator        bundleStartTimeCalculator;
+    private final FluentLogger                     logger = LoggerFactory.getFluentLogger(getClass());
+    private Thread                                 referencePoller;
+    private BundleTracker<Bundle>                  bundleTracker;
+    private GcNotificationHandler                  gcNotificationHandler;
+    private volatile Consumer<XClassloaderLeakDTO> leakListener;
+
+    // only accessed by the reference poller
+    private WeakReference<Object> gcSentinel = new WeakReference<>(new Object());
+    private long                  observedCollectionCount;
 
     @Inject
     public ClassloaderLeakDetector(final BundleContext context,
+                                   final PackageWirings packageWirings,
                                    final BundleStartTimeCalculator bundleStartTimeCalculator) {
         this.context                   = context;
+        this.packageWirings            = packageWirings;
         this.bundleStartTimeCalculator = bundleStartTimeCalculator;
     }
 
@@ -108,14 +144,39 @@ public final class ClassloaderLeakDetector implements Runnable {
         bundleTracker = new LeakDetectorBundleTracker(context);
         bundleTracker.open();
 
+        if (packageWirings.isJmxWired()) {
+            gcNotificationHandler = new GcNotificationHandler(gcSignal::release);
+            if (!gcNotificationHandler.register()) {
+                logger.atInfo().msg("[OSGi.fx] GC notifications not supported, scanning classloader leaks periodically")
+                        .log();
+            }
+        } else {
+            logger.atWarn().msg(packageNotWired(JMX)).log();
+        }
+
         referencePoller = new Thread(this, "classloader-leak-detector");
         referencePoller.setDaemon(true);
         referencePoller.start();
     }
 
     public void stop() {
+        if (gcNotificationHandler != null) {
+            gcNotificationHandler.unregister();
+            gcNotificationHandler = null;
+        }
         bundleTracker.close();
         referencePoller.interrupt();
+        leaks.clear();
+    }
+
+    /**
+     * Sets the listener to be notified whenever a new leaked classloader has been
+     * detected
+     *
+     * @param leakListener the listener (can be {@code null})
+     */
+    public void setLeakListener(final Consumer<XClassloaderLeakDTO> leakListener) {
+        this.leakListener = leakListener;
     }
 
     private class LeakDetectorBundleTracker extends BundleTracker<Bundle> {
@@ -153,16 +214,20 @@ public final class ClassloaderLeakDetector implements Runnable {
     // GC callback
     @Override
     public void run() {
-        BundleReference ref;
         while (!Thread.currentThread().isInterrupted()) {
             try {
-                ref = (BundleReference) queue.remove();
-                if (ref != null) {
-                    removeBundle(ref);
-                }
+                // signalled after every garbage collection, the timeout serves as fallback
+                // if the GC notifications are not available
+                gcSignal.tryAcquire(FALLBACK_SCAN_INTERVAL_IN_SECONDS, SECONDS);
+                // coalesce the collections that occurred during the last scan
+                gcSignal.drainPermits();
+                pollQueue();
+                scan();
             } catch (final InterruptedException e) {
                 Thread.currentThread().interrupt();
                 break;
+            } catch (final Exception e) {
+                logger.atError().msg("Error occurred while scanning for classloader leaks").throwable(e).log();
             }
         }
         // drain out the queue
@@ -171,14 +236,84 @@ public final class ClassloaderLeakDetector implements Runnable {
         }
     }
 
+    private void pollQueue() {
+        Reference<? extends ClassLoader> ref;
+        while ((ref = queue.poll()) != null) {
+            removeBundle((BundleReference) ref);
+        }
+    }
+
     private void removeBundle(final BundleReference ref) {
         final BundleInfo bi = bundleInfos.get(ref.bundleId);
-
-        // bi cannot be null
-        bi.decrementUsageCount(ref);
+        if (bi != null) {
+            bi.decrementUsageCount(ref);
+        }
         refs.remove(ref);
     }
 
+    private void scan() {
+        final long now             = System.currentTimeMillis();
+        final long collectionCount = collectionCount();
+        for (final BundleInfo bi : bundleInfos.values()) {
+            final boolean isUninstalled = context.getBundle(bi.bundleId) == null;
+            final int     leakedCount   = bi.leakedClassloaderCount(isUninstalled);
+            if (leakedCount == 0) {
+                leaks.remove(bi.bundleId);
+                if (isUninstalled) {
+                    // all classloaders of the uninstalled bundle have been collected
+                    bundleInfos.remove(bi.bundleId);
+                }
+                continue;
+            }
+            final LeakRecord record = leaks.computeIfAbsent(bi.bundleId, id -> new LeakRecord(bi, now, collectionCount));
+            if (record.update(leakedCount, isUninstalled, now, collectionCount)) {
+                notifyLeak(record.toDTO());
+            }
+        }
+    }
+
+    /**
+     * Returns a counter which increases with every major collection or class
+     * unloading, i.e. with every collection which is able to collect the leaked
+     * classloaders. If the JVM does not report it, the collections are observed by
+     * means of a weakly reachable sentinel which is cleared by every collection.
+     */
+    private long collectionCount() {
+        if (packageWirings.isJmxWired()) {
+            final GcNotificationHandler handler    = gcNotificationHandler;
+            final long                  majorCount = handler != null ? handler.getMajorCollectionCount() : 0;
+            return majorCount + GcNotificationHandler.getUnloadedClassCount();
+        }
+        if (gcSentinel.get() == null) {
+            observedCollectionCount++;
+            gcSentinel = new WeakReference<>(new Object());
+        }
+        return observedCollectionCount;
+    }
+
+    private void notifyLeak(final XClassloaderLeakDTO leak) {
+        logger.atWarn().msg("[OSGi.fx] Detected {} leaked classloader(s) of '{}'").arg(leak.leakedClassloaderCount)
+                .arg(leak.symbolicName).log();
+        final Consumer<XClassloaderLeakDTO> listener = leakListener;
+        if (listener != null) {
+            try {
+                listener.accept(leak);
+            } catch (final Exception e) {
+                logger.atWarn().msg("Classloader leak listener cannot be notified").throwable(e).log();
+            }
+        }
+    }
+
+    public List<XClassloaderLeakDTO> getLeakSummary() {
+        final List<XClassloaderLeakDTO> summary = new ArrayList<>();
+        for (final LeakRecord record : leaks.values()) {
+            if (record.isConfirmed()) {
+                summary.add(record.toDTO());
+            }
+        }
+        return summary;
+    }
+
     public Set<XBundleDTO> getSuspiciousBundles() {
         final Set<Long>        activeBundleIds   = Stream.of(context.getBundles()).map(Bundle::getBundleId)
                 .collect(toSet());
@@ -190,7 +325,17 @@ public final class ClassloaderLeakDetector implements Runnable {
 
     private XBundleDTO toDTO(final BundleInfo bundleInfo) {
         final Bundle bundle = context.getBundle(bundleInfo.bundleId);
-        return XBundleAdmin.toDTO(bundle, bundleStartTimeCalculator);
+        if (bundle != null) {
+            return XBundleAdmin.toDTO(bundle, bundleStartTimeCalculator);
+        }
+        // the bundle has been uninstalled but its classloaders are still reachable
+        final XBundleDTO dto = new XBundleDTO();
+
+        dto.id           = bundleInfo.bundleId;
+        dto.symbolicName = bundleInfo.symbolicName;
+        dto.version      = bundleInfo.version.toString();
+
+        return dto;
     }
 
     private static class BundleInfo {
@@ -219,20 +364,107 @@ public final class ClassloaderLeakDetector implements Runnable {
             return classloaderInfos.size() == 1;
         }
 
+        public int leakedClassloaderCount(final boolean isUninstalled) {
+            // the weak references are cleared before the phantom references are enqueued
+            final int count = (int) classloaderInfos.stream().filter(ClassloaderInfo::isReachable).count();
+            // an installed bundle legitimately retains its current classloader
+            return isUninstalled ? count : Math.max(0, count - 1);
+        }
+
         @Override
         public String toString() {
             return String.format("%s (%s) - Classloader Count [%s]", symbolicName, version, classloaderInfos.size());
         }
     }
 
+    /**
+     * Compact record of the leaked classloaders of a bundle which does not retain
+     * any reference to the bundle itself
+     */
+    private static class LeakRecord {
+
+        final long   bundleId;
+        final String symbolicName;
+        final String version;
+        final long   firstSeenAt;
+        final long   firstSeenCollectionCount;
+
+        private int     leakedClassloaderCount;
+        private long    lastChangedAt;
+        private boolean isUninstalled;
+        private boolean isConfirmed;
+
+        LeakRecord(final BundleInfo bi, final long firstSeenAt, final long firstSeenCollectionCount) {
+            bundleId                      = bi.bundleId;
+            symbolicName                  = bi.symbolicName;
+            version                       = bi.version.toString();
+            this.firstSeenAt              = firstSeenAt;
+            this.firstSeenCollectionCount = firstSeenCollectionCount;
+            lastChangedAt                 = firstSeenAt;
+        }
+
+        /**
+         * Updates the record with the result of the latest scan
+         *
+         * @return {@code true} if a new leak has been detected, otherwise
+         *         {@code false}
+         */
+        synchronized boolean update(final int count,
+                                    final boolean uninstalled,
+                                    final long now,
+                                    final long collectionCount) {
+            final int previousCount = leakedClassloaderCount;
+
+            if (count != previousCount) {
+                lastChangedAt = now;
+            }
+            leakedClassloaderCount = count;
+            isUninstalled          = uninstalled;
+
+            if (!isConfirmed) {
+                // the classloaders might just not have been collected yet
+                if (collectionCount <= firstSeenCollectionCount) {
+                    return false;
+                }
+                isConfirmed = true;
+                return true;
+            }
+            return count > previousCount;
+        }
+
+        synchronized boolean isConfirmed() {
+            return isConfirmed;
+        }
+
+        synchronized XClassloaderLeakDTO toDTO() {
+            final XClassloaderLeakDTO dto = new XClassloaderLeakDTO();
+
+            dto.bundleId               = bundleId;
+            dto.symbolicName           = symbolicName;
+            dto.version                = version;
+            dto.leakedClassloaderCount = leakedClassloaderCount;
+            dto.firstSeenAt            = firstSeenAt;
+            dto.lastChangedAt          = lastChangedAt;
+            dto.isUninstalled          = isUninstalled;
+
+            return dto;
+        }
+    }
+
     private static class ClassloaderInfo {
 
-        final long creationTime;
-        final long systemHashCode;
+        final long                       creationTime;
+        final long                       systemHashCode;
+        final WeakReference<ClassLoader> classloader;
 
         private ClassloaderInfo(final ClassLoader cl) {
             creationTime   = System.currentTimeMillis();
             systemHashCode = System.identityHashCode(cl);
+            classloader    = new WeakReference<>(cl);
+        }
+
+        public boolean isReachable() {
+            return classloader.get() != null;
         }
 
         public String address() {
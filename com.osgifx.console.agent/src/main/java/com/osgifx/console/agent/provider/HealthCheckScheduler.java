@@ -0,0 +1,260 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.agent.provider;
+
+import static com.osgifx.console.agent.Agent.AGENT_HC_HISTORY_SIZE_KEY;
+import static com.osgifx.console.agent.Agent.AGENT_HC_SCHEDULE_KEY;
+import static com.osgifx.console.agent.helper.AgentHelper.packageNotWired;
+import static com.osgifx.console.agent.provider.PackageWirings.Type.HC;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.osgi.framework.BundleContext;
+
+import com.j256.simplelogging.FluentLogger;
+import com.j256.simplelogging.LoggerFactory;
+import com.osgifx.console.agent.admin.XHcAdmin;
+import com.osgifx.console.agent.di.DI;
+import com.osgifx.console.agent.dto.XHealthCheckHistoryDTO;
+import com.osgifx.console.agent.dto.XHealthCheckHistoryDTO.EntryDTO;
+import com.osgifx.console.agent.dto.XHealthCheckResultDTO;
+import com.osgifx.console.agent.helper.ThreadFactoryBuilder;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+/**
+ * Periodically executes the health checks with the tags configured in
+ * {@code osgi.fx.agent.hc.schedule} and records the execution time and status
+ * of every execution in a fixed-size ring buffer per health check.
+ * <p>
+ * A health check carrying several of the scheduled tags is only executed with
+ * the first of them in the order of the configuration.
+ * <p>
+ * This enables the console to draw trends without triggering the health checks
+ * itself.
+ */
+@Singleton
+public final class HealthCheckScheduler {
+
+    private static final int    DEFAULT_HISTORY_SIZE = 100;
+    private static final String THREAD_NAME_PREFIX   = "osgifx-hc-scheduler";
+    private static final String OMIT_TAG_PREFIX      = "-";
+
+    private final DI                       di;
+    private final BundleContext            context;
+    private final Map<Long, ExecutionRing> histories = new ConcurrentHashMap<>();
+    private final FluentLogger             logger    = LoggerFactory.getFluentLogger(getClass());
+    private ScheduledExecutorService       executor;
+
+    @Inject
+    public HealthCheckScheduler(final BundleContext context, final DI di) {
+        this.di      = di;
+        this.context = context;
+    }
+
+    public void start() {
+        final Map<String, Long> schedule = parseSchedule(context.getProperty(AGENT_HC_SCHEDULE_KEY));
+        if (schedule.isEmpty()) {
+            logger.atInfo().msg("[OSGi.fx] Health check scheduler not configured").log();
+            return;
+        }
+        if (!di.getInstance(PackageWirings.class).isFelixHcWired()) {
+            logger.atWarn().msg(packageNotWired(HC)).log();
+            return;
+        }
+        // @formatter:off
+        executor = Executors.newSingleThreadScheduledExecutor(
+                        new ThreadFactoryBuilder()
+                                .setThreadFactoryName(THREAD_NAME_PREFIX)
+                                .setThreadNameFormat("-%d")
+                                .setDaemon(true)
+                                .build());
+        // @formatter:on
+        final int          historySize = getHistorySize();
+        final List<String> omittedTags = new ArrayList<>();
+        schedule.forEach((tag, interval) -> {
+            // omits the health checks that are already scheduled with a previous tag
+            final List<String> tags = new ArrayList<>(omittedTags);
+            tags.add(0, tag);
+            executor.scheduleWithFixedDelay(() -> execute(tags, historySize), 0, interval, SECONDS);
+            omittedTags.add(OMIT_TAG_PREFIX + tag);
+            logger.atInfo().msg("[OSGi.fx] Scheduled health checks with tag '{}' every {} seconds").arg(tag)
+                    .arg(interval).log();
+        });
+    }
+
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        histories.clear();
+    }
+
+    public List<XHealthCheckHistoryDTO> getHistory() {
+        final List<XHealthCheckHistoryDTO> dtos = new ArrayList<>();
+        histories.values().forEach(h -> dtos.add(h.toDTO()));
+        return dtos;
+    }
+
+    private void execute(final List<String> tags, final int historySize) {
+        try {
+            final XHcAdmin                    hcAdmin = di.getInstance(XHcAdmin.class);
+            final List<XHealthCheckResultDTO> results = hcAdmin.executeHealthChecks(tags, null);
+            for (final XHealthCheckResultDTO result : results) {
+                // not an actual health check, e.g. the result reporting that none has been found
+                if (result.healthCheckName == null) {
+                    continue;
+                }
+                histories.computeIfAbsent(result.healthCheckServiceId, id -> new ExecutionRing(historySize))
+                        .record(result);
+            }
+        } catch (final Exception e) {
+            logger.atError().msg("Error occurred while executing scheduled health checks with tag '{}'")
+                    .arg(tags.get(0)).throwable(e).log();
+        }
+    }
+
+    private int getHistorySize() {
+        final String value = context.getProperty(AGENT_HC_HISTORY_SIZE_KEY);
+        if (value == null) {
+            return DEFAULT_HISTORY_SIZE;
+        }
+        try {
+            return Math.max(1, Integer.parseInt(value.trim()));
+        } catch (final NumberFormatException e) {
+            logger.atWarn().msg("Invalid health check history size '{}'").arg(value).log();
+            return DEFAULT_HISTORY_SIZE;
+        }
+    }
+
+    private Map<String, Long> parseSchedule(final String value) {
+        final Map<String, Long> schedule = new LinkedHashMap<>();
+        if (value == null || value.trim().isEmpty()) {
+            return schedule;
+        }
+        for (final String entry : value.split(",")) {
+            final int index = entry.lastIndexOf(':');
+            if (index <= 0) {
+                logger.atWarn().msg("Invalid health check schedule entry '{}'").arg(entry).log();
+                continue;
+            }
+            try {
+                final String tag      = entry.substring(0, index).trim();
+                final long   interval = Long.parseLong(entry.substring(index + 1).trim());
+                if (interval > 0) {
+                    schedule.put(tag, interval);
+                }
+            } catch (final NumberFormatException e) {
+                logger.atWarn().msg("Invalid health check schedule entry '{}'").arg(entry).log();
+            }
+        }
+        return schedule;
+    }
+
+    /**
+     * Fixed-size ring buffer storing the executions of a single health check in
+     * primitive arrays.
+     */
+    private static class ExecutionRing {
+
+        private final long[]    finishedAt;
+        private final long[]    elapsedTime;
+        private final String[]  status;
+        private final boolean[] timedOut;
+
+        private List<String> tags;
+        private String       name;
+        private long         serviceId;
+        private int          next;
+        private int          size;
+        private long         executionCount;
+
+        ExecutionRing(final int capacity) {
+            finishedAt  = new long[capacity];
+            elapsedTime = new long[capacity];
+            status      = new String[capacity];
+            timedOut    = new boolean[capacity];
+        }
+
+        synchronized void record(final XHealthCheckResultDTO result) {
+            serviceId = result.healthCheckServiceId;
+            name      = result.healthCheckName;
+            tags      = result.healthCheckTags;
+
+            finishedAt[next]  = result.finishedAt;
+            elapsedTime[next] = result.elapsedTime;
+            status[next]      = result.status;
+            timedOut[next]    = result.isTimedOut;
+
+            next = (next + 1) % finishedAt.length;
+            size = Math.min(size + 1, finishedAt.length);
+            executionCount++;
+        }
+
+        synchronized XHealthCheckHistoryDTO toDTO() {
+            final XHealthCheckHistoryDTO dto = new XHealthCheckHistoryDTO();
+
+            dto.healthCheckServiceId = serviceId;
+            dto.healthCheckName      = name;
+            dto.healthCheckTags      = tags;
+            dto.executionCount       = executionCount;
+            dto.timeline             = new ArrayList<>(size);
+
+            final int    start  = (next - size + finishedAt.length) % finishedAt.length;
+            final long[] sorted = new long[size];
+            for (int i = 0; i < size; i++) {
+                final int      index = (start + i) % finishedAt.length;
+                final EntryDTO entry = new EntryDTO();
+
+                entry.finishedAt  = finishedAt[index];
+                entry.elapsedTime = elapsedTime[index];
+                entry.status      = status[index];
+                entry.isTimedOut  = timedOut[index];
+
+                dto.timeline.add(entry);
+                sorted[i] = elapsedTime[index];
+            }
+            Arrays.sort(sorted);
+
+            dto.p50ElapsedTime = percentile(sorted, 50);
+            dto.p90ElapsedTime = percentile(sorted, 90);
+            dto.p99ElapsedTime = percentile(sorted, 99);
+            dto.maxElapsedTime = sorted.length == 0 ? 0 : sorted[sorted.length - 1];
+
+            return dto;
+        }
+
+        private static long percentile(final long[] sorted, final int percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            // nearest-rank method
+            final int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+            return sorted[Math.max(0, rank - 1)];
+        }
+    }
+
+}
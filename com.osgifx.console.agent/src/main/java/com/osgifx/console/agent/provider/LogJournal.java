@@ -0,0 +1,385 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.agent.provider;
+
+import static com.osgifx.console.agent.Agent.AGENT_LOG_JOURNAL_SIZE_KEY;
+import static com.osgifx.console.agent.helper.AgentHelper.packageNotWired;
+import static com.osgifx.console.agent.provider.PackageWirings.Type.LOG;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceReference;
+import org.osgi.util.tracker.ServiceTracker;
+
+import com.j256.simplelogging.FluentLogger;
+import com.j256.simplelogging.LoggerFactory;
+import com.osgifx.console.agent.admin.XBundleAdmin;
+import com.osgifx.console.agent.admin.XLogReaderAdmin;
+import com.osgifx.console.agent.di.DI;
+import com.osgifx.console.agent.dto.XBundleDTO;
+import com.osgifx.console.agent.dto.XLogEntryDTO;
+import com.osgifx.console.agent.dto.XLogFilterDTO;
+import com.osgifx.console.agent.handler.LogJournalListener;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+/**
+ * A bounded journal of the log entries of the remote runtime.
+ * <p>
+ * The journal is populated from the {@code LogReaderService} history as soon as
+ * the service is available and retains the most recent entries afterwards. This
+ * enables the console to query the log entries that have been logged before it
+ * got connected. The queries are evaluated on the agent such that only the
+ * matching entries need to be transferred.
+ * <p>
+ * Only the first available {@code LogReaderService} is used as all of them
+ * provide the same history. The listener is registered before the history is
+ * replayed such that no entry gets lost in between. The entries logged during
+ * the replay are held back and appended after the history unless they are part
+ * of it which is determined by their sequence numbers or, prior to OSGi R7, by
+ * their timestamps.
+ */
+@Singleton
+public final class LogJournal {
+
+    private static final int DEFAULT_JOURNAL_SIZE = 10_000;
+
+    private final DI                        di;
+    private final BundleContext             context;
+    private final BundleStartTimeCalculator bundleStartTimeCalculator;
+    private final FluentLogger              logger = LoggerFactory.getFluentLogger(getClass());
+    private Record[]                        records;
+    private int                             next;
+    private int                             size;
+    private List<Record>                    heldBack;
+    private long                            lastReplayedSequence;
+    private long                            lastReplayedAt;
+    private ServiceTracker<Object, Object>  logReaderTracker;
+    private Object                          logReader;
+
+    @Inject
+    public LogJournal(final BundleContext context,
+                      final DI di,
+                      final BundleStartTimeCalculator bundleStartTimeCalculator) {
+        this.di                        = di;
+        this.context                   = context;
+        this.bundleStartTimeCalculator = bundleStartTimeCalculator;
+    }
+
+    public void start() {
+        final boolean isLogAvailable = di.getInstance(PackageWirings.class).isLogWired();
+        if (!isLogAvailable) {
+            logger.atWarn().msg(packageNotWired(LOG)).log();
+            return;
+        }
+        synchronized (this) {
+            records = new Record[getJournalSize()];
+        }
+        final LogJournalListener logListener = di.getInstance(LogJournalListener.class);
+        logReaderTracker = new ServiceTracker<Object, Object>(context, "org.osgi.service.log.LogReaderService",
+                                                              null) {
+
+            @Override
+            public Object addingService(final ServiceReference<Object> reference) {
+                final Object service = super.addingService(reference);
+                // all readers provide the same history, hence only the first one gets replayed
+                if (claimLogReader(service)) {
+                    final XLogReaderAdmin logReaderAdmin = di.getInstance(XLogReaderAdmin.class);
+
+                    beginReplay();
+                    logReaderAdmin.register(service, logListener);
+                    try {
+                        logReaderAdmin.replay(service, logListener.replayListener());
+                    } finally {
+                        endReplay();
+                    }
+                }
+                return service;
+            }
+
+            @Override
+            public void removedService(final ServiceReference<Object> reference, final Object service) {
+                if (releaseLogReader(service)) {
+                    final XLogReaderAdmin logReaderAdmin = di.getInstance(XLogReaderAdmin.class);
+                    logReaderAdmin.unregister(service, logListener);
+                    // the journal already comprises the history of the remaining readers
+                    final Object[] remaining = getServices();
+                    if (remaining != null && claimLogReader(remaining[0])) {
+                        logReaderAdmin.register(remaining[0], logListener);
+                    }
+                }
+                super.removedService(reference, service);
+            }
+        };
+        logReaderTracker.open();
+    }
+
+    public void stop() {
+        if (logReaderTracker != null) {
+            logReaderTracker.close();
+            logReaderTracker = null;
+        }
+        synchronized (this) {
+            records   = null;
+            next      = 0;
+            size      = 0;
+            heldBack  = null;
+            logReader = null;
+        }
+    }
+
+    public synchronized void append(final Record record) {
+        if (records == null) {
+            return;
+        }
+        if (heldBack != null) {
+            heldBack.add(record);
+            return;
+        }
+        store(record);
+    }
+
+    public synchronized void appendReplayed(final Record record) {
+        if (records == null) {
+            return;
+        }
+        lastReplayedSequence = Math.max(lastReplayedSequence, record.sequence);
+        lastReplayedAt       = Math.max(lastReplayedAt, record.loggedAt);
+        store(record);
+    }
+
+    private synchronized boolean claimLogReader(final Object service) {
+        if (logReader != null) {
+            return false;
+        }
+        logReader = service;
+        return true;
+    }
+
+    private synchronized boolean releaseLogReader(final Object service) {
+        if (logReader != service) {
+            return false;
+        }
+        logReader = null;
+        return true;
+    }
+
+    private synchronized void beginReplay() {
+        heldBack             = new ArrayList<>();
+        lastReplayedSequence = -1;
+        lastReplayedAt       = -1;
+    }
+
+    private synchronized void endReplay() {
+        final List<Record> logged = heldBack;
+        heldBack = null;
+        if (logged == null || records == null) {
+            return;
+        }
+        for (final Record record : logged) {
+            if (!isReplayed(record)) {
+                store(record);
+            }
+        }
+    }
+
+    private boolean isReplayed(final Record record) {
+        if (record.sequence >= 0 && lastReplayedSequence >= 0) {
+            return record.sequence <= lastReplayedSequence;
+        }
+        return record.loggedAt <= lastReplayedAt;
+    }
+
+    private void store(final Record record) {
+        records[next] = record;
+        next          = (next + 1) % records.length;
+        size          = Math.min(size + 1, records.length);
+    }
+
+    public List<XLogEntryDTO> query(final XLogFilterDTO filter) {
+        final List<Record> matches = new ArrayList<>();
+        final Matcher      matcher = new Matcher(filter);
+        synchronized (this) {
+            if (records == null) {
+                return Collections.emptyList();
+            }
+            // traverse from the most recent entry such that the limit retains the newest ones
+            for (int i = 1; i <= size; i++) {
+                final Record record = records[(next - i + records.length) % records.length];
+                if (matcher.matches(record)) {
+                    matches.add(record);
+                    if (matcher.limit > 0 && matches.size() == matcher.limit) {
+                        break;
+                    }
+                }
+            }
+        }
+        Collections.reverse(matches);
+
+        final Map<Long, XBundleDTO> bundles = new HashMap<>();
+        final List<XLogEntryDTO>    dtos    = new ArrayList<>(matches.size());
+        for (final Record record : matches) {
+            dtos.add(toDTO(record, bundles));
+        }
+        return dtos;
+    }
+
+    private XLogEntryDTO toDTO(final Record record, final Map<Long, XBundleDTO> bundles) {
+        final XLogEntryDTO dto = new XLogEntryDTO();
+
+        dto.bundle     = bundles.computeIfAbsent(record.bundleId, id -> toBundleDTO(record));
+        dto.level      = record.level;
+        dto.message    = record.message;
+        dto.exception  = record.exception;
+        dto.loggedAt   = record.loggedAt;
+        dto.threadInfo = record.threadInfo;
+        dto.logger     = record.loggerName;
+
+        return dto;
+    }
+
+    private XBundleDTO toBundleDTO(final Record record) {
+        final Bundle bundle = context.getBundle(record.bundleId);
+        if (bundle != null) {
+            return XBundleAdmin.toDTO(bundle, bundleStartTimeCalculator);
+        }
+        // the bundle has been uninstalled in the meantime
+        final XBundleDTO dto = new XBundleDTO();
+
+        dto.id           = record.bundleId;
+        dto.symbolicName = record.bundleSymbolicName;
+
+        return dto;
+    }
+
+    private int getJournalSize() {
+        final String value = context.getProperty(AGENT_LOG_JOURNAL_SIZE_KEY);
+        if (value == null) {
+            return DEFAULT_JOURNAL_SIZE;
+        }
+        try {
+            return Math.max(1, Integer.parseInt(value.trim()));
+        } catch (final NumberFormatException e) {
+            logger.atWarn().msg("Invalid log journal size '{}'").arg(value).log();
+            return DEFAULT_JOURNAL_SIZE;
+        }
+    }
+
+    /**
+     * A compact representation of a log entry that does not retain any reference
+     * to the originating bundle
+     */
+    public static final class Record {
+
+        final long   sequence;
+        final long   loggedAt;
+        final long   bundleId;
+        final String bundleSymbolicName;
+        final String level;
+        final String loggerName;
+        final String message;
+        final String exception;
+        final String threadInfo;
+
+        public Record(final long sequence,
+                      final long loggedAt,
+                      final long bundleId,
+                      final String bundleSymbolicName,
+                      final String level,
+                      final String loggerName,
+                      final String message,
+                      final String exception,
+                      final String threadInfo) {
+            this.sequence           = sequence;
+            this.loggedAt           = loggedAt;
+            this.bundleId           = bundleId;
+            this.bundleSymbolicName = bundleSymbolicName;
+            this.level              = level;
+            this.loggerName         = loggerName;
+            this.message            = message;
+            this.exception          = exception;
+            this.threadInfo         = threadInfo;
+        }
+    }
+
+    private static final class Matcher {
+
+        final List<String> levels;
+        final List<String> bundles;
+        final String       loggerName;
+        final String       text;
+        final long         fromTime;
+        final long         toTime;
+        final int          limit;
+
+        Matcher(final XLogFilterDTO filter) {
+            if (filter == null) {
+                levels     = Collections.emptyList();
+                bundles    = Collections.emptyList();
+                loggerName = null;
+                text       = null;
+                fromTime   = 0;
+                toTime     = 0;
+                limit      = 0;
+                return;
+            }
+            levels     = filter.levels == null ? Collections.emptyList() : upperCase(filter.levels);
+            bundles    = filter.bundleSymbolicNames == null ? Collections.emptyList() : filter.bundleSymbolicNames;
+            loggerName = lowerCase(filter.loggerName);
+            text       = lowerCase(filter.text);
+            fromTime   = filter.fromTime;
+            toTime     = filter.toTime;
+            limit      = filter.limit;
+        }
+
+        boolean matches(final Record record) {
+            // @formatter:off
+            return (fromTime <= 0 || record.loggedAt >= fromTime)
+                    && (toTime <= 0 || record.loggedAt <= toTime)
+                    && (levels.isEmpty() || levels.contains(record.level))
+                    && (bundles.isEmpty() || bundles.contains(record.bundleSymbolicName))
+                    && (loggerName == null || contains(record.loggerName, loggerName))
+                    && (text == null || contains(record.message, text) || contains(record.exception, text));
+            // @formatter:on
+        }
+
+        private static boolean contains(final String value, final String lowerCaseToken) {
+            return value != null && value.toLowerCase(Locale.ROOT).contains(lowerCaseToken);
+        }
+
+        private static String lowerCase(final String value) {
+            if (value == null || value.trim().isEmpty()) {
+                return null;
+            }
+            return value.toLowerCase(Locale.ROOT);
+        }
+
+        private static List<String> upperCase(final List<String> values) {
+            final List<String> result = new ArrayList<>(values.size());
+            values.forEach(v -> result.add(v.toUpperCase(Locale.ROOT)));
+            return result;
+        }
+    }
+
+}
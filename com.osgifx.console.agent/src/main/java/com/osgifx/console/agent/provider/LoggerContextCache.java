@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.agent.provider;
+
+import static org.osgi.framework.BundleEvent.INSTALLED;
+import static org.osgi.framework.BundleEvent.UNINSTALLED;
+import static org.osgi.framework.BundleEvent.UPDATED;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleEvent;
+import org.osgi.framework.BundleListener;
+
+import com.osgifx.console.agent.dto.XBundleLoggerContextDTO;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+/**
+ * Caches the logger contexts of all installed bundles such that they do not need
+ * to be retrieved from the {@code LoggerAdmin} on every request. The cache gets
+ * invalidated whenever the set of bundle symbolic names changes or the log
+ * levels are updated by the agent.
+ * <p>
+ * The log levels can also be changed without the agent's knowledge, e.g. by
+ * other {@code LoggerAdmin} clients or by updating the
+ * {@code org.osgi.service.log.admin} configurations. Hence, the cached contexts
+ * additionally expire after a short time to live.
+ */
+@Singleton
+public final class LoggerContextCache implements BundleListener {
+
+    private static final long TIME_TO_LIVE_IN_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final AtomicLong                       generation = new AtomicLong();
+    private volatile List<XBundleLoggerContextDTO> loggerContexts;
+    private volatile long                          loadedAt;
+
+    @Inject
+    public LoggerContextCache(final BundleContext bundleContext) {
+        bundleContext.addBundleListener(this);
+    }
+
+    @Override
+    public void bundleChanged(final BundleEvent event) {
+        switch (event.getType()) {
+            case INSTALLED:
+            case UPDATED:
+            case UNINSTALLED:
+                invalidate();
+                break;
+            default:
+                break;
+        }
+    }
+
+    public List<XBundleLoggerContextDTO> get(final Supplier<List<XBundleLoggerContextDTO>> loader) {
+        List<XBundleLoggerContextDTO> contexts = loggerContexts;
+        if (contexts == null || System.nanoTime() - loadedAt > TIME_TO_LIVE_IN_NANOS) {
+            final long current = generation.get();
+            final long now     = System.nanoTime();
+            contexts = loader.get();
+            synchronized (this) {
+                // do not cache the contexts if the cache got invalidated while loading
+                if (current == generation.get()) {
+                    loggerContexts = contexts;
+                    loadedAt       = now;
+                }
+            }
+        }
+        return contexts;
+    }
+
+    public synchronized void invalidate() {
+        generation.incrementAndGet();
+        loggerContexts = null;
+    }
+
+}
@@ -0,0 +1,447 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.agent.provider;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.osgi.framework.Constants.SYSTEM_BUNDLE_ID;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleEvent;
+import org.osgi.framework.FrameworkEvent;
+import org.osgi.framework.FrameworkListener;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceEvent;
+import org.osgi.framework.ServiceListener;
+import org.osgi.framework.ServiceReference;
+import org.osgi.framework.SynchronousBundleListener;
+import org.osgi.framework.wiring.BundleWire;
+import org.osgi.framework.wiring.BundleWiring;
+
+import com.j256.simplelogging.FluentLogger;
+import com.j256.simplelogging.LoggerFactory;
+import com.osgifx.console.agent.admin.XComponentAdmin;
+import com.osgifx.console.agent.di.DI;
+import com.osgifx.console.agent.dto.XComponentDTO;
+import com.osgifx.console.agent.dto.XStartupProfileDTO;
+import com.osgifx.console.agent.dto.XStartupProfileDTO.BundleTimelineDTO;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+/**
+ * Records the resolution, activation and DS component registration timestamps
+ * of all bundles during the framework startup.
+ * <p>
+ * The events are appended to a pre-allocated array by means of an atomic
+ * cursor such that the framework threads never block on the profiler. The
+ * timelines and the critical path are only computed when the profile gets
+ * requested. As soon as the framework has been started, the recording stops
+ * and the listeners are removed such that the later runtime events neither
+ * occupy the buffer nor mark the profile as truncated.
+ * <p>
+ * The critical path is computed by walking backwards from the bundle that got
+ * ready last. The activation of a bundle is considered to be gated by the
+ * bundle that released the same starting thread last or by one of its wired
+ * providers, whichever got ready last before the activation started. As SCR
+ * does not expose activation timestamps, the DS components are timestamped by
+ * the registration of their services.
+ */
+@Singleton
+public final class StartupProfiler implements SynchronousBundleListener, ServiceListener, FrameworkListener {
+
+    private static final int    DEFAULT_CAPACITY     = 65_536;
+    private static final String COMPONENT_NAME       = "component.name";
+    private static final String COMPONENT_FILTER     = "(" + COMPONENT_NAME + "=*)";
+    private static final byte   RESOLVED             = 0;
+    private static final byte   STARTING             = 1;
+    private static final byte   STARTED              = 2;
+    private static final byte   COMPONENT_REGISTERED = 3;
+
+    private final DI                          di;
+    private final BundleContext               context;
+    private final AtomicInteger               cursor = new AtomicInteger();
+    private final AtomicReferenceArray<Event> events = new AtomicReferenceArray<>(DEFAULT_CAPACITY);
+    private final FluentLogger                logger = LoggerFactory.getFluentLogger(getClass());
+    private long                              originMillis;
+    private long                              originNanos;
+    private boolean                           isFrameworkStartupObserved;
+    private volatile boolean                  isTruncated;
+    private volatile boolean                  isRecording;
+    private volatile long                     frameworkStartedAt;
+
+    @Inject
+    public StartupProfiler(final BundleContext context, final DI di) {
+        this.di      = di;
+        this.context = context;
+    }
+
+    public void start() {
+        originMillis               = System.currentTimeMillis();
+        originNanos                = System.nanoTime();
+        frameworkStartedAt         = -1;
+        isFrameworkStartupObserved = context.getBundle(SYSTEM_BUNDLE_ID).getState() != Bundle.ACTIVE;
+        isRecording                = true;
+
+        context.addBundleListener(this);
+        context.addFrameworkListener(this);
+        try {
+            context.addServiceListener(this, COMPONENT_FILTER);
+        } catch (final InvalidSyntaxException e) {
+            // cannot happen as the filter is a constant
+            logger.atError().msg("Invalid component service filter").throwable(e).log();
+        }
+        if (!isFrameworkStartupObserved) {
+            logger.atInfo().msg("[OSGi.fx] Framework already started, the startup profile will be incomplete").log();
+        }
+    }
+
+    public void stop() {
+        isRecording = false;
+        context.removeServiceListener(this);
+        context.removeFrameworkListener(this);
+        context.removeBundleListener(this);
+    }
+
+    @Override
+    public void bundleChanged(final BundleEvent event) {
+        final Bundle bundle = event.getBundle();
+        switch (event.getType()) {
+            case BundleEvent.RESOLVED:
+                append(bundle, RESOLVED, null);
+                break;
+            case BundleEvent.STARTING:
+                append(bundle, STARTING, null);
+                break;
+            case BundleEvent.STARTED:
+                append(bundle, STARTED, null);
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void serviceChanged(final ServiceEvent event) {
+        if (event.getType() != ServiceEvent.REGISTERED) {
+            return;
+        }
+        final ServiceReference<?> reference = event.getServiceReference();
+        final Bundle              bundle    = reference.getBundle();
+        if (bundle != null) {
+            append(bundle, COMPONENT_REGISTERED, String.valueOf(reference.getProperty(COMPONENT_NAME)));
+        }
+    }
+
+    @Override
+    public void frameworkEvent(final FrameworkEvent event) {
+        if (event.getType() == FrameworkEvent.STARTED && frameworkStartedAt == -1) {
+            frameworkStartedAt = System.nanoTime();
+            // the startup is complete, the subsequent events are runtime noise
+            stop();
+        }
+    }
+
+    private void append(final Bundle bundle, final byte type, final String detail) {
+        // the listeners might still be notified about events which were fired concurrently
+        if (!isRecording) {
+            return;
+        }
+        if (cursor.get() >= events.length()) {
+            isTruncated = true;
+            return;
+        }
+        final int index = cursor.getAndIncrement();
+        if (index >= events.length()) {
+            isTruncated = true;
+            return;
+        }
+        final Event event = new Event(System.nanoTime(), bundle.getBundleId(), bundle.getSymbolicName(), type,
+                                      Thread.currentThread().getId(), detail);
+        events.set(index, event);
+    }
+
+    public XStartupProfileDTO getProfile() {
+        final int                    recorded   = cursor.get();
+        final Map<Long, Timeline>    timelines  = new LinkedHashMap<>();
+        final Map<Long, Set<String>> components = new HashMap<>();
+
+        for (int i = 0; i < Math.min(recorded, events.length()); i++) {
+            final Event event = events.get(i);
+            // the slot has been claimed but the event has not been published yet
+            if (event == null) {
+                continue;
+            }
+            final Timeline timeline = timelines.computeIfAbsent(event.bundleId,
+                    id -> new Timeline(event.bundleId, event.symbolicName));
+            if (timeline.record(event)) {
+                components.computeIfAbsent(event.bundleId, id -> new HashSet<>()).add(event.detail);
+            }
+        }
+        components.forEach((id, names) -> timelines.get(id).registeredComponentCount = names.size());
+        initComponentCounts(timelines);
+
+        final List<Timeline> ordered = new ArrayList<>(timelines.values());
+        ordered.sort(Comparator.comparingLong(Timeline::begin));
+        final List<Timeline> criticalPath = computeCriticalPath(ordered, timelines);
+
+        final XStartupProfileDTO dto = new XStartupProfileDTO();
+
+        dto.profilingStartedAt         = originMillis;
+        dto.isFrameworkStartupObserved = isFrameworkStartupObserved;
+        dto.frameworkStartedAt         = toMicros(frameworkStartedAt);
+        dto.isTruncated                = isTruncated;
+        dto.timelines                  = new ArrayList<>(ordered.size());
+        dto.criticalPath               = new ArrayList<>(criticalPath.size());
+
+        ordered.forEach(t -> dto.timelines.add(t.toDTO()));
+        criticalPath.forEach(t -> dto.criticalPath.add(t.bundleId));
+        if (!criticalPath.isEmpty()) {
+            final long begin = criticalPath.get(0).begin();
+            final long end   = criticalPath.get(criticalPath.size() - 1).readyAt();
+            dto.criticalPathDuration = NANOSECONDS.toMicros(end - begin);
+        }
+        return dto;
+    }
+
+    private List<Timeline> computeCriticalPath(final List<Timeline> ordered, final Map<Long, Timeline> timelines) {
+        if (ordered.isEmpty()) {
+            return Collections.emptyList();
+        }
+        // the bundles which have been activated on the same thread are started sequentially
+        final Map<Long, List<Timeline>> byThread = new HashMap<>();
+        for (final Timeline timeline : ordered) {
+            if (timeline.startingAt != -1) {
+                byThread.computeIfAbsent(timeline.threadId, id -> new ArrayList<>()).add(timeline);
+            }
+        }
+        // the activations that began after the framework has been started do not belong to the startup
+        final long startupEnd = frameworkStartedAt == -1 ? Long.MAX_VALUE : frameworkStartedAt;
+        Timeline   last       = null;
+        for (final Timeline timeline : ordered) {
+            if (timeline.begin() <= startupEnd && (last == null || timeline.readyAt() > last.readyAt())) {
+                last = timeline;
+            }
+        }
+        final List<Timeline> path    = new ArrayList<>();
+        final Set<Long>      visited = new HashSet<>();
+        for (Timeline current = last; current != null && visited.add(current.bundleId);) {
+            current.isOnCriticalPath = true;
+            path.add(current);
+
+            final Timeline gate = findGate(current, byThread, timelines);
+            current.gatingBundleId = gate == null ? -1 : gate.bundleId;
+            current                = gate;
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    private Timeline findGate(final Timeline timeline,
+                              final Map<Long, List<Timeline>> byThread,
+                              final Map<Long, Timeline> timelines) {
+        final long begin    = timeline.begin();
+        Timeline   gate     = null;
+        long       gateTime = -1;
+
+        // the previous activation which released the same thread
+        final List<Timeline> sequence = byThread.getOrDefault(timeline.threadId, Collections.emptyList());
+        for (final Timeline candidate : sequence) {
+            if (candidate != timeline && candidate.startedAt != -1 && candidate.startedAt <= begin
+                    && candidate.startedAt > gateTime) {
+                gate     = candidate;
+                gateTime = candidate.startedAt;
+            }
+        }
+        // the wired providers which got ready before the activation began
+        for (final long providerId : providers(timeline.bundleId)) {
+            final Timeline candidate = timelines.get(providerId);
+            if (candidate != null && candidate != timeline && candidate.readyAt() <= begin
+                    && candidate.readyAt() > gateTime) {
+                gate     = candidate;
+                gateTime = candidate.readyAt();
+            }
+        }
+        return gate;
+    }
+
+    private Set<Long> providers(final long bundleId) {
+        final Bundle bundle = context.getBundle(bundleId);
+        if (bundle == null) {
+            return Collections.emptySet();
+        }
+        final BundleWiring wiring = bundle.adapt(BundleWiring.class);
+        if (wiring == null) {
+            return Collections.emptySet();
+        }
+        final Set<Long> providers = new HashSet<>();
+        for (final BundleWire wire : wiring.getRequiredWires(null)) {
+            providers.add(wire.getProvider().getBundle().getBundleId());
+        }
+        return providers;
+    }
+
+    private void initComponentCounts(final Map<Long, Timeline> timelines) {
+        if (!di.getInstance(PackageWirings.class).isScrWired()) {
+            return;
+        }
+        try {
+            for (final XComponentDTO component : di.getInstance(XComponentAdmin.class).getComponents()) {
+                final Timeline timeline = timelines.get(component.registeringBundleId);
+                if (timeline == null) {
+                    continue;
+                }
+                timeline.componentCount++;
+                if ("ACTIVE".equals(component.state)) {
+                    timeline.activeComponentCount++;
+                }
+            }
+        } catch (final Exception e) {
+            logger.atWarn().msg("DS components cannot be retrieved for the startup profile").throwable(e).log();
+        }
+    }
+
+    private long toMicros(final long nanos) {
+        return nanos == -1 ? -1 : NANOSECONDS.toMicros(nanos - originNanos);
+    }
+
+    private static final class Event {
+
+        final long   timestamp;
+        final long   bundleId;
+        final String symbolicName;
+        final byte   type;
+        final long   threadId;
+        final String detail;
+
+        Event(final long timestamp,
+              final long bundleId,
+              final String symbolicName,
+              final byte type,
+              final long threadId,
+              final String detail) {
+            this.timestamp    = timestamp;
+            this.bundleId     = bundleId;
+            this.symbolicName = symbolicName;
+            this.type         = type;
+            this.threadId     = threadId;
+            this.detail       = detail;
+        }
+    }
+
+    private final class Timeline {
+
+        final long   bundleId;
+        final String symbolicName;
+        long         resolvedAt       = -1;
+        long         startingAt       = -1;
+        long         startedAt        = -1;
+        long         firstComponentAt = -1;
+        long         lastComponentAt  = -1;
+        long         threadId         = -1;
+        long         gatingBundleId   = -1;
+        int          registeredComponentCount;
+        int          componentCount;
+        int          activeComponentCount;
+        boolean      isOnCriticalPath;
+
+        Timeline(final long bundleId, final String symbolicName) {
+            this.bundleId     = bundleId;
+            this.symbolicName = symbolicName;
+        }
+
+        /**
+         * Records the first occurrence of the specified event
+         *
+         * @return {@code true} if the event denotes a component registration,
+         *         otherwise {@code false}
+         */
+        boolean record(final Event event) {
+            switch (event.type) {
+                case RESOLVED:
+                    if (resolvedAt == -1) {
+                        resolvedAt = event.timestamp;
+                    }
+                    return false;
+                case STARTING:
+                    if (startingAt == -1) {
+                        startingAt = event.timestamp;
+                        threadId   = event.threadId;
+                    }
+                    return false;
+                case STARTED:
+                    if (startedAt == -1) {
+                        startedAt = event.timestamp;
+                    }
+                    return false;
+                case COMPONENT_REGISTERED:
+                    if (firstComponentAt == -1) {
+                        firstComponentAt = event.timestamp;
+                    }
+                    lastComponentAt = event.timestamp;
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        long begin() {
+            if (startingAt != -1) {
+                return startingAt;
+            }
+            if (resolvedAt != -1) {
+                return resolvedAt;
+            }
+            return firstComponentAt;
+        }
+
+        long readyAt() {
+            return Math.max(Math.max(startedAt, lastComponentAt), begin());
+        }
+
+        BundleTimelineDTO toDTO() {
+            final BundleTimelineDTO dto = new BundleTimelineDTO();
+
+            dto.bundleId                 = bundleId;
+            dto.symbolicName             = symbolicName;
+            dto.resolvedAt               = toMicros(resolvedAt);
+            dto.startingAt               = toMicros(startingAt);
+            dto.startedAt                = toMicros(startedAt);
+            dto.firstComponentAt         = toMicros(firstComponentAt);
+            dto.lastComponentAt          = toMicros(lastComponentAt);
+            dto.registeredComponentCount = registeredComponentCount;
+            dto.componentCount           = componentCount;
+            dto.activeComponentCount     = activeComponentCount;
+            dto.gatingBundleId           = gatingBundleId;
+            dto.isOnCriticalPath         = isOnCriticalPath;
+
+            return dto;
+        }
+    }
+
+}
@@ -19,9 +19,11 @@ import static com.osgifx.console.agent.Agent.AGENT_MQTT_PROVIDER_DEFAULT_VALUE;
 import static com.osgifx.console.agent.Agent.AGENT_MQTT_PROVIDER_KEY;
 import static com.osgifx.console.agent.Agent.AGENT_MQTT_PUB_TOPIC_KEY;
 import static com.osgifx.console.agent.Agent.AGENT_MQTT_SUB_TOPIC_KEY;
+import static com.osgifx.console.agent.Agent.AGENT_RPC_POOL_QUEUE_CAPACITY_KEY;
+import static com.osgifx.console.agent.Agent.AGENT_RPC_POOL_REJECTION_POLICY_KEY;
+import static com.osgifx.console.agent.Agent.AGENT_RPC_POOL_VIRTUAL_THREADS_KEY;
 import static com.osgifx.console.agent.provider.AgentServer.RpcType.MQTT_RPC;
 import static com.osgifx.console.agent.provider.AgentServer.RpcType.SOCKET_RPC;
-import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.osgi.framework.Constants.BUNDLE_ACTIVATOR;
 
 import java.io.IOException;
@@ -31,9 +33,7 @@ import java.net.SocketException;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.ThreadPoolExecutor;
 
 import org.osgi.annotation.bundle.Header;
 import org.osgi.framework.BundleActivator;
@@ -43,11 +43,17 @@ import com.j256.simplelogging.FluentLogger;
 import com.j256.simplelogging.LoggerFactory;
 import com.osgifx.console.agent.Agent;
 import com.osgifx.console.agent.di.module.DIModule;
+import com.osgifx.console.agent.dto.XClassloaderLeakDTO;
 import com.osgifx.console.agent.helper.ThreadFactoryBuilder;
 import com.osgifx.console.agent.provider.AgentServer;
 import com.osgifx.console.agent.provider.ClassloaderLeakDetector;
+import com.osgifx.console.agent.provider.HealthCheckScheduler;
+import com.osgifx.console.agent.provider.LogJournal;
 import com.osgifx.console.agent.provider.PackageWirings;
+import com.osgifx.console.agent.provider.StartupProfiler;
 import com.osgifx.console.agent.rpc.RemoteRPC;
+import com.osgifx.console.agent.rpc.RpcExecutor;
+import com.osgifx.console.agent.rpc.RpcExecutor.RejectionPolicy;
 import com.osgifx.console.agent.rpc.mqtt.MqttRPC;
 import com.osgifx.console.agent.rpc.mqtt.SimpleMqtt5Publisher;
 import com.osgifx.console.agent.rpc.mqtt.SimpleMqtt5Subscriber;
@@ -65,11 +71,11 @@ import aQute.lib.io.IO;
 @Header(name = BUNDLE_ACTIVATOR, value = "${@class}")
 public final class Activator extends Thread implements BundleActivator {
 
-    private static final int    RPC_POOL_CORE_THREADS_SIZE          = 10;
-    private static final int    RPC_POOL_MAX_THREADS_SIZE           = 20;
-    private static final int    RPC_POOL_KEEP_ALIVE_TIME_IN_SECONDS = 60;
-    private static final String RPC_POOL_THREAD_NAME_SUFFIX         = "-%d";
-    private static final String RPC_POOL_THREAD_NAME_PREFIX         = "osgifx-agent";
+    private static final int    RPC_POOL_CORE_THREADS_SIZE  = 10;
+    private static final int    RPC_POOL_MAX_THREADS_SIZE   = 20;
+    private static final int    RPC_POOL_QUEUE_CAPACITY     = 200;
+    private static final String RPC_POOL_THREAD_NAME_SUFFIX = "-%d";
+    private static final String RPC_POOL_THREAD_NAME_PREFIX = "osgifx-agent";
 
     // @formatter:off
     private static final ThreadFactory THREAD_FACTORY = new ThreadFactoryBuilder()
@@ -81,13 +87,21 @@ public final class Activator extends Thread implements BundleActivator {
 
     private DIModule                module;
     private ServerSocket            serverSocket;
+    private int                     rpcQueueCapacity;
+    private RejectionPolicy         rpcRejectionPolicy;
+    private boolean                 isRpcPoolVirtualThread;
     private final FluentLogger      logger = LoggerFactory.getFluentLogger(getClass());
     private final List<AgentServer> agents = new CopyOnWriteArrayList<>();
 
     @Override
     public void start(final BundleContext bundleContext) throws Exception {
         module = new DIModule(bundleContext);
-        module.di().getInstance(ClassloaderLeakDetector.class).start();
+        initRpcPool(bundleContext);
+        // start as early as possible to observe most of the framework startup
+        module.di().getInstance(StartupProfiler.class).start();
+        final ClassloaderLeakDetector leakDetector = module.di().getInstance(ClassloaderLeakDetector.class);
+        leakDetector.setLeakListener(this::publishLeak);
+        leakDetector.start();
 
         try {
             final SocketContext socketContext = new SocketContext(bundleContext);
@@ -101,6 +115,8 @@ public final class Activator extends Thread implements BundleActivator {
             logger.atInfo().msg("[OSGi.fx] Socket agent not configured").log();
         }
         module.start();
+        module.di().getInstance(HealthCheckScheduler.class).start();
+        module.di().getInstance(LogJournal.class).start();
 
         final String mqttProviderProperty = bundleContext.getProperty(AGENT_MQTT_PROVIDER_KEY);
         if (mqttProviderProperty == null) {
@@ -205,16 +221,46 @@ public final class Activator extends Thread implements BundleActivator {
         IO.close(serverSocket);
         agents.forEach(IO::close);
         module.di().getInstance(ClassloaderLeakDetector.class).stop();
+        module.di().getInstance(HealthCheckScheduler.class).stop();
+        module.di().getInstance(LogJournal.class).stop();
+        module.di().getInstance(StartupProfiler.class).stop();
         module.stop();
     }
 
-    public static ExecutorService newFixedThreadPool() {
-        final ThreadPoolExecutor executor = new ThreadPoolExecutor(RPC_POOL_CORE_THREADS_SIZE,
-                                                                   RPC_POOL_MAX_THREADS_SIZE,
-                                                                   RPC_POOL_KEEP_ALIVE_TIME_IN_SECONDS, SECONDS,
-                                                                   new LinkedBlockingQueue<>(), THREAD_FACTORY);
-        executor.allowCoreThreadTimeOut(true);
-        return executor;
+    private void publishLeak(final XClassloaderLeakDTO leak) {
+        for (final AgentServer agent : agents) {
+            final Supervisor supervisor = agent.getSupervisor();
+            if (supervisor == null) {
+                continue;
+            }
+            try {
+                supervisor.onClassloaderLeak(leak);
+            } catch (final Exception e) {
+                logger.atWarn().msg("[OSGi.fx] Classloader leak cannot be published").throwable(e).log();
+            }
+        }
+    }
+
+    private void initRpcPool(final BundleContext bundleContext) {
+        final String capacityProperty = bundleContext.getProperty(AGENT_RPC_POOL_QUEUE_CAPACITY_KEY);
+        final String policyProperty   = bundleContext.getProperty(AGENT_RPC_POOL_REJECTION_POLICY_KEY);
+        final String virtualProperty  = bundleContext.getProperty(AGENT_RPC_POOL_VIRTUAL_THREADS_KEY);
+
+        rpcQueueCapacity       = RPC_POOL_QUEUE_CAPACITY;
+        rpcRejectionPolicy     = RejectionPolicy.parse(policyProperty, RejectionPolicy.BUSY);
+        isRpcPoolVirtualThread = Boolean.parseBoolean(virtualProperty);
+        if (capacityProperty != null) {
+            try {
+                rpcQueueCapacity = Math.max(1, Integer.parseInt(capacityProperty.trim()));
+            } catch (final NumberFormatException e) {
+                logger.atWarn().msg("[OSGi.fx] Invalid RPC pool queue capacity '{}'").arg(capacityProperty).log();
+            }
+        }
+    }
+
+    private ExecutorService newFixedThreadPool() {
+        return RpcExecutor.newBoundedPool(RPC_POOL_CORE_THREADS_SIZE, RPC_POOL_MAX_THREADS_SIZE, rpcQueueCapacity,
+                rpcRejectionPolicy, THREAD_FACTORY, isRpcPoolVirtualThread);
     }
 
 }
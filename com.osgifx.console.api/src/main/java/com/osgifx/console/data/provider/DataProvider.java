@@ -33,6 +33,7 @@ import com.osgifx.console.agent.dto.XLogEntryDTO;
 import com.osgifx.console.agent.dto.XMemoryInfoDTO;
 import com.osgifx.console.agent.dto.XPropertyDTO;
 import com.osgifx.console.agent.dto.XRoleDTO;
+import com.osgifx.console.agent.dto.XRuntimeSummaryDTO;
 import com.osgifx.console.agent.dto.XServiceDTO;
 import com.osgifx.console.agent.dto.XThreadDTO;
 
@@ -52,6 +53,14 @@ public interface DataProvider {
      */
     void retrieveInfo(String id, boolean isAsync);
 
+    /**
+     * Notifies that the view displaying the specified information has been hidden or closed such that the
+     * information is no longer refreshed with priority.
+     *
+     * @param id the identifier for the specific information
+     */
+    void markInfoHidden(String id);
+
     /**
      * Returns an observable list of bundles.
      *
@@ -157,6 +166,15 @@ public interface DataProvider {
      */
     CompletableFuture<XMemoryInfoDTO> memory();
 
+    /**
+     * Returns the aggregated counters of the remote runtime which is cheaper
+     * than retrieving the complete lists only to count their elements.
+     *
+     * @return a CompletableFuture containing the runtime summary which is empty
+     *         if no agent is connected
+     */
+    CompletableFuture<XRuntimeSummaryDTO> runtimeSummary();
+
     /**
      * Returns the DMT node information of the specified node.
      *
@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * COPYRIGHT 2021-2024 AMIT KUMAR MONDAL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.data.provider;
+
+import org.osgi.annotation.versioning.ProviderType;
+
+import com.osgifx.console.agent.dto.XEventDTO;
+
+import javafx.collections.ObservableList;
+
+/**
+ * A read-only, virtualized list of the received events ordered from the newest to the oldest event. The events are
+ * journaled on disk and only materialized when they are accessed, i.e. when the corresponding rows become visible.
+ */
+@ProviderType
+public interface EventEntryList extends ObservableList<XEventDTO> {
+
+    /**
+     * Restricts the list to the events matching the specified criteria.
+     *
+     * @param topic the topic of the events, optionally ending with a {@code *} wildcard, or {@code null} to include
+     *            all topics
+     * @param from the inclusive lower bound of the time the events have been received at in milliseconds since the
+     *            epoch
+     * @param to the exclusive upper bound of the time the events have been received at in milliseconds since the
+     *            epoch
+     */
+    void filter(String topic, long from, long to);
+
+    /**
+     * Returns the number of bytes occupied by the journal of the events.
+     *
+     * @return the size of the journal
+     */
+    long journalSize();
+
+}
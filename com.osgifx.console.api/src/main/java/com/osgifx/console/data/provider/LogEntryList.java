@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * COPYRIGHT 2021-2024 AMIT KUMAR MONDAL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.data.provider;
+
+import org.osgi.annotation.versioning.ProviderType;
+
+import com.osgifx.console.agent.dto.XLogEntryDTO;
+
+import javafx.collections.ObservableList;
+
+/**
+ * A read-only, virtualized list of the received log entries ordered from the newest to the oldest entry. The entries
+ * are only materialized when they are accessed, i.e. when the corresponding rows become visible.
+ */
+@ProviderType
+public interface LogEntryList extends ObservableList<XLogEntryDTO> {
+
+    /** The value denoting that the entries are not filtered by bundle */
+    long ALL_BUNDLES = -1;
+
+    /**
+     * Restricts the list to the entries matching the specified criteria.
+     *
+     * @param level the log level of the entries, or {@code null} to include all levels
+     * @param bundleId the identifier of the bundle which logged the entries, or {@link #ALL_BUNDLES} to include all
+     *            bundles
+     */
+    void filter(String level, long bundleId);
+
+    /**
+     * Returns the maximum number of entries that are retained. Older entries are evicted.
+     *
+     * @return the capacity
+     */
+    int capacity();
+
+}
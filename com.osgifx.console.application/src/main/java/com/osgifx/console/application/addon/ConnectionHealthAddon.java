@@ -0,0 +1,232 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.application.addon;
+
+import static com.osgifx.console.supervisor.Supervisor.AGENT_CONNECTED_EVENT_TOPIC;
+import static com.osgifx.console.supervisor.Supervisor.AGENT_DISCONNECTED_EVENT_TOPIC;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.concurrent.CompletableFuture;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+import org.eclipse.e4.core.di.annotations.Optional;
+import org.eclipse.e4.core.di.extensions.EventTopic;
+import org.eclipse.e4.core.services.events.IEventBroker;
+import org.eclipse.fx.core.ThreadSynchronize;
+import org.eclipse.fx.core.di.ContextBoundValue;
+import org.eclipse.fx.core.di.ContextValue;
+import org.eclipse.fx.core.log.FluentLogger;
+import org.eclipse.fx.core.log.Log;
+
+import com.osgifx.console.application.dialog.SocketConnectionSettingDTO;
+import com.osgifx.console.executor.Executor;
+import com.osgifx.console.supervisor.ConnectionStatistics;
+import com.osgifx.console.supervisor.Supervisor;
+
+/**
+ * Monitors the health of the connection to the remote agent for both socket
+ * and MQTT connections.
+ * <p>
+ * The heartbeat interval adapts to the link quality: it is stretched while the
+ * round-trip time is stable and shortened as soon as the jitter grows or a
+ * request times out. A slow link keeps answering the heartbeats whereas a dead
+ * link misses several consecutive heartbeats which results in a disconnection.
+ * The round-trip time, throughput and number of in-flight requests are
+ * published for the status bar.
+ */
+public final class ConnectionHealthAddon {
+
+    private static final long MIN_INTERVAL_IN_MILLIS     = 1_000;
+    private static final long MAX_INTERVAL_IN_MILLIS     = 15_000;
+    private static final long INITIAL_INTERVAL_IN_MILLIS = 5_000;
+    private static final int  MAX_MISSED_HEARTBEATS      = 3;
+
+    @Log
+    @Inject
+    private FluentLogger                                  logger;
+    @Inject
+    private Executor                                      executor;
+    @Inject
+    @Optional
+    private Supervisor                                    supervisor;
+    @Inject
+    private IEventBroker                                  eventBroker;
+    @Inject
+    private ThreadSynchronize                             threadSync;
+    @Inject
+    @ContextValue("is_connected")
+    private ContextBoundValue<Boolean>                    isConnected;
+    @Inject
+    @Optional
+    @ContextValue("is_local_agent")
+    private ContextBoundValue<Boolean>                    isLocalAgent;
+    @Inject
+    @ContextValue("connected.agent")
+    private ContextBoundValue<String>                     connectedAgent;
+    @Inject
+    @ContextValue("connection.health")
+    private ContextBoundValue<String>                     connectionHealth;
+    @Inject
+    @Optional
+    @ContextValue("selected.settings")
+    private ContextBoundValue<SocketConnectionSettingDTO> selectedSettings;
+    private volatile long                                 session;
+    private long                                          intervalInMillis;
+    private int                                           missedHeartbeats;
+    private ConnectionStatistics                          previous;
+    private long                                          previousSampledAt;
+
+    @PostConstruct
+    public void init() {
+        logger.atInfo().log("Connection health addon has been initialized");
+    }
+
+    @Inject
+    @Optional
+    private void agentConnected(@EventTopic(AGENT_CONNECTED_EVENT_TOPIC) final String data) {
+        logger.atInfo().log("Agent connected event has been received");
+        // snapshot agents do not have any connection to monitor
+        if (supervisor == null || supervisor.getType() == null) {
+            return;
+        }
+        final long currentSession;
+        synchronized (this) {
+            currentSession    = ++session;
+            intervalInMillis  = INITIAL_INTERVAL_IN_MILLIS;
+            missedHeartbeats  = 0;
+            previous          = null;
+            previousSampledAt = 0;
+        }
+        scheduleHeartbeat(currentSession, 0);
+        logger.atInfo().log("Connection health monitor has been started for %s", supervisor.getType());
+    }
+
+    @Inject
+    @Optional
+    private void agentDisconnected(@EventTopic(AGENT_DISCONNECTED_EVENT_TOPIC) final String data) {
+        logger.atInfo().log("Agent disconnected event has been received");
+        synchronized (this) {
+            // invalidates the scheduled heartbeat
+            session++;
+        }
+        threadSync.asyncExec(() -> connectionHealth.publish(null));
+        connectedAgent.publish(null);
+    }
+
+    @PreDestroy
+    private void destroy() {
+        synchronized (this) {
+            session++;
+        }
+        logger.atInfo().log("Connection health addon has been destroyed");
+    }
+
+    private void scheduleHeartbeat(final long currentSession, final long delayInMillis) {
+        final var delayed = CompletableFuture.delayedExecutor(delayInMillis, MILLISECONDS, executor::runAsync);
+        CompletableFuture.runAsync(() -> heartbeat(currentSession), delayed);
+    }
+
+    private void heartbeat(final long currentSession) {
+        if (currentSession != session || supervisor == null) {
+            return;
+        }
+        boolean isAlive;
+        try {
+            final var agent = supervisor.getAgent();
+            isAlive = agent != null && agent.ping();
+        } catch (final Exception e) {
+            // a timed out heartbeat returns no result
+            isAlive = false;
+        }
+        final long nextDelay;
+        synchronized (this) {
+            if (currentSession != session) {
+                return;
+            }
+            if (isAlive) {
+                missedHeartbeats = 0;
+                adaptInterval(supervisor.getConnectionStatistics());
+            } else if (++missedHeartbeats < MAX_MISSED_HEARTBEATS) {
+                logger.atWarning().log("Agent missed %s of %s heartbeats", missedHeartbeats, MAX_MISSED_HEARTBEATS);
+                intervalInMillis = MIN_INTERVAL_IN_MILLIS;
+            } else {
+                session++;
+                disconnect();
+                return;
+            }
+            nextDelay = intervalInMillis;
+        }
+        scheduleHeartbeat(currentSession, nextDelay);
+    }
+
+    private void adaptInterval(final ConnectionStatistics current) {
+        if (current == null) {
+            return;
+        }
+        final var now        = System.currentTimeMillis();
+        final var isStable   = current.jitterInMillis <= current.roundTripTimeInMillis / 4;
+        final var isTimedOut = previous != null && current.timedOutRequests > previous.timedOutRequests;
+
+        if (isStable && !isTimedOut) {
+            intervalInMillis = Math.min(MAX_INTERVAL_IN_MILLIS, intervalInMillis * 3 / 2);
+        } else {
+            intervalInMillis = Math.max(MIN_INTERVAL_IN_MILLIS, intervalInMillis / 2);
+        }
+        final var health = formatHealth(current, previous, now - previousSampledAt);
+        threadSync.asyncExec(() -> connectionHealth.publish(health));
+
+        previous          = current;
+        previousSampledAt = now;
+    }
+
+    private void disconnect() {
+        logger.atWarning().log("Agent missed %s consecutive heartbeats", MAX_MISSED_HEARTBEATS);
+        eventBroker.post(AGENT_DISCONNECTED_EVENT_TOPIC, "");
+
+        isConnected.publish(false);
+        isLocalAgent.publish(false);
+        selectedSettings.publish(null);
+        connectedAgent.publish(null);
+    }
+
+    private static String formatHealth(final ConnectionStatistics current,
+                                       final ConnectionStatistics previous,
+                                       final long elapsedInMillis) {
+        var in  = 0d;
+        var out = 0d;
+        if (previous != null && elapsedInMillis > 0) {
+            in  = (current.bytesReceived - previous.bytesReceived) * 1000d / elapsedInMillis;
+            out = (current.bytesSent - previous.bytesSent) * 1000d / elapsedInMillis;
+        }
+        return String.format("RTT %.1f ms (±%.1f ms) | In %s/s | Out %s/s | %d in flight",
+                current.roundTripTimeInMillis, current.jitterInMillis, formatBytes(in), formatBytes(out),
+                current.inFlightRequests);
+    }
+
+    private static String formatBytes(final double bytes) {
+        if (bytes < 1024) {
+            return String.format("%.0f B", bytes);
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format("%.1f KB", bytes / 1024);
+        }
+        return String.format("%.1f MB", bytes / (1024 * 1024));
+    }
+
+}
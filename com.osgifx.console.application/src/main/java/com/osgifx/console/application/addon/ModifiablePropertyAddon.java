@@ -40,6 +40,7 @@ public final class ModifiablePropertyAddon {
         modifiableProperties.put("is_local_agent", false);
         modifiableProperties.put("is_snapshot_agent", false);
         modifiableProperties.put("connected.agent", null);
+        modifiableProperties.put("connection.health", null);
         modifiableProperties.put("selected.settings", null);
         modifiableProperties.put("subscribed_topics", Set.of());
         modifiableProperties.put("local.agent.host", "localhost");
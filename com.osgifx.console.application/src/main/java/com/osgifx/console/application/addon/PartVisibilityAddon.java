@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.application.addon;
+
+import static java.util.Map.entry;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Inject;
+
+import org.eclipse.e4.core.di.annotations.Optional;
+import org.eclipse.e4.ui.di.UIEventTopic;
+import org.eclipse.e4.ui.model.application.ui.basic.MPart;
+import org.eclipse.e4.ui.workbench.UIEvents;
+import org.osgi.service.event.Event;
+
+import com.osgifx.console.data.provider.DataProvider;
+
+/**
+ * Stops prioritising the refreshes of the runtime information displayed by a
+ * view as soon as its part gets deselected in its stack, i.e. as soon as it is
+ * hidden behind another part or closed. The views prioritise their runtime
+ * information whenever they get focused.
+ */
+public final class PartVisibilityAddon {
+
+    // @formatter:off
+    /** The IDs of the runtime information displayed by the parts (key: part element ID) */
+    private static final Map<String, List<String>> PART_INFO_IDS = Map.ofEntries(
+            entry("com.osgifx.console.application.tab.bundles",        List.of("bundles")),
+            entry("com.osgifx.console.application.tab.packages",       List.of("packages")),
+            entry("com.osgifx.console.application.tab.services",       List.of("services")),
+            entry("com.osgifx.console.application.tab.components",     List.of("components")),
+            entry("com.osgifx.console.application.tab.configurations", List.of("configurations")),
+            entry("com.osgifx.console.application.tab.properties",     List.of("properties")),
+            entry("com.osgifx.console.application.tab.threads",        List.of("threads")),
+            entry("com.osgifx.console.application.tab.logs",           List.of("loggerContexts")),
+            entry("com.osgifx.console.application.tab.roles",          List.of("roles")),
+            entry("com.osgifx.console.application.tab.healthchecks",   List.of("healthchecks")),
+            entry("com.osgifx.console.application.tab.http",           List.of("http")),
+            entry("com.osgifx.console.application.tab.leaks",          List.of("leaks")),
+            entry("com.osgifx.console.application.tab.graph",          List.of("bundles", "components")));
+    // @formatter:on
+
+    @Inject
+    private DataProvider dataProvider;
+
+    @Inject
+    @Optional
+    private void partDeselected(@UIEventTopic(UIEvents.ElementContainer.TOPIC_SELECTEDELEMENT) final Event event) {
+        if (event.getProperty(UIEvents.EventTags.OLD_VALUE) instanceof final MPart part) {
+            PART_INFO_IDS.getOrDefault(part.getElementId(), List.of()).forEach(dataProvider::markInfoHidden);
+        }
+    }
+
+}
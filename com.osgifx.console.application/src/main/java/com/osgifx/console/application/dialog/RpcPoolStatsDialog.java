@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.application.dialog;
+
+import static com.osgifx.console.constants.FxConstants.STANDARD_CSS;
+
+import com.osgifx.console.agent.dto.XRpcPoolStatsDTO;
+
+import javafx.geometry.Insets;
+import javafx.scene.chart.BarChart;
+import javafx.scene.chart.CategoryAxis;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.XYChart;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.Dialog;
+import javafx.scene.control.Label;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.stage.StageStyle;
+
+/**
+ * Shows the utilization of the agent's RPC thread pool together with the
+ * histograms of the time the requests spent waiting in the queue and running.
+ */
+public final class RpcPoolStatsDialog extends Dialog<Void> {
+
+    private static final double CHART_WIDTH  = 450;
+    private static final double CHART_HEIGHT = 300;
+
+    public void init(final XRpcPoolStatsDTO stats) {
+        final var dialogPane = getDialogPane();
+        initStyle(StageStyle.UNDECORATED);
+        dialogPane.getStylesheets().add(getClass().getResource(STANDARD_CSS).toExternalForm());
+
+        dialogPane.setHeaderText("Agent RPC Pool Statistics");
+        dialogPane.getButtonTypes().add(ButtonType.CLOSE);
+
+        final var waitChart = createChart("Queue Wait Time", stats.histogramBoundsInMillis, stats.waitTimeHistogram);
+        final var runChart  = createChart("Run Time", stats.histogramBoundsInMillis, stats.runTimeHistogram);
+        final var content   = new VBox(10, createSummary(stats), new HBox(10, waitChart, runChart));
+
+        dialogPane.setContent(content);
+        setResizable(true);
+    }
+
+    private GridPane createSummary(final XRpcPoolStatsDTO stats) {
+        final var grid = new GridPane();
+        grid.setHgap(20);
+        grid.setVgap(4);
+        grid.setPadding(new Insets(0, 0, 8, 0));
+
+        addRow(grid, 0, "Threads", String.format("%d active / %d in pool (core: %d, max: %d, largest: %d)",
+                stats.activeThreads, stats.poolSize, stats.coreThreads, stats.maxThreads, stats.largestPoolSize));
+        addRow(grid, 1, "Queue", String.format("%d / %d", stats.queueDepth, stats.queueCapacity));
+        addRow(grid, 2, "Completed Requests", String.valueOf(stats.completedTasks));
+        addRow(grid, 3, "Rejected Requests", String.valueOf(stats.rejectedTasks));
+        addRow(grid, 4, "Rejection Policy", stats.rejectionPolicy);
+        addRow(grid, 5, "Overflow Queue", String.format("%d (dropped: %d)", stats.overflowQueueDepth,
+                stats.droppedTasks));
+        addRow(grid, 6, "Virtual Threads", stats.virtualThreads ? "Yes" : "No");
+        return grid;
+    }
+
+    private void addRow(final GridPane grid, final int row, final String name, final String value) {
+        final var nameLabel = new Label(name);
+        nameLabel.setStyle("-fx-font-weight: bold");
+        grid.addRow(row, nameLabel, new Label(value));
+    }
+
+    private BarChart<String, Number> createChart(final String title, final long[] bounds, final long[] counts) {
+        final var xAxis = new CategoryAxis();
+        final var yAxis = new NumberAxis();
+        xAxis.setLabel("Duration");
+        yAxis.setLabel("Requests");
+
+        final var series = new XYChart.Series<String, Number>();
+        if (bounds != null && counts != null) {
+            for (var i = 0; i < Math.min(bounds.length, counts.length); i++) {
+                series.getData().add(new XYChart.Data<>(bucketLabel(bounds, i), counts[i]));
+            }
+        }
+        final var chart = new BarChart<>(xAxis, yAxis);
+        chart.setTitle(title);
+        chart.setLegendVisible(false);
+        chart.setAnimated(false);
+        chart.setPrefSize(CHART_WIDTH, CHART_HEIGHT);
+        chart.getData().add(series);
+        return chart;
+    }
+
+    private static String bucketLabel(final long[] bounds, final int index) {
+        if (bounds[index] == Long.MAX_VALUE) {
+            return ">= " + formatMillis(index == 0 ? 0 : bounds[index - 1]);
+        }
+        return "< " + formatMillis(bounds[index]);
+    }
+
+    private static String formatMillis(final long millis) {
+        return millis >= 1000 ? millis / 1000 + " s" : millis + " ms";
+    }
+
+}
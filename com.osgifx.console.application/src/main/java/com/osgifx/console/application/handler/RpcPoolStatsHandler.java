@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.application.handler;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.eclipse.e4.core.di.annotations.CanExecute;
+import org.eclipse.e4.core.di.annotations.Execute;
+import org.eclipse.e4.core.di.annotations.Optional;
+import org.eclipse.fx.core.ThreadSynchronize;
+import org.eclipse.fx.core.log.FluentLogger;
+import org.eclipse.fx.core.log.Log;
+
+import com.osgifx.console.agent.dto.XRpcPoolStatsDTO;
+import com.osgifx.console.application.dialog.RpcPoolStatsDialog;
+import com.osgifx.console.executor.Executor;
+import com.osgifx.console.supervisor.Supervisor;
+import com.osgifx.console.util.fx.Fx;
+import com.osgifx.console.util.fx.FxDialog;
+
+import javafx.concurrent.Task;
+
+public final class RpcPoolStatsHandler {
+
+    @Log
+    @Inject
+    private FluentLogger      logger;
+    @Inject
+    private Executor          executor;
+    @Inject
+    @Optional
+    private Supervisor        supervisor;
+    @Inject
+    @Named("is_connected")
+    private boolean           isConnected;
+    @Inject
+    @Named("is_snapshot_agent")
+    private boolean           isSnapshotAgent;
+    @Inject
+    private ThreadSynchronize threadSync;
+
+    @Execute
+    public void execute() {
+        final Task<Void> statsTask = new Task<>() {
+
+            @Override
+            protected Void call() throws Exception {
+                try {
+                    final var stats = supervisor.getAgent().getRpcPoolStats();
+                    if (stats == null) {
+                        logger.atWarning().log("RPC pool statistics are not available");
+                        threadSync.asyncExec(() -> Fx.showErrorNotification("RPC Pool Statistics",
+                                "RPC pool statistics are not available"));
+                        return null;
+                    }
+                    logger.atInfo().log("RPC pool statistics have been retrieved");
+                    threadSync.asyncExec(() -> showDialog(stats));
+                } catch (final Exception e) {
+                    logger.atError().withException(e).log("RPC pool statistics cannot be retrieved");
+                    threadSync.asyncExec(() -> FxDialog.showExceptionDialog(e, getClass().getClassLoader()));
+                }
+                return null;
+            }
+        };
+        executor.runAsync(statsTask);
+    }
+
+    @CanExecute
+    public boolean canExecute() {
+        return isConnected && !isSnapshotAgent;
+    }
+
+    private void showDialog(final XRpcPoolStatsDTO stats) {
+        final var dialog = new RpcPoolStatsDialog();
+        dialog.init(stats);
+        dialog.show();
+    }
+
+}
@@ -46,6 +46,7 @@ public final class ConsoleStatusBarProvider implements ConsoleStatusBar {
     @Optional
     @Named("connected.agent")
     private String          connectedAgent;
+    private String          connectionHealth;
     private final StatusBar statusBar = new StatusBar();
 
     @Override
@@ -61,15 +62,30 @@ public final class ConsoleStatusBarProvider implements ConsoleStatusBar {
         statusBar.getLeftItems().add(button);
         statusBar.getLeftItems().add(new Separator(VERTICAL));
 
-        final String statusBarText;
         if (connectedAgent != null) {
             glyph.color(GREEN);
+        }
+        updateText();
+        pane.setBottom(statusBar);
+    }
+
+    @Inject
+    @Optional
+    private void updateConnectionHealth(@Named("connection.health") final String health) {
+        connectionHealth = health;
+        updateText();
+    }
+
+    private void updateText() {
+        final String statusBarText;
+        if (connectedAgent == null) {
+            statusBarText = "Disconnected";
+        } else if (connectionHealth == null) {
             statusBarText = "Connected to " + connectedAgent;
         } else {
-            statusBarText = "Disconnected";
+            statusBarText = "Connected to " + connectedAgent + " | " + connectionHealth;
         }
         statusBar.setText(statusBarText);
-        pane.setBottom(statusBar);
     }
 
     @Override
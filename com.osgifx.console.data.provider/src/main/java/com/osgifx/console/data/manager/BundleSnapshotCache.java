@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.data.manager;
+
+import static com.osgifx.console.data.supplier.BundlesInfoSupplier.BUNDLES_ID;
+import static com.osgifx.console.event.topics.BundleActionEventTopics.BUNDLE_ACTION_EVENT_TOPICS;
+import static com.osgifx.console.supervisor.Supervisor.AGENT_DISCONNECTED_EVENT_TOPIC;
+import static com.osgifx.console.util.fx.ConsoleFxHelper.makeNullSafe;
+import static org.osgi.service.component.annotations.ReferenceCardinality.OPTIONAL;
+import static org.osgi.service.component.annotations.ReferencePolicyOption.GREEDY;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.eclipse.fx.core.log.FluentLogger;
+import org.eclipse.fx.core.log.LoggerFactory;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventHandler;
+import org.osgi.service.event.propertytypes.EventTopics;
+
+import com.osgifx.console.agent.dto.XBundleDTO;
+import com.osgifx.console.supervisor.Supervisor;
+
+/**
+ * Shared cache of the bundles of the remote runtime which is used by all
+ * suppliers that are derived from the bundles such that the biggest payload
+ * of the agent is transferred only once per change.
+ * <p>
+ * The cache provides single-flight semantics, i.e. concurrent requesters wait
+ * for the fetch that is already in flight instead of triggering another one.
+ * Requesters only join a fetch that has been started after the most recent
+ * bundle change, otherwise they start a new one as the snapshot of the fetch in
+ * flight might predate the change. Every fetch gets a monotonically increasing
+ * version which enables the listeners to skip the snapshots they have already
+ * applied.
+ */
+@Component(service = { BundleSnapshotCache.class, EventHandler.class })
+@EventTopics({ AGENT_DISCONNECTED_EVENT_TOPIC, BUNDLE_ACTION_EVENT_TOPICS })
+public final class BundleSnapshotCache implements EventHandler {
+
+    /**
+     * An immutable snapshot of the bundles of the remote runtime
+     */
+    public record BundleSnapshot(long version, List<XBundleDTO> bundles) {
+    }
+
+    /**
+     * A fetch in flight with its snapshot version and the number of changes
+     * known at its start
+     */
+    private record Flight(CompletableFuture<BundleSnapshot> future, long version, long changes) {
+    }
+
+    @Reference
+    private LoggerFactory       factory;
+    @Reference
+    private RefreshScheduler    refreshScheduler;
+    @Reference(cardinality = OPTIONAL, policyOption = GREEDY)
+    private volatile Supervisor supervisor;
+    private FluentLogger        logger;
+
+    private final AtomicLong                     versions  = new AtomicLong();
+    private final List<Consumer<BundleSnapshot>> listeners = new CopyOnWriteArrayList<>();
+    private Flight                               inFlight;
+    private long                                 changes;
+    private volatile BundleSnapshot              latest;
+
+    @Activate
+    void activate() {
+        logger = FluentLogger.of(factory.createLogger(getClass().getName()));
+    }
+
+    /**
+     * Fetches a new snapshot from the remote runtime or waits for the fetch that
+     * is already in flight
+     *
+     * @return the snapshot or {@code null} if the agent is not connected
+     */
+    public BundleSnapshot fetch() {
+        final Flight  flight;
+        final boolean isOwner;
+        synchronized (this) {
+            // a fetch started before the most recent change might miss it
+            isOwner = inFlight == null || inFlight.changes() != changes;
+            if (isOwner) {
+                inFlight = new Flight(new CompletableFuture<>(), versions.incrementAndGet(), changes);
+            }
+            flight = inFlight;
+        }
+        final var future = flight.future();
+        if (!isOwner) {
+            logger.atDebug().log("Joining the bundle snapshot fetch in flight");
+            try {
+                return future.join();
+            } catch (final CompletionException e) {
+                throw e.getCause() instanceof RuntimeException re ? re : e;
+            }
+        }
+        final BundleSnapshot snapshot;
+        try {
+            snapshot = load(flight.version());
+            future.complete(snapshot);
+        } catch (final RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            synchronized (this) {
+                if (inFlight == flight) {
+                    inFlight = null;
+                }
+            }
+        }
+        if (snapshot != null) {
+            listeners.forEach(listener -> listener.accept(snapshot));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns the most recently fetched snapshot
+     *
+     * @return the snapshot or {@code null} if no snapshot has been fetched yet
+     */
+    public BundleSnapshot latest() {
+        return latest;
+    }
+
+    public void addListener(final Consumer<BundleSnapshot> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(final Consumer<BundleSnapshot> listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public void handleEvent(final Event event) {
+        if (AGENT_DISCONNECTED_EVENT_TOPIC.equals(event.getTopic())) {
+            latest = null;
+            return;
+        }
+        synchronized (this) {
+            changes++;
+        }
+        // the bundles supplier fetches the snapshot on behalf of all listeners
+        refreshScheduler.request(BUNDLES_ID);
+    }
+
+    private BundleSnapshot load(final long version) {
+        final var agent = supervisor.getAgent();
+        if (agent == null) {
+            logger.atWarning().log("Agent not connected");
+            return null;
+        }
+        final var bundles  = List.copyOf(makeNullSafe(agent.getAllBundles()));
+        final var snapshot = new BundleSnapshot(version, bundles);
+
+        synchronized (this) {
+            // a fetch that has been started earlier might complete later
+            if (latest == null || latest.version() < version) {
+                latest = snapshot;
+            }
+        }
+        logger.atInfo().log("Bundle snapshot (version %s) with %s bundles has been fetched", snapshot.version(),
+                bundles.size());
+        return snapshot;
+    }
+
+}
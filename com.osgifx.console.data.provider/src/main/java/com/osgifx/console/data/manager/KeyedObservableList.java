@@ -0,0 +1,364 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.data.manager;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import javafx.collections.ModifiableObservableListBase;
+
+/**
+ * An observable list whose elements are identified by a stable key.
+ * <p>
+ * Instead of replacing all the elements on every refresh, the new elements are
+ * diffed against the current ones and only the minimal set of removals,
+ * replacements and insertions is fired as a single change. As a consequence,
+ * the rows of the unchanged elements retain their selection and the wrapping
+ * {@code FilteredList}s and {@code SortedList}s only need to process the
+ * changed elements.
+ * <p>
+ * The diff is computed by {@link #diff(Collection)} on the calling thread
+ * against an immutable snapshot of the keys and content fingerprints of the
+ * current elements. Only {@link #apply(Diff)}, which performs the precomputed
+ * operations, must be invoked on the FX application thread. If the list has
+ * been modified in the meantime, the stale diff falls back to replacing all
+ * the elements.
+ *
+ * @param <T> the type of the elements
+ */
+public final class KeyedObservableList<T> extends ModifiableObservableListBase<T> {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME        = 0x100000001b3L;
+
+    /** The public instance fields per DTO type */
+    private static final ClassValue<Field[]> PUBLIC_FIELDS = new ClassValue<>() {
+        @Override
+        protected Field[] computeValue(final Class<?> type) {
+            // @formatter:off
+            return Stream.of(type.getFields())
+                         .filter(field -> !Modifier.isStatic(field.getModifiers()))
+                         .toArray(Field[]::new);
+            // @formatter:on
+        }
+    };
+
+    /**
+     * A precomputed set of operations to turn the current elements into the
+     * new ones
+     *
+     * @param <T> the type of the elements
+     */
+    public static final class Diff<T> {
+
+        private final long            baseVersion;
+        private final List<T>         target;
+        private final List<Object>    targetKeys;
+        private final List<Long>      targetFingerprints;
+        private final List<Operation> operations;
+        private final boolean         isReplaceAll;
+
+        private Diff(final long baseVersion,
+                     final List<T> target,
+                     final List<Object> targetKeys,
+                     final List<Long> targetFingerprints,
+                     final List<Operation> operations,
+                     final boolean isReplaceAll) {
+            this.baseVersion        = baseVersion;
+            this.target             = target;
+            this.targetKeys         = targetKeys;
+            this.targetFingerprints = targetFingerprints;
+            this.operations         = operations;
+            this.isReplaceAll       = isReplaceAll;
+        }
+
+        /**
+         * Returns whether the diff does not change anything, provided the list
+         * has not been modified since the diff has been computed
+         *
+         * @return {@code true} if there is nothing to apply
+         */
+        public boolean isEmpty() {
+            return !isReplaceAll && operations.isEmpty();
+        }
+    }
+
+    private enum OperationType {
+        ADD,
+        SET,
+        REMOVE
+    }
+
+    /**
+     * The index refers to the element list at the time the operation is applied,
+     * the target position refers to the new elements
+     */
+    private record Operation(OperationType type, int index, int targetPosition) {
+    }
+
+    /**
+     * Immutable view of the current keys and content fingerprints which can be
+     * safely read by the threads computing the diffs
+     */
+    private record Snapshot(long version, List<Object> keys, List<Long> fingerprints) {
+    }
+
+    private final List<T>             elements = new ArrayList<>();
+    private final Function<T, Object> keyMapper;
+    private long                      version;
+    private volatile Snapshot         snapshot = new Snapshot(0, List.of(), List.of());
+
+    public KeyedObservableList(final Function<T, Object> keyMapper) {
+        this.keyMapper = Objects.requireNonNull(keyMapper, "Key mapper cannot be null");
+    }
+
+    /**
+     * Updates the list to contain exactly the specified elements in the specified
+     * order. This is a shortcut for {@code apply(diff(newElements))} and hence,
+     * must be invoked on the FX application thread.
+     *
+     * @param newElements the new elements
+     * @return the number of elements that have been added, removed or replaced
+     */
+    public int update(final Collection<? extends T> newElements) {
+        return apply(diff(newElements));
+    }
+
+    /**
+     * Computes the operations required to update the list to contain exactly the
+     * specified elements in the specified order. Elements having the same key and
+     * the same content fingerprint as the existing ones are retained, the changed
+     * ones are replaced in place.
+     * <p>
+     * This method does not access the elements of the list and can be invoked
+     * on any thread.
+     *
+     * @param newElements the new elements
+     * @return the diff to be applied using {@link #apply(Diff)}
+     */
+    public Diff<T> diff(final Collection<? extends T> newElements) {
+        final var current      = snapshot;
+        final var target       = List.<T> copyOf(newElements);
+        final var keys         = new ArrayList<Object>(target.size());
+        final var fingerprints = new ArrayList<Long>(target.size());
+        final var indexed      = new HashMap<Object, Integer>(target.size() * 2);
+        for (final T element : target) {
+            final var key = keyMapper.apply(element);
+            indexed.put(key, keys.size());
+            keys.add(key);
+            fingerprints.add(fingerprint(element));
+        }
+        // duplicate keys cannot be diffed reliably
+        if (indexed.size() != target.size()) {
+            return new Diff<>(current.version(), target, keys, fingerprints, List.of(), true);
+        }
+        final var operations = new ArrayList<Operation>();
+        final var retained   = new ArrayList<Object>(current.keys().size());
+        final var retainedFp = new ArrayList<Long>(current.keys().size());
+        for (var i = current.keys().size() - 1; i >= 0; i--) {
+            if (!indexed.containsKey(current.keys().get(i))) {
+                operations.add(new Operation(OperationType.REMOVE, i, -1));
+            }
+        }
+        for (var i = 0; i < current.keys().size(); i++) {
+            if (indexed.containsKey(current.keys().get(i))) {
+                retained.add(current.keys().get(i));
+                retainedFp.add(current.fingerprints().get(i));
+            }
+        }
+        if (!isSameOrder(retained, indexed)) {
+            return new Diff<>(current.version(), target, keys, fingerprints, operations, true);
+        }
+        var position = 0;
+        for (var i = 0; i < target.size(); i++) {
+            final var isRetained = position < retained.size() && Objects.equals(retained.get(position), keys.get(i));
+            if (!isRetained) {
+                operations.add(new Operation(OperationType.ADD, i, i));
+            } else {
+                if (!Objects.equals(retainedFp.get(position), fingerprints.get(i))) {
+                    operations.add(new Operation(OperationType.SET, i, i));
+                }
+                position++;
+            }
+        }
+        return new Diff<>(current.version(), target, keys, fingerprints, operations, false);
+    }
+
+    /**
+     * Applies the specified diff. If the list has been modified after the diff
+     * has been computed, all the elements are replaced instead.
+     * <p>
+     * Like any other observable list which is bound to a UI control, this method
+     * must only be invoked on the FX application thread.
+     *
+     * @param diff the diff computed by {@link #diff(Collection)}
+     * @return the number of elements that have been added, removed or replaced
+     */
+    public int apply(final Diff<T> diff) {
+        Objects.requireNonNull(diff, "Diff cannot be null");
+        if (diff.baseVersion == version && diff.isEmpty()) {
+            return 0;
+        }
+        beginChange();
+        try {
+            var operations = 0;
+            if (diff.baseVersion != version) {
+                operations = replaceAll(diff.target);
+            } else {
+                for (final Operation operation : diff.operations) {
+                    switch (operation.type()) {
+                        case REMOVE -> remove(operation.index());
+                        case ADD -> add(operation.index(), diff.target.get(operation.targetPosition()));
+                        case SET -> set(operation.index(), diff.target.get(operation.targetPosition()));
+                    }
+                    operations++;
+                }
+                if (diff.isReplaceAll) {
+                    operations += replaceAll(diff.target);
+                }
+            }
+            snapshot = new Snapshot(version, List.copyOf(diff.targetKeys), List.copyOf(diff.targetFingerprints));
+            return operations;
+        } finally {
+            endChange();
+        }
+    }
+
+    @Override
+    public T get(final int index) {
+        return elements.get(index);
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    @Override
+    protected void doAdd(final int index, final T element) {
+        elements.add(index, element);
+        version++;
+    }
+
+    @Override
+    protected T doSet(final int index, final T element) {
+        version++;
+        return elements.set(index, element);
+    }
+
+    @Override
+    protected T doRemove(final int index) {
+        version++;
+        return elements.remove(index);
+    }
+
+    /**
+     * Checks whether the retained keys appear in the same relative order in the
+     * new elements, i.e. whether the new elements can be merged by insertions
+     * only
+     */
+    private static boolean isSameOrder(final List<Object> retained, final Map<Object, Integer> indexed) {
+        var previous = -1;
+        for (final Object key : retained) {
+            final int index = indexed.get(key);
+            if (index < previous) {
+                return false;
+            }
+            previous = index;
+        }
+        return true;
+    }
+
+    private int replaceAll(final List<T> target) {
+        final var operations = elements.size() + target.size();
+        setAll(target);
+        return operations;
+    }
+
+    /**
+     * DTOs do not override {@code equals()} or {@code hashCode()}, hence their
+     * public fields are hashed directly, recursing into nested DTOs, collections,
+     * maps and arrays. In contrast to {@code DTO.toString()}, this does not
+     * allocate any intermediate representation. The entries of maps are hashed
+     * independently of their iteration order.
+     */
+    private static long fingerprint(final Object element) {
+        return fingerprint(FNV_OFFSET_BASIS, element);
+    }
+
+    private static long fingerprint(final long hash, final Object value) {
+        if (value == null) {
+            return mix(hash, 0);
+        }
+        if (value instanceof CharSequence || value instanceof Number || value instanceof Boolean
+                || value instanceof Character || value instanceof Enum) {
+            return mix(hash, value.hashCode());
+        }
+        if (value instanceof final Collection<?> collection) {
+            var result = mix(hash, collection.size());
+            for (final Object item : collection) {
+                result = fingerprint(result, item);
+            }
+            return result;
+        }
+        if (value instanceof final Map<?, ?> map) {
+            var entries = 0L;
+            for (final Map.Entry<?, ?> entry : map.entrySet()) {
+                entries += fingerprint(fingerprint(FNV_OFFSET_BASIS, entry.getKey()), entry.getValue());
+            }
+            return mix(mix(hash, map.size()), entries);
+        }
+        if (value.getClass().isArray()) {
+            final var length = Array.getLength(value);
+            var       result = mix(hash, length);
+            for (var i = 0; i < length; i++) {
+                result = fingerprint(result, Array.get(value, i));
+            }
+            return result;
+        }
+        final var fields = PUBLIC_FIELDS.get(value.getClass());
+        if (fields.length == 0) {
+            return mix(hash, value.hashCode());
+        }
+        var result = hash;
+        for (final Field field : fields) {
+            try {
+                result = fingerprint(result, field.get(value));
+            } catch (final IllegalAccessException e) {
+                // public fields of public classes are always accessible
+                result = mix(result, 0);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 64-bit FNV-1a step
+     */
+    private static long mix(final long hash, final long value) {
+        return (hash ^ value) * FNV_PRIME;
+    }
+
+}
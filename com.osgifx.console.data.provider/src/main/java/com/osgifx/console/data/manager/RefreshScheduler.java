@@ -0,0 +1,261 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.data.manager;
+
+import static com.osgifx.console.data.manager.RefreshScheduler.PID;
+import static com.osgifx.console.data.manager.RuntimeInfoSupplier.PROPERTY_ID;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.osgi.service.component.annotations.ReferenceCardinality.MULTIPLE;
+import static org.osgi.service.component.annotations.ReferencePolicy.DYNAMIC;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.fx.core.log.FluentLogger;
+import org.eclipse.fx.core.log.LoggerFactory;
+import org.osgi.framework.ServiceReference;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+
+import com.osgifx.console.executor.Executor;
+
+/**
+ * Debounces and coalesces the refresh requests per supplier.
+ * <p>
+ * All requests for the same supplier which arrive within the configured window
+ * are served by a single retrieval. Pending requests which have been
+ * superseded by a newer request are dropped and at most one retrieval per
+ * supplier is in flight at any point in time. Requests arriving while a
+ * retrieval is running are served by exactly one subsequent retrieval. A
+ * supplier that keeps receiving requests is refreshed at least once per
+ * configured maximum delay.
+ * <p>
+ * The suppliers of the currently visible views are refreshed without any
+ * delay. A synchronous retrieval is subject to the same single in-flight
+ * retrieval per supplier.
+ */
+@Component(service = RefreshScheduler.class, configurationPid = PID)
+public final class RefreshScheduler {
+
+    static final String PID = "runtime.refresh.scheduler";
+
+    @interface Configuration {
+        long windowInMillis() default 250;
+
+        long maxDelayInMillis() default 2_000;
+    }
+
+    /**
+     * The counters of a single supplier
+     */
+    public record RefreshCounter(long requested, long executed) {
+    }
+
+    @Reference
+    private LoggerFactory                          factory;
+    @Reference
+    private Executor                               executor;
+    private FluentLogger                           logger;
+    private volatile long                          window;
+    private volatile long                          maxDelay;
+    private final Set<String>                      visibleIds = ConcurrentHashMap.newKeySet();
+    private final Map<String, RuntimeInfoSupplier> suppliers  = new ConcurrentHashMap<>();
+    private final Map<String, RefreshState>        states     = new ConcurrentHashMap<>();
+
+    @Activate
+    @Modified
+    void init(final Configuration configuration) {
+        logger   = FluentLogger.of(factory.createLogger(getClass().getName()));
+        window   = Math.max(0, configuration.windowInMillis());
+        maxDelay = Math.max(window, configuration.maxDelayInMillis());
+    }
+
+    @Reference(cardinality = MULTIPLE, policy = DYNAMIC)
+    void bindRuntimeInfoSupplier(final RuntimeInfoSupplier supplier,
+                                 final ServiceReference<RuntimeInfoSupplier> reference) {
+        suppliers.put(reference.getProperty(PROPERTY_ID).toString(), supplier);
+    }
+
+    void unbindRuntimeInfoSupplier(final RuntimeInfoSupplier supplier,
+                                   final ServiceReference<RuntimeInfoSupplier> reference) {
+        suppliers.remove(reference.getProperty(PROPERTY_ID).toString());
+    }
+
+    /**
+     * Marks the specified supplier as one of a currently visible view whose
+     * refreshes are executed without any delay
+     *
+     * @param id the supplier ID
+     */
+    public void setVisible(final String id) {
+        visibleIds.add(id);
+    }
+
+    /**
+     * Unmarks the specified supplier once its view has been hidden or closed
+     *
+     * @param id the supplier ID
+     */
+    public void setHidden(final String id) {
+        visibleIds.remove(id);
+    }
+
+    /**
+     * Requests a refresh of the specified supplier
+     *
+     * @param id the supplier ID
+     * @return the future which gets completed as soon as a retrieval covering
+     *         this request has finished
+     */
+    public CompletableFuture<Void> request(final String id) {
+        if (!suppliers.containsKey(id)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        final var state   = states.computeIfAbsent(id, RefreshState::new);
+        final var request = state.enqueue();
+        schedule(state, request.sequence(), visibleIds.contains(id) ? 0 : window);
+        return request.future();
+    }
+
+    /**
+     * Requests a refresh of all suppliers
+     *
+     * @return the future which gets completed as soon as all the retrievals
+     *         covering this request have finished
+     */
+    public CompletableFuture<Void> requestAll() {
+        final var futures = suppliers.keySet().stream().map(this::request).toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(futures);
+    }
+
+    /**
+     * Retrieves the specified supplier synchronously in the calling thread. If a
+     * retrieval of the supplier is already running, the calling thread waits for
+     * the subsequent retrieval instead.
+     *
+     * @param id the supplier ID
+     */
+    public void retrieveNow(final String id) {
+        if (!suppliers.containsKey(id)) {
+            return;
+        }
+        final var state   = states.computeIfAbsent(id, RefreshState::new);
+        final var request = state.enqueue();
+        fire(state, request.sequence());
+        request.future().join();
+    }
+
+    /**
+     * Returns the number of requested and executed refreshes per supplier
+     *
+     * @return the counters (key: supplier ID)
+     */
+    public Map<String, RefreshCounter> counters() {
+        final Map<String, RefreshCounter> counters = new ConcurrentHashMap<>();
+        states.forEach((id, state) -> counters.put(id, state.toCounter()));
+        return Map.copyOf(counters);
+    }
+
+    private void schedule(final RefreshState state, final long sequence, final long delay) {
+        if (delay == 0) {
+            executor.runAsync(() -> fire(state, sequence));
+        } else {
+            final var delayed = CompletableFuture.delayedExecutor(delay, MILLISECONDS, executor::runAsync);
+            CompletableFuture.runAsync(() -> fire(state, sequence), delayed);
+        }
+    }
+
+    private void fire(final RefreshState state, final long sequence) {
+        final CompletableFuture<Void> current;
+        synchronized (state) {
+            if (state.pending == null || state.isRunning) {
+                // either served already or will be rescheduled as soon as the running retrieval finishes
+                return;
+            }
+            final var isOverdue = System.currentTimeMillis() - state.pendingSince >= maxDelay;
+            if (sequence != state.sequence && !isOverdue) {
+                // superseded by a newer request which has its own schedule
+                return;
+            }
+            current         = state.pending;
+            state.pending   = null;
+            state.isRunning = true;
+            state.executed.incrementAndGet();
+        }
+        final var supplier = suppliers.get(state.id);
+        try {
+            if (supplier != null) {
+                supplier.retrieve();
+            }
+            current.complete(null);
+        } catch (final Exception e) {
+            logger.atError().withException(e).log("Refresh of '%s' failed", state.id);
+            current.completeExceptionally(e);
+        } finally {
+            final long    next;
+            final boolean isDirty;
+            synchronized (state) {
+                state.isRunning = false;
+                isDirty         = state.pending != null;
+                next            = state.sequence;
+            }
+            if (isDirty) {
+                schedule(state, next, visibleIds.contains(state.id) ? 0 : window);
+            }
+        }
+        final var counter = state.toCounter();
+        logger.atDebug().log("Refresh of '%s' executed (requested: %s, executed: %s)", state.id,
+                counter.requested(), counter.executed());
+    }
+
+    private record Request(CompletableFuture<Void> future, long sequence) {
+    }
+
+    private static final class RefreshState {
+
+        final String     id;
+        final AtomicLong requested = new AtomicLong();
+        final AtomicLong executed  = new AtomicLong();
+
+        CompletableFuture<Void> pending;
+        long                    pendingSince;
+        long                    sequence;
+        boolean                 isRunning;
+
+        RefreshState(final String id) {
+            this.id = id;
+        }
+
+        synchronized Request enqueue() {
+            requested.incrementAndGet();
+            if (pending == null) {
+                pending      = new CompletableFuture<>();
+                pendingSince = System.currentTimeMillis();
+            }
+            return new Request(pending, ++sequence);
+        }
+
+        RefreshCounter toCounter() {
+            return new RefreshCounter(requested.get(), executed.get());
+        }
+    }
+
+}
@@ -49,8 +49,6 @@ import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.event.EventAdmin;
 
-import com.google.mu.util.stream.BiCollectors;
-import com.google.mu.util.stream.BiStream;
 import com.osgifx.console.agent.dto.RuntimeDTO;
 import com.osgifx.console.agent.dto.XBundleDTO;
 import com.osgifx.console.agent.dto.XBundleLoggerContextDTO;
@@ -65,6 +63,7 @@ import com.osgifx.console.agent.dto.XLogEntryDTO;
 import com.osgifx.console.agent.dto.XMemoryInfoDTO;
 import com.osgifx.console.agent.dto.XPropertyDTO;
 import com.osgifx.console.agent.dto.XRoleDTO;
+import com.osgifx.console.agent.dto.XRuntimeSummaryDTO;
 import com.osgifx.console.agent.dto.XServiceDTO;
 import com.osgifx.console.agent.dto.XThreadDTO;
 import com.osgifx.console.data.provider.DataProvider;
@@ -85,6 +84,8 @@ public final class RuntimeDataProvider implements DataProvider {
     private Executor                               executor;
     @Reference
     private EventAdmin                             eventAdmin;
+    @Reference
+    private RefreshScheduler                       refreshScheduler;
     @Reference(cardinality = OPTIONAL, policyOption = GREEDY)
     private volatile Supervisor                    supervisor;
     private FluentLogger                           logger;
@@ -111,29 +112,31 @@ public final class RuntimeDataProvider implements DataProvider {
         // @formatter:off
         if (id == null) {
             if (isAsync) {
-                final var futures =
-                        BiStream.from(infoSuppliers)
-                                .mapValues((k, v) -> executor.runAsync(v::retrieve))
-                                .collect(BiCollectors.toMap());
-
-                CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0]))
-                                 .thenRunAsync(() -> RuntimeInfoSupplier.sendEvent(eventAdmin, DATA_RETRIEVED_ALL_TOPIC))
-                                 .thenRunAsync(() -> logger.atInfo().log("All runtime informations have been retrieved successfully (async)"));
+                refreshScheduler.requestAll()
+                                .thenRunAsync(() -> RuntimeInfoSupplier.sendEvent(eventAdmin, DATA_RETRIEVED_ALL_TOPIC))
+                                .thenRunAsync(() -> logger.atInfo().log("All runtime informations have been retrieved successfully (async)"));
             } else {
-                infoSuppliers.forEach((k, v) -> v.retrieve());
+                infoSuppliers.keySet().forEach(refreshScheduler::retrieveNow);
                 RuntimeInfoSupplier.sendEvent(eventAdmin, DATA_RETRIEVED_ALL_TOPIC);
                 logger.atInfo().log("All runtime informations have been retrieved successfully (sync)");
             }
         } else if (isAsync) {
-            executor.runAsync(() -> retrieve(id))
-                    .thenRunAsync(() -> logger.atInfo().log("Runtime information of '%s' has been retrieved successfully (async)", id));
+            // explicit requests for a single supplier originate from the currently visible view
+            refreshScheduler.setVisible(id);
+            refreshScheduler.request(id)
+                            .thenRunAsync(() -> logger.atInfo().log("Runtime information of '%s' has been retrieved successfully (async)", id));
         } else {
-            retrieve(id);
+            refreshScheduler.retrieveNow(id);
             logger.atInfo().log("Runtime information of '%s' has been retrieved successfully (sync)", id);
         }
         // @formatter:on
     }
 
+    @Override
+    public void markInfoHidden(final String id) {
+        refreshScheduler.setHidden(id);
+    }
+
     @Override
     public ObservableList<XBundleDTO> bundles() {
         return (ObservableList<XBundleDTO>) supply(BUNDLES_ID);
@@ -214,6 +217,16 @@ public final class RuntimeDataProvider implements DataProvider {
         return executor.supplyAsync(agent::getMemoryInfo);
     }
 
+    @Override
+    public CompletableFuture<XRuntimeSummaryDTO> runtimeSummary() {
+        final var agent = supervisor.getAgent();
+        if (agent == null) {
+            logger.atWarning().log("Agent not connected");
+            return CompletableFuture.completedFuture(new XRuntimeSummaryDTO());
+        }
+        return executor.supplyAsync(agent::getRuntimeSummary);
+    }
+
     @Override
     public CompletableFuture<XDmtNodeDTO> readDmtNode(final String rootURI) {
         final var agent = supervisor.getAgent();
@@ -256,15 +269,4 @@ public final class RuntimeDataProvider implements DataProvider {
         return FXCollections.observableArrayList();
     }
 
-    private void retrieve(final String id) {
-        for (final Entry<String, RuntimeInfoSupplier> entry : infoSuppliers.entrySet()) {
-            final var supplierId  = entry.getKey();
-            final var supplierRef = entry.getValue();
-
-            if (id.equals(supplierId)) {
-                supplierRef.retrieve();
-            }
-        }
-    }
-
 }
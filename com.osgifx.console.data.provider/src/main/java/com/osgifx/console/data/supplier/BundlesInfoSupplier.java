@@ -16,19 +16,17 @@
 package com.osgifx.console.data.supplier;
 
 import static com.osgifx.console.data.supplier.BundlesInfoSupplier.BUNDLES_ID;
-import static com.osgifx.console.event.topics.BundleActionEventTopics.BUNDLE_ACTION_EVENT_TOPICS;
 import static com.osgifx.console.event.topics.DataRetrievedEventTopics.DATA_RETRIEVED_BUNDLES_TOPIC;
 import static com.osgifx.console.supervisor.Supervisor.AGENT_DISCONNECTED_EVENT_TOPIC;
-import static com.osgifx.console.util.fx.ConsoleFxHelper.makeNullSafe;
-import static javafx.collections.FXCollections.observableArrayList;
-import static org.osgi.service.component.annotations.ReferenceCardinality.OPTIONAL;
-import static org.osgi.service.component.annotations.ReferencePolicyOption.GREEDY;
+
+import java.util.function.Consumer;
 
 import org.eclipse.fx.core.ThreadSynchronize;
 import org.eclipse.fx.core.log.FluentLogger;
 import org.eclipse.fx.core.log.LoggerFactory;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.propertytypes.ServiceRanking;
 import org.osgi.service.event.Event;
@@ -37,16 +35,17 @@ import org.osgi.service.event.EventHandler;
 import org.osgi.service.event.propertytypes.EventTopics;
 
 import com.osgifx.console.agent.dto.XBundleDTO;
+import com.osgifx.console.data.manager.BundleSnapshotCache;
+import com.osgifx.console.data.manager.BundleSnapshotCache.BundleSnapshot;
+import com.osgifx.console.data.manager.KeyedObservableList;
 import com.osgifx.console.data.manager.RuntimeInfoSupplier;
-import com.osgifx.console.executor.Executor;
-import com.osgifx.console.supervisor.Supervisor;
 
 import javafx.collections.ObservableList;
 
 @Component
 @ServiceRanking(100)
 @SupplierID(BUNDLES_ID)
-@EventTopics({ AGENT_DISCONNECTED_EVENT_TOPIC, BUNDLE_ACTION_EVENT_TOPICS })
+@EventTopics(AGENT_DISCONNECTED_EVENT_TOPIC)
 public final class BundlesInfoSupplier implements RuntimeInfoSupplier, EventHandler {
 
     public static final String BUNDLES_ID = "bundles";
@@ -54,35 +53,50 @@ public final class BundlesInfoSupplier implements RuntimeInfoSupplier, EventHand
     @Reference
     private LoggerFactory       factory;
     @Reference
-    private Executor            executor;
-    @Reference
     private EventAdmin          eventAdmin;
     @Reference
     private ThreadSynchronize   threadSync;
-    @Reference(cardinality = OPTIONAL, policyOption = GREEDY)
-    private volatile Supervisor supervisor;
+    @Reference
+    private BundleSnapshotCache snapshotCache;
     private FluentLogger        logger;
+    private long                appliedVersion;
 
-    private final ObservableList<XBundleDTO> bundles = observableArrayList();
+    private final KeyedObservableList<XBundleDTO> bundles          = new KeyedObservableList<>(b -> b.id);
+    private final Consumer<BundleSnapshot>        snapshotListener = this::apply;
 
     @Activate
     void activate() {
         logger = FluentLogger.of(factory.createLogger(getClass().getName()));
+        snapshotCache.addListener(snapshotListener);
+    }
+
+    @Deactivate
+    void deactivate() {
+        snapshotCache.removeListener(snapshotListener);
     }
 
     @Override
-    public synchronized void retrieve() {
+    public void retrieve() {
         logger.atInfo().log("Retrieving bundles info from remote runtime");
-        final var agent = supervisor.getAgent();
-        if (agent == null) {
-            logger.atWarning().log("Agent not connected");
+        final var snapshot = snapshotCache.fetch();
+        if (snapshot == null) {
             return;
         }
-        bundles.setAll(makeNullSafe(agent.getAllBundles()));
-        RuntimeInfoSupplier.sendEvent(eventAdmin, DATA_RETRIEVED_BUNDLES_TOPIC);
+        // the snapshot might have been fetched by another requester
+        apply(snapshot);
         logger.atInfo().log("Bundles info retrieved successfully");
     }
 
+    private synchronized void apply(final BundleSnapshot snapshot) {
+        if (snapshot.version() <= appliedVersion) {
+            return;
+        }
+        appliedVersion = snapshot.version();
+        final var diff = bundles.diff(snapshot.bundles());
+        threadSync.syncExec(() -> bundles.apply(diff));
+        RuntimeInfoSupplier.sendEvent(eventAdmin, DATA_RETRIEVED_BUNDLES_TOPIC);
+    }
+
     @Override
     public ObservableList<?> supply() {
         return bundles;
@@ -90,11 +104,7 @@ public final class BundlesInfoSupplier implements RuntimeInfoSupplier, EventHand
 
     @Override
     public void handleEvent(final Event event) {
-        if (AGENT_DISCONNECTED_EVENT_TOPIC.equals(event.getTopic())) {
-            threadSync.asyncExec(bundles::clear);
-            return;
-        }
-        executor.runAsync(this::retrieve);
+        threadSync.asyncExec(bundles::clear);
     }
 
 }
@@ -22,7 +22,6 @@ import static com.osgifx.console.event.topics.ConfigurationActionEventTopics.CON
 import static com.osgifx.console.event.topics.DataRetrievedEventTopics.DATA_RETRIEVED_COMPONENTS_TOPIC;
 import static com.osgifx.console.supervisor.Supervisor.AGENT_DISCONNECTED_EVENT_TOPIC;
 import static com.osgifx.console.util.fx.ConsoleFxHelper.makeNullSafe;
-import static javafx.collections.FXCollections.observableArrayList;
 import static org.osgi.service.component.annotations.ReferenceCardinality.OPTIONAL;
 import static org.osgi.service.component.annotations.ReferencePolicyOption.GREEDY;
 
@@ -39,8 +38,9 @@ import org.osgi.service.event.EventHandler;
 import org.osgi.service.event.propertytypes.EventTopics;
 
 import com.osgifx.console.agent.dto.XComponentDTO;
+import com.osgifx.console.data.manager.KeyedObservableList;
+import com.osgifx.console.data.manager.RefreshScheduler;
 import com.osgifx.console.data.manager.RuntimeInfoSupplier;
-import com.osgifx.console.executor.Executor;
 import com.osgifx.console.supervisor.Supervisor;
 
 import javafx.collections.ObservableList;
@@ -62,7 +62,7 @@ public final class ComponentsInfoSupplier implements RuntimeInfoSupplier, EventH
     @Reference
     private LoggerFactory       factory;
     @Reference
-    private Executor            executor;
+    private RefreshScheduler    refreshScheduler;
     @Reference
     private EventAdmin          eventAdmin;
     @Reference
@@ -71,7 +71,8 @@ public final class ComponentsInfoSupplier implements RuntimeInfoSupplier, EventH
     private volatile Supervisor supervisor;
     private FluentLogger        logger;
 
-    private final ObservableList<XComponentDTO> components = observableArrayList();
+    private final KeyedObservableList<XComponentDTO> components = new KeyedObservableList<>(
+            c -> c.registeringBundleId + ":" + c.name + ":" + c.id);
 
     @Activate
     void activate() {
@@ -86,7 +87,9 @@ public final class ComponentsInfoSupplier implements RuntimeInfoSupplier, EventH
             logger.atWarning().log("Agent not connected");
             return;
         }
-        components.setAll(makeNullSafe(agent.getAllComponents()));
+        final var latest = makeNullSafe(agent.getAllComponents());
+        final var diff   = components.diff(latest);
+        threadSync.syncExec(() -> components.apply(diff));
         RuntimeInfoSupplier.sendEvent(eventAdmin, DATA_RETRIEVED_COMPONENTS_TOPIC);
         logger.atInfo().log("Components info retrieved successfully");
     }
@@ -102,7 +105,7 @@ public final class ComponentsInfoSupplier implements RuntimeInfoSupplier, EventH
             threadSync.asyncExec(components::clear);
             return;
         }
-        executor.runAsync(this::retrieve);
+        refreshScheduler.request(COMPONENTS_ID);
     }
 
 }
@@ -21,7 +21,6 @@ import static com.osgifx.console.event.topics.ConfigurationActionEventTopics.CON
 import static com.osgifx.console.event.topics.DataRetrievedEventTopics.DATA_RETRIEVED_CONFIGURATIONS_TOPIC;
 import static com.osgifx.console.supervisor.Supervisor.AGENT_DISCONNECTED_EVENT_TOPIC;
 import static com.osgifx.console.util.fx.ConsoleFxHelper.makeNullSafe;
-import static javafx.collections.FXCollections.observableArrayList;
 import static org.osgi.service.component.annotations.ReferenceCardinality.OPTIONAL;
 import static org.osgi.service.component.annotations.ReferencePolicyOption.GREEDY;
 
@@ -38,8 +37,9 @@ import org.osgi.service.event.EventHandler;
 import org.osgi.service.event.propertytypes.EventTopics;
 
 import com.osgifx.console.agent.dto.XConfigurationDTO;
+import com.osgifx.console.data.manager.KeyedObservableList;
+import com.osgifx.console.data.manager.RefreshScheduler;
 import com.osgifx.console.data.manager.RuntimeInfoSupplier;
-import com.osgifx.console.executor.Executor;
 import com.osgifx.console.supervisor.Supervisor;
 
 import javafx.collections.ObservableList;
@@ -55,7 +55,7 @@ public final class ConfigurationsInfoSupplier implements RuntimeInfoSupplier, Ev
     @Reference
     private LoggerFactory       factory;
     @Reference
-    private Executor            executor;
+    private RefreshScheduler    refreshScheduler;
     @Reference
     private EventAdmin          eventAdmin;
     @Reference
@@ -64,7 +64,8 @@ public final class ConfigurationsInfoSupplier implements RuntimeInfoSupplier, Ev
     private volatile Supervisor supervisor;
     private FluentLogger        logger;
 
-    private final ObservableList<XConfigurationDTO> configurations = observableArrayList();
+    private final KeyedObservableList<XConfigurationDTO> configurations = new KeyedObservableList<>(
+            c -> c.pid + ":" + c.factoryPid);
 
     @Activate
     void activate() {
@@ -79,7 +80,9 @@ public final class ConfigurationsInfoSupplier implements RuntimeInfoSupplier, Ev
             logger.atWarning().log("Agent not connected");
             return;
         }
-        configurations.setAll(makeNullSafe(agent.getAllConfigurations()));
+        final var latest = makeNullSafe(agent.getAllConfigurations());
+        final var diff   = configurations.diff(latest);
+        threadSync.syncExec(() -> configurations.apply(diff));
         RuntimeInfoSupplier.sendEvent(eventAdmin, DATA_RETRIEVED_CONFIGURATIONS_TOPIC);
         logger.atInfo().log("Configurations info retrieved successfully");
     }
@@ -95,7 +98,7 @@ public final class ConfigurationsInfoSupplier implements RuntimeInfoSupplier, Ev
             threadSync.asyncExec(configurations::clear);
             return;
         }
-        executor.runAsync(this::retrieve);
+        refreshScheduler.request(CONFIGURATIONS_ID);
     }
 
 }
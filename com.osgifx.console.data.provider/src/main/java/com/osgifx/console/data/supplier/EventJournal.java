@@ -0,0 +1,440 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.data.supplier;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.osgifx.console.agent.dto.XEventDTO;
+
+/**
+ * Append-only journal of the received events which spills to memory-mapped
+ * segment files.
+ * <p>
+ * Every appended event gets a monotonically increasing sequence number. A
+ * segment consists of two kinds of records: topic definitions, which make up
+ * the per-segment topic dictionary, and events, which refer to their topic by
+ * its per-segment identifier. The record offsets and a sparse time index of
+ * every segment are kept in memory such that any event can be read by its
+ * sequence number and the first event of a time range can be found by binary
+ * search. The events are expected to be appended in the order they have been
+ * received.
+ * <p>
+ * Whole segments are dropped as soon as the journal exceeds the configured
+ * size or the newest event of the oldest segment exceeds the configured age.
+ * <p>
+ * All methods are thread-safe.
+ */
+final class EventJournal implements SequencedStore<XEventDTO> {
+
+    static final int SEGMENT_SIZE = 16 * 1024 * 1024;
+
+    private static final byte TOPIC_RECORD      = 1;
+    private static final byte EVENT_RECORD      = 2;
+    private static final int  TIME_INDEX_STRIDE = 64;
+    private static final int  MAX_VALUE_LENGTH  = 8 * 1024;
+    private static final int  MAX_RECORD_SIZE   = 1024 * 1024;
+
+    private final Path           directory;
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private final ByteBuffer     scratch  = ByteBuffer.allocate(MAX_RECORD_SIZE);
+    private long                 maxSize;
+    private long                 maxAge;
+    private long                 head;
+    private long                 tail;
+
+    EventJournal(final Path directory, final long maxSize, final long maxAge) {
+        this.directory = directory;
+        retention(maxSize, maxAge);
+    }
+
+    /**
+     * Updates the retention limits
+     *
+     * @param maxSize the maximum size of all segments in bytes
+     * @param maxAge the maximum age of the events in milliseconds
+     */
+    synchronized void retention(final long maxSize, final long maxAge) {
+        this.maxSize = Math.max(SEGMENT_SIZE, maxSize);
+        this.maxAge  = maxAge;
+    }
+
+    @Override
+    public synchronized long head() {
+        return head;
+    }
+
+    @Override
+    public synchronized long tail() {
+        return tail;
+    }
+
+    synchronized void append(final XEventDTO event) {
+        try {
+            appendRecord(event);
+        } catch (final BufferOverflowException e) {
+            // exceeds the maximum record size, hence stored without its properties
+            final var stripped = new XEventDTO();
+            stripped.topic    = event.topic;
+            stripped.received = event.received;
+            appendRecord(stripped);
+        }
+        head++;
+        enforceRetention(event.received);
+    }
+
+    @Override
+    public synchronized XEventDTO get(final long sequence) {
+        if (sequence < tail || sequence >= head) {
+            return null;
+        }
+        return segmentOf(sequence).read(sequence);
+    }
+
+    /**
+     * Returns the sequence numbers of the events matching the specified criteria
+     * ordered from the newest to the oldest event
+     *
+     * @param topic the topic, optionally ending with a {@code *} wildcard, or
+     *            {@code null} to match all topics
+     * @param from the inclusive lower bound of the receive time
+     * @param to the exclusive upper bound of the receive time
+     * @param fromSequence the inclusive lower bound of the sequence numbers
+     */
+    synchronized long[] query(final String topic, final long from, final long to, final long fromSequence) {
+        var matches = new long[64];
+        var count   = 0;
+        for (final var it = segments.descendingIterator(); it.hasNext();) {
+            final var segment = it.next();
+            if (segment.firstSequence + segment.count <= fromSequence) {
+                // the older segments cannot contain any newer event
+                break;
+            }
+            if (segment.count == 0 || segment.maxTime < from || segment.minTime >= to) {
+                continue;
+            }
+            final var topicMask = segment.topicMask(topic);
+            if (topicMask == null) {
+                continue;
+            }
+            final var first = (int) Math.max(segment.firstAtOrAfter(from), fromSequence - segment.firstSequence);
+            for (var i = segment.count - 1; i >= first; i--) {
+                final var received = segment.received(i);
+                if (received >= to || !topicMask[segment.topicId(i)]) {
+                    continue;
+                }
+                if (count == matches.length) {
+                    matches = Arrays.copyOf(matches, count * 2);
+                }
+                matches[count++] = segment.firstSequence + i;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    /**
+     * Returns the total size of the retained segments in bytes
+     */
+    synchronized long size() {
+        return (long) segments.size() * SEGMENT_SIZE;
+    }
+
+    /**
+     * Drops all the events whereas the sequence numbers continue such that the
+     * views can detect the removal
+     */
+    synchronized void clear() {
+        while (!segments.isEmpty()) {
+            segments.pollFirst().delete();
+        }
+        tail = head;
+    }
+
+    synchronized void close() {
+        clear();
+    }
+
+    /**
+     * Appends the record to the newest segment and only rolls a new segment if
+     * the remaining space of the newest one does not suffice. As the maximum
+     * record size is well below the segment size, the record always fits into
+     * the new segment.
+     *
+     * @throws BufferOverflowException if the record exceeds the maximum record
+     *             size
+     */
+    private void appendRecord(final XEventDTO event) {
+        final var segment = segments.peekLast();
+        if (segment == null || !segment.append(event, scratch)) {
+            roll().append(event, scratch);
+        }
+    }
+
+    private Segment roll() {
+        final var file = directory.resolve("events-" + head + ".segment");
+        try {
+            Files.createDirectories(directory);
+            final var segment = new Segment(file, head);
+            segments.addLast(segment);
+            return segment;
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void enforceRetention(final long now) {
+        while (segments.size() > 1) {
+            final var oldest     = segments.peekFirst();
+            final var isTooLarge = size() > maxSize;
+            final var isTooOld   = maxAge > 0 && now - oldest.maxTime > maxAge;
+            if (!isTooLarge && !isTooOld) {
+                break;
+            }
+            segments.pollFirst().delete();
+            tail = segments.peekFirst().firstSequence;
+        }
+    }
+
+    private Segment segmentOf(final long sequence) {
+        for (final var it = segments.descendingIterator(); it.hasNext();) {
+            final var segment = it.next();
+            if (sequence >= segment.firstSequence) {
+                return segment;
+            }
+        }
+        throw new IllegalStateException("No segment for sequence " + sequence);
+    }
+
+    /**
+     * Deletes the segment files which have been left behind by a previous session
+     */
+    static void deleteStaleSegments(final Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(f -> f.getFileName().toString().endsWith(".segment")).forEach(f -> {
+                try {
+                    Files.deleteIfExists(f);
+                } catch (final IOException e) {
+                    f.toFile().deleteOnExit();
+                }
+            });
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A single memory-mapped segment file
+     */
+    private static final class Segment {
+
+        final Path                 file;
+        final long                 firstSequence;
+        final MappedByteBuffer     buffer;
+        final Map<String, Integer> topics     = new HashMap<>();
+        final List<String>         topicNames = new ArrayList<>();
+        int[]                      offsets    = new int[1_024];
+        long[]                     timeIndex  = new long[16];
+        int                        count;
+        long                       minTime    = Long.MAX_VALUE;
+        long                       maxTime    = Long.MIN_VALUE;
+
+        Segment(final Path file, final long firstSequence) throws IOException {
+            this.file          = file;
+            this.firstSequence = firstSequence;
+            try (var channel = FileChannel.open(file, CREATE_NEW, READ, WRITE)) {
+                // the mapping remains valid after the channel has been closed
+                buffer = channel.map(MapMode.READ_WRITE, 0, SEGMENT_SIZE);
+            }
+        }
+
+        /**
+         * Appends the event if the remaining space of this segment suffices
+         *
+         * @return {@code true} if the event has been appended, otherwise
+         *         {@code false}
+         * @throws BufferOverflowException if the record exceeds the maximum record
+         *             size in which case the segment remains unchanged
+         */
+        boolean append(final XEventDTO event, final ByteBuffer scratch) {
+            final var isNewTopic = !topics.containsKey(event.topic);
+            final var topicId    = isNewTopic ? topics.size() : topics.get(event.topic);
+            scratch.clear();
+            if (isNewTopic) {
+                writeTopic(scratch, topicId, event.topic);
+            }
+            final var eventOffset = buffer.position() + scratch.position();
+            writeEvent(scratch, topicId, event);
+            scratch.flip();
+            if (scratch.remaining() > buffer.remaining()) {
+                return false;
+            }
+            buffer.put(scratch);
+            if (isNewTopic) {
+                topics.put(event.topic, topicId);
+                topicNames.add(event.topic);
+            }
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, count * 2);
+            }
+            if (count % TIME_INDEX_STRIDE == 0) {
+                final var slot = count / TIME_INDEX_STRIDE;
+                if (slot == timeIndex.length) {
+                    timeIndex = Arrays.copyOf(timeIndex, slot * 2);
+                }
+                timeIndex[slot] = event.received;
+            }
+            offsets[count++] = eventOffset;
+            minTime          = Math.min(minTime, event.received);
+            maxTime          = Math.max(maxTime, event.received);
+            return true;
+        }
+
+        XEventDTO read(final long sequence) {
+            final var view = buffer.duplicate();
+            view.position(offsets[(int) (sequence - firstSequence)] + 1);
+
+            final var event = new XEventDTO();
+            event.received = view.getLong();
+            event.topic    = topicNames.get(view.getInt());
+
+            final var size       = view.getInt();
+            final var properties = new LinkedHashMap<String, String>(size * 2);
+            for (var i = 0; i < size; i++) {
+                properties.put(readString(view), readString(view));
+            }
+            event.properties = properties;
+            return event;
+        }
+
+        long received(final int index) {
+            return buffer.getLong(offsets[index] + 1);
+        }
+
+        int topicId(final int index) {
+            return buffer.getInt(offsets[index] + 1 + Long.BYTES);
+        }
+
+        /**
+         * Returns the index of the first event received at or after the specified
+         * time by a binary search over the sparse time index followed by a linear
+         * scan of the stride
+         */
+        int firstAtOrAfter(final long time) {
+            var low  = 0;
+            var high = (count - 1) / TIME_INDEX_STRIDE;
+            while (low < high) {
+                final var mid = low + high + 1 >>> 1;
+                if (timeIndex[mid] < time) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            var index = low * TIME_INDEX_STRIDE;
+            while (index < count && received(index) < time) {
+                index++;
+            }
+            return index;
+        }
+
+        /**
+         * Resolves the matching topics using the dictionary of this segment
+         *
+         * @return the mask indexed by topic identifier or {@code null} if no topic
+         *         matches
+         */
+        boolean[] topicMask(final String topic) {
+            final var mask      = new boolean[topicNames.size()];
+            final var isPrefix  = topic != null && topic.endsWith("*");
+            final var prefix    = isPrefix ? topic.substring(0, topic.length() - 1) : topic;
+            var       isMatched = false;
+            for (var id = 0; id < mask.length; id++) {
+                final var name = topicNames.get(id);
+                mask[id]   = topic == null || (isPrefix ? name.startsWith(prefix) : name.equals(topic));
+                isMatched |= mask[id];
+            }
+            return isMatched ? mask : null;
+        }
+
+        void delete() {
+            try {
+                Files.deleteIfExists(file);
+            } catch (final IOException e) {
+                // the file cannot be deleted as long as it is mapped on some platforms
+                file.toFile().deleteOnExit();
+            }
+        }
+
+        private static void writeTopic(final ByteBuffer target, final int topicId, final String topic) {
+            target.put(TOPIC_RECORD);
+            target.putInt(topicId);
+            writeString(target, topic);
+        }
+
+        private static void writeEvent(final ByteBuffer target, final int topicId, final XEventDTO event) {
+            final var properties = event.properties == null ? Map.<String, String> of() : event.properties;
+            target.put(EVENT_RECORD);
+            target.putLong(event.received);
+            target.putInt(topicId);
+            target.putInt(properties.size());
+            properties.forEach((k, v) -> {
+                writeString(target, k);
+                writeString(target, v);
+            });
+        }
+
+        private static void writeString(final ByteBuffer target, final String value) {
+            var text = String.valueOf(value);
+            if (text.length() > MAX_VALUE_LENGTH) {
+                text = text.substring(0, MAX_VALUE_LENGTH);
+            }
+            final var bytes = text.getBytes(UTF_8);
+            target.putInt(bytes.length);
+            target.put(bytes);
+        }
+
+        private static String readString(final ByteBuffer source) {
+            final var bytes = new byte[source.getInt()];
+            source.get(bytes);
+            return new String(bytes, UTF_8);
+        }
+    }
+
+}
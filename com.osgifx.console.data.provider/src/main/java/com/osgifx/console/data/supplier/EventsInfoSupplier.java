@@ -19,21 +19,17 @@ import static com.osgifx.console.data.supplier.EventsInfoSupplier.EVENTS_ID;
 import static com.osgifx.console.data.supplier.EventsInfoSupplier.PID;
 import static com.osgifx.console.event.topics.EventReceiveEventTopics.CLEAR_EVENTS_TOPIC;
 import static com.osgifx.console.supervisor.Supervisor.AGENT_DISCONNECTED_EVENT_TOPIC;
-import static com.osgifx.console.supervisor.Supervisor.EVENT_LISTENER_REMOVED_EVENT_TOPIC;
-import static javafx.collections.FXCollections.observableArrayList;
-import static org.osgi.service.component.annotations.ReferenceCardinality.OPTIONAL;
-import static org.osgi.service.component.annotations.ReferencePolicyOption.GREEDY;
 
-import java.time.Duration;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Set;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.fx.core.ThreadSynchronize;
 import org.eclipse.fx.core.log.FluentLogger;
 import org.eclipse.fx.core.log.LoggerFactory;
+import org.osgi.framework.BundleContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
@@ -44,60 +40,64 @@ import org.osgi.service.event.Event;
 import org.osgi.service.event.EventHandler;
 import org.osgi.service.event.propertytypes.EventTopics;
 
-import com.google.common.collect.Sets;
 import com.osgifx.console.agent.dto.XEventDTO;
 import com.osgifx.console.data.manager.RuntimeInfoSupplier;
-import com.osgifx.console.executor.Executor;
 import com.osgifx.console.supervisor.EventListener;
-import com.osgifx.console.supervisor.Supervisor;
 
 import javafx.collections.ObservableList;
 
 @ServiceRanking(112)
 @SupplierID(EVENTS_ID)
 @Component(configurationPid = PID)
-@EventTopics({ AGENT_DISCONNECTED_EVENT_TOPIC, CLEAR_EVENTS_TOPIC, EVENT_LISTENER_REMOVED_EVENT_TOPIC })
+@EventTopics({ AGENT_DISCONNECTED_EVENT_TOPIC, CLEAR_EVENTS_TOPIC })
 public final class EventsInfoSupplier implements RuntimeInfoSupplier, EventListener, EventHandler {
 
     static final String PID = "event.receive.topics";
 
     @interface Configuration {
         String[] topics();
+
+        long retentionSizeInMB() default 256;
+
+        long retentionAgeInMinutes() default 360;
     }
 
     public static final String EVENTS_ID = "events";
 
-    private static final int CACHE_INVALIDATE_INITIAL_DELAY = 0;
-    private static final int CACHE_INVALIDATE_DELAY         = 5;
-    private static final int CACHE_INVALIDATE_THRESHOLD     = 100;
-    private static final int CACHE_INVALIDATE_RANGE_START   = 0;
-    private static final int CACHE_INVALIDATE_RANGE_END     = 50;
-
-    @Reference
-    private LoggerFactory               factory;
     @Reference
-    private Executor                    executor;
+    private LoggerFactory        factory;
     @Reference
-    private ThreadSynchronize           threadSync;
-    @Reference(cardinality = OPTIONAL, policyOption = GREEDY)
-    private volatile Supervisor         supervisor;
-    private FluentLogger                logger;
-    private volatile ScheduledFuture<?> future;
-    private Configuration               configuration;
-    private final Lock                  lock = new ReentrantLock();
-
-    private final ObservableList<XEventDTO> events = observableArrayList();
+    private ThreadSynchronize    threadSync;
+    private FluentLogger         logger;
+    private volatile Set<String> topics          = Set.of();
+    private EventJournal         journal;
+    private VirtualEventList     events;
+    private final AtomicBoolean  isSyncScheduled = new AtomicBoolean();
 
     @Activate
+    void activate(final BundleContext bundleContext, final Configuration configuration) {
+        logger = FluentLogger.of(factory.createLogger(getClass().getName()));
+
+        final var directory = bundleContext.getDataFile("events").toPath();
+        EventJournal.deleteStaleSegments(directory);
+        journal = new EventJournal(directory, maxSize(configuration), maxAge(configuration));
+        events  = new VirtualEventList(journal);
+        init(configuration);
+    }
+
     @Modified
     void init(final Configuration configuration) {
-        this.configuration = configuration;
-        logger             = FluentLogger.of(factory.createLogger(getClass().getName()));
+        final var configured = configuration.topics();
+        // the same instance is returned until reconfigured such that the topics need not be recompiled
+        topics = configured == null ? Set.of() : Set.copyOf(Arrays.asList(configured));
+        journal.retention(maxSize(configuration), maxAge(configuration));
+        logger.atInfo().log("Events journal retains at most %s MB and %s minutes of events",
+                configuration.retentionSizeInMB(), configuration.retentionAgeInMinutes());
     }
 
     @Deactivate
     void deactivate() {
-        cancelCacheInvalidationJob();
+        journal.close();
     }
 
     @Override
@@ -112,55 +112,40 @@ public final class EventsInfoSupplier implements RuntimeInfoSupplier, EventListe
 
     @Override
     public void onEvent(final XEventDTO event) {
-        if (future == null) {
-            executor.scheduleWithFixedDelay(() -> {
-                lock.lock();
-                try {
-                    final var size = events.size();
-                    if (size > CACHE_INVALIDATE_THRESHOLD) {
-                        events.remove(CACHE_INVALIDATE_RANGE_START, CACHE_INVALIDATE_RANGE_END);
-                    }
-                } finally {
-                    lock.unlock();
-                }
-            }, Duration.ofSeconds(CACHE_INVALIDATE_INITIAL_DELAY), Duration.ofSeconds(CACHE_INVALIDATE_DELAY));
-        }
-        lock.lock();
-        try {
-            events.add(event);
-        } finally {
-            lock.unlock();
-        }
+        journal.append(event);
+        scheduleSync();
     }
 
     @Override
     public Collection<String> topics() {
-        return configuration != null ? Sets.newHashSet(configuration.topics()) : Set.of();
+        return topics;
     }
 
     @Override
     public void handleEvent(final Event event) {
-        switch (event.getTopic()) {
-            case AGENT_DISCONNECTED_EVENT_TOPIC:
-                cancelCacheInvalidationJob();
-                threadSync.asyncExec(events::clear);
-                break;
-            case EVENT_LISTENER_REMOVED_EVENT_TOPIC:
-                cancelCacheInvalidationJob();
-                break;
-            case CLEAR_EVENTS_TOPIC:
-                threadSync.asyncExec(events::clear);
-                break;
-            default:
-                break;
-        }
+        journal.clear();
+        scheduleSync();
     }
 
-    private void cancelCacheInvalidationJob() {
-        if (future != null) {
-            future.cancel(true);
-            future = null;
+    /**
+     * Coalesces the notifications of the events received in the meantime into a
+     * single change on the FX application thread
+     */
+    private void scheduleSync() {
+        if (isSyncScheduled.compareAndSet(false, true)) {
+            threadSync.asyncExec(() -> {
+                isSyncScheduled.set(false);
+                events.sync();
+            });
         }
     }
 
+    private static long maxSize(final Configuration configuration) {
+        return configuration.retentionSizeInMB() * 1024 * 1024;
+    }
+
+    private static long maxAge(final Configuration configuration) {
+        return TimeUnit.MINUTES.toMillis(configuration.retentionAgeInMinutes());
+    }
+
 }
@@ -22,7 +22,6 @@ import static com.osgifx.console.event.topics.ConfigurationActionEventTopics.CON
 import static com.osgifx.console.event.topics.DataRetrievedEventTopics.DATA_RETRIEVED_HEALTHCHECKS_TOPIC;
 import static com.osgifx.console.supervisor.Supervisor.AGENT_DISCONNECTED_EVENT_TOPIC;
 import static com.osgifx.console.util.fx.ConsoleFxHelper.makeNullSafe;
-import static javafx.collections.FXCollections.observableArrayList;
 import static org.osgi.service.component.annotations.ReferenceCardinality.OPTIONAL;
 import static org.osgi.service.component.annotations.ReferencePolicyOption.GREEDY;
 
@@ -39,8 +38,9 @@ import org.osgi.service.event.EventHandler;
 import org.osgi.service.event.propertytypes.EventTopics;
 
 import com.osgifx.console.agent.dto.XHealthCheckDTO;
+import com.osgifx.console.data.manager.KeyedObservableList;
+import com.osgifx.console.data.manager.RefreshScheduler;
 import com.osgifx.console.data.manager.RuntimeInfoSupplier;
-import com.osgifx.console.executor.Executor;
 import com.osgifx.console.supervisor.Supervisor;
 
 import javafx.collections.ObservableList;
@@ -62,7 +62,7 @@ public final class HealthChecksInfoSupplier implements RuntimeInfoSupplier, Even
     @Reference
     private LoggerFactory       factory;
     @Reference
-    private Executor            executor;
+    private RefreshScheduler    refreshScheduler;
     @Reference
     private EventAdmin          eventAdmin;
     @Reference
@@ -71,7 +71,7 @@ public final class HealthChecksInfoSupplier implements RuntimeInfoSupplier, Even
     private volatile Supervisor supervisor;
     private FluentLogger        logger;
 
-    private final ObservableList<XHealthCheckDTO> healthchecks = observableArrayList();
+    private final KeyedObservableList<XHealthCheckDTO> healthchecks = new KeyedObservableList<>(h -> h.serviceID);
 
     @Activate
     void activate() {
@@ -86,7 +86,9 @@ public final class HealthChecksInfoSupplier implements RuntimeInfoSupplier, Even
             logger.atWarning().log("Agent not connected");
             return;
         }
-        healthchecks.setAll(makeNullSafe(agent.getAllHealthChecks()));
+        final var latest = makeNullSafe(agent.getAllHealthChecks());
+        final var diff   = healthchecks.diff(latest);
+        threadSync.syncExec(() -> healthchecks.apply(diff));
         RuntimeInfoSupplier.sendEvent(eventAdmin, DATA_RETRIEVED_HEALTHCHECKS_TOPIC);
         logger.atInfo().log("Healthchecks info retrieved successfully");
     }
@@ -102,7 +104,7 @@ public final class HealthChecksInfoSupplier implements RuntimeInfoSupplier, Even
             threadSync.asyncExec(healthchecks::clear);
             return;
         }
-        executor.runAsync(this::retrieve);
+        refreshScheduler.request(HEALTHCHECKS_ID);
     }
 
 }
@@ -22,7 +22,6 @@ import static com.osgifx.console.event.topics.ConfigurationActionEventTopics.CON
 import static com.osgifx.console.event.topics.DataRetrievedEventTopics.DATA_RETRIEVED_HTTP_TOPIC;
 import static com.osgifx.console.supervisor.Supervisor.AGENT_DISCONNECTED_EVENT_TOPIC;
 import static com.osgifx.console.util.fx.ConsoleFxHelper.makeNullSafe;
-import static javafx.collections.FXCollections.observableArrayList;
 import static org.osgi.service.component.annotations.ReferenceCardinality.OPTIONAL;
 import static org.osgi.service.component.annotations.ReferencePolicyOption.GREEDY;
 
@@ -39,8 +38,9 @@ import org.osgi.service.event.EventHandler;
 import org.osgi.service.event.propertytypes.EventTopics;
 
 import com.osgifx.console.agent.dto.XHttpComponentDTO;
+import com.osgifx.console.data.manager.KeyedObservableList;
+import com.osgifx.console.data.manager.RefreshScheduler;
 import com.osgifx.console.data.manager.RuntimeInfoSupplier;
-import com.osgifx.console.executor.Executor;
 import com.osgifx.console.supervisor.Supervisor;
 
 import javafx.collections.ObservableList;
@@ -62,7 +62,7 @@ public final class HttpComponentsInfoSupplier implements RuntimeInfoSupplier, Ev
     @Reference
     private LoggerFactory       factory;
     @Reference
-    private Executor            executor;
+    private RefreshScheduler    refreshScheduler;
     @Reference
     private EventAdmin          eventAdmin;
     @Reference
@@ -71,7 +71,8 @@ public final class HttpComponentsInfoSupplier implements RuntimeInfoSupplier, Ev
     private volatile Supervisor supervisor;
     private FluentLogger        logger;
 
-    private final ObservableList<XHttpComponentDTO> httpComponents = observableArrayList();
+    private final KeyedObservableList<XHttpComponentDTO> httpComponents = new KeyedObservableList<>(
+            h -> h.type + ":" + h.serviceId + ":" + h.name);
 
     @Activate
     void activate() {
@@ -86,7 +87,9 @@ public final class HttpComponentsInfoSupplier implements RuntimeInfoSupplier, Ev
             logger.atWarning().log("Agent not connected");
             return;
         }
-        httpComponents.setAll(makeNullSafe(agent.getHttpComponents()));
+        final var latest = makeNullSafe(agent.getHttpComponents());
+        final var diff   = httpComponents.diff(latest);
+        threadSync.syncExec(() -> httpComponents.apply(diff));
         RuntimeInfoSupplier.sendEvent(eventAdmin, DATA_RETRIEVED_HTTP_TOPIC);
         logger.atInfo().log("HTTP components info retrieved successfully");
     }
@@ -102,6 +105,6 @@ public final class HttpComponentsInfoSupplier implements RuntimeInfoSupplier, Ev
             threadSync.asyncExec(httpComponents::clear);
             return;
         }
-        executor.runAsync(this::retrieve);
+        refreshScheduler.request(HTTP_ID);
     }
 }
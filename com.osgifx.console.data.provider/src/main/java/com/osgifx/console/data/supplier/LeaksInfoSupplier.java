@@ -19,8 +19,8 @@ import static com.osgifx.console.data.supplier.LeaksInfoSupplier.LEAKS_ID;
 import static com.osgifx.console.event.topics.BundleActionEventTopics.BUNDLE_ACTION_EVENT_TOPICS;
 import static com.osgifx.console.event.topics.DataRetrievedEventTopics.DATA_RETRIEVED_LEAKS_TOPIC;
 import static com.osgifx.console.supervisor.Supervisor.AGENT_DISCONNECTED_EVENT_TOPIC;
+import static com.osgifx.console.supervisor.Supervisor.CLASSLOADER_LEAK_DETECTED_EVENT_TOPIC;
 import static com.osgifx.console.util.fx.ConsoleFxHelper.makeNullSafe;
-import static javafx.collections.FXCollections.observableArrayList;
 import static org.osgi.service.component.annotations.ReferenceCardinality.OPTIONAL;
 import static org.osgi.service.component.annotations.ReferencePolicyOption.GREEDY;
 
@@ -37,8 +37,9 @@ import org.osgi.service.event.EventHandler;
 import org.osgi.service.event.propertytypes.EventTopics;
 
 import com.osgifx.console.agent.dto.XBundleDTO;
+import com.osgifx.console.data.manager.KeyedObservableList;
+import com.osgifx.console.data.manager.RefreshScheduler;
 import com.osgifx.console.data.manager.RuntimeInfoSupplier;
-import com.osgifx.console.executor.Executor;
 import com.osgifx.console.supervisor.Supervisor;
 
 import javafx.collections.ObservableList;
@@ -46,7 +47,7 @@ import javafx.collections.ObservableList;
 @Component
 @ServiceRanking(109)
 @SupplierID(LEAKS_ID)
-@EventTopics({ AGENT_DISCONNECTED_EVENT_TOPIC, BUNDLE_ACTION_EVENT_TOPICS })
+@EventTopics({ AGENT_DISCONNECTED_EVENT_TOPIC, BUNDLE_ACTION_EVENT_TOPICS, CLASSLOADER_LEAK_DETECTED_EVENT_TOPIC })
 public final class LeaksInfoSupplier implements RuntimeInfoSupplier, EventHandler {
 
     public static final String LEAKS_ID = "leaks";
@@ -54,7 +55,7 @@ public final class LeaksInfoSupplier implements RuntimeInfoSupplier, EventHandle
     @Reference
     private LoggerFactory       factory;
     @Reference
-    private Executor            executor;
+    private RefreshScheduler    refreshScheduler;
     @Reference
     private EventAdmin          eventAdmin;
     @Reference
@@ -63,7 +64,7 @@ public final class LeaksInfoSupplier implements RuntimeInfoSupplier, EventHandle
     private volatile Supervisor supervisor;
     private FluentLogger        logger;
 
-    private final ObservableList<XBundleDTO> leaks = observableArrayList();
+    private final KeyedObservableList<XBundleDTO> leaks = new KeyedObservableList<>(b -> b.id);
 
     @Activate
     void activate() {
@@ -78,7 +79,9 @@ public final class LeaksInfoSupplier implements RuntimeInfoSupplier, EventHandle
             logger.atWarning().log("Agent not connected");
             return;
         }
-        leaks.setAll(makeNullSafe(agent.getClassloaderLeaks()));
+        final var latest = makeNullSafe(agent.getClassloaderLeaks());
+        final var diff   = leaks.diff(latest);
+        threadSync.syncExec(() -> leaks.apply(diff));
         RuntimeInfoSupplier.sendEvent(eventAdmin, DATA_RETRIEVED_LEAKS_TOPIC);
         logger.atInfo().log("Classloader leaks info retrieved successfully");
     }
@@ -94,7 +97,7 @@ public final class LeaksInfoSupplier implements RuntimeInfoSupplier, EventHandle
             threadSync.asyncExec(leaks::clear);
             return;
         }
-        executor.runAsync(this::retrieve);
+        refreshScheduler.request(LEAKS_ID);
     }
 
 }
@@ -0,0 +1,282 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.data.supplier;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.osgifx.console.agent.dto.XBundleDTO;
+import com.osgifx.console.agent.dto.XLogEntryDTO;
+
+/**
+ * Fixed-capacity ring buffer of log entries.
+ * <p>
+ * Every appended entry gets a monotonically increasing sequence number. Once the
+ * capacity is exhausted, the oldest entry gets overwritten. The timestamps,
+ * levels, bundle identifiers and logger names are stored in primitive arrays
+ * whereas the levels and logger names are interned in dictionaries. The
+ * sequence numbers are additionally indexed per level and per bundle which
+ * makes filtered queries proportional to the number of matching entries.
+ * <p>
+ * All methods are thread-safe.
+ */
+final class LogStore implements SequencedStore<XLogEntryDTO> {
+
+    static final int DEFAULT_CAPACITY = 100_000;
+
+    private final int      capacity;
+    private final long[]   loggedAt;
+    private final long[]   bundleIds;
+    private final byte[]   levels;
+    private final int[]    loggers;
+    private final String[] messages;
+    private final String[] exceptions;
+    private final String[] threadInfos;
+
+    private final Dictionary               levelNames    = new Dictionary();
+    private final Dictionary               loggerNames   = new Dictionary();
+    private final List<SequenceIndex>      levelIndexes  = new ArrayList<>();
+    private final Map<Long, SequenceIndex> bundleIndexes = new HashMap<>();
+    private final Map<Long, XBundleDTO>    bundles       = new HashMap<>();
+    private long                           head;
+    private long                           tail;
+
+    LogStore(final int capacity) {
+        this.capacity = capacity;
+        loggedAt      = new long[capacity];
+        bundleIds     = new long[capacity];
+        levels        = new byte[capacity];
+        loggers       = new int[capacity];
+        messages      = new String[capacity];
+        exceptions    = new String[capacity];
+        threadInfos   = new String[capacity];
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public synchronized long head() {
+        return head;
+    }
+
+    @Override
+    public synchronized long tail() {
+        return tail;
+    }
+
+    synchronized void append(final XLogEntryDTO entry) {
+        if (head - tail == capacity) {
+            evictOldest();
+        }
+        final var slot     = slot(head);
+        final var bundleId = entry.bundle == null ? -1 : entry.bundle.id;
+        final var level    = levelNames.intern(entry.level);
+
+        loggedAt[slot]    = entry.loggedAt;
+        bundleIds[slot]   = bundleId;
+        levels[slot]      = (byte) level;
+        loggers[slot]     = loggerNames.intern(entry.logger);
+        messages[slot]    = entry.message;
+        exceptions[slot]  = entry.exception;
+        threadInfos[slot] = entry.threadInfo;
+
+        if (entry.bundle != null) {
+            bundles.put(bundleId, entry.bundle);
+        }
+        while (levelIndexes.size() <= level) {
+            levelIndexes.add(new SequenceIndex());
+        }
+        levelIndexes.get(level).add(head);
+        bundleIndexes.computeIfAbsent(bundleId, k -> new SequenceIndex()).add(head);
+        head++;
+    }
+
+    @Override
+    public synchronized XLogEntryDTO get(final long sequence) {
+        if (sequence < tail || sequence >= head) {
+            return null;
+        }
+        final var slot  = slot(sequence);
+        final var entry = new XLogEntryDTO();
+
+        entry.loggedAt   = loggedAt[slot];
+        entry.level      = levelNames.name(levels[slot]);
+        entry.logger     = loggerNames.name(loggers[slot]);
+        entry.bundle     = bundles.get(bundleIds[slot]);
+        entry.message    = messages[slot];
+        entry.exception  = exceptions[slot];
+        entry.threadInfo = threadInfos[slot];
+
+        return entry;
+    }
+
+    /**
+     * Returns the sequence numbers of the entries matching the specified criteria
+     * ordered from the newest to the oldest entry
+     *
+     * @param level the level or {@code null} to match all levels
+     * @param bundleId the bundle identifier or a negative value to match all
+     *            bundles
+     * @param fromSequence the inclusive lower bound of the sequence numbers
+     */
+    synchronized long[] query(final String level, final long bundleId, final long fromSequence) {
+        final var levelIndex  = level == null ? null : levelIndex(level);
+        final var bundleIndex = bundleId < 0 ? null : bundleIndexes.get(bundleId);
+
+        if (level != null && levelIndex == null || bundleId >= 0 && bundleIndex == null) {
+            return new long[0];
+        }
+        final var first = Math.max(tail, fromSequence);
+        if (levelIndex == null && bundleIndex == null) {
+            final var sequences = new long[(int) Math.max(0, head - first)];
+            for (var i = 0; i < sequences.length; i++) {
+                sequences[i] = head - 1 - i;
+            }
+            return sequences;
+        }
+        // iterate the smaller index and check the other criterion on the primitive arrays
+        final SequenceIndex index;
+        if (levelIndex == null) {
+            index = bundleIndex;
+        } else if (bundleIndex == null) {
+            index = levelIndex;
+        } else {
+            index = levelIndex.size() <= bundleIndex.size() ? levelIndex : bundleIndex;
+        }
+        final var levelId   = levelIndex == null ? -1 : levelNames.id(level);
+        final var sequences = new long[index.size()];
+        var       count     = 0;
+        for (var i = index.size() - 1; i >= 0; i--) {
+            final var sequence = index.get(i);
+            if (sequence < first) {
+                break;
+            }
+            final var slot = slot(sequence);
+            if (levelId >= 0 && levels[slot] != levelId || bundleId >= 0 && bundleIds[slot] != bundleId) {
+                continue;
+            }
+            sequences[count++] = sequence;
+        }
+        return count == sequences.length ? sequences : Arrays.copyOf(sequences, count);
+    }
+
+    synchronized void clear() {
+        Arrays.fill(messages, null);
+        Arrays.fill(exceptions, null);
+        Arrays.fill(threadInfos, null);
+        levelIndexes.forEach(SequenceIndex::clear);
+        bundleIndexes.clear();
+        bundles.clear();
+        // the sequence numbers continue such that the views can detect the removal
+        tail = head;
+    }
+
+    private void evictOldest() {
+        final var slot = slot(tail);
+
+        levelIndexes.get(levels[slot]).removeFirst();
+        final var bundleIndex = bundleIndexes.get(bundleIds[slot]);
+        bundleIndex.removeFirst();
+        if (bundleIndex.size() == 0) {
+            bundleIndexes.remove(bundleIds[slot]);
+        }
+        messages[slot]    = null;
+        exceptions[slot]  = null;
+        threadInfos[slot] = null;
+        tail++;
+    }
+
+    private SequenceIndex levelIndex(final String level) {
+        final var id = levelNames.id(level);
+        return id < 0 || id >= levelIndexes.size() ? null : levelIndexes.get(id);
+    }
+
+    private int slot(final long sequence) {
+        return (int) (sequence % capacity);
+    }
+
+    /**
+     * Growable ring of ascending sequence numbers
+     */
+    private static final class SequenceIndex {
+
+        private long[] sequences = new long[16];
+        private int    start;
+        private int    size;
+
+        void add(final long sequence) {
+            if (size == sequences.length) {
+                final var grown = new long[sequences.length * 2];
+                for (var i = 0; i < size; i++) {
+                    grown[i] = get(i);
+                }
+                sequences = grown;
+                start     = 0;
+            }
+            sequences[(start + size) % sequences.length] = sequence;
+            size++;
+        }
+
+        long get(final int index) {
+            return sequences[(start + index) % sequences.length];
+        }
+
+        void removeFirst() {
+            start = (start + 1) % sequences.length;
+            size--;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void clear() {
+            start = 0;
+            size  = 0;
+        }
+    }
+
+    /**
+     * Interns strings to compact identifiers
+     */
+    private static final class Dictionary {
+
+        private final Map<String, Integer> ids   = new HashMap<>();
+        private final List<String>         names = new ArrayList<>();
+
+        int intern(final String name) {
+            return ids.computeIfAbsent(String.valueOf(name), n -> {
+                names.add(n);
+                return names.size() - 1;
+            });
+        }
+
+        int id(final String name) {
+            return ids.getOrDefault(name, -1);
+        }
+
+        String name(final int id) {
+            final var name = names.get(id);
+            return "null".equals(name) ? null : name;
+        }
+    }
+
+}
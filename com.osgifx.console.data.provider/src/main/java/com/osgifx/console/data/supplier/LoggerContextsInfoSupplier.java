@@ -23,7 +23,6 @@ import static com.osgifx.console.event.topics.DataRetrievedEventTopics.DATA_RETR
 import static com.osgifx.console.event.topics.LoggerContextActionEventTopics.LOGGER_CONTEXT_ACTION_EVENT_TOPICS;
 import static com.osgifx.console.supervisor.Supervisor.AGENT_DISCONNECTED_EVENT_TOPIC;
 import static com.osgifx.console.util.fx.ConsoleFxHelper.makeNullSafe;
-import static javafx.collections.FXCollections.observableArrayList;
 import static org.osgi.service.component.annotations.ReferenceCardinality.OPTIONAL;
 import static org.osgi.service.component.annotations.ReferencePolicyOption.GREEDY;
 
@@ -40,8 +39,9 @@ import org.osgi.service.event.EventHandler;
 import org.osgi.service.event.propertytypes.EventTopics;
 
 import com.osgifx.console.agent.dto.XBundleLoggerContextDTO;
+import com.osgifx.console.data.manager.KeyedObservableList;
+import com.osgifx.console.data.manager.RefreshScheduler;
 import com.osgifx.console.data.manager.RuntimeInfoSupplier;
-import com.osgifx.console.executor.Executor;
 import com.osgifx.console.supervisor.Supervisor;
 
 import javafx.collections.ObservableList;
@@ -64,7 +64,7 @@ public final class LoggerContextsInfoSupplier implements RuntimeInfoSupplier, Ev
     @Reference
     private LoggerFactory       factory;
     @Reference
-    private Executor            executor;
+    private RefreshScheduler    refreshScheduler;
     @Reference
     private EventAdmin          eventAdmin;
     @Reference
@@ -73,7 +73,7 @@ public final class LoggerContextsInfoSupplier implements RuntimeInfoSupplier, Ev
     private volatile Supervisor supervisor;
     private FluentLogger        logger;
 
-    private final ObservableList<XBundleLoggerContextDTO> loggerContexts = observableArrayList();
+    private final KeyedObservableList<XBundleLoggerContextDTO> loggerContexts = new KeyedObservableList<>(c -> c.name);
 
     @Activate
     void activate() {
@@ -88,7 +88,9 @@ public final class LoggerContextsInfoSupplier implements RuntimeInfoSupplier, Ev
             logger.atWarning().log("Agent not connected");
             return;
         }
-        loggerContexts.setAll(makeNullSafe(agent.getBundleLoggerContexts()));
+        final var latest = makeNullSafe(agent.getBundleLoggerContexts());
+        final var diff   = loggerContexts.diff(latest);
+        threadSync.syncExec(() -> loggerContexts.apply(diff));
         RuntimeInfoSupplier.sendEvent(eventAdmin, DATA_RETRIEVED_LOGGER_CONTEXTS_TOPIC);
         logger.atInfo().log("Logger contexts info retrieved successfully");
     }
@@ -104,7 +106,7 @@ public final class LoggerContextsInfoSupplier implements RuntimeInfoSupplier, Ev
             threadSync.asyncExec(loggerContexts::clear);
             return;
         }
-        executor.runAsync(this::retrieve);
+        refreshScheduler.request(LOGGER_CONTEXTS_ID);
     }
 
 }
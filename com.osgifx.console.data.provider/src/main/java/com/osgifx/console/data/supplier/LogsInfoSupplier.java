@@ -18,22 +18,14 @@ package com.osgifx.console.data.supplier;
 import static com.osgifx.console.data.supplier.LogsInfoSupplier.LOGS_ID;
 import static com.osgifx.console.event.topics.LogReceiveEventTopics.CLEAR_LOGS_TOPIC;
 import static com.osgifx.console.supervisor.Supervisor.AGENT_DISCONNECTED_EVENT_TOPIC;
-import static com.osgifx.console.supervisor.Supervisor.LOG_LISTENER_REMOVED_EVENT_TOPIC;
-import static javafx.collections.FXCollections.observableArrayList;
-import static org.osgi.service.component.annotations.ReferenceCardinality.OPTIONAL;
-import static org.osgi.service.component.annotations.ReferencePolicyOption.GREEDY;
 
-import java.time.Duration;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.fx.core.ThreadSynchronize;
 import org.eclipse.fx.core.log.FluentLogger;
 import org.eclipse.fx.core.log.LoggerFactory;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
-import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.propertytypes.ServiceRanking;
 import org.osgi.service.event.Event;
@@ -42,50 +34,33 @@ import org.osgi.service.event.propertytypes.EventTopics;
 
 import com.osgifx.console.agent.dto.XLogEntryDTO;
 import com.osgifx.console.data.manager.RuntimeInfoSupplier;
-import com.osgifx.console.executor.Executor;
 import com.osgifx.console.supervisor.LogEntryListener;
-import com.osgifx.console.supervisor.Supervisor;
 
 import javafx.collections.ObservableList;
 
 @Component
 @ServiceRanking(113)
 @SupplierID(LOGS_ID)
-@EventTopics({ AGENT_DISCONNECTED_EVENT_TOPIC, CLEAR_LOGS_TOPIC, LOG_LISTENER_REMOVED_EVENT_TOPIC })
+@EventTopics({ AGENT_DISCONNECTED_EVENT_TOPIC, CLEAR_LOGS_TOPIC })
 public final class LogsInfoSupplier implements RuntimeInfoSupplier, LogEntryListener, EventHandler {
 
     public static final String LOGS_ID = "logs";
 
-    private static final int CACHE_INVALIDATE_INITIAL_DELAY = 0;
-    private static final int CACHE_INVALIDATE_DELAY         = 5;
-    private static final int CACHE_INVALIDATE_THRESHOLD     = 100;
-    private static final int CACHE_INVALIDATE_RANGE_START   = 0;
-    private static final int CACHE_INVALIDATE_RANGE_END     = 50;
-
-    @Reference
-    private LoggerFactory               factory;
     @Reference
-    private Executor                    executor;
+    private LoggerFactory     factory;
     @Reference
-    private ThreadSynchronize           threadSync;
-    @Reference(cardinality = OPTIONAL, policyOption = GREEDY)
-    private volatile Supervisor         supervisor;
-    private FluentLogger                logger;
-    private volatile ScheduledFuture<?> future;
-    private final Lock                  lock = new ReentrantLock();
+    private ThreadSynchronize threadSync;
+    private FluentLogger      logger;
 
-    private final ObservableList<XLogEntryDTO> logs = observableArrayList();
+    private final LogStore       store           = new LogStore(LogStore.DEFAULT_CAPACITY);
+    private final VirtualLogList logs            = new VirtualLogList(store);
+    private final AtomicBoolean  isSyncScheduled = new AtomicBoolean();
 
     @Activate
     void init() {
         logger = FluentLogger.of(factory.createLogger(getClass().getName()));
     }
 
-    @Deactivate
-    void deactivate() {
-        cancelCacheInvalidationJob();
-    }
-
     @Override
     public void retrieve() {
         logger.atInfo().log("Skipped log events info retrieval as it will be pushed by remote runtime agent");
@@ -98,49 +73,27 @@ public final class LogsInfoSupplier implements RuntimeInfoSupplier, LogEntryList
 
     @Override
     public void logged(final XLogEntryDTO logEntry) {
-        if (future == null) {
-            executor.scheduleWithFixedDelay(() -> {
-                lock.lock();
-                try {
-                    final var size = logs.size();
-                    if (size > CACHE_INVALIDATE_THRESHOLD) {
-                        logs.remove(CACHE_INVALIDATE_RANGE_START, CACHE_INVALIDATE_RANGE_END);
-                    }
-                } finally {
-                    lock.unlock();
-                }
-            }, Duration.ofSeconds(CACHE_INVALIDATE_INITIAL_DELAY), Duration.ofSeconds(CACHE_INVALIDATE_DELAY));
-        }
-        lock.lock();
-        try {
-            logs.add(logEntry);
-        } finally {
-            lock.unlock();
-        }
+        // the oldest entry gets evicted as soon as the capacity is exhausted
+        store.append(logEntry);
+        scheduleSync();
     }
 
     @Override
     public void handleEvent(final Event event) {
-        switch (event.getTopic()) {
-            case AGENT_DISCONNECTED_EVENT_TOPIC:
-                cancelCacheInvalidationJob();
-                threadSync.asyncExec(logs::clear);
-                break;
-            case LOG_LISTENER_REMOVED_EVENT_TOPIC:
-                cancelCacheInvalidationJob();
-                break;
-            case CLEAR_LOGS_TOPIC:
-                threadSync.asyncExec(logs::clear);
-                break;
-            default:
-                break;
-        }
+        store.clear();
+        scheduleSync();
     }
 
-    private void cancelCacheInvalidationJob() {
-        if (future != null) {
-            future.cancel(true);
-            future = null;
+    /**
+     * Coalesces the notifications of the entries received in the meantime into a
+     * single change on the FX application thread
+     */
+    private void scheduleSync() {
+        if (isSyncScheduled.compareAndSet(false, true)) {
+            threadSync.asyncExec(() -> {
+                isSyncScheduled.set(false);
+                logs.sync();
+            });
         }
     }
 
@@ -0,0 +1,233 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.data.supplier;
+
+import static com.osgifx.console.util.fx.ConsoleFxHelper.makeNullSafe;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import com.osgifx.console.agent.dto.XBundleDTO;
+import com.osgifx.console.agent.dto.XPackageDTO;
+import com.osgifx.console.data.provider.PackageDTO;
+
+/**
+ * Incrementally maintained index of the packages keyed by {@code name:version}.
+ * <p>
+ * Only the bundles whose state or wiring differs from the previously indexed
+ * snapshot are retracted and re-contributed. The other bundles only replace
+ * their previously indexed instances such that no stale {@link XBundleDTO} is
+ * retained. The {@link PackageDTO}s of the affected packages are recreated,
+ * i.e. an instance that has been handed out is never mutated afterwards.
+ */
+final class PackageIndex {
+
+    private final Map<Long, Contribution>   contributions = new HashMap<>();
+    private final Map<String, PackageEntry> entries       = new HashMap<>();
+    private final Map<String, PackageDTO>   packages      = new LinkedHashMap<>();
+
+    /**
+     * Updates the index with the specified bundles
+     *
+     * @param bundles the bundles of the new snapshot
+     * @return {@code true} if any package has been recreated, otherwise
+     *         {@code false}
+     */
+    boolean update(final List<XBundleDTO> bundles) {
+        final Set<String> touched = new HashSet<>();
+        final Set<Long>   seen    = new HashSet<>();
+
+        for (final XBundleDTO bundle : bundles) {
+            seen.add(bundle.id);
+            final var contribution = new Contribution(bundle);
+            final var previous     = contributions.get(bundle.id);
+            if (contribution.equals(previous)) {
+                if (previous.bundle != bundle) {
+                    replace(contribution, touched);
+                }
+                continue;
+            }
+            if (previous != null) {
+                retract(previous, touched);
+            }
+            contribute(contribution, touched);
+        }
+        final var removed = new ArrayList<Long>();
+        contributions.keySet().stream().filter(id -> !seen.contains(id)).forEach(removed::add);
+        removed.forEach(id -> retract(contributions.get(id), touched));
+
+        for (final String key : touched) {
+            final var entry = entries.get(key);
+            if (entry == null || entry.isEmpty()) {
+                entries.remove(key);
+                packages.remove(key);
+            } else {
+                packages.put(key, entry.toDTO());
+            }
+        }
+        return !touched.isEmpty();
+    }
+
+    Collection<PackageDTO> packages() {
+        return packages.values();
+    }
+
+    void clear() {
+        contributions.clear();
+        entries.clear();
+        packages.clear();
+    }
+
+    private void contribute(final Contribution contribution, final Set<String> touched) {
+        contributions.put(contribution.bundle.id, contribution);
+        for (final XPackageDTO pkg : contribution.exported) {
+            final var key = key(pkg);
+            entries.computeIfAbsent(key, k -> new PackageEntry(pkg)).exporters.put(contribution.bundle.id,
+                    contribution.bundle);
+            touched.add(key);
+        }
+        for (final XPackageDTO pkg : contribution.imported) {
+            final var key = key(pkg);
+            entries.computeIfAbsent(key, k -> new PackageEntry(pkg)).importers.put(contribution.bundle.id,
+                    contribution.bundle);
+            touched.add(key);
+        }
+    }
+
+    private void replace(final Contribution contribution, final Set<String> touched) {
+        final var id = contribution.bundle.id;
+        contributions.put(id, contribution);
+        for (final XPackageDTO pkg : contribution.exported) {
+            final var key = key(pkg);
+            entries.get(key).exporters.replace(id, contribution.bundle);
+            touched.add(key);
+        }
+        for (final XPackageDTO pkg : contribution.imported) {
+            final var key = key(pkg);
+            entries.get(key).importers.replace(id, contribution.bundle);
+            touched.add(key);
+        }
+    }
+
+    private void retract(final Contribution contribution, final Set<String> touched) {
+        contributions.remove(contribution.bundle.id);
+        for (final XPackageDTO pkg : contribution.exported) {
+            final var key   = key(pkg);
+            final var entry = entries.get(key);
+            if (entry != null) {
+                entry.exporters.remove(contribution.bundle.id);
+            }
+            touched.add(key);
+        }
+        for (final XPackageDTO pkg : contribution.imported) {
+            final var key   = key(pkg);
+            final var entry = entries.get(key);
+            if (entry != null) {
+                entry.importers.remove(contribution.bundle.id);
+            }
+            touched.add(key);
+        }
+    }
+
+    private static String key(final XPackageDTO pkg) {
+        return pkg.name + ":" + pkg.version;
+    }
+
+    /**
+     * The packages contributed by a single bundle
+     */
+    private static final class Contribution {
+
+        final XBundleDTO        bundle;
+        final List<XPackageDTO> exported;
+        final List<XPackageDTO> imported;
+        final List<String>      keys;
+
+        Contribution(final XBundleDTO bundle) {
+            this.bundle = bundle;
+            exported    = List.copyOf(makeNullSafe(bundle.exportedPackages));
+            imported    = List.copyOf(makeNullSafe(bundle.importedPackages));
+            keys        = new ArrayList<>(exported.size() + imported.size() + 1);
+            exported.forEach(p -> keys.add(key(p)));
+            // separates the exported from the imported packages
+            keys.add("|");
+            imported.forEach(p -> keys.add(key(p)));
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof final Contribution other)) {
+                return false;
+            }
+            // @formatter:off
+            return bundle.id == other.bundle.id
+                    && bundle.lastModified == other.bundle.lastModified
+                    && Objects.equals(bundle.state, other.bundle.state)
+                    && Objects.equals(bundle.symbolicName, other.bundle.symbolicName)
+                    && Objects.equals(bundle.version, other.bundle.version)
+                    && keys.equals(other.keys);
+            // @formatter:on
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(bundle.id, bundle.lastModified, bundle.state, keys);
+        }
+    }
+
+    /**
+     * The mutable exporters and importers of a single package
+     */
+    private static final class PackageEntry {
+
+        final String                name;
+        final String                version;
+        final Map<Long, XBundleDTO> exporters = new LinkedHashMap<>();
+        final Map<Long, XBundleDTO> importers = new LinkedHashMap<>();
+
+        PackageEntry(final XPackageDTO pkg) {
+            name    = pkg.name;
+            version = pkg.version;
+        }
+
+        boolean isEmpty() {
+            return exporters.isEmpty() && importers.isEmpty();
+        }
+
+        PackageDTO toDTO() {
+            final var dto = new PackageDTO();
+
+            dto.name              = name;
+            dto.version           = version;
+            dto.exporters         = new ArrayList<>(exporters.values());
+            dto.importers         = new ArrayList<>(importers.values());
+            dto.isDuplicateExport = exporters.size() > 1;
+
+            return dto;
+        }
+    }
+
+}
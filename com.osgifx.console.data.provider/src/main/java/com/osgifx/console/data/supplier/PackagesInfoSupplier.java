@@ -16,21 +16,17 @@
 package com.osgifx.console.data.supplier;
 
 import static com.osgifx.console.data.supplier.PackagesInfoSupplier.PACKAGES_ID;
-import static com.osgifx.console.event.topics.BundleActionEventTopics.BUNDLE_ACTION_EVENT_TOPICS;
 import static com.osgifx.console.event.topics.DataRetrievedEventTopics.DATA_RETRIEVED_PACKAGES_TOPIC;
 import static com.osgifx.console.supervisor.Supervisor.AGENT_DISCONNECTED_EVENT_TOPIC;
-import static javafx.collections.FXCollections.observableArrayList;
-import static org.osgi.service.component.annotations.ReferenceCardinality.OPTIONAL;
-import static org.osgi.service.component.annotations.ReferencePolicyOption.GREEDY;
 
-import java.util.List;
-import java.util.Map;
+import java.util.function.Consumer;
 
 import org.eclipse.fx.core.ThreadSynchronize;
 import org.eclipse.fx.core.log.FluentLogger;
 import org.eclipse.fx.core.log.LoggerFactory;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.propertytypes.ServiceRanking;
 import org.osgi.service.event.Event;
@@ -38,22 +34,18 @@ import org.osgi.service.event.EventAdmin;
 import org.osgi.service.event.EventHandler;
 import org.osgi.service.event.propertytypes.EventTopics;
 
-import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
-import com.osgifx.console.agent.dto.XBundleDTO;
-import com.osgifx.console.agent.dto.XPackageDTO;
+import com.osgifx.console.data.manager.BundleSnapshotCache;
+import com.osgifx.console.data.manager.BundleSnapshotCache.BundleSnapshot;
+import com.osgifx.console.data.manager.KeyedObservableList;
 import com.osgifx.console.data.manager.RuntimeInfoSupplier;
 import com.osgifx.console.data.provider.PackageDTO;
-import com.osgifx.console.executor.Executor;
-import com.osgifx.console.supervisor.Supervisor;
 
-import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 
 @Component
 @ServiceRanking(103)
 @SupplierID(PACKAGES_ID)
-@EventTopics({ AGENT_DISCONNECTED_EVENT_TOPIC, BUNDLE_ACTION_EVENT_TOPICS })
+@EventTopics(AGENT_DISCONNECTED_EVENT_TOPIC)
 public final class PackagesInfoSupplier implements RuntimeInfoSupplier, EventHandler {
 
     public static final String PACKAGES_ID = "packages";
@@ -61,35 +53,56 @@ public final class PackagesInfoSupplier implements RuntimeInfoSupplier, EventHan
     @Reference
     private LoggerFactory       factory;
     @Reference
-    private Executor            executor;
-    @Reference
     private EventAdmin          eventAdmin;
     @Reference
     private ThreadSynchronize   threadSync;
-    @Reference(cardinality = OPTIONAL, policyOption = GREEDY)
-    private volatile Supervisor supervisor;
+    @Reference
+    private BundleSnapshotCache snapshotCache;
     private FluentLogger        logger;
+    private long                appliedVersion;
 
-    private final ObservableList<PackageDTO> packages = observableArrayList();
+    private final PackageIndex                    index            = new PackageIndex();
+    private final KeyedObservableList<PackageDTO> packages         = new KeyedObservableList<>(
+            p -> p.name + ":" + p.version);
+    private final Consumer<BundleSnapshot>        snapshotListener = this::apply;
 
     @Activate
     void activate() {
         logger = FluentLogger.of(factory.createLogger(getClass().getName()));
+        snapshotCache.addListener(snapshotListener);
+    }
+
+    @Deactivate
+    void deactivate() {
+        snapshotCache.removeListener(snapshotListener);
     }
 
     @Override
-    public synchronized void retrieve() {
+    public void retrieve() {
         logger.atInfo().log("Retrieving packages info from remote runtime");
-        final var agent = supervisor.getAgent();
-        if (agent == null) {
-            logger.atWarning().log("Agent not connected");
+        final var snapshot = snapshotCache.fetch();
+        if (snapshot == null) {
             return;
         }
-        packages.setAll(preparePackages(agent.getAllBundles()));
-        RuntimeInfoSupplier.sendEvent(eventAdmin, DATA_RETRIEVED_PACKAGES_TOPIC);
+        // the snapshot might have been fetched by another requester
+        apply(snapshot);
         logger.atInfo().log("Packages info retrieved successfully");
     }
 
+    private synchronized void apply(final BundleSnapshot snapshot) {
+        if (snapshot.version() <= appliedVersion) {
+            return;
+        }
+        final var isFirst = appliedVersion == 0;
+        appliedVersion = snapshot.version();
+        if (index.update(snapshot.bundles()) || isFirst) {
+            final var latest = index.packages();
+            final var diff   = packages.diff(latest);
+            threadSync.syncExec(() -> packages.apply(diff));
+        }
+        RuntimeInfoSupplier.sendEvent(eventAdmin, DATA_RETRIEVED_PACKAGES_TOPIC);
+    }
+
     @Override
     public ObservableList<?> supply() {
         return packages;
@@ -97,57 +110,10 @@ public final class PackagesInfoSupplier implements RuntimeInfoSupplier, EventHan
 
     @Override
     public void handleEvent(final Event event) {
-        if (AGENT_DISCONNECTED_EVENT_TOPIC.equals(event.getTopic())) {
-            threadSync.asyncExec(packages::clear);
-            return;
-        }
-        executor.runAsync(this::retrieve);
-    }
-
-    private synchronized ObservableList<PackageDTO> preparePackages(final List<XBundleDTO> bundles) {
-        final List<PackageDTO>        packages      = Lists.newArrayList();
-        final Map<String, PackageDTO> finalPackages = Maps.newHashMap();   // key: package name, value: PackageDTO
-
-        for (final XBundleDTO bundle : bundles) {
-            final var exportedPackages = toPackageDTOs(bundle.exportedPackages);
-            final var importedPackages = toPackageDTOs(bundle.importedPackages);
-
-            exportedPackages.forEach(p -> p.exporters.add(bundle));
-            importedPackages.forEach(p -> p.importers.add(bundle));
-
-            packages.addAll(exportedPackages);
-            packages.addAll(importedPackages);
-        }
-        for (final PackageDTO pkg : packages) {
-            final var key = pkg.name + ":" + pkg.version;
-            if (!finalPackages.containsKey(key)) {
-                finalPackages.put(key, pkg);
-            } else {
-                final var packageDTO = finalPackages.get(key);
-
-                packageDTO.exporters.addAll(pkg.exporters);
-                packageDTO.importers.addAll(pkg.importers);
-            }
-        }
-        for (final PackageDTO pkg : finalPackages.values()) {
-            if (pkg.exporters.size() > 1) {
-                pkg.isDuplicateExport = true;
-            }
+        synchronized (this) {
+            index.clear();
         }
-        return FXCollections.observableArrayList(finalPackages.values());
-    }
-
-    private List<PackageDTO> toPackageDTOs(final List<XPackageDTO> exportedPackages) {
-        return exportedPackages.stream().map(this::toPackageDTO).toList();
-    }
-
-    private PackageDTO toPackageDTO(final XPackageDTO xpkg) {
-        final var pkg = new PackageDTO();
-
-        pkg.name    = xpkg.name;
-        pkg.version = xpkg.version;
-
-        return pkg;
+        threadSync.asyncExec(packages::clear);
     }
 
 }
@@ -19,7 +19,6 @@ import static com.osgifx.console.data.supplier.PropertiesInfoSupplier.PROPERTIES
 import static com.osgifx.console.event.topics.DataRetrievedEventTopics.DATA_RETRIEVED_PROPERTIES_TOPIC;
 import static com.osgifx.console.supervisor.Supervisor.AGENT_DISCONNECTED_EVENT_TOPIC;
 import static com.osgifx.console.util.fx.ConsoleFxHelper.makeNullSafe;
-import static javafx.collections.FXCollections.observableArrayList;
 import static org.osgi.service.component.annotations.ReferenceCardinality.OPTIONAL;
 import static org.osgi.service.component.annotations.ReferencePolicyOption.GREEDY;
 
@@ -36,6 +35,7 @@ import org.osgi.service.event.EventHandler;
 import org.osgi.service.event.propertytypes.EventTopics;
 
 import com.osgifx.console.agent.dto.XPropertyDTO;
+import com.osgifx.console.data.manager.KeyedObservableList;
 import com.osgifx.console.data.manager.RuntimeInfoSupplier;
 import com.osgifx.console.supervisor.Supervisor;
 
@@ -59,7 +59,7 @@ public final class PropertiesInfoSupplier implements RuntimeInfoSupplier, EventH
     private volatile Supervisor supervisor;
     private FluentLogger        logger;
 
-    private final ObservableList<XPropertyDTO> properties = observableArrayList();
+    private final KeyedObservableList<XPropertyDTO> properties = new KeyedObservableList<>(p -> p.name);
 
     @Activate
     void activate() {
@@ -74,7 +74,9 @@ public final class PropertiesInfoSupplier implements RuntimeInfoSupplier, EventH
             logger.atWarning().log("Agent not connected");
             return;
         }
-        properties.setAll(makeNullSafe(agent.getAllProperties()));
+        final var latest = makeNullSafe(agent.getAllProperties());
+        final var diff   = properties.diff(latest);
+        threadSync.syncExec(() -> properties.apply(diff));
         RuntimeInfoSupplier.sendEvent(eventAdmin, DATA_RETRIEVED_PROPERTIES_TOPIC);
         logger.atInfo().log("Properties info retrieved successfully");
     }
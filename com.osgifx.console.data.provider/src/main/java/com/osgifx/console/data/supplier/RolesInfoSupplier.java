@@ -23,7 +23,6 @@ import static com.osgifx.console.event.topics.DataRetrievedEventTopics.DATA_RETR
 import static com.osgifx.console.event.topics.RoleActionEventTopics.ROLE_ACTION_EVENT_TOPICS;
 import static com.osgifx.console.supervisor.Supervisor.AGENT_DISCONNECTED_EVENT_TOPIC;
 import static com.osgifx.console.util.fx.ConsoleFxHelper.makeNullSafe;
-import static javafx.collections.FXCollections.observableArrayList;
 import static org.osgi.service.component.annotations.ReferenceCardinality.OPTIONAL;
 import static org.osgi.service.component.annotations.ReferencePolicyOption.GREEDY;
 
@@ -40,8 +39,9 @@ import org.osgi.service.event.EventHandler;
 import org.osgi.service.event.propertytypes.EventTopics;
 
 import com.osgifx.console.agent.dto.XRoleDTO;
+import com.osgifx.console.data.manager.KeyedObservableList;
+import com.osgifx.console.data.manager.RefreshScheduler;
 import com.osgifx.console.data.manager.RuntimeInfoSupplier;
-import com.osgifx.console.executor.Executor;
 import com.osgifx.console.supervisor.Supervisor;
 
 import javafx.collections.ObservableList;
@@ -64,7 +64,7 @@ public final class RolesInfoSupplier implements RuntimeInfoSupplier, EventHandle
     @Reference
     private LoggerFactory       factory;
     @Reference
-    private Executor            executor;
+    private RefreshScheduler    refreshScheduler;
     @Reference
     private EventAdmin          eventAdmin;
     @Reference
@@ -73,7 +73,7 @@ public final class RolesInfoSupplier implements RuntimeInfoSupplier, EventHandle
     private volatile Supervisor supervisor;
     private FluentLogger        logger;
 
-    private final ObservableList<XRoleDTO> roles = observableArrayList();
+    private final KeyedObservableList<XRoleDTO> roles = new KeyedObservableList<>(r -> r.name);
 
     @Activate
     void activate() {
@@ -88,7 +88,9 @@ public final class RolesInfoSupplier implements RuntimeInfoSupplier, EventHandle
             logger.atWarning().log("Agent not connected");
             return;
         }
-        roles.setAll(makeNullSafe(agent.getAllRoles()));
+        final var latest = makeNullSafe(agent.getAllRoles());
+        final var diff   = roles.diff(latest);
+        threadSync.syncExec(() -> roles.apply(diff));
         RuntimeInfoSupplier.sendEvent(eventAdmin, DATA_RETRIEVED_ROLES_TOPIC);
         logger.atInfo().log("Roles info retrieved successfully");
     }
@@ -104,7 +106,7 @@ public final class RolesInfoSupplier implements RuntimeInfoSupplier, EventHandle
             threadSync.asyncExec(roles::clear);
             return;
         }
-        executor.runAsync(this::retrieve);
+        refreshScheduler.request(ROLES_ID);
     }
 
 }
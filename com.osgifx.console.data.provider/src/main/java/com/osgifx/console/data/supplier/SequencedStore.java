@@ -0,0 +1,44 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.data.supplier;
+
+/**
+ * A store which assigns monotonically increasing sequence numbers to its
+ * elements and retains only the most recent ones
+ *
+ * @param <T> the type of the elements
+ */
+interface SequencedStore<T> {
+
+    /**
+     * Returns the sequence number that will be assigned to the next element, i.e.
+     * the exclusive upper bound of the retained elements
+     */
+    long head();
+
+    /**
+     * Returns the sequence number of the oldest retained element
+     */
+    long tail();
+
+    /**
+     * Materializes the element with the specified sequence number
+     *
+     * @return the element or {@code null} if it is not retained anymore
+     */
+    T get(long sequence);
+
+}
@@ -22,7 +22,6 @@ import static com.osgifx.console.event.topics.ConfigurationActionEventTopics.CON
 import static com.osgifx.console.event.topics.DataRetrievedEventTopics.DATA_RETRIEVED_SERVICES_TOPIC;
 import static com.osgifx.console.supervisor.Supervisor.AGENT_DISCONNECTED_EVENT_TOPIC;
 import static com.osgifx.console.util.fx.ConsoleFxHelper.makeNullSafe;
-import static javafx.collections.FXCollections.observableArrayList;
 import static org.osgi.service.component.annotations.ReferenceCardinality.OPTIONAL;
 import static org.osgi.service.component.annotations.ReferencePolicyOption.GREEDY;
 
@@ -39,8 +38,9 @@ import org.osgi.service.event.EventHandler;
 import org.osgi.service.event.propertytypes.EventTopics;
 
 import com.osgifx.console.agent.dto.XServiceDTO;
+import com.osgifx.console.data.manager.KeyedObservableList;
+import com.osgifx.console.data.manager.RefreshScheduler;
 import com.osgifx.console.data.manager.RuntimeInfoSupplier;
-import com.osgifx.console.executor.Executor;
 import com.osgifx.console.supervisor.Supervisor;
 
 import javafx.collections.ObservableList;
@@ -62,7 +62,7 @@ public final class ServicesInfoSupplier implements RuntimeInfoSupplier, EventHan
     @Reference
     private LoggerFactory       factory;
     @Reference
-    private Executor            executor;
+    private RefreshScheduler    refreshScheduler;
     @Reference
     private EventAdmin          eventAdmin;
     @Reference
@@ -71,7 +71,7 @@ public final class ServicesInfoSupplier implements RuntimeInfoSupplier, EventHan
     private volatile Supervisor supervisor;
     private FluentLogger        logger;
 
-    private final ObservableList<XServiceDTO> services = observableArrayList();
+    private final KeyedObservableList<XServiceDTO> services = new KeyedObservableList<>(s -> s.id);
 
     @Activate
     void activate() {
@@ -86,7 +86,9 @@ public final class ServicesInfoSupplier implements RuntimeInfoSupplier, EventHan
             logger.atWarning().log("Agent is not connected");
             return;
         }
-        services.setAll(makeNullSafe(agent.getAllServices()));
+        final var latest = makeNullSafe(agent.getAllServices());
+        final var diff   = services.diff(latest);
+        threadSync.syncExec(() -> services.apply(diff));
         RuntimeInfoSupplier.sendEvent(eventAdmin, DATA_RETRIEVED_SERVICES_TOPIC);
         logger.atInfo().log("Services info retrieved successfully");
     }
@@ -102,7 +104,7 @@ public final class ServicesInfoSupplier implements RuntimeInfoSupplier, EventHan
             threadSync.asyncExec(services::clear);
             return;
         }
-        executor.runAsync(this::retrieve);
+        refreshScheduler.request(SERVICES_ID);
     }
 
 }
@@ -19,7 +19,6 @@ import static com.osgifx.console.data.supplier.ThreadsInfoSupplier.THREADS_ID;
 import static com.osgifx.console.event.topics.DataRetrievedEventTopics.DATA_RETRIEVED_THREADS_TOPIC;
 import static com.osgifx.console.supervisor.Supervisor.AGENT_DISCONNECTED_EVENT_TOPIC;
 import static com.osgifx.console.util.fx.ConsoleFxHelper.makeNullSafe;
-import static javafx.collections.FXCollections.observableArrayList;
 import static org.osgi.service.component.annotations.ReferenceCardinality.OPTIONAL;
 import static org.osgi.service.component.annotations.ReferencePolicyOption.GREEDY;
 
@@ -36,6 +35,7 @@ import org.osgi.service.event.EventHandler;
 import org.osgi.service.event.propertytypes.EventTopics;
 
 import com.osgifx.console.agent.dto.XThreadDTO;
+import com.osgifx.console.data.manager.KeyedObservableList;
 import com.osgifx.console.data.manager.RuntimeInfoSupplier;
 import com.osgifx.console.supervisor.Supervisor;
 
@@ -59,7 +59,7 @@ public final class ThreadsInfoSupplier implements RuntimeInfoSupplier, EventHand
     private volatile Supervisor supervisor;
     private FluentLogger        logger;
 
-    private final ObservableList<XThreadDTO> threads = observableArrayList();
+    private final KeyedObservableList<XThreadDTO> threads = new KeyedObservableList<>(t -> t.id);
 
     @Activate
     void activate() {
@@ -74,7 +74,9 @@ public final class ThreadsInfoSupplier implements RuntimeInfoSupplier, EventHand
             logger.atWarning().log("Agent not connected");
             return;
         }
-        threads.setAll(makeNullSafe(agent.getAllThreads()));
+        final var latest = makeNullSafe(agent.getAllThreads());
+        final var diff   = threads.diff(latest);
+        threadSync.syncExec(() -> threads.apply(diff));
         RuntimeInfoSupplier.sendEvent(eventAdmin, DATA_RETRIEVED_THREADS_TOPIC);
         logger.atInfo().log("Threads info retrieved successfully");
     }
@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.data.supplier;
+
+import com.osgifx.console.agent.dto.XEventDTO;
+import com.osgifx.console.data.provider.EventEntryList;
+
+/**
+ * Virtualized view of the {@link EventJournal} which can be filtered by topic
+ * and time range
+ */
+final class VirtualEventList extends VirtualSequenceList<XEventDTO> implements EventEntryList {
+
+    private final EventJournal journal;
+    private String             topic;
+    private long               from = Long.MIN_VALUE;
+    private long               to   = Long.MAX_VALUE;
+
+    VirtualEventList(final EventJournal journal) {
+        super(journal, new XEventDTO());
+        this.journal = journal;
+    }
+
+    @Override
+    public void filter(final String topic, final long from, final long to) {
+        this.topic = topic == null || topic.isBlank() ? null : topic.trim();
+        this.from  = from;
+        this.to    = to;
+        refilter();
+    }
+
+    @Override
+    public long journalSize() {
+        return journal.size();
+    }
+
+    @Override
+    protected long[] query(final long fromSequence) {
+        if (topic == null && from == Long.MIN_VALUE && to == Long.MAX_VALUE) {
+            return null;
+        }
+        return journal.query(topic, from, to, fromSequence);
+    }
+
+}
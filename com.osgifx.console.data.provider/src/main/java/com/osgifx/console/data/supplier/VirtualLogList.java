@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.data.supplier;
+
+import static com.osgifx.console.data.provider.LogEntryList.ALL_BUNDLES;
+
+import com.osgifx.console.agent.dto.XLogEntryDTO;
+import com.osgifx.console.data.provider.LogEntryList;
+
+/**
+ * Virtualized view of the {@link LogStore} which can be filtered by level and
+ * bundle
+ */
+final class VirtualLogList extends VirtualSequenceList<XLogEntryDTO> implements LogEntryList {
+
+    private final LogStore store;
+    private String         level;
+    private long           bundleId = ALL_BUNDLES;
+
+    VirtualLogList(final LogStore store) {
+        super(store, new XLogEntryDTO());
+        this.store = store;
+    }
+
+    @Override
+    public int capacity() {
+        return store.capacity();
+    }
+
+    @Override
+    public void filter(final String level, final long bundleId) {
+        this.level    = level;
+        this.bundleId = bundleId < 0 ? ALL_BUNDLES : bundleId;
+        refilter();
+    }
+
+    @Override
+    protected long[] query(final long fromSequence) {
+        if (level == null && bundleId == ALL_BUNDLES) {
+            return null;
+        }
+        return store.query(level, bundleId, fromSequence);
+    }
+
+}
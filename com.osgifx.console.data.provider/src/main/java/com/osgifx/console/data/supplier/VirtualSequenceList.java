@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.data.supplier;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javafx.collections.ObservableListBase;
+
+/**
+ * Read-only view of a {@link SequencedStore} ordered from the newest to the
+ * oldest element. The view is a snapshot of the store which only gets advanced
+ * by {@link #sync()} such that the size of the list never changes without a
+ * corresponding change notification. The elements are materialized on access
+ * and the most recently accessed ones are cached.
+ * <p>
+ * Like any other observable list which is bound to a UI control, this list
+ * must only be accessed on the FX application thread.
+ *
+ * @param <T> the type of the elements
+ */
+abstract class VirtualSequenceList<T> extends ObservableListBase<T> {
+
+    private static final int CACHE_SIZE = 1_024;
+
+    private final SequencedStore<T> store;
+    private final T                 evicted;
+    private final Map<Long, T>      cache = new ElementCache<>();
+    private long                    head;
+    private long                    tail;
+    private long[]                  filtered;
+
+    /**
+     * @param store the backing store
+     * @param evicted the placeholder for the elements which are not retained by
+     *            the store anymore
+     */
+    VirtualSequenceList(final SequencedStore<T> store, final T evicted) {
+        this.store   = store;
+        this.evicted = evicted;
+    }
+
+    /**
+     * Returns the sequence numbers of the elements matching the current filter
+     * ordered from the newest to the oldest element
+     *
+     * @param fromSequence the inclusive lower bound of the sequence numbers
+     * @return the sequence numbers or {@code null} if the view is not filtered
+     */
+    protected abstract long[] query(long fromSequence);
+
+    @Override
+    public T get(final int index) {
+        final var sequence = sequence(index);
+        return cache.computeIfAbsent(sequence, s -> {
+            final var element = store.get(s);
+            // the element might have been evicted after the last synchronization
+            return element == null ? evicted : element;
+        });
+    }
+
+    @Override
+    public int size() {
+        return filtered != null ? filtered.length : (int) (head - tail);
+    }
+
+    /**
+     * Re-evaluates the filter and replaces all the elements of the view
+     */
+    protected void refilter() {
+        final var oldSize = size();
+        head     = store.head();
+        tail     = store.tail();
+        filtered = matching(tail, head);
+
+        beginChange();
+        nextRemove(0, placeholders(oldSize));
+        nextAdd(0, size());
+        endChange();
+    }
+
+    /**
+     * Advances the view to the current state of the store and notifies the
+     * listeners about the added and evicted elements
+     */
+    void sync() {
+        final var newHead = store.head();
+        final var newTail = store.tail();
+        if (newHead == head && newTail == tail) {
+            return;
+        }
+        final var oldSize = size();
+        final int added;
+        final int removed;
+        if (filtered == null) {
+            added   = (int) (newHead - Math.max(head, newTail));
+            removed = (int) Math.min(oldSize, Math.max(0, newTail - tail));
+        } else {
+            // only the elements appended since the last synchronization need to be scanned
+            final var newer = matching(Math.max(head, newTail), newHead);
+            var       older = 0;
+            while (older < filtered.length && filtered[filtered.length - 1 - older] < newTail) {
+                older++;
+            }
+            final var sequences = new long[newer.length + filtered.length - older];
+            System.arraycopy(newer, 0, sequences, 0, newer.length);
+            System.arraycopy(filtered, 0, sequences, newer.length, filtered.length - older);
+            added    = newer.length;
+            removed  = older;
+            filtered = sequences;
+        }
+        head = newHead;
+        tail = newTail;
+
+        beginChange();
+        if (removed > 0) {
+            nextRemove(oldSize - removed, placeholders(removed));
+        }
+        if (added > 0) {
+            nextAdd(0, added);
+        }
+        endChange();
+    }
+
+    /**
+     * Queries the matching elements within the specified range of sequence
+     * numbers as the store might have been advanced after its head has been read
+     *
+     * @return the sequence numbers or {@code null} if the view is not filtered
+     */
+    private long[] matching(final long fromSequence, final long toSequence) {
+        final var sequences = query(fromSequence);
+        if (sequences == null) {
+            return null;
+        }
+        var newer = 0;
+        while (newer < sequences.length && sequences[newer] >= toSequence) {
+            newer++;
+        }
+        return newer == 0 ? sequences : Arrays.copyOfRange(sequences, newer, sequences.length);
+    }
+
+    private long sequence(final int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return filtered != null ? filtered[index] : head - 1 - index;
+    }
+
+    /**
+     * The evicted elements cannot be materialized anymore, hence placeholders
+     * are reported as removed elements
+     */
+    private List<T> placeholders(final int count) {
+        final List<T> removed = new ArrayList<>(count);
+        for (var i = 0; i < count; i++) {
+            removed.add(evicted);
+        }
+        return removed;
+    }
+
+    private static final class ElementCache<T> extends LinkedHashMap<Long, T> {
+
+        private static final long serialVersionUID = 1L;
+
+        ElementCache() {
+            super(CACHE_SIZE, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Long, T> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    }
+
+}
@@ -0,0 +1,319 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.smartgraph.graphview;
+
+import static com.osgifx.console.smartgraph.graphview.UtilitiesPoint2D.attractiveFunction;
+import static com.osgifx.console.smartgraph.graphview.UtilitiesPoint2D.repellingFunction;
+
+import java.util.Arrays;
+
+/**
+ * Force-directed layout whose repelling forces are approximated with a
+ * Barnes-Hut quadtree.
+ * <p>
+ * The layout uses the same force functions as {@link UtilitiesPoint2D} but a
+ * group of vertices which is sufficiently far away from a vertex is treated as
+ * a single mass located at its center of mass. This reduces the cost of a step
+ * from {@code O(n^2)} to {@code O(n log n + m)} for {@code n} vertices and
+ * {@code m} adjacencies.
+ * <p>
+ * The layout operates on primitive coordinate arrays only and therefore does
+ * not need to run on the FX application thread. The quadtree is kept between
+ * the steps to avoid reallocations, hence an instance must not be used by
+ * multiple threads concurrently.
+ */
+final class BarnesHutLayout {
+
+    /**
+     * The ratio between the size of a cell and its distance to a vertex below
+     * which the cell gets approximated by its center of mass
+     */
+    static final double DEFAULT_THETA = 0.9;
+
+    private static final int    EMPTY         = -1;
+    private static final double MIN_CELL_SIZE = 1e-3;
+
+    private final double repulsionForce;
+    private final double attractionForce;
+    private final double attractionScale;
+    private final double theta;
+
+    /*
+     * Flattened quadtree: cell c has its children at firstChild[c]..+3 and, if
+     * it is a leaf, the first of its vertices in body[c] whereas the remaining
+     * vertices at the same location are chained via nextBody
+     */
+    private int      cells;
+    private double[] centerX    = new double[64];
+    private double[] centerY    = new double[64];
+    private double[] halfSize   = new double[64];
+    private double[] mass       = new double[64];
+    private double[] massX      = new double[64];
+    private double[] massY      = new double[64];
+    private int[]    firstChild = new int[64];
+    private int[]    body       = new int[64];
+    private int[]    nextBody   = new int[0];
+    private int[]    stack      = new int[64];
+
+    BarnesHutLayout(final double repulsionForce, final double attractionForce, final double attractionScale) {
+        this(repulsionForce, attractionForce, attractionScale, DEFAULT_THETA);
+    }
+
+    BarnesHutLayout(final double repulsionForce,
+                    final double attractionForce,
+                    final double attractionScale,
+                    final double theta) {
+        this.repulsionForce  = repulsionForce;
+        this.attractionForce = attractionForce;
+        this.attractionScale = attractionScale;
+        this.theta           = theta;
+    }
+
+    /**
+     * Performs a single layout step by moving every vertex according to the
+     * forces acting on it. The vertices are kept within the specified bounds.
+     *
+     * @param x the x coordinates of the vertex centers (updated in place)
+     * @param y the y coordinates of the vertex centers (updated in place)
+     * @param radii the radii of the vertices
+     * @param adjacency the indices of the adjacent vertices of every vertex
+     * @param width the width of the area
+     * @param height the height of the area
+     * @return the largest distance a vertex has been moved by
+     */
+    double step(final double[] x,
+                final double[] y,
+                final double[] radii,
+                final int[][] adjacency,
+                final double width,
+                final double height) {
+        final var n = x.length;
+        if (n == 0) {
+            return 0;
+        }
+        buildTree(x, y);
+
+        final var forceX = new double[n];
+        final var forceY = new double[n];
+        for (var i = 0; i < n; i++) {
+            accumulateRepulsion(i, x, y, forceX, forceY);
+            accumulateAttraction(i, x, y, adjacency[i], forceX, forceY);
+        }
+        var maxDisplacement = 0.0;
+        for (var i = 0; i < n; i++) {
+            final var newX = bound(x[i] + forceX[i], radii[i], width);
+            final var newY = bound(y[i] + forceY[i], radii[i], height);
+
+            maxDisplacement = Math.max(maxDisplacement, Math.hypot(newX - x[i], newY - y[i]));
+            x[i]            = newX;
+            y[i]            = newY;
+        }
+        return maxDisplacement;
+    }
+
+    private void accumulateRepulsion(final int i,
+                                     final double[] x,
+                                     final double[] y,
+                                     final double[] forceX,
+                                     final double[] forceY) {
+        final var xi  = x[i];
+        final var yi  = y[i];
+        var       top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            final var cell = stack[--top];
+            if (mass[cell] == 0) {
+                continue;
+            }
+            if (firstChild[cell] == EMPTY) {
+                for (var b = body[cell]; b != EMPTY; b = nextBody[b]) {
+                    if (b != i) {
+                        addRepulsion(i, xi, yi, x[b], y[b], 1, forceX, forceY);
+                    }
+                }
+                continue;
+            }
+            final var dx        = massX[cell] - xi;
+            final var dy        = massY[cell] - yi;
+            final var distance  = Math.sqrt(dx * dx + dy * dy);
+            final var isOutside = Math.abs(xi - centerX[cell]) > halfSize[cell]
+                    || Math.abs(yi - centerY[cell]) > halfSize[cell];
+            if (isOutside && 2 * halfSize[cell] < theta * distance) {
+                addRepulsion(i, xi, yi, massX[cell], massY[cell], mass[cell], forceX, forceY);
+                continue;
+            }
+            if (top + 4 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            }
+            for (var q = 0; q < 4; q++) {
+                stack[top++] = firstChild[cell] + q;
+            }
+        }
+    }
+
+    private void addRepulsion(final int i,
+                              final double xi,
+                              final double yi,
+                              final double toX,
+                              final double toY,
+                              final double weight,
+                              final double[] forceX,
+                              final double[] forceY) {
+        final var dx       = toX - xi;
+        final var dy       = toY - yi;
+        final var distance = Math.sqrt(dx * dx + dy * dy);
+        if (distance == 0) {
+            // coincident vertices do not have a direction to be pushed in
+            return;
+        }
+        final var factor = -weight * repellingFunction(distance, repulsionForce) / distance;
+
+        forceX[i] += dx * factor;
+        forceY[i] += dy * factor;
+    }
+
+    private void accumulateAttraction(final int i,
+                                      final double[] x,
+                                      final double[] y,
+                                      final int[] adjacent,
+                                      final double[] forceX,
+                                      final double[] forceY) {
+        for (final int j : adjacent) {
+            final var dx       = x[j] - x[i];
+            final var dy       = y[j] - y[i];
+            final var distance = Math.sqrt(dx * dx + dy * dy);
+            if (distance == 0) {
+                continue;
+            }
+            final var factor = attractiveFunction(distance, x.length, attractionForce, attractionScale) / distance;
+
+            forceX[i] += dx * factor;
+            forceY[i] += dy * factor;
+        }
+    }
+
+    private void buildTree(final double[] x, final double[] y) {
+        var minX = Double.POSITIVE_INFINITY;
+        var minY = Double.POSITIVE_INFINITY;
+        var maxX = Double.NEGATIVE_INFINITY;
+        var maxY = Double.NEGATIVE_INFINITY;
+        for (var i = 0; i < x.length; i++) {
+            minX = Math.min(minX, x[i]);
+            minY = Math.min(minY, y[i]);
+            maxX = Math.max(maxX, x[i]);
+            maxY = Math.max(maxY, y[i]);
+        }
+        if (nextBody.length < x.length) {
+            nextBody = new int[x.length];
+        }
+        cells = 0;
+        final var half = Math.max(Math.max(maxX - minX, maxY - minY) / 2, MIN_CELL_SIZE) * 1.0001;
+        newCell((minX + maxX) / 2, (minY + maxY) / 2, half);
+
+        for (var i = 0; i < x.length; i++) {
+            insert(i, x, y);
+        }
+        // children are always created after their parents
+        for (var cell = cells - 1; cell >= 0; cell--) {
+            var cellMass = 0.0;
+            var sumX     = 0.0;
+            var sumY     = 0.0;
+            if (firstChild[cell] == EMPTY) {
+                for (var b = body[cell]; b != EMPTY; b = nextBody[b]) {
+                    cellMass++;
+                    sumX += x[b];
+                    sumY += y[b];
+                }
+            } else {
+                for (var q = 0; q < 4; q++) {
+                    final var child = firstChild[cell] + q;
+                    cellMass += mass[child];
+                    sumX     += massX[child] * mass[child];
+                    sumY     += massY[child] * mass[child];
+                }
+            }
+            mass[cell]  = cellMass;
+            massX[cell] = cellMass == 0 ? centerX[cell] : sumX / cellMass;
+            massY[cell] = cellMass == 0 ? centerY[cell] : sumY / cellMass;
+        }
+    }
+
+    private void insert(final int i, final double[] x, final double[] y) {
+        nextBody[i] = EMPTY;
+        var cell = 0;
+        while (true) {
+            if (firstChild[cell] == EMPTY) {
+                final var existing = body[cell];
+                if (existing == EMPTY) {
+                    body[cell] = i;
+                    return;
+                }
+                if (halfSize[cell] < MIN_CELL_SIZE) {
+                    // (almost) coincident vertices share the leaf
+                    nextBody[i] = existing;
+                    body[cell]  = i;
+                    return;
+                }
+                split(cell);
+                body[cell] = EMPTY;
+                body[firstChild[cell] + quadrant(cell, x[existing], y[existing])] = existing;
+            }
+            cell = firstChild[cell] + quadrant(cell, x[i], y[i]);
+        }
+    }
+
+    private void split(final int cell) {
+        final var half  = halfSize[cell] / 2;
+        final var first = newCell(centerX[cell] - half, centerY[cell] - half, half);
+        newCell(centerX[cell] + half, centerY[cell] - half, half);
+        newCell(centerX[cell] - half, centerY[cell] + half, half);
+        newCell(centerX[cell] + half, centerY[cell] + half, half);
+        firstChild[cell] = first;
+    }
+
+    private int newCell(final double x, final double y, final double half) {
+        if (cells == centerX.length) {
+            final var capacity = cells * 2;
+            centerX    = Arrays.copyOf(centerX, capacity);
+            centerY    = Arrays.copyOf(centerY, capacity);
+            halfSize   = Arrays.copyOf(halfSize, capacity);
+            mass       = Arrays.copyOf(mass, capacity);
+            massX      = Arrays.copyOf(massX, capacity);
+            massY      = Arrays.copyOf(massY, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            body       = Arrays.copyOf(body, capacity);
+        }
+        final var cell = cells++;
+        centerX[cell]    = x;
+        centerY[cell]    = y;
+        halfSize[cell]   = half;
+        firstChild[cell] = EMPTY;
+        body[cell]       = EMPTY;
+        return cell;
+    }
+
+    private int quadrant(final int cell, final double x, final double y) {
+        return (x < centerX[cell] ? 0 : 1) + (y < centerY[cell] ? 0 : 2);
+    }
+
+    private static double bound(final double value, final double radius, final double max) {
+        if (max <= 2 * radius) {
+            return value;
+        }
+        return Math.max(radius, Math.min(max - radius, value));
+    }
+
+}
@@ -0,0 +1,436 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.smartgraph.graphview;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.osgifx.console.smartgraph.graph.Edge;
+import com.osgifx.console.smartgraph.graph.Vertex;
+
+import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Shape;
+import javafx.scene.transform.Scale;
+
+/**
+ * Reduces the number of rendered nodes of large graphs displayed in a
+ * {@link SmartGraphPanel}.
+ * <p>
+ * Once the number of vertices exceeds the configured threshold,
+ * <ul>
+ * <li>labels and arrows are only shown from the configured zoom scale on,</li>
+ * <li>vertices and edges outside of the viewport are hidden,</li>
+ * <li>clusters of vertices are collapsed into aggregate vertices below the
+ * configured zoom scale and</li>
+ * <li>edges are drawn on a single {@link Canvas} instead of individual nodes
+ * when their number exceeds the configured threshold or when clusters are
+ * collapsed.</li>
+ * </ul>
+ * Hidden nodes are neither rendered nor picked by JavaFX. The visibility is
+ * recomputed at most once per pulse whenever the panel gets zoomed, panned,
+ * resized or a vertex moves.
+ *
+ * @param <V> Type of element stored at a vertex
+ * @param <E> Type of element stored at an edge
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+final class SmartGraphLevelOfDetail<V, E> {
+
+    // textures larger than this (in pixels) are not supported by all rendering pipelines
+    private static final double MAX_CANVAS_SIZE = 8192;
+    private static final Paint  DEFAULT_EDGE    = Color.web("#FF6D66", 0.8);
+
+    private final Pane                                    panel;
+    private final Map<Vertex<V>, SmartGraphVertexNode<V>> vertexNodes;
+    private final Map<Edge<E, V>, SmartGraphEdgeBase>     edgeNodes;
+    private final boolean                                 isEnabled;
+    private final int                                     vertexThreshold;
+    private final int                                     canvasEdgeThreshold;
+    private final int                                     minClusterSize;
+    private final double                                  detailScale;
+    private final double                                  vertexRadius;
+    private final double                                  arrowSize;
+    private final boolean                                 edgesWithArrows;
+
+    private final Canvas                 edgeCanvas      = new Canvas();
+    private final Scale                  canvasTransform = new Scale(1, 1, 0, 0);
+    private final Group                  aggregateLayer  = new Group();
+    private final Map<Object, Cluster>   clusters        = Maps.newHashMap();
+    private final ChangeListener<Object> invalidation    = (observable, oldValue, newValue) -> invalidate();
+    private Function<V, ?>               clusterFunction;
+    private boolean                      isUpdateScheduled;
+    private boolean                      wasReduced;
+
+    SmartGraphLevelOfDetail(final Pane panel,
+                            final SmartGraphProperties properties,
+                            final Map<Vertex<V>, SmartGraphVertexNode<V>> vertexNodes,
+                            final Map<Edge<E, V>, SmartGraphEdgeBase> edgeNodes) {
+        this.panel               = panel;
+        this.vertexNodes         = vertexNodes;
+        this.edgeNodes           = edgeNodes;
+        this.isEnabled           = properties.getUseLevelOfDetail();
+        this.vertexThreshold     = properties.getLevelOfDetailVertexThreshold();
+        this.canvasEdgeThreshold = properties.getLevelOfDetailCanvasEdgeThreshold();
+        this.minClusterSize      = properties.getLevelOfDetailMinClusterSize();
+        this.detailScale         = properties.getLevelOfDetailScale();
+        this.vertexRadius        = properties.getVertexRadius();
+        this.arrowSize           = properties.getEdgeArrowSize();
+        this.edgesWithArrows     = properties.getUseEdgeArrow();
+
+        edgeCanvas.setMouseTransparent(true);
+        edgeCanvas.setManaged(false);
+        edgeCanvas.setVisible(false);
+        edgeCanvas.getTransforms().add(canvasTransform);
+        aggregateLayer.setManaged(false);
+        aggregateLayer.setMouseTransparent(true);
+    }
+
+    /**
+     * Adds the layers to the panel and starts tracking the viewport. Must be
+     * invoked after the initial graph nodes have been added.
+     */
+    void install() {
+        // the canvas is kept behind all other nodes whereas the aggregates stay on top
+        panel.getChildren().add(0, edgeCanvas);
+        panel.getChildren().add(aggregateLayer);
+
+        panel.localToSceneTransformProperty().addListener(invalidation);
+        panel.layoutBoundsProperty().addListener(invalidation);
+        panel.parentProperty().addListener((observable, oldParent, newParent) -> {
+            if (oldParent != null) {
+                oldParent.layoutBoundsProperty().removeListener(invalidation);
+            }
+            if (newParent != null) {
+                newParent.layoutBoundsProperty().addListener(invalidation);
+            }
+            invalidate();
+        });
+        invalidate();
+    }
+
+    void track(final SmartGraphVertexNode<V> vertex) {
+        vertex.centerXProperty().addListener(invalidation);
+        vertex.centerYProperty().addListener(invalidation);
+    }
+
+    void untrack(final SmartGraphVertexNode<V> vertex) {
+        vertex.centerXProperty().removeListener(invalidation);
+        vertex.centerYProperty().removeListener(invalidation);
+    }
+
+    void setClusterFunction(final Function<V, ?> clusterFunction) {
+        this.clusterFunction = clusterFunction;
+        invalidate();
+    }
+
+    /**
+     * Schedules the recomputation of the visibility, multiple invocations within
+     * the same pulse are coalesced
+     */
+    void invalidate() {
+        if (isUpdateScheduled) {
+            return;
+        }
+        isUpdateScheduled = true;
+        Platform.runLater(this::update);
+    }
+
+    private void update() {
+        isUpdateScheduled = false;
+
+        final var isReduced = isEnabled && vertexNodes.size() >= vertexThreshold;
+        if (!isReduced && !wasReduced) {
+            return;
+        }
+        // once the graph is not reduced anymore, all nodes are made visible again
+        wasReduced = isReduced;
+
+        final var isDetailed   = !isReduced || scale() >= detailScale;
+        final var isCollapsed  = isReduced && !isDetailed && clusterFunction != null;
+        final var isCanvasUsed = isReduced && (edgeNodes.size() >= canvasEdgeThreshold || isCollapsed);
+        final var viewport     = isReduced ? viewport() : null;
+
+        final var collapsedTo = isCollapsed ? collapseClusters() : Map.<SmartGraphVertexNode, Cluster> of();
+        if (!isCollapsed) {
+            clearClusters();
+        }
+        for (final SmartGraphVertexNode<V> vertex : vertexNodes.values()) {
+            final var isVisible = !collapsedTo.containsKey(vertex)
+                    && intersects(viewport, vertex.getCenterX(), vertex.getCenterY(), vertex.getRadius());
+            setVisible(vertex, isVisible);
+            setVisible(vertex.getAttachedLabel(), isVisible && isDetailed);
+        }
+        for (final Cluster cluster : clusters.values()) {
+            final var isVisible = intersects(viewport, cluster.vertex.getCenterX(), cluster.vertex.getCenterY(),
+                    cluster.vertex.getRadius());
+            setVisible(cluster.vertex, isVisible);
+            setVisible(cluster.label, isVisible);
+        }
+        final var graphics = isCanvasUsed ? prepareCanvas(viewport) : releaseCanvas();
+        for (final Map.Entry<Edge<E, V>, SmartGraphEdgeBase> entry : edgeNodes.entrySet()) {
+            final var edgeNode = entry.getValue();
+            final var vertices = entry.getKey().vertices();
+            final var outbound = vertexNodes.get(vertices[0]);
+            final var inbound  = vertexNodes.get(vertices[1]);
+            if (outbound == null || inbound == null) {
+                continue;
+            }
+            final Node from = representative(outbound, collapsedTo);
+            final Node to   = representative(inbound, collapsedTo);
+
+            final var fromX     = centerX(from);
+            final var fromY     = centerY(from);
+            final var toX       = centerX(to);
+            final var toY       = centerY(to);
+            final var isVisible = (from != to || outbound == inbound) && intersects(viewport, fromX, fromY, toX, toY);
+            if (graphics != null) {
+                hide(edgeNode);
+                if (isVisible) {
+                    final var stroke = edgeNode instanceof final Shape shape && shape.getStroke() != null
+                            ? shape.getStroke()
+                            : DEFAULT_EDGE;
+                    graphics.setStroke(stroke);
+                    drawEdge(graphics, viewport, fromX, fromY, toX, toY, ((Circle) to).getRadius(),
+                            isDetailed && edgesWithArrows);
+                }
+            } else {
+                setVisible((Node) edgeNode, isVisible);
+                setVisible(edgeNode.getAttachedArrow(), isVisible && isDetailed);
+                setVisible(edgeNode.getAttachedLabel(), isVisible && isDetailed);
+            }
+        }
+    }
+
+    private Map<SmartGraphVertexNode, Cluster> collapseClusters() {
+        final Map<Object, List<SmartGraphVertexNode<V>>> members = Maps.newHashMap();
+        for (final Map.Entry<Vertex<V>, SmartGraphVertexNode<V>> entry : vertexNodes.entrySet()) {
+            final var key = clusterFunction.apply(entry.getKey().element());
+            if (key != null) {
+                members.computeIfAbsent(key, k -> Lists.newArrayList()).add(entry.getValue());
+            }
+        }
+        members.values().removeIf(vertices -> vertices.size() < minClusterSize);
+        clusters.keySet().removeIf(key -> {
+            if (!members.containsKey(key)) {
+                aggregateLayer.getChildren().removeAll(clusters.get(key).vertex, clusters.get(key).label);
+                return true;
+            }
+            return false;
+        });
+        final Map<SmartGraphVertexNode, Cluster> collapsedTo = Maps.newIdentityHashMap();
+        members.forEach((key, vertices) -> {
+            final var cluster = clusters.computeIfAbsent(key, k -> newCluster());
+            cluster.update(key, vertices);
+            vertices.forEach(vertex -> collapsedTo.put(vertex, cluster));
+        });
+        return collapsedTo;
+    }
+
+    private Cluster newCluster() {
+        final var cluster = new Cluster();
+        aggregateLayer.getChildren().addAll(cluster.vertex, cluster.label);
+        return cluster;
+    }
+
+    private void clearClusters() {
+        clusters.clear();
+        aggregateLayer.getChildren().clear();
+    }
+
+    /**
+     * Sizes the canvas to the viewport in screen pixels and scales it back into
+     * the local coordinates of the panel such that its texture does not grow
+     * when zooming out
+     */
+    private GraphicsContext prepareCanvas(final Bounds viewport) {
+        final var canvasScale = Math.min(scale(), Math.min(MAX_CANVAS_SIZE / Math.max(1, viewport.getWidth()),
+                MAX_CANVAS_SIZE / Math.max(1, viewport.getHeight())));
+        final var width       = Math.ceil(viewport.getWidth() * canvasScale);
+        final var height      = Math.ceil(viewport.getHeight() * canvasScale);
+
+        edgeCanvas.setVisible(true);
+        edgeCanvas.setLayoutX(viewport.getMinX());
+        edgeCanvas.setLayoutY(viewport.getMinY());
+        edgeCanvas.setWidth(width);
+        edgeCanvas.setHeight(height);
+        canvasTransform.setX(1 / canvasScale);
+        canvasTransform.setY(1 / canvasScale);
+
+        final var graphics = edgeCanvas.getGraphicsContext2D();
+        graphics.setTransform(1, 0, 0, 1, 0, 0);
+        graphics.clearRect(0, 0, width, height);
+        // the edges are drawn in the local coordinates relative to the viewport
+        graphics.setTransform(canvasScale, 0, 0, canvasScale, 0, 0);
+        graphics.setLineWidth(1);
+        return graphics;
+    }
+
+    private void drawEdge(final GraphicsContext graphics,
+                          final Bounds viewport,
+                          final double fromX,
+                          final double fromY,
+                          final double toX,
+                          final double toY,
+                          final double targetRadius,
+                          final boolean withArrow) {
+        final var x1 = fromX - viewport.getMinX();
+        final var y1 = fromY - viewport.getMinY();
+        final var x2 = toX - viewport.getMinX();
+        final var y2 = toY - viewport.getMinY();
+        graphics.strokeLine(x1, y1, x2, y2);
+
+        final var length = Math.hypot(x2 - x1, y2 - y1);
+        if (!withArrow || length <= targetRadius) {
+            return;
+        }
+        // the arrow touches the bounds of the target vertex
+        final var ux    = (x2 - x1) / length;
+        final var uy    = (y2 - y1) / length;
+        final var tipX  = x2 - ux * targetRadius;
+        final var tipY  = y2 - uy * targetRadius;
+        final var backX = tipX - ux * arrowSize;
+        final var backY = tipY - uy * arrowSize;
+        graphics.strokeLine(tipX, tipY, backX - uy * arrowSize / 2, backY + ux * arrowSize / 2);
+        graphics.strokeLine(tipX, tipY, backX + uy * arrowSize / 2, backY - ux * arrowSize / 2);
+    }
+
+    private GraphicsContext releaseCanvas() {
+        if (edgeCanvas.isVisible()) {
+            edgeCanvas.setVisible(false);
+            // frees the texture
+            edgeCanvas.setWidth(0);
+            edgeCanvas.setHeight(0);
+        }
+        return null;
+    }
+
+    private void hide(final SmartGraphEdgeBase edgeNode) {
+        setVisible((Node) edgeNode, false);
+        setVisible(edgeNode.getAttachedArrow(), false);
+        setVisible(edgeNode.getAttachedLabel(), false);
+    }
+
+    /**
+     * Returns the scale of the panel in the scene, i.e. the zoom applied by its
+     * containers
+     */
+    private double scale() {
+        final var transform = panel.getLocalToSceneTransform();
+        return Math.hypot(transform.getMxx(), transform.getMyx());
+    }
+
+    /**
+     * Returns the area of the panel (in its local coordinates) which is visible
+     * within its parent
+     */
+    private Bounds viewport() {
+        final var bounds = panel.getLayoutBounds();
+        final var parent = panel.getParent();
+        if (parent == null) {
+            return bounds;
+        }
+        final var visible = panel.sceneToLocal(parent.localToScene(parent.getLayoutBounds()));
+        if (visible == null) {
+            return bounds;
+        }
+        final var minX = Math.max(bounds.getMinX(), visible.getMinX());
+        final var minY = Math.max(bounds.getMinY(), visible.getMinY());
+        final var maxX = Math.min(bounds.getMaxX(), visible.getMaxX());
+        final var maxY = Math.min(bounds.getMaxY(), visible.getMaxY());
+        return new BoundingBox(minX, minY, Math.max(0, maxX - minX), Math.max(0, maxY - minY));
+    }
+
+    private static boolean intersects(final Bounds viewport, final double x, final double y, final double radius) {
+        return viewport == null || viewport.intersects(x - radius, y - radius, 2 * radius, 2 * radius);
+    }
+
+    private static boolean intersects(final Bounds viewport,
+                                      final double x1,
+                                      final double y1,
+                                      final double x2,
+                                      final double y2) {
+        return viewport == null || viewport.intersects(Math.min(x1, x2), Math.min(y1, y2), Math.abs(x2 - x1),
+                Math.abs(y2 - y1));
+    }
+
+    private static Node representative(final SmartGraphVertexNode vertex,
+                                       final Map<SmartGraphVertexNode, Cluster> collapsedTo) {
+        final var cluster = collapsedTo.get(vertex);
+        return cluster == null ? vertex : cluster.vertex;
+    }
+
+    private static double centerX(final Node node) {
+        return ((Circle) node).getCenterX();
+    }
+
+    private static double centerY(final Node node) {
+        return ((Circle) node).getCenterY();
+    }
+
+    private static void setVisible(final Node node, final boolean isVisible) {
+        if (node != null && node.isVisible() != isVisible) {
+            node.setVisible(isVisible);
+        }
+    }
+
+    /**
+     * Aggregate vertex which represents the collapsed vertices of a cluster
+     */
+    private final class Cluster {
+
+        final Circle     vertex = new Circle();
+        final SmartLabel label  = new SmartLabel();
+
+        Cluster() {
+            vertex.getStyleClass().add("aggregate-vertex");
+            label.addStyleClass("aggregate-label");
+            vertex.setMouseTransparent(true);
+            label.setMouseTransparent(true);
+        }
+
+        void update(final Object key, final Collection<SmartGraphVertexNode<V>> members) {
+            var x = 0.0;
+            var y = 0.0;
+            for (final SmartGraphVertexNode<V> member : members) {
+                x += member.getCenterX();
+                y += member.getCenterY();
+            }
+            vertex.setCenterX(x / members.size());
+            vertex.setCenterY(y / members.size());
+            vertex.setRadius(vertexRadius * Math.min(Math.sqrt(members.size()), 4));
+
+            label.setText(key + " (" + members.size() + ")");
+            label.setX(vertex.getCenterX() - label.getLayoutBounds().getWidth() / 2);
+            label.setY(vertex.getCenterY() + vertex.getRadius() + label.getLayoutBounds().getHeight());
+        }
+    }
+
+}
@@ -19,8 +19,6 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Verify.verify;
 import static com.google.common.base.Verify.verifyNotNull;
 import static com.osgifx.console.smartgraph.graphview.UtilitiesJavaFX.pick;
-import static com.osgifx.console.smartgraph.graphview.UtilitiesPoint2D.attractiveForce;
-import static com.osgifx.console.smartgraph.graphview.UtilitiesPoint2D.repellingForce;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -30,11 +28,14 @@ import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -105,14 +106,21 @@ public class SmartGraphPanel<V, E> extends Pane {
     /*
      * AUTOMATIC LAYOUT RELATED ATTRIBUTES
      */
-    public final BooleanProperty automaticLayoutProperty;
-    private AnimationTimer       timer;
-    private final double         repulsionForce;
-    private final double         attractionForce;
-    private final double         attractionScale;
+    public final BooleanProperty             automaticLayoutProperty;
+    private AnimationTimer                   timer;
+    private final BarnesHutLayout            layout;
+    private CompletableFuture<LayoutStep<V>> pendingLayoutStep;
+    private int                              stableLayoutSteps;
 
-    // This value was obtained experimentally
-    private static final int AUTOMATIC_LAYOUT_ITERATIONS = 20;
+    // the layout is considered stable once no vertex moves by more than the
+    // distance (in pixels) for the number of consecutive steps
+    private static final double LAYOUT_CONVERGENCE_DISTANCE = 0.5;
+    private static final int    LAYOUT_CONVERGENCE_STEPS    = 30;
+
+    /*
+     * LEVEL OF DETAIL
+     */
+    private final SmartGraphLevelOfDetail<V, E> levelOfDetail;
 
     /**
      * Constructs a visualization of the graph referenced by <code>theGraph</code>,
@@ -185,9 +193,9 @@ public class SmartGraphPanel<V, E> extends Pane {
 
         this.edgesWithArrows = this.graphProperties.getUseEdgeArrow();
 
-        this.repulsionForce  = this.graphProperties.getRepulsionForce();
-        this.attractionForce = this.graphProperties.getAttractionForce();
-        this.attractionScale = this.graphProperties.getAttractionScale();
+        this.layout = new BarnesHutLayout(this.graphProperties.getRepulsionForce(),
+                                          this.graphProperties.getAttractionForce(),
+                                          this.graphProperties.getAttractionScale());
 
         vertexNodes = Maps.newHashMap();
         edgeNodes   = Maps.newHashMap();
@@ -196,7 +204,9 @@ public class SmartGraphPanel<V, E> extends Pane {
         // set stylesheet and class
         loadStylesheet(cssFile);
 
+        levelOfDetail = new SmartGraphLevelOfDetail<>(this, graphProperties, vertexNodes, edgeNodes);
         initNodes();
+        levelOfDetail.install();
 
         enableDoubleClickListener();
 
@@ -212,6 +222,7 @@ public class SmartGraphPanel<V, E> extends Pane {
         this.automaticLayoutProperty = new SimpleBooleanProperty(false);
         this.automaticLayoutProperty.addListener((observable, oldValue, newValue) -> {
             if (newValue) {
+                stableLayoutSteps = 0;
                 timer.start();
             } else {
                 timer.stop();
@@ -220,13 +231,28 @@ public class SmartGraphPanel<V, E> extends Pane {
 
     }
 
-    private synchronized void runLayoutIteration() {
-        for (var i = 0; i < AUTOMATIC_LAYOUT_ITERATIONS; i++) {
-            resetForces();
-            computeForces();
-            updateForces();
+    /**
+     * Invoked on every frame. The forces are computed on a background thread on a
+     * snapshot of the vertex positions whereas only the finished positions are
+     * published to the scene. A frame is skipped as long as the previous step is
+     * still being computed.
+     */
+    private void runLayoutIteration() {
+        if (pendingLayoutStep != null) {
+            if (!pendingLayoutStep.isDone()) {
+                return;
+            }
+            final var step = pendingLayoutStep.join();
+            pendingLayoutStep = null;
+            if (step != null && publishLayoutStep(step)) {
+                return;
+            }
         }
-        applyForces();
+        final var step = snapshotLayout();
+        pendingLayoutStep = CompletableFuture.supplyAsync(() -> step.compute(layout)).exceptionally(e -> {
+            Logger.getLogger(SmartGraphPanel.class.getName()).log(Level.SEVERE, null, e);
+            return null;
+        });
     }
 
     /**
@@ -345,6 +371,7 @@ public class SmartGraphPanel<V, E> extends Pane {
         removeNodes();
         insertNodes();
         updateLabels();
+        levelOfDetail.invalidate();
     }
 
     /*
@@ -368,6 +395,20 @@ public class SmartGraphPanel<V, E> extends Pane {
         this.edgeClickConsumer = action;
     }
 
+    /**
+     * Sets the function that assigns the vertices to clusters. In large graphs,
+     * the vertices of a cluster are collapsed into a single aggregate vertex as
+     * long as the zoom scale is below the level of detail scale.
+     *
+     * @param clusterFunction function returning the cluster of a vertex element or
+     *            null if the vertex does not belong to any cluster
+     *
+     * @see SmartGraphProperties#getLevelOfDetailScale()
+     */
+    public void setVertexClusterFunction(final Function<V, ?> clusterFunction) {
+        levelOfDetail.setClusterFunction(clusterFunction);
+    }
+
     /*
      * NODES CREATION/UPDATES
      */
@@ -460,6 +501,7 @@ public class SmartGraphPanel<V, E> extends Pane {
 
     private void addVertex(final SmartGraphVertexNode<V> v) {
         getChildren().add(v);
+        levelOfDetail.track(v);
 
         final var labelText = generateVertexLabel(v.getUnderlyingVertex().element());
 
@@ -651,6 +693,7 @@ public class SmartGraphPanel<V, E> extends Pane {
 
     private void removeVertex(final SmartGraphVertexNode v) {
         getChildren().remove(v);
+        levelOfDetail.untrack(v);
 
         final Text attachedLabel = v.getAttachedLabel();
         if (attachedLabel != null) {
@@ -747,60 +790,54 @@ public class SmartGraphPanel<V, E> extends Pane {
     /*
      * AUTOMATIC LAYOUT
      */
-    private void computeForces() {
-        for (final SmartGraphVertexNode<V> v : vertexNodes.values()) {
-            for (final SmartGraphVertexNode<V> other : vertexNodes.values()) {
-                if (v == other) {
-                    continue; // NOP
-                }
-
-                // double k = Math.sqrt(getWidth() * getHeight() / graphVertexMap.size());
-                final var repellingForce = repellingForce(v.getUpdatedPosition(), other.getUpdatedPosition(),
-                        this.repulsionForce);
-
-                double deltaForceX = 0, deltaForceY = 0;
-
-                // compute attractive and reppeling forces
-                // opt to use internal areAdjacent check, because a vertex can be removed from
-                // the underlying graph before we have the chance to remove it from our
-                // internal data structure
-                if (areAdjacent(v, other)) {
-
-                    final var attractiveForce = attractiveForce(v.getUpdatedPosition(), other.getUpdatedPosition(),
-                            vertexNodes.size(), this.attractionForce, this.attractionScale);
-
-                    deltaForceX = attractiveForce.getX() + repellingForce.getX();
-                    deltaForceY = attractiveForce.getY() + repellingForce.getY();
-                } else {
-                    deltaForceX = repellingForce.getX();
-                    deltaForceY = repellingForce.getY();
-                }
-
-                v.addForceVector(deltaForceX, deltaForceY);
-            }
+    private LayoutStep<V> snapshotLayout() {
+        final List<SmartGraphVertexNode<V>>         nodes   = List.copyOf(vertexNodes.values());
+        final Map<SmartGraphVertexNode<V>, Integer> indexes = Maps.newIdentityHashMap();
+        for (var i = 0; i < nodes.size(); i++) {
+            indexes.put(nodes.get(i), i);
         }
+        final var step = new LayoutStep<>(nodes, getLayoutBounds().getWidth(), getLayoutBounds().getHeight());
+        for (var i = 0; i < nodes.size(); i++) {
+            final var node = nodes.get(i);
+
+            step.startX[i] = step.x[i] = node.getCenterX();
+            step.startY[i] = step.y[i] = node.getCenterY();
+            step.radii[i]  = node.getRadius();
+            // a vertex can be removed from the underlying graph before we have the chance
+            // to remove it from our internal data structure
+            // @formatter:off
+            step.adjacency[i] = node.getAdjacentVertices()
+                                    .stream()
+                                    .map(indexes::get)
+                                    .filter(Objects::nonNull)
+                                    .mapToInt(Integer::intValue)
+                                    .toArray();
+            // @formatter:on
+        }
+        return step;
     }
 
-    private boolean areAdjacent(final SmartGraphVertexNode<V> v, final SmartGraphVertexNode<V> u) {
-        return v.isAdjacentTo(u);
-    }
-
-    private void updateForces() {
-        vertexNodes.values().forEach(v -> {
-            v.updateDelta();
-        });
-    }
-
-    private void applyForces() {
-        vertexNodes.values().forEach(v -> {
-            v.moveFromForces();
-        });
-    }
-
-    private void resetForces() {
-        vertexNodes.values().forEach(v -> {
-            v.resetForces();
-        });
+    /**
+     * Moves the vertices to the computed positions and stops the automatic layout
+     * once it has converged. The vertices which are being dragged or which have
+     * been moved while the step was computed keep their current positions.
+     *
+     * @return {@code true} if the layout has converged, otherwise {@code false}
+     */
+    private boolean publishLayoutStep(final LayoutStep<V> step) {
+        for (var i = 0; i < step.nodes.size(); i++) {
+            final var node = step.nodes.get(i);
+            if (node.isDragging() || node.getCenterX() != step.startX[i] || node.getCenterY() != step.startY[i]) {
+                continue;
+            }
+            node.setPosition(step.x[i], step.y[i]);
+        }
+        stableLayoutSteps = step.displacement < LAYOUT_CONVERGENCE_DISTANCE ? stableLayoutSteps + 1 : 0;
+        if (stableLayoutSteps >= LAYOUT_CONVERGENCE_STEPS) {
+            setAutomaticLayout(false);
+            return true;
+        }
+        return false;
     }
 
     private int getTotalEdgesBetween(final Vertex<V> v, final Vertex<V> u) {
@@ -1076,4 +1113,39 @@ public class SmartGraphPanel<V, E> extends Pane {
         return "vertex";
     }
 
+    /**
+     * Positions of the vertices at the time a layout step has been started and,
+     * once computed, after the step has been applied
+     */
+    private static final class LayoutStep<V> {
+
+        final List<SmartGraphVertexNode<V>> nodes;
+        final double[]                      startX;
+        final double[]                      startY;
+        final double[]                      x;
+        final double[]                      y;
+        final double[]                      radii;
+        final int[][]                       adjacency;
+        final double                        width;
+        final double                        height;
+        double                              displacement;
+
+        LayoutStep(final List<SmartGraphVertexNode<V>> nodes, final double width, final double height) {
+            this.nodes     = nodes;
+            this.startX    = new double[nodes.size()];
+            this.startY    = new double[nodes.size()];
+            this.x         = new double[nodes.size()];
+            this.y         = new double[nodes.size()];
+            this.radii     = new double[nodes.size()];
+            this.adjacency = new int[nodes.size()][];
+            this.width     = width;
+            this.height    = height;
+        }
+
+        LayoutStep<V> compute(final BarnesHutLayout layout) {
+            displacement = layout.step(x, y, radii, adjacency, width, height);
+            return this;
+        }
+    }
+
 }
@@ -69,6 +69,21 @@ public class SmartGraphProperties {
     private static final double DEFAULT_ATTRACTION_SCALE  = 10;
     private static final String PROPERTY_ATTRACTION_SCALE = "layout.attraction-scale";
 
+    private static final boolean DEFAULT_LOD_ENABLE  = true;
+    private static final String  PROPERTY_LOD_ENABLE = "lod.enable";
+
+    private static final int    DEFAULT_LOD_VERTEX_THRESHOLD  = 300;
+    private static final String PROPERTY_LOD_VERTEX_THRESHOLD = "lod.vertex-threshold";
+
+    private static final double DEFAULT_LOD_DETAIL_SCALE  = 2;
+    private static final String PROPERTY_LOD_DETAIL_SCALE = "lod.detail-scale";
+
+    private static final int    DEFAULT_LOD_CANVAS_EDGE_THRESHOLD  = 1000;
+    private static final String PROPERTY_LOD_CANVAS_EDGE_THRESHOLD = "lod.canvas-edge-threshold";
+
+    private static final int    DEFAULT_LOD_MIN_CLUSTER_SIZE  = 3;
+    private static final String PROPERTY_LOD_MIN_CLUSTER_SIZE = "lod.min-cluster-size";
+
     private static final String DEFAULT_FILE = "smartgraph.properties";
     private final Properties    properties;
 
@@ -221,6 +236,56 @@ public class SmartGraphProperties {
         return getDoubleProperty(PROPERTY_ARROW_SIZE, DEFAULT_ARROW_SIZE);
     }
 
+    /**
+     * Returns a property that indicates whether the level of detail of large
+     * graphs gets reduced.
+     *
+     * @return corresponding property value
+     */
+    public boolean getUseLevelOfDetail() {
+        return getBooleanProperty(PROPERTY_LOD_ENABLE, DEFAULT_LOD_ENABLE);
+    }
+
+    /**
+     * Returns a property that indicates the number of vertices from which on the
+     * level of detail gets reduced.
+     *
+     * @return corresponding property value
+     */
+    public int getLevelOfDetailVertexThreshold() {
+        return (int) getDoubleProperty(PROPERTY_LOD_VERTEX_THRESHOLD, DEFAULT_LOD_VERTEX_THRESHOLD);
+    }
+
+    /**
+     * Returns a property that indicates the zoom scale from which on labels and
+     * arrows are shown and clusters are expanded in large graphs.
+     *
+     * @return corresponding property value
+     */
+    public double getLevelOfDetailScale() {
+        return getDoubleProperty(PROPERTY_LOD_DETAIL_SCALE, DEFAULT_LOD_DETAIL_SCALE);
+    }
+
+    /**
+     * Returns a property that indicates the number of edges from which on the
+     * edges of large graphs are drawn on a single canvas.
+     *
+     * @return corresponding property value
+     */
+    public int getLevelOfDetailCanvasEdgeThreshold() {
+        return (int) getDoubleProperty(PROPERTY_LOD_CANVAS_EDGE_THRESHOLD, DEFAULT_LOD_CANVAS_EDGE_THRESHOLD);
+    }
+
+    /**
+     * Returns a property that indicates the minimum number of vertices a cluster
+     * needs to be collapsed into an aggregate vertex.
+     *
+     * @return corresponding property value
+     */
+    public int getLevelOfDetailMinClusterSize() {
+        return (int) getDoubleProperty(PROPERTY_LOD_MIN_CLUSTER_SIZE, DEFAULT_LOD_MIN_CLUSTER_SIZE);
+    }
+
     private double getDoubleProperty(final String propertyName, final double defaultValue) {
         final var    property     = properties.getProperty(propertyName, Double.toString(defaultValue));
         final Double parsedDouble = Doubles.tryParse(property);
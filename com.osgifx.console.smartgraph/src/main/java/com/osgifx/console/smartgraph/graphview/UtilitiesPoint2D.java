@@ -51,29 +51,6 @@ public class UtilitiesPoint2D {
         return rotatedOrigin.add(pivot);
     }
 
-    /**
-     * Computes the vector of the attractive force between two nodes.
-     *
-     * @param from Coordinates of the first node
-     * @param to Coordinates of the second node
-     * @param globalCount Global number of nodes
-     * @param force Force factor to be used
-     * @param scale Scale factor to be used
-     *
-     * @return Computed force vector
-     */
-    public static Point2D attractiveForce(final Point2D from,
-                                          final Point2D to,
-                                          final int globalCount,
-                                          final double force,
-                                          final double scale) {
-        final var distance = from.distance(to);
-        final var vec      = to.subtract(from).normalize();
-        final var factor   = attractiveFunction(distance, globalCount, force, scale);
-
-        return vec.multiply(factor);
-    }
-
     /**
      * Computes the value of the scalar attractive force function based on the given
      * distance of a group of nodes.
@@ -89,22 +66,6 @@ public class UtilitiesPoint2D {
         return force * Math.log(distance / scale) * 0.1;
     }
 
-    /**
-     * Computes the vector of the repelling force between two node.
-     *
-     * @param from Coordinates of the first node
-     * @param to Coordinates of the second node
-     * @param scale Scale factor to be used
-     * @return Computed force vector
-     */
-    public static Point2D repellingForce(final Point2D from, final Point2D to, final double scale) {
-        final var distance = from.distance(to);
-        final var vec      = to.subtract(from).normalize();
-        final var factor   = -repellingFunction(distance, scale);
-
-        return vec.multiply(factor);
-    }
-
     /**
      * Computes the value of the scalar repelling force function based on the given
      * distance of two nodes.
@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.supervisor.fleet;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.IOException;
+
+import com.osgifx.console.agent.Agent;
+import com.osgifx.console.agent.dto.XClassloaderLeakDTO;
+import com.osgifx.console.agent.dto.XEventDTO;
+import com.osgifx.console.agent.dto.XLogEntryDTO;
+import com.osgifx.console.supervisor.EventListener;
+import com.osgifx.console.supervisor.LogEntryListener;
+import com.osgifx.console.supervisor.MqttConnection;
+import com.osgifx.console.supervisor.SocketConnection;
+import com.osgifx.console.supervisor.Supervisor;
+import com.osgifx.console.supervisor.rpc.AbstractRpcSupervisor;
+
+/**
+ * A single socket connection of the fleet which acts as the local supervisor
+ * of the remote agent. As the fleet only issues queries, the agent's callbacks,
+ * i.e. the console output, the OSGi events, the logs and the classloader leaks,
+ * are accepted but not consumed. The listeners of the interactive console are
+ * not supported.
+ */
+final class FleetMember extends AbstractRpcSupervisor<Supervisor, Agent> implements Supervisor {
+
+    @Override
+    public RpcType getType() {
+        return RpcType.SOCKET_RPC;
+    }
+
+    @Override
+    public void connect(final SocketConnection socketConnection) throws Exception {
+        checkNotNull(socketConnection, "'socketConnection' cannot be null");
+        connectToSocket(Agent.class, this, socketConnection);
+    }
+
+    @Override
+    public void connect(final MqttConnection mqttConnection) throws Exception {
+        throw new UnsupportedOperationException("Fleet members can only be connected via socket");
+    }
+
+    @Override
+    public void disconnect() throws IOException {
+        if (remoteRPC == null || !isOpen()) {
+            return;
+        }
+        try {
+            getAgent().disconnect();
+        } catch (final Exception e) {
+            // the connection gets closed anyway
+        }
+        remoteRPC.close();
+    }
+
+    @Override
+    public boolean stdout(final String out) throws Exception {
+        // no console is attached
+        return false;
+    }
+
+    @Override
+    public boolean stderr(final String out) throws Exception {
+        // no console is attached
+        return false;
+    }
+
+    @Override
+    public void onOSGiEvent(final XEventDTO event) {
+        // the fleet does not enable the event forwarding
+    }
+
+    @Override
+    public void logged(final XLogEntryDTO logEntry) {
+        // the fleet does not enable the log forwarding
+    }
+
+    @Override
+    public void onClassloaderLeak(final XClassloaderLeakDTO leak) {
+        // the leaks can be queried using Agent#getClassloaderLeakSummary()
+    }
+
+    @Override
+    public void addOSGiEventListener(final EventListener eventListener) {
+        throw new UnsupportedOperationException("Fleet members do not support event listeners");
+    }
+
+    @Override
+    public void removeOSGiEventListener(final EventListener eventListener) {
+        throw new UnsupportedOperationException("Fleet members do not support event listeners");
+    }
+
+    @Override
+    public void addOSGiLogListener(final LogEntryListener logEntryListener) {
+        throw new UnsupportedOperationException("Fleet members do not support log listeners");
+    }
+
+    @Override
+    public void removeOSGiLogListener(final LogEntryListener logEntryListener) {
+        throw new UnsupportedOperationException("Fleet members do not support log listeners");
+    }
+
+}
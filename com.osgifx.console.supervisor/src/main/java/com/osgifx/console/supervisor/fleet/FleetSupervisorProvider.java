@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.supervisor.fleet;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.osgifx.console.supervisor.fleet.FleetSupervisorProvider.PID;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory.Builder;
+import org.eclipse.fx.core.log.FluentLogger;
+import org.eclipse.fx.core.log.LoggerFactory;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+
+import com.osgifx.console.agent.Agent;
+import com.osgifx.console.agent.rpc.RpcStatistics;
+import com.osgifx.console.supervisor.FleetResult;
+import com.osgifx.console.supervisor.FleetSupervisor;
+import com.osgifx.console.supervisor.SocketConnection;
+
+@Component(configurationPid = PID)
+public final class FleetSupervisorProvider implements FleetSupervisor {
+
+    static final String PID = "fleet.supervisor";
+
+    @interface Configuration {
+        int parallelism() default 8;
+    }
+
+    @Reference
+    private LoggerFactory                  factory;
+    private FluentLogger                   logger;
+    private volatile ExecutorService       queryExecutor;
+    private final Map<String, FleetMember> members = new ConcurrentHashMap<>();
+
+    @Activate
+    @Modified
+    void init(final Configuration configuration) {
+        logger = FluentLogger.of(factory.createLogger(getClass().getName()));
+
+        final var parallelism   = Math.max(1, configuration.parallelism());
+        final var threadFactory = new Builder().namingPattern("fx-fleet-query-%d").daemon(true).build();
+        final var previous      = queryExecutor;
+
+        queryExecutor = Executors.newFixedThreadPool(parallelism, threadFactory);
+        if (previous != null) {
+            previous.shutdown();
+        }
+        logger.atInfo().log("Fleet queries will be executed on %s agents in parallel", parallelism);
+    }
+
+    @Deactivate
+    void deactivate() {
+        disconnectAll();
+        queryExecutor.shutdownNow();
+    }
+
+    @Override
+    public void connect(final String name, final SocketConnection connection) throws Exception {
+        checkNotNull(name, "'name' cannot be null");
+        checkNotNull(connection, "'connection' cannot be null");
+
+        disconnect(name);
+        final var member = new FleetMember();
+        member.connect(connection);
+        members.put(name, member);
+        logger.atInfo().log("Agent '%s' has been added to the fleet (%s:%s)", name, connection.host(),
+                connection.port());
+    }
+
+    @Override
+    public void disconnect(final String name) {
+        final var member = members.remove(name);
+        if (member == null) {
+            return;
+        }
+        try {
+            member.disconnect();
+            logger.atInfo().log("Agent '%s' has been removed from the fleet", name);
+        } catch (final Exception e) {
+            logger.atError().withException(e).log("Agent '%s' cannot be disconnected", name);
+        }
+    }
+
+    @Override
+    public void disconnectAll() {
+        Set.copyOf(members.keySet()).forEach(this::disconnect);
+    }
+
+    @Override
+    public Set<String> members() {
+        return Set.copyOf(members.keySet());
+    }
+
+    @Override
+    public <R> CompletableFuture<Map<String, FleetResult<R>>> query(final Function<Agent, R> query,
+                                                                    final long deadlineInMillis) {
+        checkNotNull(query, "'query' cannot be null");
+        checkArgument(deadlineInMillis > 0, "'deadlineInMillis' must be positive");
+
+        final var executor = queryExecutor;
+        final var futures  = new TreeMap<String, CompletableFuture<FleetResult<R>>>();
+        members.forEach((name, member) -> futures.put(name,
+                CompletableFuture.supplyAsync(() -> execute(member, query, deadlineInMillis), executor)));
+
+        return CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new)).thenApply(v -> {
+            final Map<String, FleetResult<R>> results = new TreeMap<>();
+            futures.forEach((name, future) -> results.put(name, future.join()));
+            return results;
+        });
+    }
+
+    /**
+     * Executes the query in the query slot and propagates the deadline to every
+     * remote invocation of the query such that a stalled agent only blocks the
+     * query slot until its deadline. The deadline only starts as soon as a query
+     * slot is available.
+     * <p>
+     * A timed out remote invocation returns {@code null} instead of failing,
+     * hence the query is considered to have timed out if any of its invocations
+     * has timed out, regardless of whether the query has coped with the
+     * {@code null} result or failed on it.
+     */
+    private <R> FleetResult<R> execute(final FleetMember member, final Function<Agent, R> query, final long deadline) {
+        final var start = System.nanoTime();
+        return RpcStatistics.callWithin(deadline, () -> {
+            try {
+                final var result = query.apply(member.getAgent());
+                if (RpcStatistics.isCallTimedOut() || elapsed(start) >= deadline) {
+                    return FleetResult.timedOut(elapsed(start));
+                }
+                return FleetResult.succeeded(result, elapsed(start));
+            } catch (final Exception e) {
+                if (RpcStatistics.isCallTimedOut() || elapsed(start) >= deadline) {
+                    return FleetResult.timedOut(elapsed(start));
+                }
+                return FleetResult.failed(String.valueOf(e), elapsed(start));
+            }
+        });
+    }
+
+    private static long elapsed(final long start) {
+        return NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+}
@@ -19,10 +19,10 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.hivemq.client.mqtt.mqtt5.message.connect.Mqtt5ConnectRestrictions.DEFAULT_MAXIMUM_PACKET_SIZE;
 import static com.hivemq.client.mqtt.mqtt5.message.connect.Mqtt5ConnectRestrictions.DEFAULT_SEND_MAXIMUM_PACKET_SIZE;
+import static com.osgifx.console.agent.rpc.RpcStatistics.LINK_PROBE_METHOD;
 import static com.osgifx.console.supervisor.rpc.AbstractRpcSupervisor.MqttConfig.MAX_CONCURRENT_MSG_TO_RECEIVE;
 import static com.osgifx.console.supervisor.rpc.AbstractRpcSupervisor.MqttConfig.MAX_CONCURRENT_MSG_TO_SEND;
 import static com.osgifx.console.supervisor.rpc.RpcSupervisor.MQTT_CONNECTION_LISTENER_FILTER;
-import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.osgi.service.condition.Condition.CONDITION_ID;
 import static org.osgi.service.condition.Condition.INSTANCE;
 
@@ -30,9 +30,8 @@ import java.net.ConnectException;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ThreadPoolExecutor;
 
 import javax.net.ssl.SSLSocketFactory;
 
@@ -47,8 +46,11 @@ import com.google.common.base.Strings;
 import com.google.mu.util.concurrent.Retryer;
 import com.google.mu.util.concurrent.Retryer.Delay;
 import com.osgifx.console.agent.rpc.RemoteRPC;
+import com.osgifx.console.agent.rpc.RpcExecutor;
+import com.osgifx.console.agent.rpc.RpcExecutor.RejectionPolicy;
 import com.osgifx.console.agent.rpc.mqtt.MqttRPC;
 import com.osgifx.console.agent.rpc.socket.SocketRPC;
+import com.osgifx.console.supervisor.ConnectionStatistics;
 import com.osgifx.console.supervisor.MqttConnection;
 import com.osgifx.console.supervisor.SocketConnection;
 import com.osgifx.console.supervisor.rpc.TokenProvider.TokenConfigDTO;
@@ -100,9 +102,12 @@ public abstract class AbstractRpcSupervisor<S, A> {
     private static final int    SOCKET_RPC_BACKOFF_LIMIT      = 4;
     private static final double SOCKET_RPC_BACKOFF_MULTIPLIER = 1.5d;
 
-    private static final int RPC_POOL_CORE_THREADS_SIZE          = 10;
-    private static final int RPC_POOL_MAX_THREADS_SIZE           = 30;
-    private static final int RPC_POOL_KEEP_ALIVE_TIME_IN_SECONDS = 60;
+    private static final int RPC_POOL_CORE_THREADS_SIZE = 10;
+    private static final int RPC_POOL_MAX_THREADS_SIZE  = 30;
+    private static final int RPC_POOL_QUEUE_CAPACITY    = 500;
+
+    /** The callbacks which can be dropped if the supervisor cannot keep up */
+    private static final Set<String> DROPPABLE_CALLBACKS = Set.of("onOSGiEvent", "logged");
 
     private A                 agent;
     protected int             port;
@@ -222,19 +227,47 @@ public abstract class AbstractRpcSupervisor<S, A> {
         return remoteRPC.isOpen();
     }
 
+    public ConnectionStatistics getConnectionStatistics() {
+        if (remoteRPC == null || !isOpen()) {
+            return null;
+        }
+        final var rpc        = remoteRPC.statistics();
+        final var statistics = new ConnectionStatistics();
+
+        statistics.roundTripTimeInMillis = rpc.roundTripTimeInMillis(LINK_PROBE_METHOD);
+        statistics.jitterInMillis        = rpc.jitterInMillis(LINK_PROBE_METHOD);
+        statistics.inFlightRequests      = rpc.inFlight();
+        statistics.completedRequests     = rpc.completed();
+        statistics.timedOutRequests      = rpc.timedOut();
+        statistics.bytesSent             = rpc.bytesSent();
+        statistics.bytesReceived         = rpc.bytesReceived();
+
+        return statistics;
+    }
+
     private void clearSSLProperties() {
         System.clearProperty("javax.net.ssl.trustStore");
         System.clearProperty("javax.net.ssl.trustStorePassword");
         System.clearProperty("javax.net.ssl.trustStoreType");
     }
 
+    /**
+     * Creates the bounded pool which executes the callbacks of the agent. The
+     * callbacks are executed in a single overflow thread once the pool is
+     * exhausted. They are not executed in the reading thread as a callback which
+     * issues a synchronous request would otherwise never receive its result.
+     * Once the overflow queue is full as well, the events and logs are dropped
+     * whereas the reading thread waits to enqueue any other callback, e.g. the
+     * console output.
+     *
+     * @param namingPattern the naming pattern of the platform threads
+     * @return the pool
+     */
     public static ExecutorService newFixedThreadPool(final String namingPattern) {
         final var threadFactory = new Builder().namingPattern(namingPattern).daemon(true).build();
-        final var executor      = new ThreadPoolExecutor(RPC_POOL_CORE_THREADS_SIZE, RPC_POOL_MAX_THREADS_SIZE,
-                                                         RPC_POOL_KEEP_ALIVE_TIME_IN_SECONDS, SECONDS,
-                                                         new LinkedBlockingQueue<>(), threadFactory);
-        executor.allowCoreThreadTimeOut(true);
-        return executor;
+        return RpcExecutor.newBoundedPool(RPC_POOL_CORE_THREADS_SIZE, RPC_POOL_MAX_THREADS_SIZE,
+                RPC_POOL_QUEUE_CAPACITY, RejectionPolicy.OVERFLOW, DROPPABLE_CALLBACKS::contains, threadFactory,
+                false);
     }
 
 }
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.supervisor.rpc;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency between forwarding the input to the remote agent and
+ * receiving the output which echoes it, i.e. the time from a keystroke to its
+ * echo.
+ * <p>
+ * The output is correlated with the forwarded input by means of the beginning
+ * of its first line. The input which only consists of line terminators or
+ * whitespace cannot be correlated and is not measured. Output which does not
+ * echo the pending input, e.g. the output of a command, is ignored.
+ * <p>
+ * All methods are thread-safe.
+ */
+public final class EchoLatency {
+
+    /** The maximum number of characters of the input to correlate the echo with */
+    private static final int MAX_PROBE_LENGTH = 16;
+
+    /**
+     * The latencies measured so far
+     */
+    public record Statistics(long count, long lastInMillis, long maxInMillis, double averageInMillis) {
+    }
+
+    private String pendingProbe;
+    private long   pendingSince;
+    private long   count;
+    private long   lastInNanos;
+    private long   maxInNanos;
+    private long   totalInNanos;
+
+    /**
+     * Marks the input to have been forwarded. If an earlier input has not been
+     * echoed yet, its measurement is discarded.
+     *
+     * @param input the forwarded input
+     */
+    synchronized void sent(final String input) {
+        final var firstLine = input.strip().lines().findFirst().orElse("").strip();
+        if (firstLine.isEmpty()) {
+            return;
+        }
+        pendingProbe = firstLine.substring(0, Math.min(firstLine.length(), MAX_PROBE_LENGTH));
+        pendingSince = System.nanoTime();
+    }
+
+    /**
+     * Marks output to have been received from the remote agent which completes
+     * the measurement if it echoes the pending input
+     *
+     * @param output the received output
+     */
+    synchronized void echoed(final String output) {
+        if (pendingProbe == null || !isEcho(output)) {
+            return;
+        }
+        lastInNanos   = System.nanoTime() - pendingSince;
+        maxInNanos    = Math.max(maxInNanos, lastInNanos);
+        totalInNanos += lastInNanos;
+        pendingProbe  = null;
+        count++;
+    }
+
+    public synchronized Statistics statistics() {
+        final var average = count == 0 ? 0 : (double) totalInNanos / count / TimeUnit.MILLISECONDS.toNanos(1);
+        return new Statistics(count, TimeUnit.NANOSECONDS.toMillis(lastInNanos),
+                TimeUnit.NANOSECONDS.toMillis(maxInNanos), average);
+    }
+
+    private boolean isEcho(final String output) {
+        if (output.contains(pendingProbe)) {
+            return true;
+        }
+        // the echo of a longer input might be split across several outputs
+        final var stripped = output.strip();
+        return !stripped.isEmpty() && pendingProbe.startsWith(stripped);
+    }
+
+}
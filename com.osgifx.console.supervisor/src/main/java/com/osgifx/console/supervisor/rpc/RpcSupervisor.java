@@ -27,9 +27,13 @@ import static org.osgi.service.condition.Condition.CONDITION_ID;
 
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.Reader;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
@@ -50,12 +54,12 @@ import org.osgi.service.messaging.MessageSubscription;
 
 import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
-import com.google.mu.util.Substring;
 import com.hivemq.client.mqtt.lifecycle.MqttClientConnectedContext;
 import com.hivemq.client.mqtt.lifecycle.MqttClientConnectedListener;
 import com.hivemq.client.mqtt.lifecycle.MqttClientDisconnectedContext;
 import com.hivemq.client.mqtt.lifecycle.MqttClientDisconnectedListener;
 import com.osgifx.console.agent.Agent;
+import com.osgifx.console.agent.dto.XClassloaderLeakDTO;
 import com.osgifx.console.agent.dto.XEventDTO;
 import com.osgifx.console.agent.dto.XLogEntryDTO;
 import com.osgifx.console.agent.rpc.mqtt.MqttRPC;
@@ -82,13 +86,43 @@ public final class RpcSupervisor extends AbstractRpcSupervisor<Supervisor, Agent
             + MQTT_CONNECTION_LISTENER_FILTER_VALUE;
     public static final String MQTT_CONNECTION_LISTENER_FILTER       = "(" + MQTT_CONNECTION_LISTENER_FILTER_PROP + ")";
 
+    private static final int STDIN_BUFFER_SIZE = 1024;
+
     private Appendable                 stdout;
     private Appendable                 stderr;
-    private int                        shell = -100;
+    private int                        shell        = -100;
     private CompletableFuture<Boolean> mqttConnectionPromise;
+    private final EchoLatency          stdinLatency = new EchoLatency();
 
     private final List<EventListener>    eventListeners    = Lists.newCopyOnWriteArrayList();
     private final List<LogEntryListener> logEntryListeners = Lists.newCopyOnWriteArrayList();
+    private volatile CompiledTopics      compiledTopics    = CompiledTopics.compile(List.of());
+
+    /**
+     * The topic patterns of the event listeners at the time of compilation
+     */
+    private record CompiledTopics(Map<EventListener, Collection<String>> topics, TopicTrie<EventListener> trie) {
+
+        static CompiledTopics compile(final List<EventListener> listeners) {
+            final Map<EventListener, Collection<String>> topics = new LinkedHashMap<>();
+            listeners.forEach(l -> topics.put(l, l.topics()));
+            return new CompiledTopics(topics, new TopicTrie<>(topics));
+        }
+
+        boolean isStale(final List<EventListener> listeners) {
+            if (listeners.size() != topics.size()) {
+                return true;
+            }
+            for (final EventListener listener : listeners) {
+                final var current  = listener.topics();
+                final var compiled = topics.get(listener);
+                if (current != compiled && !Objects.equals(current, compiled)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
 
     @Reference
     private LoggerFactory factory;
@@ -175,6 +209,7 @@ public final class RpcSupervisor extends AbstractRpcSupervisor<Supervisor, Agent
     @Override
     public boolean stdout(final String out) throws Exception {
         if (stdout != null) {
+            stdinLatency.echoed(out);
             stdout.append(out);
             return true;
         }
@@ -193,8 +228,12 @@ public final class RpcSupervisor extends AbstractRpcSupervisor<Supervisor, Agent
     @Override
     public void onOSGiEvent(final XEventDTO event) {
         checkNotNull(event, "'event' cannot be null");
-        eventListeners.stream().filter(l -> matchTopic(event.topic, l.topics()))
-                .forEach(listener -> listener.onEvent(event));
+        var compiled = compiledTopics;
+        // the topics of a listener can change while it is registered, e.g. on reconfiguration
+        if (compiled.isStale(eventListeners)) {
+            compiled = compileTopics();
+        }
+        compiled.trie().match(event.topic).forEach(listener -> listener.onEvent(event));
     }
 
     @Override
@@ -203,6 +242,20 @@ public final class RpcSupervisor extends AbstractRpcSupervisor<Supervisor, Agent
         logEntryListeners.forEach(listener -> listener.logged(logEvent));
     }
 
+    @Override
+    public void onClassloaderLeak(final XClassloaderLeakDTO leak) {
+        checkNotNull(leak, "'leak' cannot be null");
+        logger.atWarning().log("Agent detected %s leaked classloader(s) of '%s'", leak.leakedClassloaderCount,
+                leak.symbolicName);
+        // @formatter:off
+        final var event = new Event(CLASSLOADER_LEAK_DETECTED_EVENT_TOPIC,
+                                    Map.of("bundleId", leak.bundleId,
+                                           "symbolicName", String.valueOf(leak.symbolicName),
+                                           "leakedClassloaderCount", leak.leakedClassloaderCount));
+        // @formatter:on
+        eventAdmin.postEvent(event);
+    }
+
     @Override
     public void addOSGiEventListener(final EventListener eventListener) {
         checkNotNull(eventListener, "'eventListener' cannot be null");
@@ -210,6 +263,7 @@ public final class RpcSupervisor extends AbstractRpcSupervisor<Supervisor, Agent
             return;
         }
         eventListeners.add(eventListener);
+        compileTopics();
         sendEvent(EVENT_LISTENER_ADDED_EVENT_TOPIC);
     }
 
@@ -217,6 +271,7 @@ public final class RpcSupervisor extends AbstractRpcSupervisor<Supervisor, Agent
     public void removeOSGiEventListener(final EventListener eventListener) {
         checkNotNull(eventListener, "'eventListener' cannot be null");
         eventListeners.remove(eventListener);
+        compileTopics();
         sendEvent(EVENT_LISTENER_REMOVED_EVENT_TOPIC);
     }
 
@@ -261,34 +316,20 @@ public final class RpcSupervisor extends AbstractRpcSupervisor<Supervisor, Agent
     }
 
     public void setStdin(final InputStream in) throws Exception {
-        final var isr = new InputStreamReader(in);
-
-        final Thread stdin = new Thread("stdin") {
-            @Override
-            public void run() {
-                final var sb = new StringBuilder();
-                while (!isInterrupted()) {
-                    try {
-                        if (isr.ready()) {
-                            final var read = isr.read();
-                            if (read < 0) {
-                                return;
-                            }
-                            sb.append((char) read);
-                        } else if (sb.length() == 0) {
-                            sleep(100);
-                        } else {
-                            getAgent().stdin(sb.toString());
-                            sb.setLength(0);
-                        }
-                    } catch (final Exception e) {
-                        Thread.currentThread().interrupt();
-                        e.printStackTrace();
-                    }
-                }
-            }
-        };
-        stdin.start();
+        final var reader = new InputStreamReader(in);
+        final var pump   = new Thread(() -> pumpStdin(reader), "stdin");
+
+        pump.setDaemon(true);
+        pump.start();
+    }
+
+    /**
+     * Returns the latency from forwarding the input to receiving its echo
+     *
+     * @return the latency measurements
+     */
+    public EchoLatency getStdinLatency() {
+        return stdinLatency;
     }
 
     public void setStreams(final Appendable out, final Appendable err) throws Exception {
@@ -333,29 +374,35 @@ public final class RpcSupervisor extends AbstractRpcSupervisor<Supervisor, Agent
         }
     }
 
-    private static boolean matchTopic(final String receivedEventTopic, final Collection<String> listenerTopics) {
-        if (listenerTopics.contains("*")) {
-            return true;
-        }
-        for (final String topic : listenerTopics) {
-            // positive match if only *
-            if ("*".equals(topic)) {
-                return true;
-            }
-            // positive match if it does contain * at the end and is a substring of the
-            // received event topic
-            if (topic.contains("*")) {
-                final var prefix = Substring.upToIncluding(Substring.last("/")).from(topic).orElse(null);
-                if (receivedEventTopic.startsWith(prefix)) {
-                    return true;
+    private void pumpStdin(final Reader reader) {
+        final var buffer = new char[STDIN_BUFFER_SIZE];
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                // blocks until the next keystroke arrives
+                var read = reader.read(buffer);
+                if (read < 0) {
+                    return;
                 }
+                final var batch = new StringBuilder().append(buffer, 0, read);
+                // coalesce the keystrokes which arrived in the meantime into the same call
+                while (reader.ready() && (read = reader.read(buffer)) > 0) {
+                    batch.append(buffer, 0, read);
+                }
+                final var input = batch.toString();
+                stdinLatency.sent(input);
+                getAgent().stdin(input);
             }
-            // positive match if the it matches exactly the received event topic
-            if (receivedEventTopic.equalsIgnoreCase(topic)) {
-                return true;
-            }
+        } catch (final InterruptedIOException e) {
+            Thread.currentThread().interrupt();
+        } catch (final Exception e) {
+            logger.atError().withException(e).log("Cannot forward the input to the remote agent");
         }
-        return false;
+    }
+
+    private synchronized CompiledTopics compileTopics() {
+        final var compiled = CompiledTopics.compile(eventListeners);
+        compiledTopics = compiled;
+        return compiled;
     }
 
     private void sendEvent(final String topic) {
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.supervisor.rpc;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable trie of topic patterns following the OSGi Event Admin semantics.
+ * <p>
+ * A pattern is either a topic which matches exactly, {@code *} which matches
+ * all topics, or a topic prefix followed by {@code /*} which matches all
+ * topics below that prefix. Matching a topic walks down the trie token by
+ * token and therefore costs O(topic depth) irrespective of the number of
+ * compiled patterns.
+ *
+ * @param <T> the type of the subscribers
+ */
+final class TopicTrie<T> {
+
+    private static final String WILDCARD = "*";
+
+    private final Node<T> root = new Node<>();
+
+    /**
+     * Compiles the patterns of the specified subscribers
+     *
+     * @param subscriptions the topic patterns (key: subscriber)
+     */
+    TopicTrie(final Map<T, ? extends Collection<String>> subscriptions) {
+        subscriptions.forEach((subscriber, patterns) -> patterns.forEach(p -> add(subscriber, p)));
+    }
+
+    /**
+     * Returns the subscribers having at least one pattern matching the specified
+     * topic
+     *
+     * @param topic the topic to match
+     * @return the matching subscribers (never {@code null})
+     */
+    List<T> match(final String topic) {
+        if (topic == null) {
+            return List.of();
+        }
+        final Set<T> matched = new LinkedHashSet<>(root.wildcards);
+        var          node    = root;
+        var          start   = 0;
+        while (node != null) {
+            final var end   = topic.indexOf('/', start);
+            final var token = end < 0 ? topic.substring(start) : topic.substring(start, end);
+            node = node.children.get(token);
+            if (node == null) {
+                break;
+            }
+            if (end < 0) {
+                matched.addAll(node.exact);
+                break;
+            }
+            // wildcards only match if at least one more token follows
+            matched.addAll(node.wildcards);
+            start = end + 1;
+        }
+        return matched.isEmpty() ? List.of() : new ArrayList<>(matched);
+    }
+
+    private void add(final T subscriber, final String pattern) {
+        if (pattern == null || pattern.isEmpty()) {
+            return;
+        }
+        if (WILDCARD.equals(pattern)) {
+            root.wildcards.add(subscriber);
+            return;
+        }
+        // any pattern containing a wildcard is treated as the prefix up to the preceding separator
+        final var wildcard = pattern.indexOf('*');
+        final var prefix   = wildcard < 0 ? pattern
+                : pattern.substring(0, Math.max(0, pattern.lastIndexOf('/', wildcard)));
+        var       node     = root;
+        if (!prefix.isEmpty()) {
+            for (final String token : prefix.split("/", -1)) {
+                node = node.children.computeIfAbsent(token, t -> new Node<>());
+            }
+        }
+        if (wildcard < 0) {
+            node.exact.add(subscriber);
+        } else {
+            node.wildcards.add(subscriber);
+        }
+    }
+
+    private static final class Node<T> {
+
+        private final Map<String, Node<T>> children  = new HashMap<>();
+        private final Set<T>               exact     = new LinkedHashSet<>();
+        private final Set<T>               wildcards = new LinkedHashSet<>();
+    }
+
+}
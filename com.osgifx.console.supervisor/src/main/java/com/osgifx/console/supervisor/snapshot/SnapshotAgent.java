@@ -39,19 +39,26 @@ import com.osgifx.console.agent.dto.DmtDataType;
 import com.osgifx.console.agent.dto.RuntimeDTO;
 import com.osgifx.console.agent.dto.XBundleDTO;
 import com.osgifx.console.agent.dto.XBundleLoggerContextDTO;
+import com.osgifx.console.agent.dto.XClassloaderLeakDTO;
 import com.osgifx.console.agent.dto.XComponentDTO;
 import com.osgifx.console.agent.dto.XConfigurationDTO;
 import com.osgifx.console.agent.dto.XDmtNodeDTO;
 import com.osgifx.console.agent.dto.XHealthCheckDTO;
+import com.osgifx.console.agent.dto.XHealthCheckHistoryDTO;
 import com.osgifx.console.agent.dto.XHealthCheckResultDTO;
 import com.osgifx.console.agent.dto.XHeapUsageDTO;
 import com.osgifx.console.agent.dto.XHttpComponentDTO;
+import com.osgifx.console.agent.dto.XLogEntryDTO;
+import com.osgifx.console.agent.dto.XLogFilterDTO;
 import com.osgifx.console.agent.dto.XMemoryInfoDTO;
 import com.osgifx.console.agent.dto.XPropertyDTO;
 import com.osgifx.console.agent.dto.XResultDTO;
 import com.osgifx.console.agent.dto.XRoleDTO;
 import com.osgifx.console.agent.dto.XRoleDTO.Type;
+import com.osgifx.console.agent.dto.XRpcPoolStatsDTO;
+import com.osgifx.console.agent.dto.XRuntimeSummaryDTO;
 import com.osgifx.console.agent.dto.XServiceDTO;
+import com.osgifx.console.agent.dto.XStartupProfileDTO;
 import com.osgifx.console.agent.dto.XThreadDTO;
 import com.osgifx.console.dto.SnapshotDTO;
 
@@ -192,6 +199,13 @@ public final class SnapshotAgent implements Agent {
         return null;
     }
 
+    @Override
+    public Map<String, XResultDTO> updateBundleLoggerContexts(final Collection<String> bsns,
+                                                              final Map<String, String> logLevels,
+                                                              final boolean isPersistent) {
+        return Collections.emptyMap();
+    }
+
     @Override
     public XResultDTO enableComponentByName(final String name) {
         return null;
@@ -247,6 +261,40 @@ public final class SnapshotAgent implements Agent {
         return snapshotDTO.memoryInfo;
     }
 
+    @Override
+    public XRuntimeSummaryDTO getRuntimeSummary() {
+        final var dto = new XRuntimeSummaryDTO();
+        if (snapshotDTO.bundles != null) {
+            for (final XBundleDTO bundle : snapshotDTO.bundles) {
+                dto.bundles++;
+                switch (String.valueOf(bundle.state)) {
+                    case "ACTIVE" -> dto.activeBundles++;
+                    case "RESOLVED" -> dto.resolvedBundles++;
+                    case "INSTALLED" -> dto.installedBundles++;
+                    case "STARTING", "STOPPING" -> dto.transitioningBundles++;
+                    default -> {
+                        // UNINSTALLED or unknown
+                    }
+                }
+            }
+        }
+        dto.services   = snapshotDTO.services == null ? 0 : snapshotDTO.services.size();
+        dto.components = snapshotDTO.components == null ? 0 : snapshotDTO.components.size();
+        dto.threads    = snapshotDTO.threads == null ? 0 : snapshotDTO.threads.size();
+
+        final var memoryInfo = snapshotDTO.memoryInfo;
+        if (memoryInfo != null) {
+            dto.uptime      = memoryInfo.uptime;
+            dto.maxMemory   = memoryInfo.maxMemory;
+            dto.freeMemory  = memoryInfo.freeMemory;
+            dto.totalMemory = memoryInfo.totalMemory;
+        }
+        // CPU usage is not part of a snapshot
+        dto.systemLoadAverage = -1;
+        dto.processCpuLoad    = -1;
+        return dto;
+    }
+
     @Override
     public Set<String> getGogoCommands() {
         return Collections.emptySet();
@@ -282,6 +330,11 @@ public final class SnapshotAgent implements Agent {
         return Collections.emptyList();
     }
 
+    @Override
+    public List<XHealthCheckHistoryDTO> getHealthCheckHistory() {
+        return Collections.emptyList();
+    }
+
     @Override
     public Map<String, Object> executeExtension(final String name, final Map<String, Object> context) {
         return Collections.emptyMap();
@@ -292,6 +345,21 @@ public final class SnapshotAgent implements Agent {
         return snapshotDTO.classloaderLeaks;
     }
 
+    @Override
+    public List<XClassloaderLeakDTO> getClassloaderLeakSummary() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public XStartupProfileDTO getStartupProfile() {
+        return null;
+    }
+
+    @Override
+    public XRpcPoolStatsDTO getRpcPoolStats() {
+        return null;
+    }
+
     @Override
     public List<XHttpComponentDTO> getHttpComponents() {
         return snapshotDTO.httpComponents;
@@ -337,6 +405,11 @@ public final class SnapshotAgent implements Agent {
         // nothing to do
     }
 
+    @Override
+    public List<XLogEntryDTO> getLogs(final XLogFilterDTO filter) {
+        return Collections.emptyList();
+    }
+
     @Override
     public boolean isReceivingEventEnabled() {
         return false;
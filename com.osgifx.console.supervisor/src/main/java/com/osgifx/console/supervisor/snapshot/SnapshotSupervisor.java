@@ -30,8 +30,10 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.propertytypes.SatisfyingConditionTarget;
 
 import com.osgifx.console.agent.Agent;
+import com.osgifx.console.agent.dto.XClassloaderLeakDTO;
 import com.osgifx.console.agent.dto.XEventDTO;
 import com.osgifx.console.agent.dto.XLogEntryDTO;
+import com.osgifx.console.supervisor.ConnectionStatistics;
 import com.osgifx.console.supervisor.EventListener;
 import com.osgifx.console.supervisor.LogEntryListener;
 import com.osgifx.console.supervisor.MqttConnection;
@@ -105,6 +107,11 @@ public final class SnapshotSupervisor implements Supervisor {
         logger.atInfo().log(NOT_IMPLEMENTED_LOG);
     }
 
+    @Override
+    public void onClassloaderLeak(final XClassloaderLeakDTO leak) {
+        logger.atInfo().log(NOT_IMPLEMENTED_LOG);
+    }
+
     @Override
     public void addOSGiEventListener(final EventListener eventListener) {
         logger.atInfo().log(NOT_IMPLEMENTED_LOG);
@@ -130,4 +137,9 @@ public final class SnapshotSupervisor implements Supervisor {
         return agent;
     }
 
+    @Override
+    public ConnectionStatistics getConnectionStatistics() {
+        return null;
+    }
+
 }
@@ -0,0 +1,221 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.ui.bundles.dialog;
+
+import static com.osgifx.console.constants.FxConstants.STANDARD_CSS;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.osgifx.console.agent.dto.XStartupProfileDTO;
+import com.osgifx.console.agent.dto.XStartupProfileDTO.BundleTimelineDTO;
+
+import javafx.geometry.Insets;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.Dialog;
+import javafx.scene.control.Label;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.control.Tooltip;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Line;
+import javafx.scene.shape.Rectangle;
+import javafx.stage.StageStyle;
+
+/**
+ * Renders the startup profile of the remote framework as a Gantt chart. Every
+ * row represents a bundle with its waiting (resolved to starting), activation
+ * (starting to started) and DS component registration phases. The bundles on
+ * the critical path are highlighted.
+ */
+public final class StartupTimelineDialog extends Dialog<Void> {
+
+    private static final double ROW_HEIGHT     = 20;
+    private static final double BAR_HEIGHT     = 12;
+    private static final double LABEL_WIDTH    = 300;
+    private static final double CHART_WIDTH    = 900;
+    private static final Color  WAITING_COLOR  = Color.LIGHTGRAY;
+    private static final Color  ACTIVATE_COLOR = Color.STEELBLUE;
+    private static final Color  DS_COLOR       = Color.SEAGREEN;
+    private static final Color  CRITICAL_COLOR = Color.CRIMSON;
+
+    public void init(final XStartupProfileDTO profile) {
+        final var dialogPane = getDialogPane();
+        initStyle(StageStyle.UNDECORATED);
+        dialogPane.getStylesheets().add(getClass().getResource(STANDARD_CSS).toExternalForm());
+
+        dialogPane.setHeaderText("Framework Startup Timeline");
+        dialogPane.getButtonTypes().add(ButtonType.CLOSE);
+
+        final var content = new BorderPane();
+        content.setTop(createSummary(profile));
+        content.setCenter(createChart(profile));
+        content.setBottom(createLegend());
+        content.setPrefSize(LABEL_WIDTH + CHART_WIDTH + 40, 600);
+
+        dialogPane.setContent(content);
+        setResizable(true);
+    }
+
+    private Label createSummary(final XStartupProfileDTO profile) {
+        final var summary = new StringBuilder();
+        if (profile.frameworkStartedAt >= 0) {
+            summary.append(String.format("Framework started after %s", formatMicros(profile.frameworkStartedAt)));
+        } else if (!profile.isFrameworkStartupObserved) {
+            summary.append("Framework had already been started when the agent started profiling");
+        } else {
+            summary.append("Framework is still starting");
+        }
+        summary.append(String.format(" | Critical path: %d bundle(s), %s", profile.criticalPath.size(),
+                formatMicros(profile.criticalPathDuration)));
+        if (profile.isTruncated) {
+            summary.append(" | Profile truncated");
+        }
+        final var label = new Label(summary.toString());
+        label.setPadding(new Insets(0, 0, 8, 0));
+        return label;
+    }
+
+    private ScrollPane createChart(final XStartupProfileDTO profile) {
+        final var chart = new Pane();
+        final var end   = Math.max(1, endOf(profile));
+        final var scale = CHART_WIDTH / end;
+        final var names = new HashMap<Long, String>();
+
+        profile.timelines.forEach(t -> names.put(t.bundleId, t.symbolicName));
+        var row = 0;
+        for (final BundleTimelineDTO timeline : profile.timelines) {
+            final var y = row++ * ROW_HEIGHT;
+            addRow(chart, timeline, y, scale, names);
+        }
+        if (profile.frameworkStartedAt >= 0) {
+            final var x    = LABEL_WIDTH + profile.frameworkStartedAt * scale;
+            final var line = new Line(x, 0, x, row * ROW_HEIGHT);
+            line.setStroke(CRITICAL_COLOR);
+            line.getStrokeDashArray().addAll(4d, 4d);
+            Tooltip.install(line, new Tooltip("Framework started"));
+            chart.getChildren().add(line);
+        }
+        chart.setPrefSize(LABEL_WIDTH + CHART_WIDTH + 10, row * ROW_HEIGHT);
+        return new ScrollPane(chart);
+    }
+
+    private void addRow(final Pane chart,
+                        final BundleTimelineDTO timeline,
+                        final double y,
+                        final double scale,
+                        final Map<Long, String> names) {
+        final var label = new Label(timeline.bundleId + " - " + timeline.symbolicName);
+        label.setLayoutY(y);
+        label.setMaxWidth(LABEL_WIDTH - 10);
+        if (timeline.isOnCriticalPath) {
+            label.setTextFill(CRITICAL_COLOR);
+            label.setStyle("-fx-font-weight: bold");
+        }
+        chart.getChildren().add(label);
+
+        final var tooltip = new Tooltip(describe(timeline, names));
+        if (timeline.resolvedAt >= 0 && timeline.startingAt > timeline.resolvedAt) {
+            addBar(chart, timeline.resolvedAt, timeline.startingAt, y, scale, WAITING_COLOR, tooltip, false);
+        }
+        if (timeline.startingAt >= 0 && timeline.startedAt >= timeline.startingAt) {
+            addBar(chart, timeline.startingAt, timeline.startedAt, y, scale, ACTIVATE_COLOR, tooltip,
+                    timeline.isOnCriticalPath);
+        }
+        if (timeline.firstComponentAt >= 0) {
+            final var from = timeline.startedAt >= 0 ? Math.min(timeline.startedAt, timeline.firstComponentAt)
+                    : timeline.firstComponentAt;
+            addBar(chart, from, timeline.lastComponentAt, y, scale, DS_COLOR, tooltip, timeline.isOnCriticalPath);
+        }
+    }
+
+    private void addBar(final Pane chart,
+                        final long from,
+                        final long to,
+                        final double y,
+                        final double scale,
+                        final Color color,
+                        final Tooltip tooltip,
+                        final boolean isCritical) {
+        // ensure that very short phases are still visible
+        final var width = Math.max(2, (to - from) * scale);
+        final var bar   = new Rectangle(LABEL_WIDTH + from * scale, y + (ROW_HEIGHT - BAR_HEIGHT) / 2, width,
+                                        BAR_HEIGHT);
+        bar.setFill(color);
+        if (isCritical) {
+            bar.setStroke(CRITICAL_COLOR);
+            bar.setStrokeWidth(1.5);
+        }
+        Tooltip.install(bar, tooltip);
+        chart.getChildren().add(bar);
+    }
+
+    private HBox createLegend() {
+        final var legend = new HBox(12);
+        legend.setPadding(new Insets(8, 0, 0, 0));
+        legend.getChildren().addAll(legendEntry("Waiting", WAITING_COLOR), legendEntry("Activation", ACTIVATE_COLOR),
+                legendEntry("DS Components", DS_COLOR), legendEntry("Critical Path", CRITICAL_COLOR));
+        return legend;
+    }
+
+    private Label legendEntry(final String text, final Color color) {
+        final var label = new Label(text, new Rectangle(12, 12, color));
+        label.setGraphicTextGap(4);
+        return label;
+    }
+
+    private String describe(final BundleTimelineDTO timeline, final Map<Long, String> names) {
+        final var description = new StringBuilder(timeline.symbolicName).append('\n');
+        appendTime(description, "Resolved", timeline.resolvedAt);
+        appendTime(description, "Starting", timeline.startingAt);
+        appendTime(description, "Started", timeline.startedAt);
+        if (timeline.startingAt >= 0 && timeline.startedAt >= timeline.startingAt) {
+            description.append("Activation: ").append(formatMicros(timeline.startedAt - timeline.startingAt))
+                    .append('\n');
+        }
+        appendTime(description, "First DS Component", timeline.firstComponentAt);
+        appendTime(description, "Last DS Component", timeline.lastComponentAt);
+        description.append(String.format("DS Components: %d registered, %d active, %d declared%n",
+                timeline.registeredComponentCount, timeline.activeComponentCount, timeline.componentCount));
+        if (timeline.gatingBundleId >= 0) {
+            description.append("Gated By: ").append(names.getOrDefault(timeline.gatingBundleId,
+                    String.valueOf(timeline.gatingBundleId)));
+        }
+        return description.toString().trim();
+    }
+
+    private void appendTime(final StringBuilder description, final String name, final long micros) {
+        if (micros >= 0) {
+            description.append(name).append(": ").append(formatMicros(micros)).append('\n');
+        }
+    }
+
+    private long endOf(final XStartupProfileDTO profile) {
+        var end = profile.frameworkStartedAt;
+        for (final BundleTimelineDTO timeline : profile.timelines) {
+            end = Math.max(end, Math.max(timeline.startedAt, timeline.lastComponentAt));
+            end = Math.max(end, Math.max(timeline.resolvedAt, timeline.startingAt));
+        }
+        return end;
+    }
+
+    private static String formatMicros(final long micros) {
+        return String.format("%.3f ms", micros / 1000.0);
+    }
+
+}
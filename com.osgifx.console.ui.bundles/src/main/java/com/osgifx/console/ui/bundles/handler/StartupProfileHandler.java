@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.ui.bundles.handler;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.eclipse.e4.core.di.annotations.CanExecute;
+import org.eclipse.e4.core.di.annotations.Execute;
+import org.eclipse.e4.core.di.annotations.Optional;
+import org.eclipse.fx.core.ThreadSynchronize;
+import org.eclipse.fx.core.log.FluentLogger;
+import org.eclipse.fx.core.log.Log;
+
+import com.osgifx.console.agent.dto.XStartupProfileDTO;
+import com.osgifx.console.executor.Executor;
+import com.osgifx.console.supervisor.Supervisor;
+import com.osgifx.console.ui.bundles.dialog.StartupTimelineDialog;
+import com.osgifx.console.util.fx.Fx;
+import com.osgifx.console.util.fx.FxDialog;
+
+import javafx.concurrent.Task;
+
+public final class StartupProfileHandler {
+
+    @Log
+    @Inject
+    private FluentLogger      logger;
+    @Inject
+    private Executor          executor;
+    @Inject
+    @Optional
+    private Supervisor        supervisor;
+    @Inject
+    @Named("is_connected")
+    private boolean           isConnected;
+    @Inject
+    @Named("is_snapshot_agent")
+    private boolean           isSnapshotAgent;
+    @Inject
+    private ThreadSynchronize threadSync;
+
+    @Execute
+    public void execute() {
+        final Task<Void> profileTask = new Task<>() {
+
+            @Override
+            protected Void call() throws Exception {
+                try {
+                    final var agent   = supervisor.getAgent();
+                    final var profile = agent.getStartupProfile();
+                    if (profile == null) {
+                        logger.atWarning().log("Startup profile is not available");
+                        threadSync.asyncExec(() -> Fx.showErrorNotification("Startup Profile",
+                                "Startup profile is not available"));
+                        return null;
+                    }
+                    logger.atInfo().log("Startup profile with %s bundle timelines has been retrieved",
+                            profile.timelines.size());
+                    threadSync.asyncExec(() -> showDialog(profile));
+                } catch (final Exception e) {
+                    logger.atError().withException(e).log("Startup profile cannot be retrieved");
+                    threadSync.asyncExec(() -> FxDialog.showExceptionDialog(e, getClass().getClassLoader()));
+                }
+                return null;
+            }
+        };
+        executor.runAsync(profileTask);
+    }
+
+    @CanExecute
+    public boolean canExecute() {
+        return isConnected && !isSnapshotAgent;
+    }
+
+    private void showDialog(final XStartupProfileDTO profile) {
+        final var dialog = new StartupTimelineDialog();
+        dialog.init(profile);
+        dialog.show();
+    }
+
+}
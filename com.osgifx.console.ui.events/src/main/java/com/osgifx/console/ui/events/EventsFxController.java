@@ -16,11 +16,11 @@
 package com.osgifx.console.ui.events;
 
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 
-import org.controlsfx.control.table.TableFilter;
 import org.controlsfx.control.table.TableRowExpanderColumn;
 import org.controlsfx.control.table.TableRowExpanderColumn.TableRowDataFeatures;
 import org.eclipse.e4.core.di.extensions.OSGiBundle;
@@ -31,13 +31,18 @@ import org.osgi.framework.BundleContext;
 
 import com.osgifx.console.agent.dto.XEventDTO;
 import com.osgifx.console.data.provider.DataProvider;
+import com.osgifx.console.data.provider.EventEntryList;
 import com.osgifx.console.util.fx.DTOCellValueFactory;
 import com.osgifx.console.util.fx.Fx;
 
+import javafx.collections.ListChangeListener;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
+import javafx.scene.control.TextField;
 import javafx.scene.layout.GridPane;
 
 public final class EventsFxController {
@@ -50,6 +55,12 @@ public final class EventsFxController {
     private FXMLLoader                      loader;
     @FXML
     private TableView<XEventDTO>            table;
+    @FXML
+    private TextField                       topicFilter;
+    @FXML
+    private ComboBox<TimeRange>             timeRangeFilter;
+    @FXML
+    private Label                           journalSizeLabel;
     @Inject
     @OSGiBundle
     private BundleContext                   context;
@@ -94,28 +105,71 @@ public final class EventsFxController {
         final var receivedAtColumn = new TableColumn<XEventDTO, Date>("Received At");
 
         receivedAtColumn.setPrefWidth(290);
+        receivedAtColumn.setSortable(false);
         receivedAtColumn.setCellValueFactory(new DTOCellValueFactory<>("received", Date.class));
 
         final var topicColumn = new TableColumn<XEventDTO, String>("Topic");
 
         topicColumn.setPrefWidth(650);
+        topicColumn.setSortable(false);
         topicColumn.setCellValueFactory(new DTOCellValueFactory<>("topic", String.class));
 
         table.getColumns().add(expanderColumn);
         table.getColumns().add(receivedAtColumn);
         table.getColumns().add(topicColumn);
 
+        // the events are already ordered from the newest to the oldest one
         final var events = dataProvider.events();
         table.setItems(events);
 
-        TableFilter.forTableView(table).lazy(true).apply();
-        sortByReceivedAt(receivedAtColumn);
+        if (events instanceof final EventEntryList entries) {
+            initFilters(entries);
+        }
     }
 
-    private void sortByReceivedAt(final TableColumn<XEventDTO, Date> column) {
-        column.setSortType(TableColumn.SortType.DESCENDING);
-        table.getSortOrder().add(column);
-        table.sort();
+    private void initFilters(final EventEntryList entries) {
+        timeRangeFilter.getItems().setAll(TimeRange.values());
+        timeRangeFilter.getSelectionModel().select(TimeRange.ALL);
+        timeRangeFilter.setOnAction(e -> applyFilter(entries));
+        topicFilter.setOnAction(e -> applyFilter(entries));
+
+        updateJournalSize(entries);
+        entries.addListener((ListChangeListener<XEventDTO>) c -> updateJournalSize(entries));
+    }
+
+    private void applyFilter(final EventEntryList entries) {
+        final var topic     = topicFilter.getText();
+        final var timeRange = timeRangeFilter.getSelectionModel().getSelectedItem();
+        final var from      = timeRange == null || timeRange == TimeRange.ALL ? Long.MIN_VALUE
+                : System.currentTimeMillis() - timeRange.millis;
+
+        entries.filter(topic, from, Long.MAX_VALUE);
+        logger.atDebug().log("Events filtered by topic '%s' received after '%s'", topic, from);
+    }
+
+    private void updateJournalSize(final EventEntryList entries) {
+        journalSizeLabel.setText("Journal size: " + entries.journalSize() / 1024 + " KB");
+    }
+
+    private enum TimeRange {
+        ALL("All", 0),
+        LAST_5_MINUTES("Last 5 minutes", TimeUnit.MINUTES.toMillis(5)),
+        LAST_15_MINUTES("Last 15 minutes", TimeUnit.MINUTES.toMillis(15)),
+        LAST_HOUR("Last hour", TimeUnit.HOURS.toMillis(1)),
+        LAST_6_HOURS("Last 6 hours", TimeUnit.HOURS.toMillis(6));
+
+        private final String label;
+        private final long   millis;
+
+        TimeRange(final String label, final long millis) {
+            this.label  = label;
+            this.millis = millis;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
     }
 
 }
@@ -18,11 +18,13 @@ package com.osgifx.console.ui.events.handler;
 import static com.osgifx.console.event.topics.EventReceiveEventTopics.EVENT_RECEIVE_STARTED_EVENT_TOPIC;
 import static com.osgifx.console.event.topics.EventReceiveEventTopics.EVENT_RECEIVE_STOPPED_EVENT_TOPIC;
 import static com.osgifx.console.supervisor.Supervisor.AGENT_CONNECTED_EVENT_TOPIC;
+import static org.osgi.framework.Constants.SERVICE_PID;
 
 import java.io.IOException;
 import java.util.Dictionary;
+import java.util.HashMap;
+import java.util.Hashtable;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
@@ -195,12 +197,20 @@ public final class EventReceiveMenuContributionHandler {
     private void updateConfig(final Set<String> topics) {
         try {
             final var configuration = configAdmin.getConfiguration(PID, "?");
+            final var current       = configuration.getProperties();
+            // retain the other properties, e.g. the retention of the events journal
+            final Dictionary<String, Object> properties = current == null ? new Hashtable<>()
+                    : FrameworkUtil.asDictionary(new HashMap<>(FrameworkUtil.asMap(current)));
+            properties.remove(SERVICE_PID);
             if (!topics.isEmpty()) {
-                final Dictionary<String, String[]> properties = FrameworkUtil
-                        .asDictionary(Map.of("topics", topics.toArray(new String[0])));
-                configuration.update(properties);
+                properties.put("topics", topics.toArray(new String[0]));
             } else {
+                properties.remove("topics");
+            }
+            if (properties.isEmpty()) {
                 configuration.delete();
+            } else {
+                configuration.update(properties);
             }
         } catch (final IOException e) {
             logger.atError().withException(e).log("Cannot retrieve configuration '%s'", PID);
@@ -0,0 +1,229 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.ui.graph;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.osgifx.console.agent.dto.XBundleDTO;
+import com.osgifx.console.agent.dto.XBundleInfoDTO;
+import com.osgifx.console.ui.graph.RuntimeBundleGraph.Strategy;
+
+/**
+ * Incrementally maintained wiring graph of the remote bundles.
+ * <p>
+ * Every bundle gets a dense index which is retained as long as the bundle
+ * exists and is reused after the bundle got uninstalled. The wired bundles are
+ * stored as adjacency arrays of these indices per {@link Strategy}. An
+ * {@link #update(List)} only rebuilds the adjacency arrays of the bundles
+ * whose wiring has changed and the {@link ReachabilityEngine}s are only
+ * recreated if any wiring has changed at all.
+ * <p>
+ * This class is not thread-safe.
+ */
+final class BundleDependencyModel {
+
+    private static final int[]  NO_TARGETS  = new int[0];
+    private static final long[] NO_WIRINGS  = new long[0];
+    private static final int    INITIAL_CAP = 64;
+
+    private final Map<Long, Integer>         indices = new HashMap<>();
+    private final Deque<Integer>             free    = new ArrayDeque<>();
+    private BundleVertex[]                   vertices;
+    private long[][]                         providerWirings;
+    private long[][]                         requirerWirings;
+    private int[][]                          providers;
+    private int[][]                          requirers;
+    private int                              size;
+    private ReachabilityEngine<BundleVertex> providerEngine;
+    private ReachabilityEngine<BundleVertex> requirerEngine;
+
+    BundleDependencyModel() {
+        vertices        = new BundleVertex[INITIAL_CAP];
+        providerWirings = new long[INITIAL_CAP][];
+        requirerWirings = new long[INITIAL_CAP][];
+        providers       = new int[INITIAL_CAP][];
+        requirers       = new int[INITIAL_CAP][];
+    }
+
+    /**
+     * Applies the difference between the current model and the specified bundles
+     *
+     * @param bundles the current bundles of the remote runtime
+     * @return the number of applied changes ({@code 0} if nothing has changed)
+     */
+    int update(final List<XBundleDTO> bundles) {
+        var changes = 0;
+        // first pass: assign indices such that the wirings can be resolved
+        final var present = new BitSet(size);
+        for (final XBundleDTO bundle : bundles) {
+            final var index = indices.get(bundle.id);
+            if (index == null) {
+                present.set(add(bundle.id, bundle.symbolicName));
+                changes++;
+            } else {
+                if (!vertices[index].symbolicName().equals(bundle.symbolicName)) {
+                    vertices[index] = new BundleVertex(bundle.symbolicName, bundle.id);
+                    changes++;
+                }
+                present.set(index);
+            }
+        }
+        // second pass: rebuild the adjacency arrays of the rewired bundles only
+        for (final XBundleDTO bundle : bundles) {
+            final int index            = indices.get(bundle.id);
+            final var providerWiring   = wiring(bundle.wiredBundlesAsProvider);
+            final var requirerWiring   = wiring(bundle.wiredBundlesAsRequirer);
+            final var isProviderWiring = !Arrays.equals(providerWiring, providerWirings[index]);
+            final var isRequirerWiring = !Arrays.equals(requirerWiring, requirerWirings[index]);
+            if (isProviderWiring) {
+                providerWirings[index] = providerWiring;
+                providers[index]       = resolve(bundle.wiredBundlesAsProvider);
+            }
+            if (isRequirerWiring) {
+                requirerWirings[index] = requirerWiring;
+                requirers[index]       = resolve(bundle.wiredBundlesAsRequirer);
+            }
+            if (isProviderWiring || isRequirerWiring) {
+                changes++;
+            }
+        }
+        changes += removeAbsent(present);
+        if (changes > 0) {
+            providerEngine = null;
+            requirerEngine = null;
+        }
+        return changes;
+    }
+
+    /**
+     * Returns the reachability engine for the specified wiring direction which is
+     * created on first use after every change of the model
+     *
+     * @param strategy the wiring direction
+     * @return the engine
+     */
+    ReachabilityEngine<BundleVertex> engine(final Strategy strategy) {
+        if (strategy == Strategy.REQUIRER) {
+            if (requirerEngine == null) {
+                requirerEngine = new ReachabilityEngine<>(Arrays.asList(Arrays.copyOf(vertices, size)),
+                        Arrays.copyOf(requirers, size));
+            }
+            return requirerEngine;
+        }
+        if (providerEngine == null) {
+            providerEngine = new ReachabilityEngine<>(Arrays.asList(Arrays.copyOf(vertices, size)),
+                    Arrays.copyOf(providers, size));
+        }
+        return providerEngine;
+    }
+
+    private int add(final long id, final String symbolicName) {
+        final int index;
+        if (free.isEmpty()) {
+            if (size == vertices.length) {
+                grow();
+            }
+            index = size++;
+        } else {
+            index = free.poll();
+        }
+        vertices[index]        = new BundleVertex(symbolicName, id);
+        providerWirings[index] = null;
+        requirerWirings[index] = null;
+        providers[index]       = NO_TARGETS;
+        requirers[index]       = NO_TARGETS;
+        indices.put(id, index);
+        return index;
+    }
+
+    /**
+     * Removes the bundles which are neither present anymore nor referenced by
+     * the wiring of a present bundle
+     */
+    private int removeAbsent(final BitSet present) {
+        final var referenced = new BitSet(size);
+        present.stream().forEach(i -> {
+            for (final int target : providers[i]) {
+                referenced.set(target);
+            }
+            for (final int target : requirers[i]) {
+                referenced.set(target);
+            }
+        });
+        var removed = 0;
+        for (var i = 0; i < size; i++) {
+            if (vertices[i] == null || present.get(i)) {
+                continue;
+            }
+            final var isWired = providers[i].length != 0 || requirers[i].length != 0;
+            if (isWired) {
+                providerWirings[i] = null;
+                requirerWirings[i] = null;
+                providers[i]       = NO_TARGETS;
+                requirers[i]       = NO_TARGETS;
+            }
+            // an uninstalled bundle is retained without wiring as long as a present bundle is wired to it
+            if (!referenced.get(i)) {
+                indices.remove(vertices[i].id());
+                vertices[i] = null;
+                free.add(i);
+                removed++;
+            } else if (isWired) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Resolves the indices of the wired bundles whereas the bundles which are not
+     * known yet are added to the model
+     */
+    private int[] resolve(final List<XBundleInfoDTO> wiredBundles) {
+        if (wiredBundles == null || wiredBundles.isEmpty()) {
+            return NO_TARGETS;
+        }
+        return wiredBundles.stream().mapToInt(b -> {
+            final var index = indices.get(b.id);
+            return index != null ? index : add(b.id, b.symbolicName);
+        }).distinct().toArray();
+    }
+
+    private static long[] wiring(final List<XBundleInfoDTO> wiredBundles) {
+        if (wiredBundles == null || wiredBundles.isEmpty()) {
+            return NO_WIRINGS;
+        }
+        final var ids = wiredBundles.stream().mapToLong(b -> b.id).toArray();
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    private void grow() {
+        final var capacity = vertices.length * 2;
+        vertices        = Arrays.copyOf(vertices, capacity);
+        providerWirings = Arrays.copyOf(providerWirings, capacity);
+        requirerWirings = Arrays.copyOf(requirerWirings, capacity);
+        providers       = Arrays.copyOf(providers, capacity);
+        requirers       = Arrays.copyOf(requirers, capacity);
+    }
+
+}
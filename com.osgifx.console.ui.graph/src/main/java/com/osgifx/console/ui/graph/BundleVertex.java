@@ -32,4 +32,16 @@ public record BundleVertex(String symbolicName, long id) {
         return DOT_ID_FUNCTION.apply(symbolicName, id);
     }
 
+    /**
+     * Returns the symbolic name without its last segment which groups the bundles
+     * of the same project, e.g. {@code org.apache.felix} for
+     * {@code org.apache.felix.scr}
+     *
+     * @return the prefix or {@code null} if the symbolic name has a single segment
+     */
+    public String symbolicNamePrefix() {
+        final var index = symbolicName.lastIndexOf('.');
+        return index <= 0 ? null : symbolicName.substring(0, index);
+    }
+
 }
@@ -33,10 +33,25 @@ public final class FxBundleGraph {
         graph = buildGraph(graphPaths);
     }
 
+    public FxBundleGraph(final org.jgrapht.Graph<BundleVertex, DefaultEdge> graph) {
+        this.graph = buildGraph(graph);
+    }
+
     public Graph<BundleVertex, String> getGraph() {
         return graph;
     }
 
+    private Graph<BundleVertex, String> buildGraph(final org.jgrapht.Graph<BundleVertex, DefaultEdge> jgraph) {
+        final Graph<BundleVertex, String> graph = new DigraphEdgeList<>();
+        jgraph.vertexSet().forEach(graph::insertVertex);
+        for (final DefaultEdge edge : jgraph.edgeSet()) {
+            final var source = jgraph.getEdgeSource(edge);
+            final var target = jgraph.getEdgeTarget(edge);
+            graph.insertEdge(source, target, source + "->" + target);
+        }
+        return graph;
+    }
+
     private Graph<BundleVertex, String> buildGraph(final Collection<GraphPath<BundleVertex, DefaultEdge>> graphPaths) {
         final Graph<BundleVertex, String> graph = new DigraphEdgeList<>();
         for (final GraphPath<BundleVertex, DefaultEdge> path : graphPaths) {
@@ -16,6 +16,8 @@
 package com.osgifx.console.ui.graph;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.jgrapht.GraphPath;
 import org.jgrapht.graph.DefaultEdge;
@@ -28,13 +30,15 @@ import com.osgifx.console.smartgraph.graph.Vertex;
 public final class FxComponentGraph {
 
     Graph<ComponentVertex, String> graph;
+    Map<ComponentVertex, Integer>  clusters = Map.of();
 
     public FxComponentGraph(final Collection<GraphPath<ComponentVertex, DefaultEdge>> graphPaths) {
         graph = buildGraph(graphPaths);
     }
 
     public FxComponentGraph(final org.jgrapht.Graph<ComponentVertex, DefaultEdge> graph) {
-        this.graph = buildGraph(graph);
+        this.graph    = buildGraph(graph);
+        this.clusters = buildClusters(graph);
     }
 
     public Graph<ComponentVertex, String> getGraph() {
@@ -43,22 +47,30 @@ public final class FxComponentGraph {
 
     private Graph<ComponentVertex, String> buildGraph(final org.jgrapht.Graph<ComponentVertex, DefaultEdge> jgraph) {
         final Graph<ComponentVertex, String> graph = new DigraphEdgeList<>();
+        jgraph.vertexSet().forEach(graph::insertVertex);
         for (final DefaultEdge edge : jgraph.edgeSet()) {
             final var source = jgraph.getEdgeSource(edge);
             final var target = jgraph.getEdgeTarget(edge);
-            if (graph.vertices().stream().noneMatch(v -> v.element().equals(source))) {
-                graph.insertVertex(source);
-            }
-            if (graph.vertices().stream().noneMatch(v -> v.element().equals(target))) {
-                graph.insertVertex(target);
-            }
-            if (!containsEdge(graph.edges(), source, target)) {
-                graph.insertEdge(source, target, source + "->" + target);
-            }
+            graph.insertEdge(source, target, source + "->" + target);
         }
         return graph;
     }
 
+    /**
+     * Assigns the components of every strongly connected component (cycle) to the
+     * same cluster
+     */
+    private Map<ComponentVertex, Integer> buildClusters(final org.jgrapht.Graph<ComponentVertex, DefaultEdge> jgraph) {
+        final var                           components = ReachabilityEngine.of(jgraph).cyclicComponents();
+        final Map<ComponentVertex, Integer> clusters   = new HashMap<>();
+        for (var i = 0; i < components.size(); i++) {
+            for (final ComponentVertex vertex : components.get(i)) {
+                clusters.put(vertex, i);
+            }
+        }
+        return clusters;
+    }
+
     private Graph<ComponentVertex, String> buildGraph(final Collection<GraphPath<ComponentVertex, DefaultEdge>> graphPaths) {
         final Graph<ComponentVertex, String> graph = new DigraphEdgeList<>();
         for (final GraphPath<ComponentVertex, DefaultEdge> path : graphPaths) {
@@ -20,7 +20,6 @@ import static javafx.scene.control.SelectionMode.MULTIPLE;
 import static org.controlsfx.control.SegmentedButton.STYLE_CLASS_DARK;
 
 import java.io.File;
-import java.util.Collection;
 import java.util.Comparator;
 import java.util.concurrent.Future;
 import java.util.stream.Stream;
@@ -35,7 +34,6 @@ import org.eclipse.fx.core.ThreadSynchronize;
 import org.eclipse.fx.core.log.FluentLogger;
 import org.eclipse.fx.core.log.Log;
 import org.jgrapht.Graph;
-import org.jgrapht.GraphPath;
 import org.jgrapht.graph.DefaultEdge;
 import org.jgrapht.nio.ExportException;
 import org.jgrapht.nio.dot.DOTExporter;
@@ -45,6 +43,7 @@ import com.google.common.collect.Lists;
 import com.osgifx.console.agent.dto.XBundleDTO;
 import com.osgifx.console.data.provider.DataProvider;
 import com.osgifx.console.executor.Executor;
+import com.osgifx.console.smartgraph.containers.ContentZoomPane;
 import com.osgifx.console.smartgraph.graphview.SmartCircularSortedPlacementStrategy;
 import com.osgifx.console.smartgraph.graphview.SmartGraphPanel;
 import com.osgifx.console.smartgraph.graphview.SmartPlacementStrategy;
@@ -220,13 +219,13 @@ public final class GraphFxBundleController implements GraphController {
                 progressPane.setVisible(true);
                 final var selection = wiringSelection.getSelectionModel().getSelectedIndex();
 
-                final Collection<GraphPath<BundleVertex, DefaultEdge>> dependencies;
+                final Graph<BundleVertex, DefaultEdge> dependencies;
                 if (selection == 0) {
-                    logger.atInfo().log("Generating all graph paths for bundles that are required by '%s'",
+                    logger.atInfo().log("Generating reachable graph for bundles that are required by '%s'",
                             selectedBundles);
                     dependencies = runtimeGraph.getAllBundlesThatAreRequiredBy(selectedBundles);
                 } else {
-                    logger.atInfo().log("Generating all graph paths for bundles that require '%s'", selectedBundles);
+                    logger.atInfo().log("Generating reachable graph for bundles that require '%s'", selectedBundles);
                     dependencies = runtimeGraph.getAllBundlesThatRequire(selectedBundles);
                 }
                 fxGraph = new FxBundleGraph(dependencies);
@@ -237,8 +236,9 @@ public final class GraphFxBundleController implements GraphController {
             protected void succeeded() {
                 final var graphView = new SmartGraphPanel<>(fxGraph.graph, getStrategy());
                 graphView.setPrefSize(800, 520);
+                graphView.setVertexClusterFunction(BundleVertex::symbolicNamePrefix);
                 progressPane.setVisible(false);
-                graphPane.setCenter(graphView);
+                graphPane.setCenter(new ContentZoomPane(graphView));
                 graphView.init();
             }
         };
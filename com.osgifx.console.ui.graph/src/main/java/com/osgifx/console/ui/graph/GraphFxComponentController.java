@@ -16,11 +16,11 @@
 package com.osgifx.console.ui.graph;
 
 import static com.osgifx.console.ui.graph.GraphHelper.generateDotFileName;
+import static com.osgifx.console.ui.graph.RuntimeComponentGraph.DEFAULT_MAX_CYCLES;
 import static javafx.scene.control.SelectionMode.MULTIPLE;
 import static org.controlsfx.control.SegmentedButton.STYLE_CLASS_DARK;
 
 import java.io.File;
-import java.util.Collection;
 import java.util.Comparator;
 import java.util.concurrent.Future;
 import java.util.stream.Stream;
@@ -35,7 +35,6 @@ import org.eclipse.fx.core.ThreadSynchronize;
 import org.eclipse.fx.core.log.FluentLogger;
 import org.eclipse.fx.core.log.Log;
 import org.jgrapht.Graph;
-import org.jgrapht.GraphPath;
 import org.jgrapht.graph.DefaultEdge;
 import org.jgrapht.nio.ExportException;
 import org.jgrapht.nio.dot.DOTExporter;
@@ -45,6 +44,7 @@ import com.google.common.collect.Lists;
 import com.osgifx.console.agent.dto.XComponentDTO;
 import com.osgifx.console.data.provider.DataProvider;
 import com.osgifx.console.executor.Executor;
+import com.osgifx.console.smartgraph.containers.ContentZoomPane;
 import com.osgifx.console.smartgraph.graphview.SmartCircularSortedPlacementStrategy;
 import com.osgifx.console.smartgraph.graphview.SmartGraphPanel;
 import com.osgifx.console.smartgraph.graphview.SmartPlacementStrategy;
@@ -132,11 +132,12 @@ public final class GraphFxComponentController implements GraphController {
     }
 
     private void initWiringSelection() {
-        wiringSelection.getItems().addAll("Find all components that are required by", "Find all component cycles");
+        wiringSelection.getItems().addAll("Find all components that are required by",
+                "Find all cyclic component clusters", "Find first " + DEFAULT_MAX_CYCLES + " component cycles");
         wiringSelection.getSelectionModel().select(0);
         wiringSelection.getSelectionModel().selectedIndexProperty()
                 .addListener((ChangeListener<Number>) (observable, oldValue, newValue) -> {
-                    final var condition = newValue.intValue() == 1;
+                    final var condition = newValue.intValue() != 0;
 
                     searchText.setDisable(condition);
                     componentsList.setDisable(condition);
@@ -229,15 +230,17 @@ public final class GraphFxComponentController implements GraphController {
                 progressPane.setVisible(true);
 
                 if (selection == 0) {
-                    logger.atDebug().log("Generating all graph paths for service components that are required by '%s'",
+                    logger.atDebug().log("Generating reachable graph for service components that are required by '%s'",
                             selectedComponents);
-                    final Collection<GraphPath<ComponentVertex, DefaultEdge>> dependencies = runtimeGraph
+                    final Graph<ComponentVertex, DefaultEdge> dependencies = runtimeGraph
                             .getAllServiceComponentsThatAreRequiredBy(selectedComponents);
                     fxGraph = new FxComponentGraph(dependencies);
+                } else if (selection == 1) {
+                    logger.atDebug().log("Generating cyclic service component clusters");
+                    fxGraph = new FxComponentGraph(runtimeGraph.getCyclicClusters());
                 } else {
-                    logger.atDebug().log("Generating service component cycles");
-                    final var graph = runtimeGraph.getAllCycles();
-                    fxGraph = new FxComponentGraph(graph);
+                    logger.atDebug().log("Generating first %s service component cycles", DEFAULT_MAX_CYCLES);
+                    fxGraph = new FxComponentGraph(runtimeGraph.getCycles(DEFAULT_MAX_CYCLES));
                 }
                 return null;
             }
@@ -246,8 +249,9 @@ public final class GraphFxComponentController implements GraphController {
             protected void succeeded() {
                 final var graphView = new SmartGraphPanel<>(fxGraph.graph, getStrategy());
                 graphView.setPrefSize(800, 520);
+                graphView.setVertexClusterFunction(fxGraph.clusters::get);
                 progressPane.setVisible(false);
-                graphPane.setCenter(graphView);
+                graphPane.setCenter(new ContentZoomPane(graphView));
                 graphView.init();
             }
         };
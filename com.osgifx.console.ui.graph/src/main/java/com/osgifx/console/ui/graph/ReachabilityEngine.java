@@ -0,0 +1,452 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.ui.graph;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jgrapht.Graph;
+import org.jgrapht.GraphPath;
+import org.jgrapht.graph.DefaultDirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.GraphWalk;
+
+/**
+ * Answers reachability queries on an immutable snapshot of a directed graph.
+ * <p>
+ * The vertices are mapped to dense indices and the successors are stored as
+ * adjacency arrays. The transitive closure of a vertex is computed by a
+ * breadth-first search on first use and cached as a {@link BitSet} such that
+ * the closure of a set of vertices is the union of the cached closures. This
+ * is linear in the size of the graph whereas enumerating all simple paths is
+ * exponential on densely wired graphs. Likewise, the cyclic strongly connected
+ * components are found in linear time whereas the elementary cycles are only
+ * enumerated on demand up to a limit.
+ *
+ * @param <V> the vertex type
+ */
+public final class ReachabilityEngine<V> {
+
+    private final List<V>         vertices;
+    private final Map<V, Integer> indices;
+    private final int[][]         successors;
+    private final BitSet[]        closures;
+
+    /**
+     * Creates the engine on the specified adjacency arrays
+     *
+     * @param vertices the vertices by index whereas unused indices are
+     *            {@code null}
+     * @param successors the indices of the successors by vertex index (must not
+     *            be modified afterwards)
+     */
+    public ReachabilityEngine(final List<V> vertices, final int[][] successors) {
+        this.vertices   = vertices;
+        this.successors = successors;
+        indices         = new HashMap<>(vertices.size() * 2);
+        closures        = new BitSet[vertices.size()];
+
+        for (var i = 0; i < vertices.size(); i++) {
+            final var vertex = vertices.get(i);
+            if (vertex != null) {
+                indices.put(vertex, i);
+            }
+        }
+    }
+
+    /**
+     * Creates the engine on a snapshot of the specified graph
+     *
+     * @param graph the graph
+     * @return the engine
+     */
+    public static <V> ReachabilityEngine<V> of(final Graph<V, DefaultEdge> graph) {
+        final var vertices   = new ArrayList<>(graph.vertexSet());
+        final var indices    = new HashMap<V, Integer>(vertices.size() * 2);
+        final var successors = new int[vertices.size()][];
+
+        for (var i = 0; i < vertices.size(); i++) {
+            indices.put(vertices.get(i), i);
+        }
+        for (var i = 0; i < vertices.size(); i++) {
+            final var edges   = graph.outgoingEdgesOf(vertices.get(i));
+            final var targets = new int[edges.size()];
+            var       count   = 0;
+            for (final DefaultEdge edge : edges) {
+                targets[count++] = indices.get(graph.getEdgeTarget(edge));
+            }
+            successors[i] = targets;
+        }
+        return new ReachabilityEngine<>(vertices, successors);
+    }
+
+    /**
+     * Checks whether the specified vertex is part of the graph
+     *
+     * @param vertex the vertex to check
+     * @return {@code true} if the vertex exists, otherwise {@code false}
+     */
+    public boolean contains(final V vertex) {
+        return indices.containsKey(vertex);
+    }
+
+    /**
+     * Checks whether the target is reachable from the source by a path of at
+     * least one edge
+     *
+     * @param source the source vertex
+     * @param target the target vertex
+     * @return {@code true} if reachable, otherwise {@code false}
+     */
+    public boolean isReachable(final V source, final V target) {
+        final var from = indices.get(source);
+        final var to   = indices.get(target);
+        return from != null && to != null && closure(from).get(to);
+    }
+
+    /**
+     * Returns all the vertices reachable from the specified sources including
+     * the sources themselves
+     *
+     * @param sources the source vertices (the unknown ones are ignored)
+     * @return the reachable vertices
+     */
+    public List<V> reachableFrom(final Collection<V> sources) {
+        final var reachable = reachable(sources);
+        final var result    = new ArrayList<V>(reachable.cardinality());
+        reachable.stream().forEach(i -> result.add(vertices.get(i)));
+        return result;
+    }
+
+    /**
+     * Extracts the subgraph which comprises all the vertices reachable from the
+     * specified sources and all the edges between them
+     *
+     * @param sources the source vertices (the unknown ones are ignored)
+     * @return the reachable subgraph
+     */
+    public Graph<V, DefaultEdge> reachableSubgraph(final Collection<V> sources) {
+        final Graph<V, DefaultEdge> subgraph  = new DefaultDirectedGraph<>(DefaultEdge.class);
+        final var                   reachable = reachable(sources);
+
+        reachable.stream().forEach(i -> subgraph.addVertex(vertices.get(i)));
+        reachable.stream().forEach(i -> {
+            for (final int target : successors[i]) {
+                // the closure is closed under the successor relation
+                subgraph.addEdge(vertices.get(i), vertices.get(target));
+            }
+        });
+        return subgraph;
+    }
+
+    /**
+     * Enumerates the simple paths starting at the specified sources in
+     * depth-first order until one of the specified limits is reached
+     *
+     * @param sources the source vertices (the unknown ones are ignored)
+     * @param maxDepth the maximum number of edges per path
+     * @param maxPaths the maximum number of paths to return
+     * @return the paths
+     */
+    public List<GraphPath<V, DefaultEdge>> paths(final Collection<V> sources, final int maxDepth, final int maxPaths) {
+        final List<GraphPath<V, DefaultEdge>> paths = new ArrayList<>();
+        final var                             graph = reachableSubgraph(sources);
+        for (final V source : sources) {
+            final var index = indices.get(source);
+            if (index == null) {
+                continue;
+            }
+            final var path = new ArrayList<Integer>();
+            path.add(index);
+            final var onPath = new BitSet(vertices.size());
+            onPath.set(index);
+            if (!enumerate(graph, path, onPath, maxDepth, maxPaths, paths)) {
+                break;
+            }
+        }
+        return paths;
+    }
+
+    /**
+     * Returns the strongly connected components which contain at least one cycle,
+     * i.e. the components comprising more than one vertex or a single vertex with
+     * an edge to itself. The components are computed by an iterative variant of
+     * Tarjan's algorithm in linear time.
+     *
+     * @return the cyclic components
+     */
+    public List<List<V>> cyclicComponents() {
+        final List<List<V>> components = new ArrayList<>();
+        for (final int[] component : cyclicComponentIndices()) {
+            final var members = new ArrayList<V>(component.length);
+            for (final int index : component) {
+                members.add(vertices.get(index));
+            }
+            components.add(members);
+        }
+        return components;
+    }
+
+    /**
+     * Enumerates the elementary cycles using Johnson's algorithm on every cyclic
+     * component until the specified number of cycles has been found. Every cycle
+     * is returned as the list of its vertices without repeating the first one.
+     *
+     * @param maxCycles the maximum number of cycles to return
+     * @return the cycles
+     */
+    public List<List<V>> cycles(final int maxCycles) {
+        final List<List<V>> cycles = new ArrayList<>();
+        for (final int[] component : cyclicComponentIndices()) {
+            final var members = new BitSet(vertices.size());
+            for (final int index : component) {
+                members.set(index);
+            }
+            Arrays.sort(component);
+            for (final int start : component) {
+                if (cycles.size() >= maxCycles) {
+                    return cycles;
+                }
+                new CycleSearch(start, members, maxCycles, cycles).circuit(start);
+                // the cycles through the start vertex are complete
+                members.clear(start);
+            }
+        }
+        return cycles;
+    }
+
+    private List<int[]> cyclicComponentIndices() {
+        final var size      = vertices.size();
+        final var order     = new int[size];
+        final var lowLink   = new int[size];
+        final var edgeIndex = new int[size];
+        final var stack     = new int[size];
+        final var callStack = new int[size];
+        final var onStack   = new BitSet(size);
+        final var result    = new ArrayList<int[]>();
+        var       counter   = 1;
+        var       top       = 0;
+
+        for (var root = 0; root < size; root++) {
+            if (vertices.get(root) == null || order[root] != 0) {
+                continue;
+            }
+            var depth = 0;
+            callStack[depth++] = root;
+            order[root]        = lowLink[root] = counter++;
+            stack[top++]       = root;
+            onStack.set(root);
+            while (depth > 0) {
+                final var vertex = callStack[depth - 1];
+                if (edgeIndex[vertex] < successors[vertex].length) {
+                    final var target = successors[vertex][edgeIndex[vertex]++];
+                    if (order[target] == 0) {
+                        order[target]      = lowLink[target] = counter++;
+                        stack[top++]       = target;
+                        callStack[depth++] = target;
+                        onStack.set(target);
+                    } else if (onStack.get(target)) {
+                        lowLink[vertex] = Math.min(lowLink[vertex], order[target]);
+                    }
+                    continue;
+                }
+                depth--;
+                if (depth > 0) {
+                    final var parent = callStack[depth - 1];
+                    lowLink[parent] = Math.min(lowLink[parent], lowLink[vertex]);
+                }
+                if (lowLink[vertex] == order[vertex]) {
+                    var start = top;
+                    do {
+                        onStack.clear(stack[--start]);
+                    } while (stack[start] != vertex);
+                    final var component = Arrays.copyOfRange(stack, start, top);
+                    top = start;
+                    if (component.length > 1 || hasSelfLoop(vertex)) {
+                        result.add(component);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private boolean hasSelfLoop(final int vertex) {
+        for (final int target : successors[vertex]) {
+            if (target == vertex) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean enumerate(final Graph<V, DefaultEdge> graph,
+                              final List<Integer> path,
+                              final BitSet onPath,
+                              final int maxDepth,
+                              final int maxPaths,
+                              final List<GraphPath<V, DefaultEdge>> paths) {
+        if (path.size() > maxDepth) {
+            return true;
+        }
+        for (final int target : successors[path.get(path.size() - 1)]) {
+            if (onPath.get(target)) {
+                continue;
+            }
+            if (paths.size() >= maxPaths) {
+                return false;
+            }
+            path.add(target);
+            onPath.set(target);
+            paths.add(toPath(graph, path));
+            final var isContinued = enumerate(graph, path, onPath, maxDepth, maxPaths, paths);
+            onPath.clear(target);
+            path.remove(path.size() - 1);
+            if (!isContinued) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private GraphPath<V, DefaultEdge> toPath(final Graph<V, DefaultEdge> graph, final List<Integer> path) {
+        final var walk = new ArrayList<V>(path.size());
+        path.forEach(i -> walk.add(vertices.get(i)));
+        return new GraphWalk<>(graph, walk, path.size() - 1d);
+    }
+
+    private BitSet reachable(final Collection<V> sources) {
+        final var reachable = new BitSet(vertices.size());
+        for (final V source : sources) {
+            final var index = indices.get(source);
+            if (index != null) {
+                reachable.set(index);
+                reachable.or(closure(index));
+            }
+        }
+        return reachable;
+    }
+
+    private synchronized BitSet closure(final int source) {
+        var closure = closures[source];
+        if (closure != null) {
+            return closure;
+        }
+        closure = new BitSet(vertices.size());
+        final var queue = new ArrayDeque<Integer>();
+        queue.add(source);
+        while (!queue.isEmpty()) {
+            final int current = queue.poll();
+            for (final int target : successors[current]) {
+                if (closure.get(target)) {
+                    continue;
+                }
+                closure.set(target);
+                final var cached = closures[target];
+                if (cached != null) {
+                    // reuse the closure computed by an earlier query
+                    closure.or(cached);
+                } else {
+                    queue.add(target);
+                }
+            }
+        }
+        closures[source] = closure;
+        return closure;
+    }
+
+    /**
+     * Johnson's circuit search for the cycles through a single start vertex
+     * within the specified members
+     */
+    private final class CycleSearch {
+
+        private final int           start;
+        private final BitSet        members;
+        private final int           maxCycles;
+        private final List<List<V>> cycles;
+        private final BitSet        blocked;
+        private final BitSet[]      blockedBy;
+        private final List<Integer> path = new ArrayList<>();
+
+        CycleSearch(final int start, final BitSet members, final int maxCycles, final List<List<V>> cycles) {
+            this.start     = start;
+            this.members   = members;
+            this.maxCycles = maxCycles;
+            this.cycles    = cycles;
+            blocked        = new BitSet(vertices.size());
+            blockedBy      = new BitSet[vertices.size()];
+        }
+
+        boolean circuit(final int vertex) {
+            var isCycleFound = false;
+            path.add(vertex);
+            blocked.set(vertex);
+            for (final int target : successors[vertex]) {
+                if (cycles.size() >= maxCycles) {
+                    break;
+                }
+                if (!members.get(target)) {
+                    continue;
+                }
+                if (target == start) {
+                    final var cycle = new ArrayList<V>(path.size());
+                    path.forEach(i -> cycle.add(vertices.get(i)));
+                    cycles.add(cycle);
+                    isCycleFound = true;
+                } else if (!blocked.get(target) && circuit(target)) {
+                    isCycleFound = true;
+                }
+            }
+            if (isCycleFound) {
+                unblock(vertex);
+            } else {
+                for (final int target : successors[vertex]) {
+                    if (members.get(target)) {
+                        if (blockedBy[target] == null) {
+                            blockedBy[target] = new BitSet();
+                        }
+                        blockedBy[target].set(vertex);
+                    }
+                }
+            }
+            path.remove(path.size() - 1);
+            return isCycleFound;
+        }
+
+        private void unblock(final int vertex) {
+            final var pending = new ArrayDeque<Integer>();
+            pending.add(vertex);
+            while (!pending.isEmpty()) {
+                final int current = pending.poll();
+                blocked.clear(current);
+                final var dependents = blockedBy[current];
+                if (dependents == null) {
+                    continue;
+                }
+                blockedBy[current] = null;
+                dependents.stream().filter(blocked::get).forEach(pending::add);
+            }
+        }
+    }
+
+}
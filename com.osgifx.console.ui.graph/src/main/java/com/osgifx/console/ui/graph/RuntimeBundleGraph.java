@@ -15,133 +15,110 @@
  ******************************************************************************/
 package com.osgifx.console.ui.graph;
 
-import static com.google.common.base.Functions.identity;
 import static com.osgifx.console.event.topics.DataRetrievedEventTopics.DATA_RETRIEVED_BUNDLES_TOPIC;
-import static com.osgifx.console.ui.graph.BundleVertex.VERTEX_ID_FUNCTION;
-import static java.util.stream.Collectors.toMap;
 
 import java.util.Collection;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
-import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 
 import org.eclipse.e4.core.di.annotations.Creatable;
 import org.eclipse.e4.core.di.annotations.Optional;
 import org.eclipse.e4.core.di.extensions.EventTopic;
+import org.eclipse.fx.core.log.FluentLogger;
+import org.eclipse.fx.core.log.Log;
 import org.jgrapht.Graph;
 import org.jgrapht.GraphPath;
-import org.jgrapht.alg.shortestpath.AllDirectedPaths;
 import org.jgrapht.graph.DefaultDirectedGraph;
 import org.jgrapht.graph.DefaultEdge;
 
-import com.google.common.collect.Sets;
 import com.osgifx.console.agent.dto.XBundleDTO;
-import com.osgifx.console.agent.dto.XBundleInfoDTO;
 import com.osgifx.console.data.provider.DataProvider;
 
+/**
+ * Provides the wiring graph of the remote bundles to the graph view.
+ * <p>
+ * The underlying {@link BundleDependencyModel} is built lazily on the first
+ * query of the graph view. Subsequent data updates only mark the model as
+ * stale whereas the next query applies the changed wirings incrementally.
+ */
 @Creatable
 public final class RuntimeBundleGraph {
 
+    @Log
     @Inject
-    private DataProvider dataProvider;
-
-    private Map<String, XBundleDTO>          bundleMap;
-    private Graph<BundleVertex, DefaultEdge> providerGraph;
-    private Graph<BundleVertex, DefaultEdge> requirerGraph;
-
-    @PostConstruct
-    public void init() {
-        final var bundles = dataProvider.bundles();
-        bundleMap     = processBundles(bundles);
-        providerGraph = buildGraph(bundles, Strategy.PROVIDER);
-        requirerGraph = buildGraph(bundles, Strategy.REQUIRER);
-    }
+    private FluentLogger                logger;
+    @Inject
+    private DataProvider                dataProvider;
+    private volatile boolean            isStale = true;
+    private final BundleDependencyModel model   = new BundleDependencyModel();
 
     @Inject
     @Optional
     private void onUnderlyingDataUpdate(@EventTopic(DATA_RETRIEVED_BUNDLES_TOPIC) final String data) {
-        init();
+        isStale = true;
     }
 
-    public Collection<GraphPath<BundleVertex, DefaultEdge>> getAllBundlesThatRequire(final Collection<XBundleDTO> bundles) {
-        return getDirectedPaths(bundles, Strategy.PROVIDER);
+    public Graph<BundleVertex, DefaultEdge> getAllBundlesThatRequire(final Collection<XBundleDTO> bundles) {
+        return getReachableGraph(bundles, Strategy.PROVIDER);
     }
 
-    public Collection<GraphPath<BundleVertex, DefaultEdge>> getAllBundlesThatAreRequiredBy(final Collection<XBundleDTO> bundles) {
-        return getDirectedPaths(bundles, Strategy.REQUIRER);
+    public Graph<BundleVertex, DefaultEdge> getAllBundlesThatAreRequiredBy(final Collection<XBundleDTO> bundles) {
+        return getReachableGraph(bundles, Strategy.REQUIRER);
     }
 
-    public Collection<GraphPath<BundleVertex, DefaultEdge>> getDirectedPaths(final Collection<XBundleDTO> bundles,
-                                                                             final Strategy strategy) {
+    /**
+     * Returns the subgraph comprising the specified bundles and all the bundles
+     * which are transitively wired to them
+     *
+     * @param bundles the bundles to start from
+     * @param strategy the direction of the wiring
+     * @return the reachable subgraph
+     */
+    public Graph<BundleVertex, DefaultEdge> getReachableGraph(final Collection<XBundleDTO> bundles,
+                                                              final Strategy strategy) {
         if (bundles.isEmpty()) {
-            return List.of();
-        }
-        final Graph<BundleVertex, DefaultEdge> graph;
-        if (strategy == Strategy.REQUIRER) {
-            graph = requirerGraph;
-        } else {
-            graph = providerGraph;
+            return new DefaultDirectedGraph<>(DefaultEdge.class);
         }
-        final Set<BundleVertex> vertices = Sets.newHashSet();
-        for (final XBundleDTO bundle : bundles) {
-            final var bundleVertex = new BundleVertex(bundle.symbolicName, bundle.id);
-            if (graph.containsVertex(bundleVertex)) {
-                final var vertex = graph.vertexSet().stream().filter(bundleVertex::equals).findAny().orElse(null);
-                vertices.add(vertex);
-            }
-        }
-        final var paths = new AllDirectedPaths<>(graph);
-        return paths.getAllPaths(vertices, graph.vertexSet(), true, null);
+        return engine(strategy).reachableSubgraph(toVertices(bundles));
     }
 
-    private Map<String, XBundleDTO> processBundles(final List<XBundleDTO> bundles) {
-        return bundles.stream().collect(toMap(b -> VERTEX_ID_FUNCTION.apply(b.symbolicName, b.id), identity()));
+    /**
+     * Enumerates the simple wiring paths starting at the specified bundles. As
+     * the number of paths grows exponentially on densely wired graphs, the
+     * enumeration stops as soon as one of the specified limits is reached.
+     *
+     * @param bundles the bundles to start from
+     * @param strategy the direction of the wiring
+     * @param maxDepth the maximum number of edges per path
+     * @param maxPaths the maximum number of paths
+     * @return the paths
+     */
+    public List<GraphPath<BundleVertex, DefaultEdge>> getDirectedPaths(final Collection<XBundleDTO> bundles,
+                                                                       final Strategy strategy,
+                                                                       final int maxDepth,
+                                                                       final int maxPaths) {
+        if (bundles.isEmpty()) {
+            return List.of();
+        }
+        return engine(strategy).paths(toVertices(bundles), maxDepth, maxPaths);
     }
 
-    private Graph<BundleVertex, DefaultEdge> buildGraph(final List<XBundleDTO> bundles, final Strategy strategy) {
-        final Graph<BundleVertex, DefaultEdge> graph            = new DefaultDirectedGraph<>(DefaultEdge.class);
-        final Set<String>                      processedBundles = Sets.newHashSet();
-        bundles.forEach(b -> prepareGraph(b, graph, strategy, processedBundles));
-        return graph;
+    private synchronized ReachabilityEngine<BundleVertex> engine(final Strategy strategy) {
+        if (isStale) {
+            // reset first such that updates arriving in the meantime are not lost
+            isStale = false;
+            final var changes = model.update(dataProvider.bundles());
+            logger.atDebug().log("Bundle dependency model has been updated with %s change(s)", changes);
+        }
+        return model.engine(strategy);
     }
 
-    private void prepareGraph(final XBundleDTO bundle,
-                              final Graph<BundleVertex, DefaultEdge> graph,
-                              final Strategy strategy,
-                              final Set<String> processedBundles) {
-        final List<XBundleInfoDTO> vertexBundles;
-        if (strategy == Strategy.REQUIRER) {
-            vertexBundles = bundle.wiredBundlesAsRequirer;
-        } else {
-            vertexBundles = bundle.wiredBundlesAsProvider;
-        }
-        final var source = new BundleVertex(bundle.symbolicName, bundle.id);
-        if (processedBundles.contains(source.toString())) {
-            return;
-        }
-        final var isSourceVertexAdded = graph.addVertex(source);
-        if (isSourceVertexAdded) {
-            processedBundles.add(source.toString());
-        }
-        if (vertexBundles == null || vertexBundles.isEmpty()) {
-            return;
-        }
-        for (final XBundleInfoDTO b : vertexBundles) {
-            final var target              = new BundleVertex(b.symbolicName, b.id);
-            final var isTargetVertexAdded = graph.addVertex(target);
-            if (isTargetVertexAdded) {
-                processedBundles.add(source.toString());
-            }
-            graph.addEdge(source, target);
-            final var dto = bundleMap.get(target.toString());
-            prepareGraph(dto, graph, strategy, processedBundles);
-        }
+    private List<BundleVertex> toVertices(final Collection<XBundleDTO> bundles) {
+        return bundles.stream().map(b -> new BundleVertex(b.symbolicName, b.id)).toList();
     }
 
-    private enum Strategy {
+    public enum Strategy {
         PROVIDER,
         REQUIRER
     }
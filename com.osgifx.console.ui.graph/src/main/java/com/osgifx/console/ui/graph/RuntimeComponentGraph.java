@@ -17,11 +17,11 @@ package com.osgifx.console.ui.graph;
 
 import static com.osgifx.console.event.topics.DataRetrievedEventTopics.DATA_RETRIEVED_COMPONENTS_TOPIC;
 
-import java.util.AbstractMap.SimpleEntry;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map.Entry;
-import java.util.Set;
+import java.util.Map;
 
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
@@ -31,29 +31,39 @@ import org.eclipse.e4.core.di.annotations.Optional;
 import org.eclipse.e4.core.di.extensions.EventTopic;
 import org.jgrapht.Graph;
 import org.jgrapht.GraphPath;
-import org.jgrapht.alg.cycle.TarjanSimpleCycles;
-import org.jgrapht.alg.shortestpath.AllDirectedPaths;
 import org.jgrapht.graph.DefaultDirectedGraph;
 import org.jgrapht.graph.DefaultEdge;
 import org.osgi.framework.dto.ServiceReferenceDTO;
 
-import com.google.common.collect.Lists;
-import com.google.common.collect.Sets;
 import com.osgifx.console.agent.dto.XComponentDTO;
 import com.osgifx.console.agent.dto.XSatisfiedReferenceDTO;
 import com.osgifx.console.data.provider.DataProvider;
-import com.osgifx.console.ui.graph.RuntimeComponentGraph.CircularLinkedList.Node;
 
 @Creatable
 public final class RuntimeComponentGraph {
 
+    /**
+     * The default maximum number of cycles to enumerate
+     */
+    public static final int DEFAULT_MAX_CYCLES = 100;
+
+    private static final String COMPONENT_NAME_PROPERTY = "component.name";
+
     @Inject
-    private DataProvider                        dataProvider;
-    private Graph<ComponentVertex, DefaultEdge> requirerGraph;
+    private DataProvider            dataProvider;
+    private volatile ComponentGraph requirerGraph;
+
+    /**
+     * The graph together with the engine operating on the same snapshot
+     */
+    private record ComponentGraph(Graph<ComponentVertex, DefaultEdge> graph,
+                                  ReachabilityEngine<ComponentVertex> engine) {
+    }
 
     @PostConstruct
     public void init() {
-        requirerGraph = buildGraph(dataProvider.components());
+        final var graph = buildGraph(dataProvider.components());
+        requirerGraph = new ComponentGraph(graph, ReachabilityEngine.of(graph));
     }
 
     @Inject
@@ -62,140 +72,103 @@ public final class RuntimeComponentGraph {
         init();
     }
 
-    public List<GraphPath<ComponentVertex, DefaultEdge>> getAllServiceComponentsThatAreRequiredBy(final Collection<XComponentDTO> components) {
+    public Graph<ComponentVertex, DefaultEdge> getAllServiceComponentsThatAreRequiredBy(final Collection<XComponentDTO> components) {
         if (components.isEmpty()) {
-            return List.of();
+            return new DefaultDirectedGraph<>(DefaultEdge.class);
         }
-        final Set<ComponentVertex> vertices = Sets.newHashSet();
-        for (final XComponentDTO component : components) {
-            final var componentVertex = toVertex(component);
-            if (requirerGraph.containsVertex(componentVertex)) {
-                final var vertex = requirerGraph.vertexSet().stream().filter(componentVertex::equals).findAny()
-                        .orElse(null);
-                vertices.add(vertex);
-            }
+        return requirerGraph.engine().reachableSubgraph(components.stream().map(this::toVertex).toList());
+    }
+
+    /**
+     * Enumerates the simple reference paths starting at the specified components
+     * until one of the specified limits is reached
+     *
+     * @param components the components to start from
+     * @param maxDepth the maximum number of edges per path
+     * @param maxPaths the maximum number of paths
+     * @return the paths
+     */
+    public List<GraphPath<ComponentVertex, DefaultEdge>> getDirectedPaths(final Collection<XComponentDTO> components,
+                                                                          final int maxDepth,
+                                                                          final int maxPaths) {
+        if (components.isEmpty()) {
+            return List.of();
         }
-        final var paths = new AllDirectedPaths<>(requirerGraph);
-        return paths.getAllPaths(vertices, requirerGraph.vertexSet(), true, null);
+        return requirerGraph.engine().paths(components.stream().map(this::toVertex).toList(), maxDepth, maxPaths);
     }
 
-    @SuppressWarnings("unused")
-    public Graph<ComponentVertex, DefaultEdge> getAllCycles() {
-        final var                                 tarjan = new TarjanSimpleCycles<>(requirerGraph);
-        final var                                 cycles = tarjan.findSimpleCycles();
-        final Graph<ComponentVertex, DefaultEdge> graph  = new DefaultDirectedGraph<>(DefaultEdge.class);
-
-        for (final List<ComponentVertex> group : cycles) {
-            Node<ComponentVertex> node = CircularLinkedList.create(group);
-            if (node != null) {
-                for (final ComponentVertex element : group) {
-                    node = node.getNext();
-                    final var source = node.getData();
-                    graph.addVertex(source);
-                    final var target = node.getNext().getData();
-                    graph.addVertex(target);
-                    graph.addEdge(source, target);
+    /**
+     * Returns the clusters of components which reference each other cyclically,
+     * i.e. the strongly connected components of the reference graph. As every
+     * edge within such a cluster is part of a cycle, the clusters cover all
+     * cycles without enumerating them.
+     *
+     * @return the graph comprising the cyclic clusters
+     */
+    public Graph<ComponentVertex, DefaultEdge> getCyclicClusters() {
+        final var                                 snapshot = requirerGraph;
+        final Graph<ComponentVertex, DefaultEdge> graph    = new DefaultDirectedGraph<>(DefaultEdge.class);
+        for (final List<ComponentVertex> cluster : snapshot.engine().cyclicComponents()) {
+            final var members = new HashSet<>(cluster);
+            cluster.forEach(graph::addVertex);
+            for (final ComponentVertex source : cluster) {
+                for (final DefaultEdge edge : snapshot.graph().outgoingEdgesOf(source)) {
+                    final var target = snapshot.graph().getEdgeTarget(edge);
+                    if (members.contains(target)) {
+                        graph.addEdge(source, target);
+                    }
                 }
             }
         }
         return graph;
     }
 
-    private Graph<ComponentVertex, DefaultEdge> buildGraph(final List<XComponentDTO> components) {
-        final List<Entry<XComponentDTO, XComponentDTO>> edges = Lists.newArrayList();
-        prepareEdges(components, edges);
-
+    /**
+     * Returns the graph comprising the first elementary cycles of the reference
+     * graph
+     *
+     * @param maxCycles the maximum number of cycles to enumerate
+     * @return the graph comprising the cycles
+     */
+    public Graph<ComponentVertex, DefaultEdge> getCycles(final int maxCycles) {
         final Graph<ComponentVertex, DefaultEdge> graph = new DefaultDirectedGraph<>(DefaultEdge.class);
-        components.forEach(c -> graph.addVertex(toVertex(c)));
-        edges.forEach(edge -> {
-            final var source = edge.getKey();
-            final var target = edge.getValue();
-            if (source == null || target == null) {
-                return;
+        for (final List<ComponentVertex> cycle : requirerGraph.engine().cycles(maxCycles)) {
+            cycle.forEach(graph::addVertex);
+            for (var i = 0; i < cycle.size(); i++) {
+                graph.addEdge(cycle.get(i), cycle.get((i + 1) % cycle.size()));
             }
-            graph.addEdge(toVertex(source), toVertex(target));
-        });
+        }
         return graph;
     }
 
-    private void prepareEdges(final List<XComponentDTO> components,
-                              final List<Entry<XComponentDTO, XComponentDTO>> edges) {
+    private Graph<ComponentVertex, DefaultEdge> buildGraph(final List<XComponentDTO> components) {
+        final Map<String, ComponentVertex>        vertices = new HashMap<>(components.size() * 2);
+        final Graph<ComponentVertex, DefaultEdge> graph    = new DefaultDirectedGraph<>(DefaultEdge.class);
+        for (final XComponentDTO component : components) {
+            final var vertex = toVertex(component);
+            vertices.putIfAbsent(component.name, vertex);
+            graph.addVertex(vertex);
+        }
         for (final XComponentDTO sourceComponent : components) {
-            final var boundServices         = sourceComponent.satisfiedReferences;
-            final var componentNameProperty = "component.name";
-            for (final XSatisfiedReferenceDTO refDTO : boundServices) {
-                final var srvRefDTOs = refDTO.serviceReferences;
-
-                for (final ServiceReferenceDTO srvRefDTO : srvRefDTOs) {
-                    final var     property = (String) srvRefDTO.properties.get(componentNameProperty);
-                    XComponentDTO targetComponent;
+            final var source = vertices.get(sourceComponent.name);
+            for (final XSatisfiedReferenceDTO refDTO : sourceComponent.satisfiedReferences) {
+                for (final ServiceReferenceDTO srvRefDTO : refDTO.serviceReferences) {
+                    final var property = (String) srvRefDTO.properties.get(COMPONENT_NAME_PROPERTY);
                     if (property == null) { // not a DS component
                         continue;
                     }
-                    targetComponent = findComponentByName(components, property);
-                    edges.add(new SimpleEntry<>(sourceComponent, targetComponent));
+                    final var target = vertices.get(property);
+                    if (target != null) {
+                        graph.addEdge(source, target);
+                    }
                 }
             }
         }
-    }
-
-    private XComponentDTO findComponentByName(final List<XComponentDTO> components, final String name) {
-        return components.stream().filter(c -> name.equals(c.name)).findAny().orElse(null);
+        return graph;
     }
 
     private ComponentVertex toVertex(final XComponentDTO component) {
         return new ComponentVertex(component.name);
     }
 
-    public static class CircularLinkedList {
-
-        private CircularLinkedList() {
-            throw new IllegalAccessError("Cannot be instantiated");
-        }
-
-        public static class Node<E> {
-
-            private final E data;
-            private Node<E> next;
-
-            public Node(final E data) {
-                this.data = data;
-            }
-
-            public E getData() {
-                return data;
-            }
-
-            public Node<E> getNext() {
-                return next;
-            }
-
-            public void setNext(final Node<E> next) {
-                this.next = next;
-            }
-        }
-
-        public static <E> Node<E> create(final List<E> components) {
-            Node<E> nodeTop = null;
-            if (components == null || components.isEmpty()) {
-                return nodeTop;
-            }
-            Node<E> nodeBottom = null;
-            Node<E> nodeCurr   = null;
-
-            for (final E component : components) {
-                nodeCurr = new Node<>(component);
-                if (nodeTop == null) {
-                    nodeTop = nodeCurr;
-                } else {
-                    nodeBottom.setNext(nodeCurr);
-                }
-                nodeBottom = nodeCurr;
-                nodeBottom.setNext(nodeTop);
-            }
-            return nodeTop;
-        }
-
-    }
-
 }
@@ -19,9 +19,10 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import org.osgi.framework.FrameworkUtil;
@@ -42,38 +43,62 @@ public final class HeapMonitorChart extends BorderPane {
     private static final long   KB_CONVERSION          = 1000 * 1000L;
     private static final String MEMORY_USAGE_CHART_CSS = "css/heap.css";
     private static final int    Y_AXIS_TICK_COUNT      = 16;
-    private static final long   MAX_MILLI              = 120_000L;
+    private static final int    X_AXIS_TICK_COUNT      = 12;
+    private static final int    MIN_POINTS             = 100;
 
-    private static final int               X_AXIS_TICK_UNIT = 10_000;
-    private static final DateTimeFormatter FORMATTER        = DateTimeFormatter.ofPattern("HH:mm:ss");
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss");
 
     private final long startCounter;
-    private final long initialUpperBound;
 
     private NumberAxis                                      xAxis;
     private final String                                    title;
-    private final AtomicLong                                counter;
     private XYChart.Series<Number, Number>                  usageSeries;
     private XYChart.Series<Number, Number>                  maxMemorySeries;
     private final Supplier<CompletableFuture<XMemoryUsage>> memoryUsageSupplier;
 
-    private final AtomicBoolean firstUpdateCall;
-    private NumberAxis          yAxis;
+    private final HeapTimeSeries usageTimeSeries     = new HeapTimeSeries();
+    private final HeapTimeSeries maxMemoryTimeSeries = new HeapTimeSeries();
+    private TimeRange            timeRange           = TimeRange.LAST_2_MINUTES;
+    private long                 firstSampleTime     = -1;
+    private long                 lastSampleTime      = -1;
+    private NumberAxis           yAxis;
+
+    /**
+     * The time ranges that can be displayed. The samples of all ranges are
+     * recorded regardless of the displayed one.
+     */
+    enum TimeRange {
+        LAST_2_MINUTES("Last 2 minutes", TimeUnit.MINUTES.toMillis(2)),
+        LAST_15_MINUTES("Last 15 minutes", TimeUnit.MINUTES.toMillis(15)),
+        LAST_HOUR("Last hour", TimeUnit.HOURS.toMillis(1)),
+        LAST_8_HOURS("Last 8 hours", TimeUnit.HOURS.toMillis(8)),
+        LAST_24_HOURS("Last 24 hours", TimeUnit.HOURS.toMillis(24));
+
+        private final String label;
+        private final long   millis;
+
+        TimeRange(final String label, final long millis) {
+            this.label  = label;
+            this.millis = millis;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
 
     public HeapMonitorChart(final String title,
                             final Supplier<CompletableFuture<XMemoryUsage>> memoryUsageSupplier,
                             final long startCounter) {
         this.title               = title;
         this.memoryUsageSupplier = memoryUsageSupplier;
-        counter                  = new AtomicLong(startCounter);
-        firstUpdateCall          = new AtomicBoolean(true);
         this.startCounter        = startCounter;
-        initialUpperBound        = startCounter + MAX_MILLI;
         setCenter(createContent());
     }
 
     private Parent createContent() {
-        xAxis = new NumberAxis(startCounter, initialUpperBound, X_AXIS_TICK_UNIT);
+        xAxis = new NumberAxis(startCounter, startCounter + timeRange.millis, timeRange.millis / X_AXIS_TICK_COUNT);
         yAxis = new NumberAxis();
 
         final var memoryUsage = memoryUsageSupplier.get();
@@ -147,33 +172,53 @@ public final class HeapMonitorChart extends BorderPane {
             final var max  = usage.max / KB_CONVERSION;
 
             Platform.runLater(() -> {
-                counter.set(System.currentTimeMillis());
-
-                if (firstUpdateCall.get()) {
-                    xAxis.setLowerBound(counter.get());
-                    firstUpdateCall.set(false);
+                lastSampleTime = System.currentTimeMillis();
+                if (firstSampleTime < 0) {
+                    firstSampleTime = lastSampleTime;
                 }
                 yAxis.setUpperBound(Math.max(used, max));
 
-                final var usedHeapSizeList = usageSeries.getData();
-                final var maxHeapSizeList  = maxMemorySeries.getData();
+                usageTimeSeries.add(lastSampleTime, used);
+                maxMemoryTimeSeries.add(lastSampleTime, max);
+                render();
+            });
+        });
 
-                usedHeapSizeList.add(new XYChart.Data<>(counter.get(), used));
-                maxHeapSizeList.add(new XYChart.Data<>(counter.get(), max));
+    }
 
-                // if we go over upper bound, delete old data, and change the bounds
-                if (counter.get() > initialUpperBound) {
-                    final var numberNumberData = usedHeapSizeList.get(1);
-                    final var secondValue      = numberNumberData.getXValue();
-                    xAxis.setLowerBound(secondValue.doubleValue());
-                    xAxis.setUpperBound(counter.get());
-                    usedHeapSizeList.remove(0);
-                    maxHeapSizeList.remove(0);
+    /**
+     * Replaces the displayed data by the samples of the selected time range
+     * reduced to at most one point per pixel of the time axis. Hence, the
+     * number of rendered points stays constant no matter how long the heap
+     * has been monitored.
+     */
+    private void render() {
+        // the axis starts at the first sample and slides once the range is exceeded
+        final var first = firstSampleTime < 0 ? startCounter : firstSampleTime;
+        final var range = timeRange.millis;
+        final var upper = Math.max(lastSampleTime, first + range);
+        final var lower = upper - range;
+
+        xAxis.setLowerBound(lower);
+        xAxis.setUpperBound(upper);
+        xAxis.setTickUnit((double) range / X_AXIS_TICK_COUNT);
+
+        final var maxPoints = Math.max((int) xAxis.getWidth(), MIN_POINTS);
+        usageSeries.getData().setAll(toData(usageTimeSeries.points(lower, maxPoints)));
+        maxMemorySeries.getData().setAll(toData(maxMemoryTimeSeries.points(lower, maxPoints)));
+    }
 
-                }
-            });
-        });
+    private static List<XYChart.Data<Number, Number>> toData(final HeapTimeSeries.Points points) {
+        final var data = new ArrayList<XYChart.Data<Number, Number>>(points.size());
+        for (var i = 0; i < points.size(); i++) {
+            data.add(new XYChart.Data<>(points.times()[i], points.values()[i]));
+        }
+        return data;
+    }
 
+    void setTimeRange(final TimeRange timeRange) {
+        this.timeRange = timeRange;
+        render();
     }
 
     void update() {
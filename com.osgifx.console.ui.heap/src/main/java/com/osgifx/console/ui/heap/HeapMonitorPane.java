@@ -42,6 +42,7 @@ import com.osgifx.console.agent.dto.XHeapUsageDTO.XMemoryUsage;
 import com.osgifx.console.data.provider.DataProvider;
 import com.osgifx.console.executor.Executor;
 import com.osgifx.console.supervisor.Supervisor;
+import com.osgifx.console.ui.heap.HeapMonitorChart.TimeRange;
 import com.osgifx.console.util.fx.Fx;
 import com.osgifx.console.util.fx.FxDialog;
 import com.osgifx.console.util.io.IO;
@@ -58,6 +59,7 @@ import javafx.geometry.HPos;
 import javafx.geometry.Insets;
 import javafx.scene.Node;
 import javafx.scene.control.Button;
+import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.Separator;
@@ -88,7 +90,8 @@ public final class HeapMonitorPane extends BorderPane {
     private final StringProperty         maxHeap           = new SimpleStringProperty();
     private final StringProperty         uptTime           = new SimpleStringProperty();
 
-    private Timeline animation;
+    private Timeline            animation;
+    private ComboBox<TimeRange> timeRangeSelection;
 
     @Log
     @Inject
@@ -170,6 +173,7 @@ public final class HeapMonitorPane extends BorderPane {
 
     private void addToList(final HeapMonitorChart memoryUsageChart, final ObservableList<Node> vBoxChildren) {
         memoryUsageChart.setPrefHeight(250);
+        memoryUsageChart.setTimeRange(timeRangeSelection.getValue());
         memoryUsageCharts.add(memoryUsageChart);
         vBoxChildren.add(memoryUsageChart);
         VBox.setVgrow(memoryUsageChart, Priority.ALWAYS);
@@ -288,9 +292,17 @@ public final class HeapMonitorPane extends BorderPane {
             }
         });
 
+        timeRangeSelection = new ComboBox<>();
+        timeRangeSelection.getItems().setAll(TimeRange.values());
+        timeRangeSelection.getSelectionModel().select(TimeRange.LAST_2_MINUTES);
+        timeRangeSelection.setMaxWidth(Double.MAX_VALUE);
+        timeRangeSelection.setOnAction(
+                e -> memoryUsageCharts.forEach(chart -> chart.setTimeRange(timeRangeSelection.getValue())));
+
         children.add(startStopBtn);
         children.add(garbageCollectBtn);
         children.add(heapDumpBtn);
+        children.add(timeRangeSelection);
 
         return vBox;
     }
@@ -0,0 +1,248 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.ui.heap;
+
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * A time series of memory samples which occupies a fixed amount of memory
+ * regardless of how long it is being recorded.
+ * <p>
+ * Every sample is recorded in multiple resolutions: the raw samples of the
+ * recent past as well as rollups per 10 seconds and per minute covering
+ * several hours. A rollup retains the minimum and the maximum of its samples.
+ * Each resolution is a ring buffer that overwrites its oldest entry once it is
+ * full.
+ * <p>
+ * The points of a time range are taken from the finest resolution which still
+ * covers the range and are then reduced to the requested number of points
+ * with the Largest-Triangle-Three-Buckets (LTTB) algorithm which preserves the
+ * visual shape of the series.
+ * <p>
+ * This class is not thread-safe.
+ */
+final class HeapTimeSeries {
+
+    private static final int RAW_CAPACITY         = 1_800;
+    private static final int TEN_SECONDS_CAPACITY = 2_880;
+    private static final int ONE_MINUTE_CAPACITY  = 1_440;
+
+    /** The resolutions from the finest to the coarsest */
+    private final Resolution[] resolutions = {
+            new Resolution(0, RAW_CAPACITY),
+            new Resolution(TimeUnit.SECONDS.toMillis(10), TEN_SECONDS_CAPACITY),
+            new Resolution(TimeUnit.MINUTES.toMillis(1), ONE_MINUTE_CAPACITY) };
+
+    /**
+     * The points to render
+     *
+     * @param times the timestamps in milliseconds in ascending order
+     * @param values the values
+     * @param size the number of points
+     */
+    record Points(long[] times, double[] values, int size) {
+    }
+
+    /**
+     * Records a sample
+     *
+     * @param time the timestamp of the sample in milliseconds
+     * @param value the value of the sample
+     */
+    void add(final long time, final double value) {
+        for (final Resolution resolution : resolutions) {
+            resolution.add(time, value);
+        }
+    }
+
+    /**
+     * Returns at most {@code maxPoints} points which represent the samples
+     * recorded since the specified time
+     *
+     * @param from the timestamp in milliseconds from which on the samples are
+     *            requested
+     * @param maxPoints the maximum number of points, usually the width of the
+     *            chart in pixels
+     * @return the points
+     */
+    Points points(final long from, final int maxPoints) {
+        Preconditions.checkArgument(maxPoints > 2, "At least three points are required");
+
+        var selected = resolutions[resolutions.length - 1];
+        for (final Resolution resolution : resolutions) {
+            if (resolution.covers(from)) {
+                selected = resolution;
+                break;
+            }
+        }
+        return downsample(selected.points(from), maxPoints);
+    }
+
+    /**
+     * Reduces the points with the Largest-Triangle-Three-Buckets algorithm.
+     * <p>
+     * The first and the last point are always retained. The remaining points
+     * are split into equally sized buckets and the point of every bucket is
+     * selected that forms the largest triangle with the point selected from
+     * the previous bucket and the average of the next bucket.
+     */
+    static Points downsample(final Points points, final int threshold) {
+        final var size = points.size();
+        if (size <= threshold) {
+            return points;
+        }
+        final var times         = points.times();
+        final var values        = points.values();
+        final var sampledTimes  = new long[threshold];
+        final var sampledValues = new double[threshold];
+        final var bucketSize    = (double) (size - 2) / (threshold - 2);
+
+        var selected = 0;
+        sampledTimes[0]  = times[0];
+        sampledValues[0] = values[0];
+
+        for (var bucket = 0; bucket < threshold - 2; bucket++) {
+            // the average of the next bucket is the third vertex of the triangle
+            final var nextStart = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            final var nextEnd   = Math.min((int) Math.floor((bucket + 2) * bucketSize) + 1, size);
+
+            var averageTime  = 0.0;
+            var averageValue = 0.0;
+            for (var i = nextStart; i < nextEnd; i++) {
+                averageTime  += times[i];
+                averageValue += values[i];
+            }
+            averageTime  /= nextEnd - nextStart;
+            averageValue /= nextEnd - nextStart;
+
+            final var start         = (int) Math.floor(bucket * bucketSize) + 1;
+            final var end           = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            final var selectedTime  = (double) times[selected];
+            final var selectedValue = values[selected];
+
+            var maxArea = -1.0;
+            var next    = start;
+            for (var i = start; i < end; i++) {
+                final var area = Math.abs((selectedTime - averageTime) * (values[i] - selectedValue)
+                        - (selectedTime - times[i]) * (averageValue - selectedValue));
+                if (area > maxArea) {
+                    maxArea = area;
+                    next    = i;
+                }
+            }
+            sampledTimes[bucket + 1]  = times[next];
+            sampledValues[bucket + 1] = values[next];
+            selected                  = next;
+        }
+        sampledTimes[threshold - 1]  = times[size - 1];
+        sampledValues[threshold - 1] = values[size - 1];
+
+        return new Points(sampledTimes, sampledValues, threshold);
+    }
+
+    /**
+     * A ring buffer of rollups of a specific duration. A duration of zero
+     * retains every sample as is.
+     */
+    private static final class Resolution {
+
+        private final long     duration;
+        private final long[]   starts;
+        private final long[]   minimumTimes;
+        private final double[] minimums;
+        private final long[]   maximumTimes;
+        private final double[] maximums;
+        private int            head;
+        private int            size;
+
+        Resolution(final long duration, final int capacity) {
+            this.duration = duration;
+            starts        = new long[capacity];
+            minimumTimes  = new long[capacity];
+            minimums      = new double[capacity];
+            maximumTimes  = new long[capacity];
+            maximums      = new double[capacity];
+        }
+
+        void add(final long time, final double value) {
+            final var start = duration == 0 ? time : time - time % duration;
+            if (size > 0 && starts[last()] == start) {
+                final var last = last();
+                if (value < minimums[last]) {
+                    minimumTimes[last] = time;
+                    minimums[last]     = value;
+                }
+                if (value > maximums[last]) {
+                    maximumTimes[last] = time;
+                    maximums[last]     = value;
+                }
+                return;
+            }
+            final var slot = (head + size) % starts.length;
+            starts[slot]       = start;
+            minimumTimes[slot] = time;
+            minimums[slot]     = value;
+            maximumTimes[slot] = time;
+            maximums[slot]     = value;
+            if (size < starts.length) {
+                size++;
+            } else {
+                head = (head + 1) % starts.length;
+            }
+        }
+
+        /**
+         * Checks whether the rollups cover all samples since the specified
+         * time which is also the case if none has been overwritten yet
+         */
+        boolean covers(final long from) {
+            return size > 0 && (starts[head] <= from || size < starts.length);
+        }
+
+        /**
+         * Returns the points of the rollups since the specified time. A rollup
+         * is represented by its minimum and maximum in the order they have
+         * been sampled such that the spikes right before a garbage collection
+         * remain visible in the coarser resolutions.
+         */
+        Points points(final long from) {
+            final var times  = new long[size * 2];
+            final var values = new double[size * 2];
+            var       count  = 0;
+            for (var i = 0; i < size; i++) {
+                final var slot = (head + i) % starts.length;
+                if (starts[slot] + duration < from) {
+                    continue;
+                }
+                final var minimumFirst = minimumTimes[slot] <= maximumTimes[slot];
+                times[count]    = minimumFirst ? minimumTimes[slot] : maximumTimes[slot];
+                values[count++] = minimumFirst ? minimums[slot] : maximums[slot];
+                if (minimumTimes[slot] != maximumTimes[slot]) {
+                    times[count]    = minimumFirst ? maximumTimes[slot] : minimumTimes[slot];
+                    values[count++] = minimumFirst ? maximums[slot] : minimums[slot];
+                }
+            }
+            return new Points(times, values, count);
+        }
+
+        private int last() {
+            return (head + size - 1) % starts.length;
+        }
+    }
+
+}
@@ -15,12 +15,14 @@
  ******************************************************************************/
 package com.osgifx.console.ui.logs;
 
+import static com.osgifx.console.data.provider.LogEntryList.ALL_BUNDLES;
+
+import java.util.Comparator;
 import java.util.Date;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 
-import org.controlsfx.control.table.TableFilter;
 import org.controlsfx.control.table.TableRowExpanderColumn;
 import org.controlsfx.control.table.TableRowExpanderColumn.TableRowDataFeatures;
 import org.eclipse.e4.core.di.extensions.OSGiBundle;
@@ -31,11 +33,14 @@ import org.osgi.framework.BundleContext;
 
 import com.osgifx.console.agent.dto.XLogEntryDTO;
 import com.osgifx.console.data.provider.DataProvider;
+import com.osgifx.console.data.provider.LogEntryList;
 import com.osgifx.console.util.fx.DTOCellValueFactory;
 import com.osgifx.console.util.fx.Fx;
 
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.layout.GridPane;
@@ -43,6 +48,10 @@ import javafx.scene.paint.Color;
 
 public final class LogsViewFxController {
 
+    private static final String   ALL              = "All";
+    private static final String   ALL_BUNDLES_ITEM = "All Bundles";
+    private static final String[] LOG_LEVELS       = { ALL, "AUDIT", "ERROR", "WARN", "INFO", "DEBUG", "TRACE" };
+
     @Log
     @Inject
     private FluentLogger                       logger;
@@ -51,6 +60,12 @@ public final class LogsViewFxController {
     private FXMLLoader                         loader;
     @FXML
     private TableView<XLogEntryDTO>            table;
+    @FXML
+    private ComboBox<String>                   levelFilter;
+    @FXML
+    private ComboBox<String>                   bundleFilter;
+    @FXML
+    private Label                              capacityLabel;
     @Inject
     @OSGiBundle
     private BundleContext                      context;
@@ -114,17 +129,53 @@ public final class LogsViewFxController {
         table.getColumns().add(logLevelColumn);
         table.getColumns().add(messageColumn);
 
+        // the logs are ordered from the newest to the oldest entry and materialized on demand, hence neither
+        // sorting nor the table filter which would materialize all entries are supported
+        table.getColumns().forEach(c -> c.setSortable(false));
+
         final var logs = dataProvider.logs();
         table.setItems(logs);
+        if (logs instanceof final LogEntryList entries) {
+            initFilters(entries);
+        }
+    }
 
-        TableFilter.forTableView(table).lazy(true).apply();
-        sortByLoggedAt(loggedAtColumn);
+    private void initFilters(final LogEntryList entries) {
+        capacityLabel.setText("Retaining the latest " + entries.capacity() + " entries");
+
+        levelFilter.getItems().setAll(LOG_LEVELS);
+        levelFilter.getSelectionModel().select(ALL);
+        levelFilter.setOnAction(e -> applyFilter(entries));
+
+        bundleFilter.setOnShowing(e -> updateBundleFilterItems());
+        updateBundleFilterItems();
+        bundleFilter.getSelectionModel().select(ALL_BUNDLES_ITEM);
+        bundleFilter.setOnAction(e -> applyFilter(entries));
+    }
+
+    private void updateBundleFilterItems() {
+        final var selected = bundleFilter.getSelectionModel().getSelectedItem();
+        final var items    = dataProvider.bundles().stream().sorted(Comparator.comparingLong(b -> b.id))
+                .map(b -> b.id + " - " + b.symbolicName).toList();
+
+        bundleFilter.getItems().setAll(ALL_BUNDLES_ITEM);
+        bundleFilter.getItems().addAll(items);
+        if (selected != null) {
+            bundleFilter.getSelectionModel().select(selected);
+        }
     }
 
-    private void sortByLoggedAt(final TableColumn<XLogEntryDTO, Date> column) {
-        column.setSortType(TableColumn.SortType.DESCENDING);
-        table.getSortOrder().add(column);
-        table.sort();
+    private void applyFilter(final LogEntryList entries) {
+        final var level  = levelFilter.getSelectionModel().getSelectedItem();
+        final var bundle = bundleFilter.getSelectionModel().getSelectedItem();
+
+        final var levelToFilter = level == null || ALL.equals(level) ? null : level;
+        var       bundleId      = ALL_BUNDLES;
+        if (bundle != null && !ALL_BUNDLES_ITEM.equals(bundle)) {
+            bundleId = Long.parseLong(bundle.substring(0, bundle.indexOf(' ')));
+        }
+        entries.filter(levelToFilter, bundleId);
+        logger.atDebug().log("Logs filtered by level '%s' and bundle '%s'", levelToFilter, bundleId);
     }
 
 }
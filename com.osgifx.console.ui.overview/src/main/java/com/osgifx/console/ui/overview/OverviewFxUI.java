@@ -20,7 +20,6 @@ import static com.osgifx.console.supervisor.Supervisor.AGENT_CONNECTED_EVENT_TOP
 import static com.osgifx.console.supervisor.Supervisor.AGENT_DISCONNECTED_EVENT_TOPIC;
 import static com.osgifx.console.ui.overview.OverviewFxUI.TimelineButtonType.PAUSE;
 import static com.osgifx.console.ui.overview.OverviewFxUI.TimelineButtonType.PLAY;
-import static java.util.Objects.requireNonNullElse;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static javafx.geometry.Orientation.VERTICAL;
 
@@ -28,7 +27,6 @@ import java.text.DecimalFormat;
 import java.time.LocalTime;
 import java.util.Locale;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -49,7 +47,7 @@ import org.eclipse.fx.core.log.Log;
 
 import com.google.common.collect.Maps;
 import com.google.mu.util.stream.BiStream;
-import com.osgifx.console.agent.dto.XMemoryInfoDTO;
+import com.osgifx.console.agent.dto.XRuntimeSummaryDTO;
 import com.osgifx.console.data.provider.DataProvider;
 import com.osgifx.console.ui.ConsoleStatusBar;
 import com.osgifx.console.util.fx.Fx;
@@ -60,6 +58,7 @@ import eu.hansolo.tilesfx.TileBuilder;
 import eu.hansolo.tilesfx.colors.Bright;
 import eu.hansolo.tilesfx.colors.Dark;
 import eu.hansolo.tilesfx.tools.FlowGridPane;
+import javafx.animation.Animation;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
 import javafx.geometry.Insets;
@@ -79,6 +78,7 @@ import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.Stop;
+import javafx.stage.Stage;
 import javafx.util.Duration;
 
 public final class OverviewFxUI {
@@ -86,7 +86,6 @@ public final class OverviewFxUI {
     private static final double TILE_WIDTH    = 500;
     private static final double TILE_HEIGHT   = 220;
     private static final double REFRESH_DELAY = 5;
-    private static final int    CYCLE_COUNT   = 5;
 
     @Log
     @Inject
@@ -113,6 +112,7 @@ public final class OverviewFxUI {
     private Tile noOfBundlesTile;
     private Tile noOfServicesTile;
     private Tile noOfComponentsTile;
+    private Tile cpuLoadTile;
     private Tile memoryConsumptionTile;
     private Tile availableMemoryTile;
     private Tile uptimeTile;
@@ -122,6 +122,7 @@ public final class OverviewFxUI {
 
     private double              refreshDelayInSeconds   = REFRESH_DELAY;
     private final AtomicBoolean isRealtimeUpdateRunning = new AtomicBoolean(true);
+    private final AtomicBoolean isSummaryRequestPending = new AtomicBoolean();
 
     @PostConstruct
     public void postConstruct() {
@@ -142,6 +143,7 @@ public final class OverviewFxUI {
             createTiles(parent);
             initTimeline();
             updateTimelineButtonTo(PAUSE);
+            retrieveRuntimeData();
         }
     }
 
@@ -164,7 +166,7 @@ public final class OverviewFxUI {
     }
 
     private void initTimeline() {
-        createPeriodicTaskToSetRuntimeInfo(REFRESH_DELAY);
+        createPeriodicTaskToSetRuntimeInfo(refreshDelayInSeconds);
         dataRetrieverTimeline.play();
     }
 
@@ -208,49 +210,55 @@ public final class OverviewFxUI {
             dataRetrieverTimeline.stop();
         }
         dataRetrieverTimeline = new Timeline(new KeyFrame(Duration.seconds(refreshDelayInSeconds),
-                                                          a -> retrieveRuntimeData()));
-        dataRetrieverTimeline.setCycleCount(CYCLE_COUNT);
-        dataRetrieverTimeline.setOnFinished(event -> {
-            updateTimelineButtonTo(PLAY);
-            isRealtimeUpdateRunning.set(false);
-        });
+                                                          a -> refreshIfVisible()));
+        dataRetrieverTimeline.setCycleCount(Animation.INDEFINITE);
     }
 
-    private void retrieveRuntimeData() {
-        // @formatter:off
-        final var runtimeInfo = retrieveRuntimeInfo();
-
-        noOfBundlesTile.setValue(runtimeInfo.noOfInstalledBundles());
-        noOfServicesTile.setValue(runtimeInfo.noOfServices());
-        noOfComponentsTile.setValue(runtimeInfo.noOfComponents());
-        noOfThreadsTile.setValue(runtimeInfo.noOfThreads());
-
-        final var memoryInfo = runtimeInfo.memoryInfo();
-
-        memoryInfo.thenAccept(info -> {
-            final var freeMemoryInBytes  = info.freeMemory;
-            final var totalMemoryInBytes = info.totalMemory;
-            final var freeMemoryInMB     = toMB(freeMemoryInBytes);
-            final var totalMemoryInMB    = toMB(totalMemoryInBytes);
-
-            threadSync.asyncExec(() -> {
-                availableMemoryTile.setValue(freeMemoryInMB);
-                availableMemoryTile.setMaxValue(totalMemoryInMB);
-                availableMemoryTile.setThreshold(totalMemoryInMB * .8);
+    /*
+     * The refresh is skipped while the overview is not visible, e.g. if another tab
+     * is selected or the window is minimized, as well as while the previous summary
+     * has not been received yet such that a slow agent never gets requests piled up
+     */
+    private void refreshIfVisible() {
+        if (!isOverviewVisible()) {
+            return;
+        }
+        if (isSummaryRequestPending.get()) {
+            logger.atDebug().log("Overview refresh skipped as the previous one is still pending");
+            return;
+        }
+        retrieveRuntimeData();
+    }
 
-                var memoryConsumptionInfoInPercentage = 0D;
-                if (totalMemoryInBytes != 0) {
-                    memoryConsumptionInfoInPercentage = (totalMemoryInBytes - freeMemoryInBytes) * 100D
-                            / totalMemoryInBytes;
-                }
+    private boolean isOverviewVisible() {
+        final var scene = parent.getScene();
+        if (scene == null || scene.getWindow() == null || !scene.getWindow().isShowing()) {
+            return false;
+        }
+        if (scene.getWindow() instanceof final Stage stage && stage.isIconified()) {
+            return false;
+        }
+        for (Node node = parent; node != null; node = node.getParent()) {
+            if (!node.isVisible()) {
+                return false;
+            }
+        }
+        return true;
+    }
 
-                memoryConsumptionTile.setValue(memoryConsumptionInfoInPercentage);
+    private void retrieveRuntimeData() {
+        final var runtimeInfo = retrieveRuntimeInfo();
+        final var summary     = isConnected ? dataProvider.runtimeSummary() : completedFuture(new XRuntimeSummaryDTO());
 
-                final var uptime = toUptimeEntry(info.uptime);
-                uptimeTile.setDuration(LocalTime.of(uptime.hours, uptime.minutes(), uptime.seconds()));
-            });
+        isSummaryRequestPending.set(true);
+        summary.whenComplete((info, e) -> isSummaryRequestPending.set(false)).thenAccept(info -> {
+            if (info == null) {
+                return;
+            }
+            threadSync.asyncExec(() -> updateTiles(info));
         });
 
+        // @formatter:off
         runtimeInfoTile.setGraphic(
                 createRuntimeTable(
                         runtimeInfo.frameworkBsn(),
@@ -263,6 +271,43 @@ public final class OverviewFxUI {
         // @formatter:on
     }
 
+    private void updateTiles(final XRuntimeSummaryDTO info) {
+        noOfBundlesTile.setValue(info.bundles);
+        noOfBundlesTile.setText(String.format("%d active, %d resolved, %d installed", info.activeBundles,
+                info.resolvedBundles, info.installedBundles));
+        noOfServicesTile.setValue(info.services);
+        noOfComponentsTile.setValue(info.components);
+        noOfThreadsTile.setValue(info.threads);
+
+        final var freeMemoryInBytes  = info.freeMemory;
+        final var totalMemoryInBytes = info.totalMemory;
+        final var freeMemoryInMB     = toMB(freeMemoryInBytes);
+        final var totalMemoryInMB    = toMB(totalMemoryInBytes);
+
+        availableMemoryTile.setValue(freeMemoryInMB);
+        availableMemoryTile.setMaxValue(totalMemoryInMB);
+        availableMemoryTile.setThreshold(totalMemoryInMB * .8);
+
+        var memoryConsumptionInfoInPercentage = 0D;
+        if (totalMemoryInBytes != 0) {
+            memoryConsumptionInfoInPercentage = (totalMemoryInBytes - freeMemoryInBytes) * 100D / totalMemoryInBytes;
+        }
+        memoryConsumptionTile.setValue(memoryConsumptionInfoInPercentage);
+
+        // a negative load denotes that the remote runtime cannot provide it
+        final var isCpuLoadAvailable = info.processCpuLoad >= 0;
+        cpuLoadTile.setValue(isCpuLoadAvailable ? info.processCpuLoad * 100D : 0D);
+        cpuLoadTile.setValueVisible(isCpuLoadAvailable);
+        cpuLoadTile.setDescription(isCpuLoadAvailable ? "" : "N/A");
+        if (info.systemLoadAverage >= 0) {
+            cpuLoadTile.setText(String.format("Load average %.2f on %d processors", info.systemLoadAverage,
+                    info.availableProcessors));
+        }
+
+        final var uptime = toUptimeEntry(info.uptime);
+        uptimeTile.setDuration(LocalTime.of(uptime.hours, uptime.minutes(), uptime.seconds()));
+    }
+
     private OverviewInfo retrieveRuntimeInfo() {
         if (!isConnected) {
             return new OverviewInfo();
@@ -312,16 +357,10 @@ public final class OverviewFxUI {
                                                                   .findAny()
                                                                   .orElse("");
 
-        final var noOfThreads          = dataProvider.threads().size();
-        final var noOfInstalledBundles = dataProvider.bundles().size();
-        final var noOfServices         = dataProvider.services().size();
-        final var noOfComponents       = dataProvider.components().size();
-        final var memoryInfo           = requireNonNullElse(dataProvider.memory(), completedFuture(new XMemoryInfoDTO()));
         // @formatter:on
 
         return new OverviewInfo(frameworkBsn, frameworkVersion, frameworkStartLevel, osName, osVersion, osArchitecture,
-                                javaVersion, noOfThreads, noOfInstalledBundles, noOfServices, noOfComponents,
-                                memoryInfo);
+                                javaVersion);
     }
 
     private void createUIComponents(final BorderPane parent) {
@@ -394,6 +433,13 @@ public final class OverviewFxUI {
                                         .decimals(0)
                                         .build();
 
+        cpuLoadTile = TileBuilder.create()
+                                 .skinType(SkinType.PERCENTAGE)
+                                 .prefSize(TILE_WIDTH, TILE_HEIGHT)
+                                 .title("JVM CPU Load Percentage")
+                                 .roundedCorners(false)
+                                 .build();
+
         memoryConsumptionTile = TileBuilder.create()
                                            .skinType(SkinType.PERCENTAGE)
                                            .prefSize(TILE_WIDTH, TILE_HEIGHT)
@@ -436,13 +482,14 @@ public final class OverviewFxUI {
                                 .duration(LocalTime.of(0, 0, 0))
                                 .build();
 
-        final var pane = new FlowGridPane(3, 3,
+        final var pane = new FlowGridPane(5, 2,
                                            clockTile,
                                            runtimeInfoTile,
                                            noOfThreadsTile,
                                            noOfBundlesTile,
                                            noOfServicesTile,
                                            noOfComponentsTile,
+                                           cpuLoadTile,
                                            memoryConsumptionTile,
                                            availableMemoryTile,
                                            uptimeTile);
@@ -550,14 +597,9 @@ public final class OverviewFxUI {
                                 String osName,
                                 String osVersion,
                                 String osArchitecture,
-                                String javaVersion,
-                                int noOfThreads,
-                                int noOfInstalledBundles,
-                                int noOfServices,
-                                int noOfComponents,
-                                CompletableFuture<XMemoryInfoDTO> memoryInfo) {
+                                String javaVersion) {
         public OverviewInfo() {
-            this("", "", "", "", "", "", "", 0, 0, 0, 0, completedFuture(new XMemoryInfoDTO()));
+            this("", "", "", "", "", "", "");
         }
     }
 
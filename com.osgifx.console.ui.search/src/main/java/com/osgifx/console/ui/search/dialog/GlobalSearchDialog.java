@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.ui.search.dialog;
+
+import static com.osgifx.console.constants.FxConstants.STANDARD_CSS;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import javax.inject.Inject;
+
+import org.apache.commons.lang3.StringUtils;
+import org.eclipse.fx.core.ThreadSynchronize;
+import org.eclipse.fx.core.log.FluentLogger;
+import org.eclipse.fx.core.log.Log;
+
+import com.google.common.base.CaseFormat;
+import com.osgifx.console.ui.search.filter.SearchComponent;
+import com.osgifx.console.ui.search.index.GlobalSearch;
+import com.osgifx.console.ui.search.index.RankedResults;
+import com.osgifx.console.ui.search.index.SearchResult;
+
+import javafx.animation.PauseTransition;
+import javafx.geometry.Insets;
+import javafx.scene.control.Button;
+import javafx.scene.control.ButtonBar.ButtonData;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.Dialog;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.FlowPane;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.stage.StageStyle;
+import javafx.util.Duration;
+
+/**
+ * Searches all runtime information at once and lists the best matches first.
+ * Further matches are retrieved page by page on demand.
+ */
+public final class GlobalSearchDialog extends Dialog<SearchResult> {
+
+    private static final int      PAGE_SIZE        = 50;
+    private static final int      MAX_MATCH_LENGTH = 120;
+    private static final Duration SEARCH_DELAY     = Duration.millis(200);
+    private static final double   RESULTS_HEIGHT   = 400;
+
+    @Log
+    @Inject
+    private FluentLogger                         logger;
+    @Inject
+    private GlobalSearch                         globalSearch;
+    @Inject
+    private ThreadSynchronize                    threadSync;
+    private TextField                            queryField;
+    private Label                                statusLabel;
+    private ListView<SearchResult>               resultsView;
+    private Button                               moreButton;
+    private final Map<SearchComponent, CheckBox> facets = new EnumMap<>(SearchComponent.class);
+    private RankedResults                        results;
+    /** Identifies the latest search such that the results of earlier ones are discarded */
+    private long                                 searchCount;
+
+    public void init() {
+        final var dialogPane = getDialogPane();
+
+        initStyle(StageStyle.UNDECORATED);
+        dialogPane.setHeaderText("Global Search");
+        dialogPane.getStylesheets().add(getClass().getResource(STANDARD_CSS).toExternalForm());
+        dialogPane.setGraphic(new ImageView(getClass().getResource("/graphic/images/search.png").toString()));
+        dialogPane.getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
+        dialogPane.setMinWidth(700);
+
+        queryField = new TextField();
+        queryField.setPromptText("e.g. com.acme.db, bsn:org.apache.* or service.ranking:>0 AND NOT bundle:felix");
+
+        final var facetPane = new FlowPane(10, 5);
+        for (final SearchComponent component : GlobalSearch.COMPONENTS_SEARCHED) {
+            final var checkBox = new CheckBox(facetName(component));
+            checkBox.setSelected(true);
+            checkBox.selectedProperty().addListener((obs, oldValue, newValue) -> search());
+            facets.put(component, checkBox);
+            facetPane.getChildren().add(checkBox);
+        }
+        statusLabel = new Label();
+        resultsView = new ListView<>();
+        resultsView.setPrefHeight(RESULTS_HEIGHT);
+        resultsView.setCellFactory(view -> new SearchResultCell());
+        VBox.setVgrow(resultsView, Priority.ALWAYS);
+
+        moreButton = new Button("Show More");
+        moreButton.setOnAction(e -> showNextPage());
+        moreButton.setDisable(true);
+
+        final var content = new VBox(8, queryField, facetPane, statusLabel, resultsView, moreButton);
+        content.setPadding(new Insets(10));
+        dialogPane.setContent(content);
+
+        // search once the user pauses typing instead of on every keystroke
+        final var delay = new PauseTransition(SEARCH_DELAY);
+        delay.setOnFinished(e -> search());
+        queryField.textProperty().addListener((obs, oldValue, newValue) -> delay.playFromStart());
+
+        // @formatter:off
+        dialogPane.lookupButton(ButtonType.OK)
+                  .disableProperty()
+                  .bind(resultsView.getSelectionModel().selectedItemProperty().isNull());
+        // @formatter:on
+        resultsView.setOnMouseClicked(e -> {
+            if (e.getClickCount() == 2 && resultsView.getSelectionModel().getSelectedItem() != null) {
+                setResult(resultsView.getSelectionModel().getSelectedItem());
+                close();
+            }
+        });
+        setResultConverter(dialogButton -> {
+            final var data = dialogButton == null ? null : dialogButton.getButtonData();
+            return data == ButtonData.OK_DONE ? resultsView.getSelectionModel().getSelectedItem() : null;
+        });
+        setResizable(true);
+        queryField.requestFocus();
+    }
+
+    private void search() {
+        final var searchId = ++searchCount;
+        resultsView.getItems().clear();
+        results = null;
+        statusLabel.setText("");
+        updateFacets();
+        showNextPage();
+
+        final var input = queryField.getText();
+        if (input == null || input.isBlank()) {
+            return;
+        }
+        try {
+            statusLabel.setText("Searching...");
+            globalSearch.search(input).whenComplete((r, e) -> threadSync.asyncExec(() -> {
+                if (searchId != searchCount) {
+                    return;
+                }
+                if (e != null) {
+                    logger.atError().withException(e).log("Global search cannot be performed");
+                    statusLabel.setText("Search cannot be performed");
+                    return;
+                }
+                results = r;
+                statusLabel.setText(results.count() + " matches");
+                updateFacets();
+                showNextPage();
+            }));
+        } catch (final IllegalArgumentException e) {
+            statusLabel.setText(e.getMessage());
+        } catch (final Exception e) {
+            logger.atError().withException(e).log("Global search cannot be performed");
+            statusLabel.setText("Search cannot be performed");
+        }
+    }
+
+    private void showNextPage() {
+        if (results == null) {
+            moreButton.setDisable(true);
+            return;
+        }
+        // @formatter:off
+        final var selected = facets.entrySet()
+                                   .stream()
+                                   .filter(e -> e.getValue().isSelected())
+                                   .map(Map.Entry::getKey)
+                                   .toList();
+        // @formatter:on
+        resultsView.getItems().addAll(results.next(PAGE_SIZE, selected));
+        moreButton.setDisable(!results.hasNext(selected));
+    }
+
+    private void updateFacets() {
+        facets.forEach((component, checkBox) -> {
+            final var name = facetName(component);
+            checkBox.setText(results == null ? name : name + " (" + results.count(component) + ")");
+        });
+    }
+
+    private static String facetName(final SearchComponent component) {
+        return CaseFormat.UPPER_UNDERSCORE.to(CaseFormat.UPPER_CAMEL, component.name());
+    }
+
+    private static final class SearchResultCell extends ListCell<SearchResult> {
+
+        @Override
+        protected void updateItem(final SearchResult result, final boolean empty) {
+            super.updateItem(result, empty);
+            if (empty || result == null) {
+                setText(null);
+                return;
+            }
+            final var match = result.match();
+            final var text  = new StringBuilder();
+
+            text.append('[').append(facetName(result.component())).append("] ").append(result.title());
+            if (match != null && !match.value().equals(result.title())) {
+                text.append("\n    ").append(match.name()).append(": ").append(abbreviate(match.value()));
+            }
+            setText(text.toString());
+        }
+
+        private static String abbreviate(final String value) {
+            return StringUtils.abbreviate(value.lines().findFirst().orElse(""), MAX_MATCH_LENGTH);
+        }
+    }
+
+}
@@ -22,6 +22,8 @@ public enum SearchComponent {
     COMPONENTS,
     CONFIGURATIONS,
     PACKAGES,
-    SERVICES
+    SERVICES,
+    PROPERTIES,
+    LOGS
 
 }
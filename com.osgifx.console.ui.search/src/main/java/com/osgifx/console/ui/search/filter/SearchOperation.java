@@ -21,6 +21,7 @@ public enum SearchOperation {
     EQUALS_TO,
     CONTAINS,
     IS_GREATER_THAN,
-    IS_LESS_THAN
+    IS_LESS_THAN,
+    MATCHES_QUERY
 
 }
@@ -25,6 +25,7 @@ import java.util.function.Predicate;
 
 import org.apache.commons.lang3.BooleanUtils;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
 
 import com.dlsc.formsfx.model.validators.CustomValidator;
 import com.dlsc.formsfx.model.validators.Validator;
@@ -33,14 +34,20 @@ import com.osgifx.console.agent.dto.XBundleDTO;
 import com.osgifx.console.ui.search.filter.SearchComponent;
 import com.osgifx.console.ui.search.filter.SearchFilter;
 import com.osgifx.console.ui.search.filter.SearchOperation;
+import com.osgifx.console.ui.search.index.Query;
+import com.osgifx.console.ui.search.index.SearchIndex;
 
 @Component
 public final class BundleSearchFilterByActivationPolicy implements SearchFilter {
 
+    @Reference
+    private SearchIndex searchIndex;
+
     @Override
     public Predicate<XBundleDTO> predicate(final String input, final SearchOperation searchOperation) {
+        final var value = String.valueOf(BooleanUtils.toBoolean(input.strip()));
         return switch (searchOperation) {
-            case EQUALS_TO -> bundle -> bundle.isActivationPolicyUsed == BooleanUtils.toBoolean(input.strip());
+            case EQUALS_TO -> searchIndex.predicate(BUNDLES, Query.equalTo("activationPolicy", value));
             default -> throw new VerifyException("no matching case found");
         };
     }
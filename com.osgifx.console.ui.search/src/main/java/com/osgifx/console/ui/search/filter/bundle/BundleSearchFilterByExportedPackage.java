@@ -22,8 +22,8 @@ import java.util.Collection;
 import java.util.List;
 import java.util.function.Predicate;
 
-import org.apache.commons.lang3.StringUtils;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
 
 import com.dlsc.formsfx.model.validators.CustomValidator;
 import com.dlsc.formsfx.model.validators.Validator;
@@ -33,17 +33,19 @@ import com.osgifx.console.agent.dto.XBundleDTO;
 import com.osgifx.console.ui.search.filter.SearchComponent;
 import com.osgifx.console.ui.search.filter.SearchFilter;
 import com.osgifx.console.ui.search.filter.SearchOperation;
+import com.osgifx.console.ui.search.index.Query;
+import com.osgifx.console.ui.search.index.SearchIndex;
 
 @Component
 public final class BundleSearchFilterByExportedPackage implements SearchFilter {
 
+    @Reference
+    private SearchIndex searchIndex;
+
     @Override
     public Predicate<XBundleDTO> predicate(final String input, final SearchOperation searchOperation) {
         return switch (searchOperation) {
-            case EQUALS_TO -> bundle -> {
-                final var exportedPackages = bundle.exportedPackages;
-                return exportedPackages.stream().anyMatch(p -> StringUtils.equalsIgnoreCase(p.name, input.strip()));
-            };
+            case EQUALS_TO -> searchIndex.predicate(BUNDLES, Query.equalTo("exportedPackage", input.strip()));
             default -> throw new VerifyException("no matching case found");
         };
     }
@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.function.Predicate;
 
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
 
 import com.dlsc.formsfx.model.validators.CustomValidator;
 import com.dlsc.formsfx.model.validators.Validator;
@@ -34,17 +35,22 @@ import com.osgifx.console.agent.dto.XBundleDTO;
 import com.osgifx.console.ui.search.filter.SearchComponent;
 import com.osgifx.console.ui.search.filter.SearchFilter;
 import com.osgifx.console.ui.search.filter.SearchOperation;
+import com.osgifx.console.ui.search.index.Query;
+import com.osgifx.console.ui.search.index.SearchIndex;
 
 @Component
 public final class BundleSearchFilterByID implements SearchFilter {
 
+    @Reference
+    private SearchIndex searchIndex;
+
     @Override
     public Predicate<XBundleDTO> predicate(final String input, final SearchOperation searchOperation) {
         final var bId = Longs.tryParse(input.strip());
         return switch (searchOperation) {
-            case EQUALS_TO -> bundle -> bundle.id == bId;
-            case IS_GREATER_THAN -> bundle -> bundle.id > bId;
-            case IS_LESS_THAN -> bundle -> bundle.id < bId;
+            case EQUALS_TO -> searchIndex.predicate(BUNDLES, Query.equalTo("id", bId));
+            case IS_GREATER_THAN -> searchIndex.predicate(BUNDLES, Query.greaterThan("id", bId));
+            case IS_LESS_THAN -> searchIndex.predicate(BUNDLES, Query.lessThan("id", bId));
             default -> throw new VerifyException("no matching case found");
         };
     }
@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.function.Predicate;
 
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
 
 import com.dlsc.formsfx.model.validators.CustomValidator;
 import com.dlsc.formsfx.model.validators.Validator;
@@ -33,16 +34,21 @@ import com.osgifx.console.agent.dto.XBundleDTO;
 import com.osgifx.console.ui.search.filter.SearchComponent;
 import com.osgifx.console.ui.search.filter.SearchFilter;
 import com.osgifx.console.ui.search.filter.SearchOperation;
+import com.osgifx.console.ui.search.index.Query;
+import com.osgifx.console.ui.search.index.SearchIndex;
 
 @Component
 public final class BundleSearchFilterByStartDuration implements SearchFilter {
 
+    @Reference
+    private SearchIndex searchIndex;
+
     @Override
     public Predicate<XBundleDTO> predicate(final String input, final SearchOperation searchOperation) {
         final var bStartDuration = Longs.tryParse(input.strip());
         return switch (searchOperation) {
-            case IS_GREATER_THAN -> bundle -> bundle.startDurationInMillis > bStartDuration;
-            case IS_LESS_THAN -> bundle -> bundle.startDurationInMillis < bStartDuration;
+            case IS_GREATER_THAN -> searchIndex.predicate(BUNDLES, Query.greaterThan("startDuration", bStartDuration));
+            case IS_LESS_THAN -> searchIndex.predicate(BUNDLES, Query.lessThan("startDuration", bStartDuration));
             default -> throw new VerifyException("no matching case found");
         };
     }
@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.function.Predicate;
 
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
 
 import com.dlsc.formsfx.model.validators.CustomValidator;
 import com.dlsc.formsfx.model.validators.Validator;
@@ -34,17 +35,22 @@ import com.osgifx.console.agent.dto.XBundleDTO;
 import com.osgifx.console.ui.search.filter.SearchComponent;
 import com.osgifx.console.ui.search.filter.SearchFilter;
 import com.osgifx.console.ui.search.filter.SearchOperation;
+import com.osgifx.console.ui.search.index.Query;
+import com.osgifx.console.ui.search.index.SearchIndex;
 
 @Component
 public final class BundleSearchFilterByStartLevel implements SearchFilter {
 
+    @Reference
+    private SearchIndex searchIndex;
+
     @Override
     public Predicate<XBundleDTO> predicate(final String input, final SearchOperation searchOperation) {
         final var bStartLevel = Ints.tryParse(input.strip());
         return switch (searchOperation) {
-            case EQUALS_TO -> bundle -> bundle.startLevel == bStartLevel;
-            case IS_GREATER_THAN -> bundle -> bundle.startLevel > bStartLevel;
-            case IS_LESS_THAN -> bundle -> bundle.startLevel < bStartLevel;
+            case EQUALS_TO -> searchIndex.predicate(BUNDLES, Query.equalTo("startLevel", bStartLevel));
+            case IS_GREATER_THAN -> searchIndex.predicate(BUNDLES, Query.greaterThan("startLevel", bStartLevel));
+            case IS_LESS_THAN -> searchIndex.predicate(BUNDLES, Query.lessThan("startLevel", bStartLevel));
             default -> throw new VerifyException("no matching case found");
         };
     }
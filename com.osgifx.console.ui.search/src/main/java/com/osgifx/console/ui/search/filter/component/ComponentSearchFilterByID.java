@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.function.Predicate;
 
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
 
 import com.dlsc.formsfx.model.validators.CustomValidator;
 import com.dlsc.formsfx.model.validators.Validator;
@@ -34,17 +35,22 @@ import com.osgifx.console.agent.dto.XComponentDTO;
 import com.osgifx.console.ui.search.filter.SearchComponent;
 import com.osgifx.console.ui.search.filter.SearchFilter;
 import com.osgifx.console.ui.search.filter.SearchOperation;
+import com.osgifx.console.ui.search.index.Query;
+import com.osgifx.console.ui.search.index.SearchIndex;
 
 @Component
 public final class ComponentSearchFilterByID implements SearchFilter {
 
+    @Reference
+    private SearchIndex searchIndex;
+
     @Override
     public Predicate<XComponentDTO> predicate(final String input, final SearchOperation searchOperation) {
         final var cId = Longs.tryParse(input.strip());
         return switch (searchOperation) {
-            case EQUALS_TO -> component -> component.id == cId;
-            case IS_GREATER_THAN -> component -> component.id > cId;
-            case IS_LESS_THAN -> component -> component.id < cId;
+            case EQUALS_TO -> searchIndex.predicate(COMPONENTS, Query.equalTo("id", cId));
+            case IS_GREATER_THAN -> searchIndex.predicate(COMPONENTS, Query.greaterThan("id", cId));
+            case IS_LESS_THAN -> searchIndex.predicate(COMPONENTS, Query.lessThan("id", cId));
             default -> throw new VerifyException("no matching case found");
         };
     }
@@ -23,8 +23,8 @@ import java.util.Collection;
 import java.util.List;
 import java.util.function.Predicate;
 
-import org.apache.commons.lang3.StringUtils;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
 
 import com.dlsc.formsfx.model.validators.CustomValidator;
 import com.dlsc.formsfx.model.validators.Validator;
@@ -34,15 +34,20 @@ import com.osgifx.console.agent.dto.XComponentDTO;
 import com.osgifx.console.ui.search.filter.SearchComponent;
 import com.osgifx.console.ui.search.filter.SearchFilter;
 import com.osgifx.console.ui.search.filter.SearchOperation;
+import com.osgifx.console.ui.search.index.Query;
+import com.osgifx.console.ui.search.index.SearchIndex;
 
 @Component
 public final class ComponentSearchFilterByImplementationClass implements SearchFilter {
 
+    @Reference
+    private SearchIndex searchIndex;
+
     @Override
     public Predicate<XComponentDTO> predicate(final String input, final SearchOperation searchOperation) {
         return switch (searchOperation) {
-            case EQUALS_TO -> component -> StringUtils.equalsIgnoreCase(component.implementationClass, input.strip());
-            case CONTAINS -> component -> StringUtils.containsIgnoreCase(component.implementationClass, input.strip());
+            case EQUALS_TO -> searchIndex.predicate(COMPONENTS, Query.equalTo("implementationClass", input.strip()));
+            case CONTAINS -> searchIndex.predicate(COMPONENTS, Query.contains("implementationClass", input.strip()));
             default -> throw new VerifyException("no matching case found");
         };
     }
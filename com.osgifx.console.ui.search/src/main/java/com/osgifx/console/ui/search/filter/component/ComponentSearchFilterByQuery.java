@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.ui.search.filter.component;
+
+import static com.osgifx.console.ui.search.filter.SearchComponent.COMPONENTS;
+import static com.osgifx.console.ui.search.filter.SearchOperation.MATCHES_QUERY;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+import com.dlsc.formsfx.model.validators.CustomValidator;
+import com.dlsc.formsfx.model.validators.Validator;
+import com.google.common.base.VerifyException;
+import com.osgifx.console.agent.dto.XComponentDTO;
+import com.osgifx.console.ui.search.filter.SearchComponent;
+import com.osgifx.console.ui.search.filter.SearchFilter;
+import com.osgifx.console.ui.search.filter.SearchOperation;
+import com.osgifx.console.ui.search.index.QueryParser;
+import com.osgifx.console.ui.search.index.SearchIndex;
+
+@Component
+public final class ComponentSearchFilterByQuery implements SearchFilter {
+
+    @Reference
+    private SearchIndex searchIndex;
+
+    @Override
+    public Predicate<XComponentDTO> predicate(final String input, final SearchOperation searchOperation) {
+        return switch (searchOperation) {
+            case MATCHES_QUERY -> searchIndex.predicate(COMPONENTS, input.strip());
+            default -> throw new VerifyException("no matching case found");
+        };
+    }
+
+    @Override
+    public Collection<SearchOperation> supportedOperations() {
+        return List.of(MATCHES_QUERY);
+    }
+
+    @Override
+    public SearchComponent component() {
+        return COMPONENTS;
+    }
+
+    @Override
+    public String placeholder() {
+        return "state:active AND (serviceInterface:Servlet OR scope:prototype)";
+    }
+
+    @Override
+    public Validator<String> validator() {
+        return CustomValidator.forPredicate(QueryParser::isValid,
+                "Invalid Query -> Allowed Format: field:value, AND, OR, NOT, (), field:[1 TO 10], field:>1");
+    }
+
+    @Override
+    public String toString() {
+        return "Query";
+    }
+
+}
@@ -23,8 +23,8 @@ import java.util.Collection;
 import java.util.List;
 import java.util.function.Predicate;
 
-import org.apache.commons.lang3.StringUtils;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
 
 import com.dlsc.formsfx.model.validators.CustomValidator;
 import com.dlsc.formsfx.model.validators.Validator;
@@ -34,17 +34,20 @@ import com.osgifx.console.data.provider.PackageDTO;
 import com.osgifx.console.ui.search.filter.SearchComponent;
 import com.osgifx.console.ui.search.filter.SearchFilter;
 import com.osgifx.console.ui.search.filter.SearchOperation;
+import com.osgifx.console.ui.search.index.Query;
+import com.osgifx.console.ui.search.index.SearchIndex;
 
 @Component
 public final class PackageFilterByImporter implements SearchFilter {
 
+    @Reference
+    private SearchIndex searchIndex;
+
     @Override
     public Predicate<PackageDTO> predicate(final String input, final SearchOperation searchOperation) {
         return switch (searchOperation) {
-            case EQUALS_TO -> pkg -> pkg.importers.stream()
-                    .anyMatch(b -> StringUtils.equalsIgnoreCase(b.symbolicName, input.strip()));
-            case CONTAINS -> pkg -> pkg.importers.stream()
-                    .anyMatch(b -> StringUtils.containsIgnoreCase(b.symbolicName, input.strip()));
+            case EQUALS_TO -> searchIndex.predicate(PACKAGES, Query.equalTo("importer", input.strip()));
+            case CONTAINS -> searchIndex.predicate(PACKAGES, Query.contains("importer", input.strip()));
             default -> throw new VerifyException("no matching case found");
         };
     }
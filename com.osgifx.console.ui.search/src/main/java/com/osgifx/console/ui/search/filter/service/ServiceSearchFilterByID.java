@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.function.Predicate;
 
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
 
 import com.dlsc.formsfx.model.validators.CustomValidator;
 import com.dlsc.formsfx.model.validators.Validator;
@@ -34,17 +35,22 @@ import com.osgifx.console.agent.dto.XServiceDTO;
 import com.osgifx.console.ui.search.filter.SearchComponent;
 import com.osgifx.console.ui.search.filter.SearchFilter;
 import com.osgifx.console.ui.search.filter.SearchOperation;
+import com.osgifx.console.ui.search.index.Query;
+import com.osgifx.console.ui.search.index.SearchIndex;
 
 @Component
 public final class ServiceSearchFilterByID implements SearchFilter {
 
+    @Reference
+    private SearchIndex searchIndex;
+
     @Override
     public Predicate<XServiceDTO> predicate(final String input, final SearchOperation searchOperation) {
         final var serviceId = Longs.tryParse(input.strip());
         return switch (searchOperation) {
-            case EQUALS_TO -> service -> service.id == serviceId;
-            case IS_GREATER_THAN -> service -> service.id > serviceId;
-            case IS_LESS_THAN -> service -> service.id < serviceId;
+            case EQUALS_TO -> searchIndex.predicate(SERVICES, Query.equalTo("id", serviceId));
+            case IS_GREATER_THAN -> searchIndex.predicate(SERVICES, Query.greaterThan("id", serviceId));
+            case IS_LESS_THAN -> searchIndex.predicate(SERVICES, Query.lessThan("id", serviceId));
             default -> throw new VerifyException("no matching case found");
         };
     }
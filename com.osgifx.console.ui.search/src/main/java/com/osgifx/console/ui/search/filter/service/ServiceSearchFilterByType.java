@@ -23,8 +23,8 @@ import java.util.Collection;
 import java.util.List;
 import java.util.function.Predicate;
 
-import org.apache.commons.lang3.StringUtils;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
 
 import com.dlsc.formsfx.model.validators.CustomValidator;
 import com.dlsc.formsfx.model.validators.Validator;
@@ -34,17 +34,20 @@ import com.osgifx.console.agent.dto.XServiceDTO;
 import com.osgifx.console.ui.search.filter.SearchComponent;
 import com.osgifx.console.ui.search.filter.SearchFilter;
 import com.osgifx.console.ui.search.filter.SearchOperation;
+import com.osgifx.console.ui.search.index.Query;
+import com.osgifx.console.ui.search.index.SearchIndex;
 
 @Component
 public final class ServiceSearchFilterByType implements SearchFilter {
 
+    @Reference
+    private SearchIndex searchIndex;
+
     @Override
     public Predicate<XServiceDTO> predicate(final String input, final SearchOperation searchOperation) {
         return switch (searchOperation) {
-            case EQUALS_TO -> service -> service.types.stream()
-                    .anyMatch(s -> StringUtils.equalsIgnoreCase(s, input.strip()));
-            case CONTAINS -> service -> service.types.stream()
-                    .anyMatch(s -> StringUtils.containsIgnoreCase(s, input.strip()));
+            case EQUALS_TO -> searchIndex.predicate(SERVICES, Query.equalTo("type", input.strip()));
+            case CONTAINS -> searchIndex.predicate(SERVICES, Query.contains("type", input.strip()));
             default -> throw new VerifyException("no matching case found");
         };
     }
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.ui.search.handler;
+
+import static com.osgifx.console.event.topics.TableFilterUpdateTopics.UPDATE_BUNDLE_FILTER_EVENT_TOPIC;
+import static com.osgifx.console.event.topics.TableFilterUpdateTopics.UPDATE_COMPONENT_FILTER_EVENT_TOPIC;
+import static com.osgifx.console.event.topics.TableFilterUpdateTopics.UPDATE_CONFIGURATION_FILTER_EVENT_TOPIC;
+import static com.osgifx.console.event.topics.TableFilterUpdateTopics.UPDATE_PACKAGE_FILTER_EVENT_TOPIC;
+import static com.osgifx.console.event.topics.TableFilterUpdateTopics.UPDATE_SERVICE_FILTER_EVENT_TOPIC;
+import static org.eclipse.e4.ui.workbench.modeling.EPartService.PartState.ACTIVATE;
+
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.eclipse.e4.core.contexts.ContextInjectionFactory;
+import org.eclipse.e4.core.contexts.IEclipseContext;
+import org.eclipse.e4.core.di.annotations.CanExecute;
+import org.eclipse.e4.core.di.annotations.Execute;
+import org.eclipse.e4.core.di.annotations.Optional;
+import org.eclipse.e4.core.services.events.IEventBroker;
+import org.eclipse.e4.ui.workbench.modeling.EPartService;
+import org.eclipse.fx.core.log.FluentLogger;
+import org.eclipse.fx.core.log.Log;
+
+import com.osgifx.console.dto.SearchFilterDTO;
+import com.osgifx.console.ui.search.dialog.GlobalSearchDialog;
+import com.osgifx.console.ui.search.index.InvertedIndex;
+import com.osgifx.console.ui.search.index.SearchIndex;
+import com.osgifx.console.ui.search.index.SearchResult;
+
+public final class GlobalSearchHandler {
+
+    private static final String TAB_ID_PREFIX = "com.osgifx.console.application.tab.";
+
+    @Log
+    @Inject
+    private FluentLogger    logger;
+    @Inject
+    private IEclipseContext context;
+    @Inject
+    @Optional
+    @Named("is_connected")
+    private boolean         isConnected;
+    @Inject
+    private IEventBroker    eventBroker;
+    @Inject
+    @Optional
+    private EPartService    partService;
+    @Inject
+    private SearchIndex     searchIndex;
+
+    @Execute
+    public void execute() {
+        final var dialog = new GlobalSearchDialog();
+        ContextInjectionFactory.inject(dialog, context);
+        logger.atInfo().log("Injected global search dialog to eclipse context");
+        dialog.init();
+
+        final var search = dialog.showAndWait();
+        if (search.isPresent()) {
+            final var result = search.get();
+            switch (result.component()) {
+                case BUNDLES:
+                    switchToTab("bundles");
+                    eventBroker.post(UPDATE_BUNDLE_FILTER_EVENT_TOPIC, filter(result));
+                    break;
+                case COMPONENTS:
+                    switchToTab("components");
+                    eventBroker.post(UPDATE_COMPONENT_FILTER_EVENT_TOPIC, filter(result));
+                    break;
+                case CONFIGURATIONS:
+                    switchToTab("configurations");
+                    eventBroker.post(UPDATE_CONFIGURATION_FILTER_EVENT_TOPIC, filter(result));
+                    break;
+                case SERVICES:
+                    switchToTab("services");
+                    eventBroker.post(UPDATE_SERVICE_FILTER_EVENT_TOPIC, filter(result));
+                    break;
+                case PACKAGES:
+                    switchToTab("packages");
+                    eventBroker.post(UPDATE_PACKAGE_FILTER_EVENT_TOPIC, filter(result));
+                    break;
+                case PROPERTIES:
+                    // the properties and logs views cannot be filtered
+                    switchToTab("properties");
+                    break;
+                case LOGS:
+                    switchToTab("logs");
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    @CanExecute
+    public boolean canExecute() {
+        return isConnected;
+    }
+
+    /**
+     * Restricts the view to the selected result. The rows are matched by their
+     * key such that the result is still found after the row has been updated.
+     */
+    private SearchFilterDTO filter(final SearchResult result) {
+        final InvertedIndex<Object> index = searchIndex.index(result.component());
+        final var                   key   = index.keyOf(result.row());
+        final Predicate<Object>     match = row -> Objects.equals(index.keyOf(row), key);
+
+        final var dto = new SearchFilterDTO();
+        dto.predicate   = match;
+        dto.description = "Global search result '" + result.title() + "'";
+        return dto;
+    }
+
+    private void switchToTab(final String value) {
+        partService.showPart(TAB_ID_PREFIX + value, ACTIVATE);
+    }
+
+}
@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.ui.search.index;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * The searchable representation of a row which consists of named fields
+ * whereas every field can have multiple values.
+ * <p>
+ * The field names and values are normalized to lower case such that all
+ * lookups are case-insensitive. The fields which identify a row, such as its
+ * name, can be weighted higher than the remaining ones which ranks the rows
+ * matching in these fields first.
+ */
+public final class Document {
+
+    /** The weight of the fields which identify a row */
+    public static final double KEY_WEIGHT = 4;
+
+    private final String      title;
+    private final List<Field> fields = new ArrayList<>();
+
+    /**
+     * A single value of a field
+     *
+     * @param name the normalized name of the field
+     * @param value the value as it has been added
+     * @param normalized the normalized value
+     * @param weight the weight of the field for ranking
+     */
+    public record Field(String name, String value, String normalized, double weight) {
+    }
+
+    /**
+     * @param title the text which represents the row in search results
+     */
+    public Document(final String title) {
+        this.title = title;
+    }
+
+    /**
+     * Returns the text which represents the row in search results
+     *
+     * @return the title
+     */
+    public String title() {
+        return title;
+    }
+
+    /**
+     * Adds the specified value to the field. Collections and arrays are added
+     * element-wise whereas {@code null} values are ignored.
+     *
+     * @param name the name of the field
+     * @param value the value to add
+     * @return this document
+     */
+    public Document add(final String name, final Object value) {
+        return add(name, value, 1);
+    }
+
+    /**
+     * Adds the specified value to a field which identifies the row
+     *
+     * @param name the name of the field
+     * @param value the value to add
+     * @return this document
+     * @see #KEY_WEIGHT
+     */
+    public Document addKey(final String name, final Object value) {
+        return add(name, value, KEY_WEIGHT);
+    }
+
+    private Document add(final String name, final Object value, final double weight) {
+        if (value == null) {
+            return this;
+        }
+        if (value instanceof final Collection<?> collection) {
+            collection.forEach(e -> add(name, e, weight));
+            return this;
+        }
+        if (value.getClass().isArray()) {
+            for (var i = 0; i < Array.getLength(value); i++) {
+                add(name, Array.get(value, i), weight);
+            }
+            return this;
+        }
+        final var text = value.toString();
+        fields.add(new Field(normalize(name), text, normalize(text), weight));
+        return this;
+    }
+
+    /**
+     * Adds every entry of the specified map as a field named after its key
+     *
+     * @param map the map to add (can be {@code null})
+     * @return this document
+     */
+    public Document addAll(final Map<String, ?> map) {
+        if (map != null) {
+            map.forEach(this::add);
+        }
+        return this;
+    }
+
+    /**
+     * Returns all values of all fields
+     *
+     * @return the values in the order they have been added
+     */
+    public List<Field> fields() {
+        return fields;
+    }
+
+    /**
+     * Checks whether a normalized value of the specified field satisfies the
+     * condition
+     *
+     * @param name the normalized name of the field or {@code null} to check the
+     *            values of all fields
+     * @param condition the condition to check
+     * @return {@code true} if any value satisfies the condition, otherwise
+     *         {@code false}
+     */
+    public boolean anyValue(final String name, final Predicate<String> condition) {
+        for (final Field field : fields) {
+            if ((name == null || name.equals(field.name())) && condition.test(field.normalized())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the field whose weighted score is the highest among the values of
+     * the specified field
+     *
+     * @param name the normalized name of the field or {@code null} to score the
+     *            values of all fields
+     * @param valueScore the score of a normalized value
+     * @return the best field or {@code null} if no value scores above zero
+     */
+    public Field best(final String name, final ToDoubleFunction<String> valueScore) {
+        Field best      = null;
+        var   bestScore = 0.0;
+        for (final Field field : fields) {
+            if (name == null || name.equals(field.name())) {
+                final var score = field.weight() * valueScore.applyAsDouble(field.normalized());
+                if (score > bestScore) {
+                    best      = field;
+                    bestScore = score;
+                }
+            }
+        }
+        return best;
+    }
+
+    static String normalize(final String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+}
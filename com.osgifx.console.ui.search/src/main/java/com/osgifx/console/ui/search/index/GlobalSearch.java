@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.ui.search.index;
+
+import static com.osgifx.console.ui.search.filter.SearchComponent.BUNDLES;
+import static com.osgifx.console.ui.search.filter.SearchComponent.COMPONENTS;
+import static com.osgifx.console.ui.search.filter.SearchComponent.CONFIGURATIONS;
+import static com.osgifx.console.ui.search.filter.SearchComponent.LOGS;
+import static com.osgifx.console.ui.search.filter.SearchComponent.PACKAGES;
+import static com.osgifx.console.ui.search.filter.SearchComponent.PROPERTIES;
+import static com.osgifx.console.ui.search.filter.SearchComponent.SERVICES;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+import com.osgifx.console.ui.search.filter.SearchComponent;
+
+/**
+ * Searches the bundles, services, components, configurations, packages,
+ * properties and logs together through their {@link SearchIndex indexes}.
+ * <p>
+ * The query is evaluated and the matching rows are scored on the index thread of
+ * the {@link SearchIndex} such that the FX application thread only retrieves the
+ * ranked pages of the {@link RankedResults}.
+ */
+@Component(service = GlobalSearch.class)
+public final class GlobalSearch {
+
+    /** The searched components in the order they rank on equal scores */
+    public static final List<SearchComponent> COMPONENTS_SEARCHED = List.of(BUNDLES, SERVICES, COMPONENTS,
+            CONFIGURATIONS, PACKAGES, PROPERTIES, LOGS);
+
+    @Reference
+    private SearchIndex searchIndex;
+
+    /**
+     * Searches all components for the specified query. This method must be
+     * called on the FX application thread as it attaches the indexes which are
+     * not attached yet.
+     *
+     * @param input the query (refer to {@link QueryParser} for the syntax)
+     * @return the ranked results which are completed on the index thread
+     * @throws IllegalArgumentException if the query is invalid
+     */
+    public CompletableFuture<RankedResults> search(final String input) {
+        final var query   = QueryParser.parse(input.strip());
+        final var indexes = new EnumMap<SearchComponent, InvertedIndex<?>>(SearchComponent.class);
+        for (final SearchComponent component : COMPONENTS_SEARCHED) {
+            indexes.put(component, searchIndex.index(component));
+        }
+        return searchIndex.execute(() -> {
+            final var results = new RankedResults(query);
+            for (final SearchComponent component : COMPONENTS_SEARCHED) {
+                final var index = indexes.get(component);
+                results.add(component, index, query.evaluate(index));
+            }
+            return results;
+        });
+    }
+
+}
@@ -0,0 +1,492 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.ui.search.index;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import com.google.common.primitives.Doubles;
+
+/**
+ * Inverted index over the rows of a table.
+ * <p>
+ * Every row is mapped to a {@link Document} and gets a compact document
+ * identifier assigned. The index maintains the following postings which map to
+ * the identifiers of the documents containing them:
+ * <ul>
+ * <li>the distinct values of every field and of all fields together</li>
+ * <li>the numeric values of every field in ascending order</li>
+ * </ul>
+ * The distinct values are additionally indexed by their trigrams which allows
+ * to find the values containing a text without scanning the dictionary. As the
+ * values of the rows usually repeat a lot, the trigram index stays small.
+ * <p>
+ * Rows are identified by their keys and can be added, replaced and removed
+ * individually such that the index can follow the changes of the underlying
+ * list instead of getting rebuilt.
+ * <p>
+ * The index is not thread-safe and is meant to be confined to a single thread.
+ * Only {@link #keyOf(Object)}, {@link #map(Object)} and the predicates created
+ * by {@link #filter(Query, Executor)} can be used on any thread.
+ *
+ * @param <T> the type of the rows
+ */
+public final class InvertedIndex<T> {
+
+    /** The internal name which collects the values of all fields */
+    private static final String ANY_FIELD = "";
+
+    /**
+     * The number of rows a {@link #filter(Query, Executor) filter} evaluates
+     * individually after the index has changed before it evaluates the query on
+     * the index again
+     */
+    private static final int MAX_STALE_TESTS = 64;
+
+    private final Function<? super T, ?>        keyMapper;
+    private final Function<? super T, Document> documentMapper;
+
+    private final Map<Object, Integer>                      ids       = new HashMap<>();
+    private final List<T>                                   rows      = new ArrayList<>();
+    private final List<Document>                            documents = new ArrayList<>();
+    private final Deque<Integer>                            freeIds   = new ArrayDeque<>();
+    private final BitSet                                    live      = new BitSet();
+    private final Map<String, NavigableMap<String, BitSet>> values    = new HashMap<>();
+    private final Map<String, NavigableMap<Double, BitSet>> numbers   = new HashMap<>();
+    private final Map<Long, Set<String>>                    trigrams  = new HashMap<>();
+
+    public InvertedIndex(final Function<? super T, ?> keyMapper, final Function<? super T, Document> documentMapper) {
+        this.keyMapper      = checkNotNull(keyMapper);
+        this.documentMapper = checkNotNull(documentMapper);
+    }
+
+    /**
+     * Adds the specified row or replaces the row having the same key
+     *
+     * @param row the row to add
+     */
+    public void add(final T row) {
+        final var key      = keyMapper.apply(row);
+        final var existing = ids.get(key);
+        if (existing != null) {
+            unindex(existing);
+        }
+        final var document = documentMapper.apply(row);
+        final int id;
+        if (freeIds.isEmpty()) {
+            id = rows.size();
+            rows.add(row);
+            documents.add(document);
+        } else {
+            id = freeIds.pop();
+            rows.set(id, row);
+            documents.set(id, document);
+        }
+        ids.put(key, id);
+        live.set(id);
+        for (final var field : document.fields()) {
+            final var value = field.normalized();
+            post(values, field.name(), value, id);
+            if (post(values, ANY_FIELD, value, id)) {
+                for (var i = 0; i + 3 <= value.length(); i++) {
+                    trigrams.computeIfAbsent(trigram(value, i), t -> new HashSet<>()).add(value);
+                }
+            }
+            final var number = parseNumber(value);
+            if (number != null) {
+                post(numbers, field.name(), number, id);
+            }
+        }
+    }
+
+    /**
+     * Removes the specified row unless the index holds a different row for the
+     * key of the row
+     *
+     * @param row the row to remove
+     */
+    public void remove(final T row) {
+        final var id = docOf(row);
+        if (id >= 0) {
+            unindex(id);
+        }
+    }
+
+    /**
+     * Removes all rows
+     */
+    public void clear() {
+        ids.clear();
+        rows.clear();
+        documents.clear();
+        freeIds.clear();
+        live.clear();
+        values.clear();
+        numbers.clear();
+        trigrams.clear();
+    }
+
+    /**
+     * Returns the number of indexed rows
+     *
+     * @return the number of rows
+     */
+    public int size() {
+        return ids.size();
+    }
+
+    /**
+     * Returns the key which identifies the specified row
+     *
+     * @param row the row
+     * @return the key
+     */
+    public Object keyOf(final T row) {
+        return keyMapper.apply(row);
+    }
+
+    /**
+     * Returns the identifier of the document of the specified row
+     *
+     * @param row the row
+     * @return the identifier or {@code -1} if the row has not been indexed
+     */
+    public int docOf(final T row) {
+        final var id = ids.get(keyMapper.apply(row));
+        return id != null && rows.get(id) == row ? id : -1;
+    }
+
+    /**
+     * Returns the row of the specified document
+     *
+     * @param id the identifier of the document
+     * @return the row or {@code null} if the document does not exist
+     */
+    public T row(final int id) {
+        return live.get(id) ? rows.get(id) : null;
+    }
+
+    /**
+     * Returns the specified document
+     *
+     * @param id the identifier of the document
+     * @return the document or {@code null} if the document does not exist
+     */
+    public Document document(final int id) {
+        return live.get(id) ? documents.get(id) : null;
+    }
+
+    /**
+     * Maps the specified row to its document without indexing it
+     *
+     * @param row the row
+     * @return the document
+     */
+    public Document map(final T row) {
+        return documentMapper.apply(row);
+    }
+
+    /**
+     * Returns a predicate which tests the rows against the specified query. The
+     * query gets evaluated on the index in the background once and again only
+     * after the index has changed considerably, whereas the rows which have not
+     * been indexed at that time get matched individually. Hence, the predicate
+     * can be used on any thread and never waits for the index.
+     *
+     * @param query the query
+     * @param indexExecutor the executor of the thread which confines this index
+     * @return the predicate
+     */
+    public Predicate<T> filter(final Query query, final Executor indexExecutor) {
+        return new QueryPredicate<>(this, checkNotNull(query), checkNotNull(indexExecutor));
+    }
+
+    /**
+     * Returns the identifiers of all documents
+     */
+    BitSet all() {
+        return (BitSet) live.clone();
+    }
+
+    /**
+     * Returns the identifiers of the documents having a value of the specified
+     * field which equals the normalized value
+     */
+    BitSet equalTo(final String field, final String value) {
+        final var postings = dictionary(field).get(value);
+        return postings == null ? new BitSet() : (BitSet) postings.clone();
+    }
+
+    /**
+     * Returns the identifiers of the documents having a value of the specified
+     * field which starts with the normalized prefix and satisfies the condition
+     */
+    BitSet startingWith(final String field, final String prefix, final Predicate<String> condition) {
+        final var result = new BitSet();
+        dictionary(field).subMap(prefix, true, prefix + Character.MAX_VALUE, true).forEach((value, postings) -> {
+            if (condition.test(value)) {
+                result.or(postings);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Returns the identifiers of the documents having a value of the specified
+     * field which contains the normalized fragment and satisfies the condition
+     */
+    BitSet containing(final String field, final String fragment, final Predicate<String> condition) {
+        if (fragment.length() < 3) {
+            // the dictionary of the field gets scanned as the fragment has no trigram
+            return startingWith(field, "", condition);
+        }
+        // the values having the rarest trigram of the fragment are the candidates
+        Set<String> candidates = null;
+        for (var i = 0; i + 3 <= fragment.length(); i++) {
+            final var values = trigrams.get(trigram(fragment, i));
+            if (values == null) {
+                return new BitSet();
+            }
+            if (candidates == null || values.size() < candidates.size()) {
+                candidates = values;
+            }
+        }
+        final var dictionary = dictionary(field);
+        final var result     = new BitSet();
+        for (final String value : candidates) {
+            if (condition.test(value)) {
+                final var postings = dictionary.get(value);
+                if (postings != null) {
+                    result.or(postings);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the identifiers of the documents having a numeric value of the
+     * specified field within the range whereas {@code null} bounds are open
+     */
+    BitSet numericRange(final String field,
+                        final Double lower,
+                        final boolean lowerInclusive,
+                        final Double upper,
+                        final boolean upperInclusive) {
+        var range = numbers.getOrDefault(field, new TreeMap<>());
+        if (lower != null) {
+            range = range.tailMap(lower, lowerInclusive);
+        }
+        if (upper != null) {
+            range = range.headMap(upper, upperInclusive);
+        }
+        return union(range);
+    }
+
+    /**
+     * Returns the identifiers of the documents having a value of the specified
+     * field within the lexicographical range whereas {@code null} bounds are
+     * open
+     */
+    BitSet lexicalRange(final String field,
+                        final String lower,
+                        final boolean lowerInclusive,
+                        final String upper,
+                        final boolean upperInclusive) {
+        var range = dictionary(field);
+        if (lower != null) {
+            range = range.tailMap(lower, lowerInclusive);
+        }
+        if (upper != null) {
+            range = range.headMap(upper, upperInclusive);
+        }
+        return union(range);
+    }
+
+    /**
+     * Parses the specified value as a number whereas the expensive parsing is
+     * skipped for the values which obviously are not numeric
+     */
+    static Double parseNumber(final String value) {
+        final var text = value.strip();
+        if (text.isEmpty()) {
+            return null;
+        }
+        final var c = text.charAt(0);
+        if (!Character.isDigit(c) && c != '-' && c != '+' && c != '.') {
+            return null;
+        }
+        return Doubles.tryParse(text);
+    }
+
+    private NavigableMap<String, BitSet> dictionary(final String field) {
+        return values.getOrDefault(field == null ? ANY_FIELD : field, new TreeMap<>());
+    }
+
+    private void unindex(final int id) {
+        final var document = documents.get(id);
+        ids.remove(keyMapper.apply(rows.get(id)));
+        for (final var field : document.fields()) {
+            final var value = field.normalized();
+            unpost(values, field.name(), value, id);
+            if (unpost(values, ANY_FIELD, value, id)) {
+                for (var i = 0; i + 3 <= value.length(); i++) {
+                    final var trigram     = trigram(value, i);
+                    final var containing = trigrams.get(trigram);
+                    if (containing != null && containing.remove(value) && containing.isEmpty()) {
+                        trigrams.remove(trigram);
+                    }
+                }
+            }
+            final var number = parseNumber(value);
+            if (number != null) {
+                unpost(numbers, field.name(), number, id);
+            }
+        }
+        rows.set(id, null);
+        documents.set(id, null);
+        live.clear(id);
+        freeIds.push(id);
+    }
+
+    /**
+     * Adds the document to the postings of the term and returns {@code true} if
+     * the term is new
+     */
+    private static <K> boolean post(final Map<String, NavigableMap<K, BitSet>> postings,
+                                    final String field,
+                                    final K term,
+                                    final int id) {
+        final var terms = postings.computeIfAbsent(field, f -> new TreeMap<>());
+        var       ids   = terms.get(term);
+        final var isNew = ids == null;
+        if (isNew) {
+            ids = new BitSet();
+            terms.put(term, ids);
+        }
+        ids.set(id);
+        return isNew;
+    }
+
+    /**
+     * Removes the document from the postings of the term and returns
+     * {@code true} if the term has been removed as well
+     */
+    private static <K> boolean unpost(final Map<String, NavigableMap<K, BitSet>> postings,
+                                      final String field,
+                                      final K term,
+                                      final int id) {
+        final var terms = postings.get(field);
+        final var ids   = terms == null ? null : terms.get(term);
+        if (ids == null) {
+            return false;
+        }
+        ids.clear(id);
+        final var isRemoved = ids.isEmpty();
+        if (isRemoved) {
+            terms.remove(term);
+            if (terms.isEmpty()) {
+                postings.remove(field);
+            }
+        }
+        return isRemoved;
+    }
+
+    private static BitSet union(final Map<?, BitSet> postings) {
+        final var result = new BitSet();
+        postings.values().forEach(result::or);
+        return result;
+    }
+
+    private static long trigram(final String text, final int start) {
+        return (long) text.charAt(start) << 32 | (long) text.charAt(start + 1) << 16 | text.charAt(start + 2);
+    }
+
+    /**
+     * Tests the rows against a snapshot of the matches which maps every indexed
+     * row by identity to whether it matches. As the rows get replaced on every
+     * change, the snapshot stays valid for the rows it contains.
+     */
+    private static final class QueryPredicate<T> implements Predicate<T> {
+
+        private final InvertedIndex<T>   index;
+        private final Query              query;
+        private final Executor           indexExecutor;
+        private final AtomicBoolean      isEvaluating    = new AtomicBoolean();
+        private final AtomicInteger      individualTests = new AtomicInteger();
+        private volatile Map<T, Boolean> matches;
+
+        QueryPredicate(final InvertedIndex<T> index, final Query query, final Executor indexExecutor) {
+            this.index         = index;
+            this.query         = query;
+            this.indexExecutor = indexExecutor;
+            evaluateAsync();
+        }
+
+        @Override
+        public boolean test(final T row) {
+            final var snapshot = matches;
+            if (snapshot != null) {
+                final var isMatched = snapshot.get(row);
+                if (isMatched != null) {
+                    return isMatched;
+                }
+            }
+            // only the rows added or modified after the evaluation get tested individually
+            if (individualTests.incrementAndGet() > MAX_STALE_TESTS) {
+                evaluateAsync();
+            }
+            return query.matches(index.map(row));
+        }
+
+        private void evaluateAsync() {
+            if (!isEvaluating.compareAndSet(false, true)) {
+                return;
+            }
+            indexExecutor.execute(() -> {
+                try {
+                    final var matched  = query.evaluate(index);
+                    final var snapshot = new IdentityHashMap<T, Boolean>(index.size() * 2);
+                    for (var id = index.live.nextSetBit(0); id >= 0; id = index.live.nextSetBit(id + 1)) {
+                        snapshot.put(index.rows.get(id), matched.get(id));
+                    }
+                    matches = snapshot;
+                    individualTests.set(0);
+                } finally {
+                    isEvaluating.set(false);
+                }
+            });
+        }
+    }
+
+}
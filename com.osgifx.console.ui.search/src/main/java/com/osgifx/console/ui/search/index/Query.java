@@ -0,0 +1,409 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.ui.search.index;
+
+import static com.osgifx.console.ui.search.index.Document.normalize;
+
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import com.google.common.base.Splitter;
+
+/**
+ * A compiled search query which can either be evaluated on an
+ * {@link InvertedIndex} or be matched against a single {@link Document}. Both
+ * yield the same result for the same document.
+ * <p>
+ * The field names and texts of all queries are normalized whereas a
+ * {@code null} field denotes any field.
+ *
+ * @see QueryParser
+ */
+public interface Query {
+
+    /**
+     * Evaluates the query on the specified index
+     *
+     * @param index the index
+     * @return the identifiers of the matching documents
+     */
+    BitSet evaluate(InvertedIndex<?> index);
+
+    /**
+     * Matches the query against the specified document
+     *
+     * @param document the document
+     * @return {@code true} if the document matches, otherwise {@code false}
+     */
+    boolean matches(Document document);
+
+    /**
+     * Scores how well the specified document matches the query whereas the
+     * score is only meaningful for matching documents
+     *
+     * @param document the document
+     * @return the score which is higher the better the document matches
+     */
+    double score(Document document);
+
+    /**
+     * Returns the field of the specified document which contributes the most
+     * to its score
+     *
+     * @param document the document
+     * @return the field or {@code null} if no field contributes to the score
+     */
+    Document.Field explain(Document document);
+
+    /**
+     * Creates a query which matches the documents having a value of the field
+     * which equals the text ignoring its case
+     *
+     * @param field the name of the field
+     * @param text the text
+     * @return the query
+     */
+    static Query equalTo(final String field, final String text) {
+        return new EqualTo(normalize(field), normalize(text));
+    }
+
+    /**
+     * Creates a query which matches the documents having a value of the field
+     * which contains the text ignoring its case
+     *
+     * @param field the name of the field
+     * @param text the text
+     * @return the query
+     */
+    static Query contains(final String field, final String text) {
+        return new Contains(normalize(field), normalize(text));
+    }
+
+    /**
+     * Creates a query which matches the documents having a numeric value of the
+     * field which equals the number
+     *
+     * @param field the name of the field
+     * @param number the number
+     * @return the query
+     */
+    static Query equalTo(final String field, final long number) {
+        return new Range(normalize(field), String.valueOf(number), true, String.valueOf(number), true);
+    }
+
+    /**
+     * Creates a query which matches the documents having a numeric value of the
+     * field which is greater than the number
+     *
+     * @param field the name of the field
+     * @param number the number
+     * @return the query
+     */
+    static Query greaterThan(final String field, final long number) {
+        return new Range(normalize(field), String.valueOf(number), false, null, false);
+    }
+
+    /**
+     * Creates a query which matches the documents having a numeric value of the
+     * field which is less than the number
+     *
+     * @param field the name of the field
+     * @param number the number
+     * @return the query
+     */
+    static Query lessThan(final String field, final long number) {
+        return new Range(normalize(field), null, false, String.valueOf(number), false);
+    }
+
+    /**
+     * A query which matches the values of a single field, or of all fields if
+     * the field is {@code null}, independently of each other
+     */
+    interface FieldQuery extends Query {
+
+        String field();
+
+        /**
+         * Scores the specified normalized value
+         *
+         * @param value the value
+         * @return the score which is zero if the value does not match
+         */
+        double valueScore(String value);
+
+        @Override
+        default boolean matches(final Document document) {
+            return document.anyValue(field(), value -> valueScore(value) > 0);
+        }
+
+        @Override
+        default double score(final Document document) {
+            final var field = explain(document);
+            return field == null ? 0 : field.weight() * valueScore(field.normalized());
+        }
+
+        @Override
+        default Document.Field explain(final Document document) {
+            return document.best(field(), this::valueScore);
+        }
+    }
+
+    /**
+     * Matches documents having a value of the field which contains the text
+     */
+    record Contains(String field, String text) implements FieldQuery {
+
+        @Override
+        public BitSet evaluate(final InvertedIndex<?> index) {
+            return index.containing(field, text, value -> value.contains(text));
+        }
+
+        /**
+         * Ranks whole values above prefixes, prefixes above matches at the
+         * start of a word and those above any other match whereas the shorter
+         * values rank higher within the same tier
+         */
+        @Override
+        public double valueScore(final String value) {
+            final var start = value.indexOf(text);
+            if (start < 0) {
+                return 0;
+            }
+            final double tier;
+            if (value.length() == text.length()) {
+                tier = 1;
+            } else if (start == 0) {
+                tier = 0.75;
+            } else if (!Character.isLetterOrDigit(value.charAt(start - 1))) {
+                tier = 0.5;
+            } else {
+                tier = 0.25;
+            }
+            return tier * (0.5 + 0.5 * text.length() / value.length());
+        }
+    }
+
+    /**
+     * Matches documents having a value of the field which equals the text
+     */
+    record EqualTo(String field, String text) implements FieldQuery {
+
+        @Override
+        public BitSet evaluate(final InvertedIndex<?> index) {
+            return index.equalTo(field, text);
+        }
+
+        @Override
+        public double valueScore(final String value) {
+            return text.equals(value) ? 1 : 0;
+        }
+    }
+
+    /**
+     * Matches documents having a value of the field which matches the glob
+     * pattern consisting of {@code *} for any number of characters and
+     * {@code ?} for a single character
+     */
+    record Wildcard(String field, String glob, Pattern pattern) implements FieldQuery {
+
+        public static Wildcard of(final String field, final String glob) {
+            final var regex = new StringBuilder();
+            var       start = 0;
+            for (var i = 0; i < glob.length(); i++) {
+                final var c = glob.charAt(i);
+                if (c == '*' || c == '?') {
+                    regex.append(Pattern.quote(glob.substring(start, i))).append(c == '*' ? ".*" : ".");
+                    start = i + 1;
+                }
+            }
+            regex.append(Pattern.quote(glob.substring(start)));
+            return new Wildcard(field, glob, Pattern.compile(regex.toString(), Pattern.DOTALL));
+        }
+
+        @Override
+        public BitSet evaluate(final InvertedIndex<?> index) {
+            final var fragments = Splitter.onPattern("[*?]").omitEmptyStrings().splitToList(glob);
+            final var longest   = fragments.stream().max(Comparator.comparingInt(String::length)).orElse("");
+            if (longest.length() >= 3) {
+                return index.containing(field, longest, this::matches);
+            }
+            final var isPrefixed = !fragments.isEmpty() && glob.startsWith(fragments.get(0));
+            return index.startingWith(field, isPrefixed ? fragments.get(0) : "", this::matches);
+        }
+
+        private boolean matches(final String value) {
+            return pattern.matcher(value).matches();
+        }
+
+        @Override
+        public double valueScore(final String value) {
+            return matches(value) ? 0.5 : 0;
+        }
+    }
+
+    /**
+     * Matches documents having a value of the field within the range whereas
+     * {@code null} bounds are open. The range is numeric if all bounds are
+     * numbers and lexicographical otherwise.
+     */
+    record Range(String field, String lower, boolean lowerInclusive, String upper, boolean upperInclusive)
+            implements FieldQuery {
+
+        @Override
+        public BitSet evaluate(final InvertedIndex<?> index) {
+            if (isNumeric()) {
+                return index.numericRange(field, parse(lower), lowerInclusive, parse(upper), upperInclusive);
+            }
+            return index.lexicalRange(field, lower, lowerInclusive, upper, upperInclusive);
+        }
+
+        @Override
+        public double valueScore(final String value) {
+            if (isNumeric()) {
+                final var number = InvertedIndex.parseNumber(value);
+                return number != null && isWithin(number, parse(lower), parse(upper)) ? 0.25 : 0;
+            }
+            return isWithin(value, lower, upper) ? 0.25 : 0;
+        }
+
+        private boolean isNumeric() {
+            return (lower == null || parse(lower) != null) && (upper == null || parse(upper) != null);
+        }
+
+        private <C extends Comparable<C>> boolean isWithin(final C value, final C from, final C to) {
+            if (from != null) {
+                final var result = value.compareTo(from);
+                if (result < 0 || result == 0 && !lowerInclusive) {
+                    return false;
+                }
+            }
+            if (to != null) {
+                final var result = value.compareTo(to);
+                return result < 0 || result == 0 && upperInclusive;
+            }
+            return true;
+        }
+
+        private static Double parse(final String bound) {
+            return bound == null ? null : InvertedIndex.parseNumber(bound);
+        }
+    }
+
+    /**
+     * Matches documents which match all queries
+     */
+    record And(List<Query> queries) implements Query {
+
+        @Override
+        public BitSet evaluate(final InvertedIndex<?> index) {
+            final var result = queries.get(0).evaluate(index);
+            for (var i = 1; i < queries.size() && !result.isEmpty(); i++) {
+                result.and(queries.get(i).evaluate(index));
+            }
+            return result;
+        }
+
+        @Override
+        public boolean matches(final Document document) {
+            return queries.stream().allMatch(q -> q.matches(document));
+        }
+
+        @Override
+        public double score(final Document document) {
+            return queries.stream().mapToDouble(q -> q.score(document)).sum();
+        }
+
+        @Override
+        public Document.Field explain(final Document document) {
+            return explainBest(queries, document);
+        }
+    }
+
+    /**
+     * Matches documents which match any of the queries
+     */
+    record Or(List<Query> queries) implements Query {
+
+        @Override
+        public BitSet evaluate(final InvertedIndex<?> index) {
+            final var result = new BitSet();
+            queries.forEach(q -> result.or(q.evaluate(index)));
+            return result;
+        }
+
+        @Override
+        public boolean matches(final Document document) {
+            return queries.stream().anyMatch(q -> q.matches(document));
+        }
+
+        @Override
+        public double score(final Document document) {
+            return queries.stream().mapToDouble(q -> q.score(document)).sum();
+        }
+
+        @Override
+        public Document.Field explain(final Document document) {
+            return explainBest(queries, document);
+        }
+    }
+
+    /**
+     * Matches documents which do not match the query
+     */
+    record Not(Query query) implements Query {
+
+        @Override
+        public BitSet evaluate(final InvertedIndex<?> index) {
+            final var result = index.all();
+            result.andNot(query.evaluate(index));
+            return result;
+        }
+
+        @Override
+        public boolean matches(final Document document) {
+            return !query.matches(document);
+        }
+
+        /**
+         * The absence of a match does not make a document more relevant
+         */
+        @Override
+        public double score(final Document document) {
+            return 0;
+        }
+
+        @Override
+        public Document.Field explain(final Document document) {
+            return null;
+        }
+    }
+
+    private static Document.Field explainBest(final List<Query> queries, final Document document) {
+        Document.Field best      = null;
+        var            bestScore = 0.0;
+        for (final Query query : queries) {
+            final var score = query.score(document);
+            if (score > bestScore) {
+                best      = query.explain(document);
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+}
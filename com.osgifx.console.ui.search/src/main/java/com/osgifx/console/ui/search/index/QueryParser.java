@@ -0,0 +1,307 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.ui.search.index;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.osgifx.console.ui.search.index.Document.normalize;
+
+import java.util.ArrayList;
+
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Splitter;
+
+/**
+ * Recursive descent parser of the search query language:
+ *
+ * <pre>
+ * query   := or
+ * or      := and (('OR' | '||') and)*
+ * and     := unary (('AND' | '&amp;&amp;')? unary)*
+ * unary   := ('NOT' | '!' | '-') unary | primary
+ * primary := '(' query ')' | (field ':')? value
+ * value   := '(' query ')'                      all terms apply to the field
+ *          | text                               value contains text
+ *          | '=' text                           value equals text
+ *          | glob                               value matches glob with * and ?
+ *          | ('&gt;' | '&gt;=' | '&lt;' | '&lt;=') text       value compared to text
+ *          | ('[' | '{') text 'TO' text (']' | '}') value within range
+ * text    := word | '"' quoted '"'
+ * </pre>
+ *
+ * Terms without a field are matched against all fields and terms which are not
+ * separated by an operator have to match all. Ranges use {@code [} and
+ * {@code ]} for inclusive and {@code &#123;} and {@code &#125;} for exclusive
+ * bounds as well as {@code *} for an open bound. They are numeric if the
+ * bounds are numbers and lexicographical otherwise. All comparisons are
+ * case-insensitive.
+ * <p>
+ * Examples:
+ *
+ * <pre>
+ * bsn:org.apache.felix.* AND state:active
+ * objectClass:=org.osgi.service.cm.ManagedService -bundle:felix
+ * startLevel:[1 TO 10] OR (fragment:true AND NOT vendor:eclipse)
+ * service.ranking:&gt;0 "event.topics"
+ * </pre>
+ */
+public final class QueryParser {
+
+    private static final CharMatcher FIELD_CHARS = CharMatcher.inRange('a', 'z')
+            .or(CharMatcher.inRange('A', 'Z'))
+            .or(CharMatcher.inRange('0', '9'))
+            .or(CharMatcher.anyOf("._-$"))
+            .precomputed();
+
+    private final String input;
+    private int          position;
+
+    private QueryParser(final String input) {
+        this.input = input;
+    }
+
+    /**
+     * Parses the specified query
+     *
+     * @param input the query
+     * @return the parsed query
+     * @throws IllegalArgumentException if the query is invalid
+     */
+    public static Query parse(final String input) {
+        final var parser = new QueryParser(checkNotNull(input));
+        final var query  = parser.parseOr(null);
+        parser.skipWhitespace();
+        if (!parser.isAtEnd()) {
+            throw parser.error("unexpected '" + parser.peek() + "'");
+        }
+        return query;
+    }
+
+    /**
+     * Checks whether the specified query is valid
+     *
+     * @param input the query
+     * @return {@code true} if the query can be parsed, otherwise {@code false}
+     */
+    public static boolean isValid(final String input) {
+        try {
+            parse(input);
+            return true;
+        } catch (final IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private Query parseOr(final String field) {
+        final var queries = new ArrayList<Query>();
+        queries.add(parseAnd(field));
+        while (consumeKeyword("OR") || consume("||")) {
+            queries.add(parseAnd(field));
+        }
+        return queries.size() == 1 ? queries.get(0) : new Query.Or(queries);
+    }
+
+    private Query parseAnd(final String field) {
+        final var queries = new ArrayList<Query>();
+        queries.add(parseUnary(field));
+        while (true) {
+            skipWhitespace();
+            if (isAtEnd() || peek() == ')' || isKeyword("OR") || input.startsWith("||", position)) {
+                break;
+            }
+            if (!consumeKeyword("AND")) {
+                consume("&&");
+            }
+            queries.add(parseUnary(field));
+        }
+        return queries.size() == 1 ? queries.get(0) : new Query.And(queries);
+    }
+
+    private Query parseUnary(final String field) {
+        skipWhitespace();
+        if (consumeKeyword("NOT") || consume("!")) {
+            return new Query.Not(parseUnary(field));
+        }
+        if (input.startsWith("-", position) && position + 1 < input.length()
+                && !Character.isWhitespace(input.charAt(position + 1))) {
+            position++;
+            return new Query.Not(parseUnary(field));
+        }
+        return parsePrimary(field);
+    }
+
+    private Query parsePrimary(final String defaultField) {
+        skipWhitespace();
+        if (isAtEnd()) {
+            throw error("search term expected");
+        }
+        if (peek() == ')') {
+            throw error("unexpected ')'");
+        }
+        final var start = position;
+        while (!isAtEnd() && FIELD_CHARS.matches(peek())) {
+            position++;
+        }
+        if (position > start && !isAtEnd() && peek() == ':') {
+            final var field = normalize(input.substring(start, position));
+            position++;
+            return parseValue(field);
+        }
+        position = start;
+        return parseValue(defaultField);
+    }
+
+    private Query parseValue(final String field) {
+        if (isAtEnd()) {
+            throw error("value expected");
+        }
+        final var c = peek();
+        if (c == '(') {
+            position++;
+            final var query = parseOr(field);
+            expect(')');
+            return query;
+        }
+        if (c == '[' || c == '{') {
+            return parseRange(field);
+        }
+        if (c == '>' || c == '<') {
+            position++;
+            final var isInclusive = consume("=");
+            final var bound       = parseText();
+            checkField(field);
+            return c == '>' ? new Query.Range(field, bound, isInclusive, null, false)
+                    : new Query.Range(field, null, false, bound, isInclusive);
+        }
+        if (c == '=') {
+            position++;
+            return new Query.EqualTo(field, parseText());
+        }
+        if (c == '"') {
+            return new Query.Contains(field, parseText());
+        }
+        final var text = parseText();
+        if (text.indexOf('*') >= 0 || text.indexOf('?') >= 0) {
+            return Query.Wildcard.of(field, text);
+        }
+        return new Query.Contains(field, text);
+    }
+
+    private Query parseRange(final String field) {
+        final var isLowerInclusive = peek() == '[';
+        final var start            = ++position;
+        while (!isAtEnd() && peek() != ']' && peek() != '}') {
+            position++;
+        }
+        if (isAtEnd()) {
+            throw error("']' or '}' expected");
+        }
+        final var isUpperInclusive = peek() == ']';
+        final var parts            = Splitter.on(CharMatcher.whitespace())
+                .omitEmptyStrings()
+                .splitToList(input.substring(start, position));
+        position++;
+        if (parts.size() != 3 || !"TO".equalsIgnoreCase(parts.get(1))) {
+            throw error("range of format [lower TO upper] expected");
+        }
+        checkField(field);
+        final var lower = "*".equals(parts.get(0)) ? null : normalize(parts.get(0));
+        final var upper = "*".equals(parts.get(2)) ? null : normalize(parts.get(2));
+        return new Query.Range(field, lower, isLowerInclusive, upper, isUpperInclusive);
+    }
+
+    private String parseText() {
+        if (isAtEnd()) {
+            throw error("value expected");
+        }
+        final var text = new StringBuilder();
+        if (peek() == '"') {
+            position++;
+            while (!isAtEnd() && peek() != '"') {
+                if (peek() == '\\' && position + 1 < input.length()) {
+                    position++;
+                }
+                text.append(input.charAt(position++));
+            }
+            expect('"');
+        } else {
+            while (!isAtEnd() && !Character.isWhitespace(peek()) && "()\"".indexOf(peek()) < 0) {
+                text.append(input.charAt(position++));
+            }
+        }
+        if (text.isEmpty()) {
+            throw error("value expected");
+        }
+        return normalize(text.toString());
+    }
+
+    private void checkField(final String field) {
+        if (field == null) {
+            throw error("comparisons and ranges require a field");
+        }
+    }
+
+    private boolean isKeyword(final String keyword) {
+        if (!input.startsWith(keyword, position)) {
+            return false;
+        }
+        final var end = position + keyword.length();
+        return end == input.length() || Character.isWhitespace(input.charAt(end)) || input.charAt(end) == '(';
+    }
+
+    private boolean consumeKeyword(final String keyword) {
+        skipWhitespace();
+        if (isKeyword(keyword)) {
+            position += keyword.length();
+            return true;
+        }
+        return false;
+    }
+
+    private boolean consume(final String token) {
+        skipWhitespace();
+        if (input.startsWith(token, position)) {
+            position += token.length();
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(final char c) {
+        if (isAtEnd() || peek() != c) {
+            throw error("'" + c + "' expected");
+        }
+        position++;
+    }
+
+    private void skipWhitespace() {
+        while (!isAtEnd() && Character.isWhitespace(peek())) {
+            position++;
+        }
+    }
+
+    private char peek() {
+        return input.charAt(position);
+    }
+
+    private boolean isAtEnd() {
+        return position >= input.length();
+    }
+
+    private IllegalArgumentException error(final String message) {
+        return new IllegalArgumentException("Invalid query at position " + position + ": " + message);
+    }
+
+}
@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.ui.search.index;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+import com.osgifx.console.ui.search.filter.SearchComponent;
+
+/**
+ * The results of a {@link GlobalSearch} faceted by {@link SearchComponent}
+ * which are retrieved incrementally in the order of their scores.
+ * <p>
+ * An exact ranking requires every matching row to be scored, hence the rows get
+ * scored while the results are created on the index thread. The scores of every
+ * facet are kept in a binary heap of primitive slots such that retrieving the
+ * next {@code k} results costs {@code O(k log n)} and does not score or sort
+ * anything on the thread consuming the results.
+ * <p>
+ * The results take a snapshot of the matching rows and their documents on
+ * creation, hence they can be consumed on any thread but must not be accessed
+ * concurrently.
+ */
+public final class RankedResults {
+
+    private static final Comparator<String> TITLE_ORDER = Comparator.nullsLast(Comparator.naturalOrder());
+
+    private final Query       query;
+    private final List<Facet> facets = new ArrayList<>();
+
+    RankedResults(final Query query) {
+        this.query = query;
+    }
+
+    /**
+     * Returns the number of matching rows of the specified component
+     *
+     * @param component the component
+     * @return the number of matches
+     */
+    public int count(final SearchComponent component) {
+        return facets.stream().filter(f -> f.component == component).mapToInt(f -> f.documents.length).sum();
+    }
+
+    /**
+     * Returns the number of matching rows of all components
+     *
+     * @return the number of matches
+     */
+    public int count() {
+        return facets.stream().mapToInt(f -> f.documents.length).sum();
+    }
+
+    /**
+     * Checks whether further results of the specified components can be
+     * retrieved
+     *
+     * @param components the components to consider
+     * @return {@code true} if there are further results, otherwise {@code false}
+     */
+    public boolean hasNext(final Collection<SearchComponent> components) {
+        return facets.stream().anyMatch(f -> components.contains(f.component) && !f.isEmpty());
+    }
+
+    /**
+     * Retrieves the next best results of the specified components
+     *
+     * @param limit the maximum number of results to retrieve
+     * @param components the components to consider
+     * @return the results ordered from the best to the worst match
+     */
+    public List<SearchResult> next(final int limit, final Collection<SearchComponent> components) {
+        final var selected = facets.stream().filter(f -> components.contains(f.component)).toList();
+        final var results  = new ArrayList<SearchResult>(limit);
+        while (results.size() < limit) {
+            Facet best = null;
+            for (final Facet facet : selected) {
+                if (!facet.isEmpty() && (best == null || facet.compareTopTo(best) < 0)) {
+                    best = facet;
+                }
+            }
+            if (best == null) {
+                break;
+            }
+            final var slot     = best.poll();
+            final var document = best.documents[slot];
+            results.add(new SearchResult(best.component, best.rows[slot], document.title(), query.explain(document),
+                                         best.scores[slot]));
+        }
+        return results;
+    }
+
+    void add(final SearchComponent component, final InvertedIndex<?> index, final BitSet hits) {
+        final var rows      = new Object[hits.cardinality()];
+        final var documents = new Document[rows.length];
+        final var scores    = new double[rows.length];
+        var       slot      = 0;
+        for (var id = hits.nextSetBit(0); id >= 0; id = hits.nextSetBit(id + 1)) {
+            rows[slot]      = index.row(id);
+            documents[slot] = index.document(id);
+            scores[slot]    = query.score(documents[slot]);
+            slot++;
+        }
+        facets.add(new Facet(component, rows, documents, scores));
+    }
+
+    /**
+     * The matching rows of a component with a binary min-heap of their slots
+     * ordered by their rank
+     */
+    private static final class Facet {
+
+        private final SearchComponent component;
+        private final Object[]        rows;
+        private final Document[]      documents;
+        private final double[]        scores;
+        private final int[]           heap;
+        private int                   size;
+
+        Facet(final SearchComponent component, final Object[] rows, final Document[] documents, final double[] scores) {
+            this.component = component;
+            this.rows      = rows;
+            this.documents = documents;
+            this.scores    = scores;
+            heap           = new int[rows.length];
+            size           = rows.length;
+            for (var i = 0; i < size; i++) {
+                heap[i] = i;
+            }
+            // heapifies in linear time as opposed to adding the slots one by one
+            for (var i = size / 2 - 1; i >= 0; i--) {
+                siftDown(i);
+            }
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int poll() {
+            final var top = heap[0];
+            heap[0] = heap[--size];
+            siftDown(0);
+            return top;
+        }
+
+        /**
+         * Compares the best remaining rows of both facets which rank by their
+         * scores, then by their components and finally by their titles
+         */
+        int compareTopTo(final Facet other) {
+            final var a = heap[0];
+            final var b = other.heap[0];
+            var       c = Double.compare(other.scores[b], scores[a]);
+            if (c == 0) {
+                c = Integer.compare(component.ordinal(), other.component.ordinal());
+            }
+            return c != 0 ? c : TITLE_ORDER.compare(documents[a].title(), other.documents[b].title());
+        }
+
+        private int compare(final int a, final int b) {
+            final var c = Double.compare(scores[b], scores[a]);
+            return c != 0 ? c : TITLE_ORDER.compare(documents[a].title(), documents[b].title());
+        }
+
+        private void siftDown(int i) {
+            final var slot = heap[i];
+            while (true) {
+                var child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && compare(heap[child + 1], heap[child]) < 0) {
+                    child++;
+                }
+                if (compare(heap[child], slot) >= 0) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i       = child;
+            }
+            heap[i] = slot;
+        }
+    }
+
+}
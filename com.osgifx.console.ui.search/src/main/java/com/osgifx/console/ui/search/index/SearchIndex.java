@@ -0,0 +1,419 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.ui.search.index;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory.Builder;
+import org.eclipse.fx.core.log.FluentLogger;
+import org.eclipse.fx.core.log.LoggerFactory;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Reference;
+
+import com.google.common.base.VerifyException;
+import com.osgifx.console.agent.dto.XBundleDTO;
+import com.osgifx.console.agent.dto.XBundleInfoDTO;
+import com.osgifx.console.agent.dto.XComponentDTO;
+import com.osgifx.console.agent.dto.XConfigurationDTO;
+import com.osgifx.console.agent.dto.XLogEntryDTO;
+import com.osgifx.console.agent.dto.XPackageDTO;
+import com.osgifx.console.agent.dto.XPropertyDTO;
+import com.osgifx.console.agent.dto.XServiceDTO;
+import com.osgifx.console.agent.dto.XServiceInfoDTO;
+import com.osgifx.console.data.provider.DataProvider;
+import com.osgifx.console.data.provider.PackageDTO;
+import com.osgifx.console.ui.search.filter.SearchComponent;
+
+import javafx.application.Platform;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+/**
+ * Maintains an {@link InvertedIndex} per {@link SearchComponent} over the lists
+ * of the {@link DataProvider}.
+ * <p>
+ * An index gets built on its first use and is afterwards kept up to date by
+ * applying the changes of its list. As the lists are modified on the FX
+ * application thread, the indexes get attached to them on that thread. Building,
+ * updating and querying the indexes however takes place on a dedicated index
+ * thread to which all the indexes are confined. The changes of the lists are
+ * copied and handed over to the index thread in the order they occur.
+ */
+@Component(service = SearchIndex.class)
+public final class SearchIndex {
+
+    /** The number of the most recent log entries which are indexed */
+    private static final int LOG_WINDOW_SIZE = 10_000;
+
+    @Reference
+    private LoggerFactory   factory;
+    @Reference
+    private DataProvider    dataProvider;
+    private FluentLogger    logger;
+    private ExecutorService indexExecutor;
+
+    private final Map<SearchComponent, Attachment<?>> attachments = new EnumMap<>(SearchComponent.class);
+
+    @Activate
+    void activate() {
+        logger        = FluentLogger.of(factory.createLogger(getClass().getName()));
+        indexExecutor = Executors.newSingleThreadExecutor(
+                new Builder().namingPattern("fx-search-index-%d").daemon(true).build());
+    }
+
+    @Deactivate
+    void deactivate() {
+        attachments.values().forEach(Attachment::detach);
+        attachments.clear();
+        indexExecutor.shutdownNow();
+    }
+
+    /**
+     * Compiles the specified query to a predicate which tests the rows of the
+     * specified component through its index. The predicate does not wait for
+     * the index and can be used on any thread.
+     * <p>
+     * This method must be called on the FX application thread.
+     *
+     * @param <T> the type of the rows
+     * @param component the component to search
+     * @param query the query (refer to {@link QueryParser} for the syntax)
+     * @return the predicate
+     * @throws IllegalArgumentException if the query is invalid
+     */
+    public <T> Predicate<T> predicate(final SearchComponent component, final String query) {
+        return predicate(component, QueryParser.parse(query));
+    }
+
+    /**
+     * Creates a predicate which tests the rows of the specified component
+     * against the query through its index. The predicate does not wait for the
+     * index and can be used on any thread.
+     * <p>
+     * This method must be called on the FX application thread.
+     *
+     * @param <T> the type of the rows
+     * @param component the component to search
+     * @param query the query
+     * @return the predicate
+     */
+    public <T> Predicate<T> predicate(final SearchComponent component, final Query query) {
+        final InvertedIndex<T> index = index(component);
+        return index.filter(query, indexExecutor);
+    }
+
+    /**
+     * Returns the index of the specified component and attaches it to the list
+     * of the component if not done yet. The returned index must only be queried
+     * by the tasks passed to {@link #execute(Supplier)}.
+     * <p>
+     * This method must be called on the FX application thread.
+     *
+     * @param <T> the type of the rows
+     * @param component the component
+     * @return the index
+     */
+    @SuppressWarnings("unchecked")
+    public <T> InvertedIndex<T> index(final SearchComponent component) {
+        checkState(Platform.isFxApplicationThread(), "The search index must be attached on the FX application thread");
+        var attachment = attachments.get(component);
+        if (attachment == null) {
+            // @formatter:off
+            attachment = switch (component) {
+                case BUNDLES        -> attach(dataProvider.bundles(), b -> b.id, SearchIndex::bundle);
+                case COMPONENTS     -> attach(dataProvider.components(),
+                                              c -> c.registeringBundleId + ":" + c.name + ":" + c.id,
+                                              SearchIndex::component);
+                case CONFIGURATIONS -> attach(dataProvider.configurations(),
+                                              c -> c.pid + ":" + c.factoryPid,
+                                              SearchIndex::configuration);
+                case PACKAGES       -> attach(dataProvider.packages(), p -> p.name + ":" + p.version,
+                                              SearchIndex::pkg);
+                case SERVICES       -> attach(dataProvider.services(), s -> s.id, SearchIndex::service);
+                case PROPERTIES     -> attach(dataProvider.properties(), p -> p.name, SearchIndex::property);
+                case LOGS           -> attachLogs(dataProvider.logs());
+                default             -> throw new VerifyException("no matching case found");
+            };
+            // @formatter:on
+            attachments.put(component, attachment);
+            final var index = attachment.index();
+            indexExecutor.execute(() -> logger.atInfo().log("Indexed %s %s", index.size(), component));
+        }
+        return (InvertedIndex<T>) attachment.index();
+    }
+
+    /**
+     * Executes the specified task on the index thread after all the changes of
+     * the lists which have occurred so far have been applied to the indexes
+     *
+     * @param <R> the type of the result
+     * @param task the task which queries the indexes
+     * @return the future result which is completed on the index thread
+     */
+    public <R> CompletableFuture<R> execute(final Supplier<R> task) {
+        return CompletableFuture.supplyAsync(task, indexExecutor);
+    }
+
+    private <T> Attachment<T> attach(final ObservableList<T> list,
+                                     final Function<T, ?> keyMapper,
+                                     final Function<T, Document> documentMapper) {
+        final var index    = new InvertedIndex<T>(keyMapper, documentMapper);
+        final var snapshot = List.copyOf(list);
+        indexExecutor.execute(() -> snapshot.forEach(index::add));
+
+        final ListChangeListener<T> listener = change -> {
+            final List<T> removed = new ArrayList<>();
+            final List<T> added   = new ArrayList<>();
+            while (change.next()) {
+                if (change.wasPermutated()) {
+                    continue;
+                }
+                removed.addAll(change.getRemoved());
+                added.addAll(change.getAddedSubList());
+            }
+            if (!removed.isEmpty() || !added.isEmpty()) {
+                indexExecutor.execute(() -> {
+                    removed.forEach(index::remove);
+                    added.forEach(index::add);
+                });
+            }
+        };
+        list.addListener(listener);
+        return new Attachment<>(index, list, listener);
+    }
+
+    /**
+     * The log entries cannot be identified by a key and the list only reports
+     * placeholders for the evicted entries. Hence the most recent entries are
+     * indexed by identity in a window which slides with the additions to the
+     * head of the list. The window is maintained on the FX application thread as
+     * the entries of the list are materialized on access.
+     */
+    private Attachment<XLogEntryDTO> attachLogs(final ObservableList<XLogEntryDTO> logs) {
+        final var index  = new InvertedIndex<XLogEntryDTO>(Function.identity(), SearchIndex::log);
+        // ordered from the newest to the oldest entry
+        final var window = new ArrayDeque<XLogEntryDTO>();
+        final var reload = (Runnable) () -> {
+            window.clear();
+            final var added = prepend(logs, Math.min(logs.size(), LOG_WINDOW_SIZE), window);
+            indexExecutor.execute(() -> {
+                index.clear();
+                added.forEach(index::add);
+            });
+        };
+        reload.run();
+
+        final ListChangeListener<XLogEntryDTO> listener = change -> {
+            var isReplaced = false;
+            var count      = 0;
+            while (change.next()) {
+                // the list only removes from its tail unless it has been refiltered
+                isReplaced |= change.wasRemoved() && change.getFrom() == 0;
+                if (change.wasAdded() && change.getFrom() == 0) {
+                    count = change.getTo();
+                }
+            }
+            if (isReplaced) {
+                reload.run();
+                return;
+            }
+            final var added   = prepend(logs, Math.min(count, LOG_WINDOW_SIZE), window);
+            final var removed = new ArrayList<XLogEntryDTO>();
+            while (window.size() > Math.min(logs.size(), LOG_WINDOW_SIZE)) {
+                removed.add(window.removeLast());
+            }
+            indexExecutor.execute(() -> {
+                added.forEach(index::add);
+                removed.forEach(index::remove);
+            });
+        };
+        logs.addListener(listener);
+        return new Attachment<>(index, logs, listener);
+    }
+
+    /**
+     * Adds the specified number of the most recent entries to the head of the
+     * window
+     *
+     * @return the added entries ordered from the oldest to the newest entry
+     */
+    private static List<XLogEntryDTO> prepend(final List<XLogEntryDTO> logs,
+                                              final int count,
+                                              final Deque<XLogEntryDTO> window) {
+        final var added = new ArrayList<XLogEntryDTO>(count);
+        for (var i = count - 1; i >= 0; i--) {
+            final var entry = logs.get(i);
+            added.add(entry);
+            window.addFirst(entry);
+        }
+        return added;
+    }
+
+    private static Document bundle(final XBundleDTO bundle) {
+        // @formatter:off
+        return new Document(bundle.symbolicName + " " + bundle.version)
+                .add("id", bundle.id)
+                .addKey("bsn", bundle.symbolicName)
+                .add("symbolicName", bundle.symbolicName)
+                .add("version", bundle.version)
+                .add("state", bundle.state)
+                .add("location", bundle.location)
+                .add("category", bundle.category)
+                .add("vendor", bundle.vendor)
+                .add("description", bundle.description)
+                .add("startLevel", bundle.startLevel)
+                .add("revisions", bundle.revisions)
+                .add("fragment", bundle.isFragment)
+                .add("persistentlyStarted", bundle.isPersistentlyStarted)
+                .add("activationPolicy", bundle.isActivationPolicyUsed)
+                .add("dataFolderSize", bundle.dataFolderSize)
+                .add("startDuration", bundle.startDurationInMillis)
+                .add("lastModified", bundle.lastModified)
+                .add("exportedPackage", packageNames(bundle.exportedPackages))
+                .add("importedPackage", packageNames(bundle.importedPackages))
+                .add("registeredService", serviceNames(bundle.registeredServices))
+                .add("usedService", serviceNames(bundle.usedServices))
+                .add("host", bundleInfoNames(bundle.hostBundles))
+                .add("attachedFragment", bundleInfoNames(bundle.fragmentsAttached))
+                .add("wiredProvider", bundleInfoNames(bundle.wiredBundlesAsProvider))
+                .add("wiredRequirer", bundleInfoNames(bundle.wiredBundlesAsRequirer))
+                .addAll(bundle.manifestHeaders);
+        // @formatter:on
+    }
+
+    private static Document service(final XServiceDTO service) {
+        // @formatter:off
+        return new Document(service.id + " " + service.types)
+                .add("id", service.id)
+                .addKey("type", service.types)
+                .add("bundle", service.registeringBundle)
+                .add("bundleId", service.bundleId)
+                .add("usingBundle", bundleInfoNames(service.usingBundles))
+                .addAll(service.properties);
+        // @formatter:on
+    }
+
+    private static Document component(final XComponentDTO component) {
+        // @formatter:off
+        return new Document(component.name)
+                .add("id", component.id)
+                .addKey("name", component.name)
+                .add("state", component.state)
+                .add("bundle", component.registeringBundle)
+                .add("bundleId", component.registeringBundleId)
+                .add("factory", component.factory)
+                .add("scope", component.scope)
+                .add("implementationClass", component.implementationClass)
+                .add("configurationPolicy", component.configurationPolicy)
+                .add("serviceInterface", component.serviceInterfaces)
+                .add("pid", component.configurationPid)
+                .add("failure", component.failure)
+                .add("reference", component.references == null ? null
+                        : component.references.stream().map(r -> r.interfaceName).toList())
+                .add("referenceName", component.references == null ? null
+                        : component.references.stream().map(r -> r.name).toList())
+                .addAll(component.properties);
+        // @formatter:on
+    }
+
+    private static Document configuration(final XConfigurationDTO configuration) {
+        final var document = new Document(configuration.pid);
+        // @formatter:off
+        document.addKey("pid", configuration.pid)
+                .add("factoryPid", configuration.factoryPid)
+                .add("location", configuration.location)
+                .add("factory", configuration.isFactory)
+                .add("persisted", configuration.isPersisted)
+                .add("ocd", configuration.ocd == null ? null : configuration.ocd.name);
+        // @formatter:on
+        if (configuration.properties != null) {
+            configuration.properties.forEach((key, value) -> document.add(key, value == null ? null : value.value));
+        }
+        return document;
+    }
+
+    private static Document pkg(final PackageDTO pkg) {
+        // @formatter:off
+        return new Document(pkg.name + " " + pkg.version)
+                .addKey("name", pkg.name)
+                .add("version", pkg.version)
+                .add("duplicate", pkg.isDuplicateExport)
+                .add("exporter", bundleNames(pkg.exporters))
+                .add("importer", bundleNames(pkg.importers));
+        // @formatter:on
+    }
+
+    private static Document property(final XPropertyDTO property) {
+        // @formatter:off
+        return new Document(property.name + "=" + property.value)
+                .addKey("name", property.name)
+                .add("value", property.value)
+                .add("type", property.type);
+        // @formatter:on
+    }
+
+    private static Document log(final XLogEntryDTO entry) {
+        // @formatter:off
+        return new Document("[" + entry.level + "] " + entry.message)
+                .add("level", entry.level)
+                .addKey("message", entry.message)
+                .add("logger", entry.logger)
+                .add("bundle", entry.bundle == null ? null : entry.bundle.symbolicName)
+                .add("exception", entry.exception)
+                .add("thread", entry.threadInfo)
+                .add("loggedAt", entry.loggedAt);
+        // @formatter:on
+    }
+
+    private static Object packageNames(final List<XPackageDTO> packages) {
+        return packages == null ? null : packages.stream().map(p -> p.name).toList();
+    }
+
+    private static Object serviceNames(final List<XServiceInfoDTO> services) {
+        return services == null ? null : services.stream().map(s -> s.objectClass).toList();
+    }
+
+    private static Object bundleNames(final List<XBundleDTO> bundles) {
+        return bundles == null ? null : bundles.stream().map(b -> b.symbolicName).toList();
+    }
+
+    private static Object bundleInfoNames(final List<XBundleInfoDTO> bundles) {
+        return bundles == null ? null : bundles.stream().map(b -> b.symbolicName).toList();
+    }
+
+    private record Attachment<T>(InvertedIndex<T> index, ObservableList<T> list, ListChangeListener<T> listener) {
+
+        void detach() {
+            list.removeListener(listener);
+        }
+    }
+
+}
@@ -0,0 +1,30 @@
+/*******************************************************************************
+ * Copyright 2021-2024 Amit Kumar Mondal
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package com.osgifx.console.ui.search.index;
+
+import com.osgifx.console.ui.search.filter.SearchComponent;
+
+/**
+ * A single result of a {@link GlobalSearch}
+ *
+ * @param component the component the row belongs to
+ * @param row the matching row
+ * @param title the text which represents the row
+ * @param match the field which matches best or {@code null} if not known
+ * @param score the score of the row which is higher the better it matches
+ */
+public record SearchResult(SearchComponent component, Object row, String title, Document.Field match, double score) {
+}
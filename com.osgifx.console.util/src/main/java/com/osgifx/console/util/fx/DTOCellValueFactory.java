@@ -17,22 +17,48 @@ package com.osgifx.console.util.fx;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import org.osgi.util.converter.Converter;
 import org.osgi.util.converter.Converters;
 
+import com.google.common.primitives.Primitives;
+
 import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.value.ObservableValue;
 import javafx.scene.control.TableColumn.CellDataFeatures;
 import javafx.util.Callback;
 
+/**
+ * Cell value factory which reads a public field of the DTO of a row.
+ * <p>
+ * The field is accessed through a {@link MethodHandle} which is looked up only
+ * once per DTO class and property and shared among all factories. The
+ * conversion of the field value to the column type is resolved once per DTO
+ * class as well such that rendering a cell does not involve any reflection.
+ *
+ * @param <S> the type of the row
+ * @param <T> the type of the column
+ */
 public final class DTOCellValueFactory<S, T> implements Callback<CellDataFeatures<S, T>, ObservableValue<T>> {
 
-    private final Class<T>  clazz;
-    private final String    property;
-    private final Converter converter;
-    private Function<S, T>  nullValueReplacer;
+    private static final MethodType  GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final Getter      MISSING     = new Getter(MethodHandles.dropArguments(
+            MethodHandles.constant(Object.class, null), 0, Object.class), Object.class);
+    // unlike a map keyed by class, it does not prevent DTO classes from being unloaded
+    private static final GetterCache GETTERS     = new GetterCache();
+
+    private final Class<T>       clazz;
+    private final String         property;
+    private final Converter      converter;
+    private Function<S, T>       nullValueReplacer;
+    private volatile Accessor<T> accessor;
 
     public DTOCellValueFactory(final String property, final Class<T> clazz) {
         this(property, clazz, null);
@@ -48,17 +74,63 @@ public final class DTOCellValueFactory<S, T> implements Callback<CellDataFeature
     @Override
     public ObservableValue<T> call(final CellDataFeatures<S, T> celldata) {
         final var source = celldata.getValue();
-        T         value  = null;
-        try {
-            final var field = source.getClass().getField(property);
-            value = converter.convert(field.get(source)).to(clazz);
-        } catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
-            // nothing to do as we have to check for the null value replacer
-        }
+        var       value  = source == null ? null : read(source);
         if (value == null && nullValueReplacer != null) {
             value = nullValueReplacer.apply(source);
         }
         return new ReadOnlyObjectWrapper<>(value);
     }
 
+    private T read(final S source) {
+        // the rows of a table are usually of the same class
+        var current = accessor;
+        if (current == null || current.type() != source.getClass()) {
+            current  = resolve(source.getClass());
+            accessor = current;
+        }
+        final Object fieldValue;
+        try {
+            fieldValue = current.getter().invokeExact((Object) source);
+        } catch (final Throwable e) {
+            // nothing to do as we have to check for the null value replacer
+            return null;
+        }
+        return fieldValue == null ? null : current.converter().apply(fieldValue);
+    }
+
+    private Accessor<T> resolve(final Class<?> type) {
+        final var getter = GETTERS.get(type).computeIfAbsent(property, p -> lookup(type, p));
+        // avoid the converter if the field value can be used as it is
+        final Function<Object, T> typedConverter = clazz.isAssignableFrom(Primitives.wrap(getter.fieldType()))
+                ? clazz::cast
+                : converter.function().to(clazz);
+        return new Accessor<>(type, getter.handle(), typedConverter);
+    }
+
+    private static Getter lookup(final Class<?> type, final String property) {
+        try {
+            final var field  = type.getField(property);
+            var       handle = MethodHandles.publicLookup().unreflectGetter(field);
+            if (Modifier.isStatic(field.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return new Getter(handle.asType(GETTER_TYPE), field.getType());
+        } catch (NoSuchFieldException | SecurityException | IllegalAccessException e) {
+            return MISSING;
+        }
+    }
+
+    private record Getter(MethodHandle handle, Class<?> fieldType) {
+    }
+
+    private static final class GetterCache extends ClassValue<Map<String, Getter>> {
+        @Override
+        protected Map<String, Getter> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    }
+
+    private record Accessor<T>(Class<?> type, MethodHandle getter, Function<Object, T> converter) {
+    }
+
 }